@@ -0,0 +1,104 @@
+import itertools
+import json
+import subprocess
+import threading
+from concurrent.futures import Future
+
+class EVMLiSAError(Exception):
+    """Raised when EVMLiSA fails to analyze a contract."""
+
+class EVMLiSAClient:
+    """
+    Client of the EVMLiSA analysis server (java -jar evm-lisa.jar --serve).
+
+    A single JVM analyzes all the submitted contracts, up to `cores` at a time,
+    instead of starting one JVM per contract. The client is thread-safe.
+
+    Args:
+        jar (str): The path to the EVMLiSA jar.
+        cores (int): The number of contracts analyzed in parallel.
+        java (str): The java executable.
+    """
+
+    def __init__(self, jar, cores=1, java="java"):
+        self._process = subprocess.Popen(
+            [java, "-jar", jar, "--serve", "--cores", str(cores)],
+            stdin=subprocess.PIPE,
+            stdout=subprocess.PIPE,
+            stderr=subprocess.DEVNULL,
+            text=True,
+            bufsize=1,
+        )
+        self._ids = itertools.count()
+        self._pending = {}
+        self._lock = threading.Lock()
+        self._reader = threading.Thread(target=self._read, daemon=True)
+        self._reader.start()
+
+    def submit(self, bytecode, checkers=(), options=None, address=None):
+        """
+        Submits the analysis of a contract.
+
+        Args:
+            bytecode (str): The hexadecimal bytecode of the contract.
+            checkers (list): The checkers to run, among "reentrancy", "txorigin" and "timestampdependency".
+            options (dict): The options of the analysis, named as the command line options
+                            (e.g., {"stack-size": 32, "link-unsound-jumps-to-all-jumpdest": True}).
+            address (str): The name of the contract in the results.
+
+        Returns:
+            Future: The future JSON result, as printed by EVMLiSA for a single contract.
+        """
+        request = {"bytecode": bytecode.strip(), "checkers": list(checkers), "options": options or {}}
+        if address is not None:
+            request["address"] = address
+
+        future = Future()
+        with self._lock:
+            if self._process.poll() is not None:
+                raise EVMLiSAError("EVMLiSA server terminated")
+            request["id"] = next(self._ids)
+            self._pending[request["id"]] = future
+            self._process.stdin.write(json.dumps(request) + "\n")
+            self._process.stdin.flush()
+        return future
+
+    def analyze(self, bytecode, checkers=(), options=None, address=None):
+        """Analyzes a contract, see `submit`, waiting for its result."""
+        return self.submit(bytecode, checkers, options, address).result()
+
+    def close(self):
+        """Waits for the pending analyses and stops the server."""
+        with self._lock:
+            self._process.stdin.close()
+        self._process.wait()
+        self._reader.join()
+
+    def __enter__(self):
+        return self
+
+    def __exit__(self, *exc):
+        self.close()
+
+    def _read(self):
+        for line in self._process.stdout:
+            try:
+                response = json.loads(line)
+            except json.JSONDecodeError:
+                continue
+
+            with self._lock:
+                future = self._pending.pop(response.pop("id", None), None)
+            if future is None:
+                continue
+
+            if "error" in response:
+                future.set_exception(EVMLiSAError(response["error"]))
+            else:
+                future.set_result(response)
+
+        # The server terminated: no more responses will come
+        with self._lock:
+            pending, self._pending = self._pending, {}
+        for future in pending.values():
+            future.set_exception(EVMLiSAError("EVMLiSA server terminated"))
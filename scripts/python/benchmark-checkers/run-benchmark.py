@@ -12,11 +12,16 @@ import json
 from datetime import datetime
 import argparse
 import time
+from evmlisa_client import EVMLiSAClient, EVMLiSAError
 
 # Global thread pool executor
 max_threads = int(os.cpu_count() / 4 * 3)  # Core avaiable
 _executor = ThreadPoolExecutor(max_workers=max_threads)
 
+# EVMLiSA server shared by all the analyses, started on first use
+_evmlisa_client = None
+_evmlisa_client_lock = threading.Lock()
+
 #################################### Utility
 
 def delete_tmp_files(directory):
@@ -190,10 +195,15 @@ def map_file_names_to_ids(sorted_data, index_path):
     return mapped_data
 
 def shutdown_executor():
-    """Shuts down the global thread pool executor."""
-    global _executor
+    """Shuts down the global thread pool executor and the EVMLiSA server."""
+    global _executor, _evmlisa_client
     _executor.shutdown(wait=True)
     print("[EVMLISA] ThreadPoolExecutor shut down successfully.")
+    with _evmlisa_client_lock:
+        if _evmlisa_client is not None:
+            _evmlisa_client.close()
+            _evmlisa_client = None
+            print("[EVMLISA] EVMLiSA server shut down successfully.")
 
 #################################### EVMLiSA
 
@@ -207,9 +217,17 @@ def build_evmlisa():
     subprocess.run(command, shell=True, check=True)
     print("[EVMLISA] EVMLiSA built successfully.")
 
+def get_evmlisa_client():
+    """Yields the EVMLiSA server shared by all the analyses, starting it if needed."""
+    global _evmlisa_client
+    with _evmlisa_client_lock:
+        if _evmlisa_client is None:
+            _evmlisa_client = EVMLiSAClient("jars/evm-lisa.jar", cores=max_threads)
+        return _evmlisa_client
+
 def run_evmlisa(bytecode_file, result_evmlisa_dir, type="reentrancy"):
     """
-    Runs the EVMLiSA analysis for a given bytecode file.
+    Runs the EVMLiSA analysis for a given bytecode file, on the shared EVMLiSA server.
     
     Args:
         bytecode_file (str): The path to the bytecode file.
@@ -221,23 +239,24 @@ def run_evmlisa(bytecode_file, result_evmlisa_dir, type="reentrancy"):
     result_filename = f"{os.path.splitext(bytecode_filename)[0]}-result.json"
     result_filepath = os.path.join(result_evmlisa_dir, result_filename)
     
-    command = (
-        f"java -jar jars/evm-lisa.jar "
-        f"--filepath-bytecode {bytecode_file} "
-        # f"--stack-size 40 "
-        # f"--stack-set-size 15 "
-        # f"--creation-code "
-        f"--checker-{type} "
-        f"--link-unsound-jumps-to-all-jumpdest "
-        # f"--dump-report "
-        # f"--output {os.path.splitext(bytecode_filename)[0]}"
-        f"> /dev/null 2> {result_filepath}"
-    )
-    
     try:
-        subprocess.run(command, shell=True, check=True)
+        with open(bytecode_file, 'r') as file:
+            bytecode = file.read()
+
+        result = get_evmlisa_client().analyze(
+            bytecode,
+            checkers=[type],
+            options={
+                # "stack-size": 40,
+                # "stack-set-size": 15,
+                "link-unsound-jumps-to-all-jumpdest": True,
+            },
+        )
+
+        with open(result_filepath, 'w') as file:
+            json.dump(result, file, indent=4)
         return result_filepath
-    except subprocess.CalledProcessError as e:
+    except (OSError, EVMLiSAError) as e:
         print(f"[EVMLISA] Error analyzing {bytecode_file}: {e}")
         return None
 
@@ -0,0 +1,121 @@
+package it.unipr;
+
+import it.unipr.analysis.MyLogger;
+import it.unipr.cfg.EVMCFG;
+import it.unipr.cfg.EVMCFGSnapshot;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import org.json.JSONObject;
+
+/**
+ * The result of the analysis of a smart contract performed by an
+ * {@link Analyzer}: the CFG with the solved jumps, its basic blocks, the jump
+ * statistics and the warnings of the enabled checkers.
+ */
+public class AnalysisResult {
+
+	private final EVMCFG cfg;
+	private final MyLogger statistics;
+	private final JSONObject json;
+
+	/**
+	 * Builds the result of an analysis.
+	 *
+	 * @param cfg        the CFG with the solved jumps
+	 * @param statistics the jump statistics, or {@code null} if the CFG has no
+	 *                       entrypoint
+	 * @param json       the JSON representation of the result
+	 */
+	AnalysisResult(EVMCFG cfg, MyLogger statistics, JSONObject json) {
+		this.cfg = cfg;
+		this.statistics = statistics;
+		this.json = json;
+	}
+
+	/**
+	 * Yields the CFG of the contract, with the solved jumps.
+	 *
+	 * @return the CFG of the contract
+	 */
+	public EVMCFG getCFG() {
+		return cfg;
+	}
+
+	/**
+	 * Writes the binary snapshot of the CFG of the contract, with the solved
+	 * jumps, in the given stream. The snapshot can be analyzed again with
+	 * {@link Analyzer#analyzeSnapshot(java.nio.file.Path)}.
+	 *
+	 * @param out the stream
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void writeSnapshot(OutputStream out) throws IOException {
+		EVMCFGSnapshot.write(cfg, out);
+	}
+
+	/**
+	 * Yields the edges between the basic blocks of the contract, one for each
+	 * successor of each block, as pairs of the ids of the source and of the
+	 * target block. The id of a block is the program counter of its first
+	 * statement.
+	 *
+	 * @return the edges between the basic blocks of the contract
+	 */
+	public List<Long[]> getBasicBlocks() {
+		return cfg.basicBlocksToLongArray();
+	}
+
+	/**
+	 * Yields the jump statistics of the contract.
+	 *
+	 * @return the jump statistics, or {@code null} if the CFG has no
+	 *             entrypoint
+	 */
+	public MyLogger getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Yields the number of re-entrancy warnings.
+	 *
+	 * @return the number of warnings, 0 if the checker is not enabled
+	 */
+	public int getReentrancyWarnings() {
+		return json.optInt("re-entrancy-warning", 0);
+	}
+
+	/**
+	 * Yields the number of tx-origin warnings.
+	 *
+	 * @return the number of warnings, 0 if the checker is not enabled
+	 */
+	public int getTxOriginWarnings() {
+		return json.optInt("tx-origin-warning", 0);
+	}
+
+	/**
+	 * Yields the number of timestamp-dependency warnings.
+	 *
+	 * @return the number of warnings, 0 if the checker is not enabled
+	 */
+	public int getTimestampDependencyWarnings() {
+		return json.optInt("timestamp-dependency-warning", 0);
+	}
+
+	/**
+	 * Yields the JSON representation of this result, with the same fields
+	 * produced by the command line interface.
+	 *
+	 * @return the JSON representation of this result
+	 */
+	public JSONObject toJson() {
+		return json;
+	}
+
+	@Override
+	public String toString() {
+		return json.toString();
+	}
+}
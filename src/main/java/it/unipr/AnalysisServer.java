@@ -0,0 +1,259 @@
+package it.unipr;
+
+import it.unipr.analysis.AnalysisContext;
+import it.unipr.frontend.EVMFrontend;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Serves analysis requests in a long-lived JVM, so that the JVM startup, the
+ * class loading and the JIT warm-up are paid once instead of once per
+ * contract. The protocol is newline-delimited JSON, over the standard streams
+ * or over the connections to a local socket. Each request is a JSON object on
+ * a single line:
+ *
+ * <pre>
+ * {"id": 1, "bytecode": "0x6080...", "address": "name",
+ *  "checkers": ["reentrancy", "txorigin", "timestampdependency"],
+ *  "options": {"stack-size": 32, "stack-set-size": 8,
+ *              "link-unsound-jumps-to-all-jumpdest": true, "lazy-cfg": false,
+ *              "timeout-per-contract": 60, "max-fixpoint-iterations": 0}}
+ * </pre>
+ *
+ * where only {@code bytecode} is required, and the options missing are those
+ * of the command line of the server. The requests are analyzed concurrently,
+ * and each response is written on a single line as soon as its analysis ends:
+ * it is the same JSON printed by the command line interface for a single
+ * contract, with the {@code id} of the request. A failed request is answered
+ * with the failure statistics and an {@code error} field.
+ */
+public class AnalysisServer {
+	private static final Logger log = LogManager.getLogger(AnalysisServer.class);
+
+	/**
+	 * The default configuration of the analyses.
+	 */
+	private final AnalysisContext context;
+
+	private final ExecutorService pool;
+
+	/**
+	 * Builds a server analyzing the given number of requests in parallel.
+	 *
+	 * @param context the default configuration of the analyses, overridden by
+	 *                    the options of each request
+	 * @param cores   the number of requests analyzed in parallel
+	 */
+	public AnalysisServer(AnalysisContext context, int cores) {
+		this.context = context;
+		this.pool = Executors.newFixedThreadPool(Math.max(1, cores));
+	}
+
+	/**
+	 * Serves the requests read from the given stream until its end, writing
+	 * the responses in the other, and waits for the pending ones.
+	 *
+	 * @param in  the stream of the requests
+	 * @param out the stream of the responses
+	 *
+	 * @throws IOException if the requests cannot be read
+	 */
+	public void serve(InputStream in, OutputStream out) throws IOException {
+		BufferedReader requests = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+		Writer responses = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+		// the requests of this session still being analyzed
+		Phaser pending = new Phaser(1);
+		try {
+			String line;
+			while ((line = requests.readLine()) != null) {
+				if (line.isBlank())
+					continue;
+
+				String request = line;
+				pending.register();
+				pool.execute(() -> {
+					try {
+						respond(responses, handle(request));
+					} finally {
+						pending.arriveAndDeregister();
+					}
+				});
+			}
+		} finally {
+			pending.arriveAndAwaitAdvance();
+		}
+	}
+
+	/**
+	 * Serves the connections to the given port of the loopback address, each
+	 * as in {@link #serve(InputStream, OutputStream)}, until the server is
+	 * stopped.
+	 *
+	 * @param port the port
+	 *
+	 * @throws IOException if the port cannot be bound
+	 */
+	public void listen(int port) throws IOException {
+		try (ServerSocket server = new ServerSocket(port, 0, InetAddress.getLoopbackAddress())) {
+			log.info("Listening on {}.", server.getLocalSocketAddress());
+			while (true) {
+				Socket socket = server.accept();
+				Thread session = new Thread(() -> {
+					try (socket) {
+						serve(socket.getInputStream(), socket.getOutputStream());
+					} catch (IOException e) {
+						log.error("Session {} closed: {}", socket.getRemoteSocketAddress(), e.getMessage());
+					}
+				}, "session-" + socket.getPort());
+				session.setDaemon(true);
+				session.start();
+			}
+		}
+	}
+
+	/**
+	 * Stops accepting requests and waits for the pending ones, up to the given
+	 * timeout.
+	 *
+	 * @param timeout the maximum time to wait
+	 * @param unit    the unit of {@code timeout}
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public void shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+		pool.shutdown();
+		if (!pool.awaitTermination(timeout, unit))
+			pool.shutdownNow();
+	}
+
+	/**
+	 * Analyzes the given request, yielding its response.
+	 */
+	JSONObject handle(String line) {
+		long start = System.currentTimeMillis();
+		JSONObject json = new JSONObject();
+		Object id = null;
+		String address = "contract";
+
+		try {
+			JSONObject request = new JSONObject(line);
+			id = request.opt("id");
+			address = request.optString("address", address);
+
+			AnalysisContext requestContext = contextOf(request).withContractAddress(address);
+			json.put("stack_size", requestContext.getStackLimit());
+			json.put("stack_set_size", requestContext.getStackSetSize());
+			json.put("link_unsound_jumps_to_all_jumpdest", requestContext.linkUnsoundJumpsToAllJumpdest());
+
+			String bytecode = request.getString("bytecode");
+			json.put("bytecode", bytecode);
+
+			AnalysisResult result = new Analyzer(requestContext).analyze(EVMFrontend.hexToBytes(bytecode), address,
+					json);
+			json = result.toJson();
+		} catch (Throwable e) {
+			log.error("Failure: {} - details: {}", e, e.getMessage());
+			// the statistics are stored in json
+			EVMLiSA.failureLogger(e)
+					.address(address)
+					.time(System.currentTimeMillis() - start)
+					.buildJson(json)
+					.build();
+			json.put("error", String.valueOf(e.getMessage()));
+		}
+
+		json.put("id", id == null ? JSONObject.NULL : id);
+		return json;
+	}
+
+	/**
+	 * Yields the configuration of the analysis of the given request, that is,
+	 * the default one overridden by the checkers and the options of the
+	 * request.
+	 *
+	 * @throws IllegalArgumentException if a checker or an option is unknown or
+	 *                                      not valid
+	 */
+	private AnalysisContext contextOf(JSONObject request) {
+		AnalysisContext.Builder builder = context.toBuilder();
+
+		JSONArray checkers = request.optJSONArray("checkers");
+		if (checkers != null) {
+			builder.reentrancyChecker(false).txOriginChecker(false).timestampDependencyChecker(false);
+			for (int i = 0; i < checkers.length(); i++)
+				switch (checkers.getString(i)) {
+				case "reentrancy":
+					builder.reentrancyChecker(true);
+					break;
+				case "txorigin":
+					builder.txOriginChecker(true);
+					break;
+				case "timestampdependency":
+					builder.timestampDependencyChecker(true);
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown checker: " + checkers.getString(i));
+				}
+		}
+
+		JSONObject options = request.optJSONObject("options");
+		if (options != null)
+			for (String option : options.keySet())
+				switch (option) {
+				case "stack-size":
+					builder.stackLimit(options.getInt(option));
+					break;
+				case "stack-set-size":
+					builder.stackSetSize(options.getInt(option));
+					break;
+				case "link-unsound-jumps-to-all-jumpdest":
+					builder.linkUnsoundJumpsToAllJumpdest(options.getBoolean(option));
+					break;
+				case "lazy-cfg":
+					builder.lazyCfg(options.getBoolean(option));
+					break;
+				case "timeout-per-contract":
+					builder.timeoutPerContract(TimeUnit.SECONDS.toMillis(options.getLong(option)));
+					break;
+				case "max-fixpoint-iterations":
+					builder.maxFixpointIterations(options.getLong(option));
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown option: " + option);
+				}
+
+		return builder.build();
+	}
+
+	private static void respond(Writer responses, JSONObject response) {
+		synchronized (responses) {
+			try {
+				responses.write(response.toString());
+				responses.write('\n');
+				responses.flush();
+			} catch (IOException | JSONException e) {
+				log.error("Could not write the response of request {}: {}", response.opt("id"), e.getMessage());
+			}
+		}
+	}
+}
@@ -0,0 +1,243 @@
+package it.unipr;
+
+import it.unipr.analysis.AnalysisBudget;
+import it.unipr.analysis.AnalysisContext;
+import it.unipr.analysis.BudgetExceededException;
+import it.unipr.analysis.EVMAbstractState;
+import it.unipr.analysis.MyCache;
+import it.unipr.analysis.MyLogger;
+import it.unipr.cfg.EVMCFG;
+import it.unipr.cfg.EVMCFGSnapshot;
+import it.unipr.checker.JumpSolver;
+import it.unipr.frontend.EVMFrontend;
+import it.unive.lisa.LiSA;
+import it.unive.lisa.analysis.SimpleAbstractState;
+import it.unive.lisa.analysis.heap.MonolithicHeap;
+import it.unive.lisa.analysis.nonrelational.value.TypeEnvironment;
+import it.unive.lisa.analysis.types.InferredTypes;
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.conf.LiSAConfiguration.GraphType;
+import it.unive.lisa.interprocedural.ModularWorstCaseAnalysis;
+import it.unive.lisa.interprocedural.callgraph.RTACallGraph;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.cfg.statement.Statement;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+import org.json.JSONObject;
+
+/**
+ * In-memory entry point of EVMLiSA, analyzing a smart contract given its
+ * bytecode. The analysis solves the jumps of the contract, runs the checkers
+ * enabled in the {@link AnalysisContext} and computes the jump statistics. No
+ * file is read or written when analyzing a bytecode, unless a working
+ * directory for dumps is given. The benchmarks and the server analyze each
+ * contract through an analyzer as well.
+ */
+public class Analyzer {
+
+	/**
+	 * The configuration of the analyses.
+	 */
+	private final AnalysisContext context;
+
+	/**
+	 * The directory where the dumps are written, or {@code null} if nothing
+	 * is dumped.
+	 */
+	private final String workdir;
+
+	/**
+	 * The type of analysis graphs dumped in {@link #workdir}.
+	 */
+	private final GraphType analysisGraphs;
+
+	/**
+	 * Whether the JSON report of LiSA is dumped in {@link #workdir}.
+	 */
+	private final boolean dumpReport;
+
+	/**
+	 * Whether the inputs of LiSA are dumped in {@link #workdir}.
+	 */
+	private final boolean serializeInputs;
+
+	/**
+	 * Builds an analyzer that does not dump anything.
+	 *
+	 * @param context the configuration of the analyses
+	 */
+	public Analyzer(AnalysisContext context) {
+		this(context, null, GraphType.NONE, false, false);
+	}
+
+	/**
+	 * Builds an analyzer dumping the requested outputs in the given
+	 * directory.
+	 *
+	 * @param context         the configuration of the analyses
+	 * @param workdir         the directory where the dumps are written, or
+	 *                            {@code null} if nothing is dumped
+	 * @param analysisGraphs  the type of analysis graphs to dump
+	 * @param dumpReport      whether the JSON report of LiSA is dumped
+	 * @param serializeInputs whether the inputs of LiSA are dumped
+	 */
+	public Analyzer(AnalysisContext context, String workdir, GraphType analysisGraphs, boolean dumpReport,
+			boolean serializeInputs) {
+		this.context = context;
+		this.workdir = workdir;
+		this.analysisGraphs = workdir == null ? GraphType.NONE : analysisGraphs;
+		this.dumpReport = workdir != null && dumpReport;
+		this.serializeInputs = workdir != null && serializeInputs;
+	}
+
+	/**
+	 * Yields the configuration of the analyses.
+	 *
+	 * @return the configuration of the analyses
+	 */
+	public AnalysisContext getContext() {
+		return context;
+	}
+
+	/**
+	 * Analyzes the smart contract with the given hexadecimal bytecode.
+	 *
+	 * @param bytecode the hexadecimal bytecode, optionally prefixed by
+	 *                     {@code 0x}
+	 *
+	 * @return the result of the analysis
+	 *
+	 * @throws IllegalArgumentException if the bytecode is not a valid
+	 *                                      hexadecimal string or it is empty
+	 */
+	public AnalysisResult analyze(String bytecode) {
+		return analyze(EVMFrontend.hexToBytes(bytecode));
+	}
+
+	/**
+	 * Analyzes the smart contract with the given raw bytecode.
+	 *
+	 * @param bytecode the raw bytecode
+	 *
+	 * @return the result of the analysis
+	 *
+	 * @throws IllegalArgumentException if the bytecode is empty
+	 * @throws BudgetExceededException  if the analysis exceeds the timeout or
+	 *                                      the fixpoint iterations set in the
+	 *                                      context
+	 */
+	public AnalysisResult analyze(byte[] bytecode) {
+		String address = context.getContractAddress() != null ? context.getContractAddress() : "contract";
+		return analyze(bytecode, address, new JSONObject());
+	}
+
+	/**
+	 * Analyzes the smart contract with the given raw bytecode, naming it
+	 * {@code address} in the statistics and storing the results in
+	 * {@code json}.
+	 */
+	AnalysisResult analyze(byte[] bytecode, String address, JSONObject json) {
+		return analyze(EVMFrontend.generateCfgFromBytecode(bytecode, address, context.isLazyCfg()), address, json);
+	}
+
+	/**
+	 * Analyzes the smart contract whose CFG is stored in the given snapshot,
+	 * written by {@link EVMCFGSnapshot}. The jumps resolved before taking the
+	 * snapshot are already linked to their destinations, hence the analysis
+	 * can be re-run, e.g., with different checkers, without resolving them
+	 * from scratch.
+	 *
+	 * @param snapshot the path of the snapshot
+	 *
+	 * @return the result of the analysis
+	 *
+	 * @throws IOException if the snapshot cannot be read or it is not valid
+	 */
+	public AnalysisResult analyzeSnapshot(Path snapshot) throws IOException {
+		String address = context.getContractAddress() != null ? context.getContractAddress() : "contract";
+		return analyze(EVMFrontend.generateCfgFromSnapshot(snapshot), address, new JSONObject());
+	}
+
+	/**
+	 * Analyzes the smart contract whose mnemonic bytecode, as written by
+	 * {@link EVMFrontend#opcodesFromBytecode(String, String)}, is stored in
+	 * the given file.
+	 *
+	 * @param mnemonic the path of the mnemonic bytecode
+	 *
+	 * @return the result of the analysis
+	 *
+	 * @throws IOException if the file cannot be read
+	 */
+	public AnalysisResult analyzeMnemonic(Path mnemonic) throws IOException {
+		String address = context.getContractAddress() != null ? context.getContractAddress() : "contract";
+		return analyzeMnemonic(mnemonic, address, new JSONObject());
+	}
+
+	/**
+	 * Analyzes the smart contract whose mnemonic bytecode is stored in the
+	 * given file, naming it {@code address} in the statistics and storing the
+	 * results in {@code json}.
+	 */
+	AnalysisResult analyzeMnemonic(Path mnemonic, String address, JSONObject json) throws IOException {
+		return analyze(EVMFrontend.generateCfgFromFile(mnemonic.toString()), address, json);
+	}
+
+	private AnalysisResult analyze(Program program, String address, JSONObject json) {
+		long start = System.currentTimeMillis();
+
+		LiSAConfiguration conf = createLiSAConfig();
+		JumpSolver checker = new JumpSolver(context);
+		conf.semanticChecks.add(checker);
+		AnalysisBudget budget = EVMLiSA.setBudget(program, context);
+
+		LiSA lisa = new LiSA(conf);
+		Set<Statement> soundlySolved;
+		try {
+			lisa.run(program);
+			soundlySolved = EVMLiSA.getSoundlySolvedJumps(checker, lisa, program);
+		} catch (RuntimeException e) {
+			throw EVMLiSA.budgetExceeded(budget, e, program, System.currentTimeMillis() - start);
+		}
+
+		long finish = System.currentTimeMillis();
+
+		EVMCFG cfg = checker.getComputedCFG();
+		json.put("basic_blocks_pc", EVMCFG.bbToString(cfg.basicBlocksToLongArray()));
+
+		try {
+			EVMLiSA.checkers(conf, lisa, program, checker, json);
+		} catch (RuntimeException e) {
+			throw EVMLiSA.budgetExceeded(budget, e, program, System.currentTimeMillis() - start);
+		}
+
+		MyLogger statistics = EVMLiSA.dumpStatistics(checker, soundlySolved);
+		if (statistics != null)
+			statistics = statistics
+					.address(address)
+					.time(finish - start)
+					.timeLostToGetStorage(MyCache.getInstance().getTimeLostToGetStorage(address))
+					.buildJson(json)
+					.build();
+
+		return new AnalysisResult(cfg, statistics, json);
+	}
+
+	private LiSAConfiguration createLiSAConfig() {
+		LiSAConfiguration conf = new LiSAConfiguration();
+		conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(), new EVMAbstractState(context),
+				new TypeEnvironment<>(new InferredTypes()));
+		if (workdir != null)
+			conf.workdir = workdir;
+		conf.serializeInputs = serializeInputs;
+		conf.jsonOutput = dumpReport;
+		conf.analysisGraphs = analysisGraphs;
+		conf.interproceduralAnalysis = new ModularWorstCaseAnalysis<>();
+		conf.callGraph = new RTACallGraph();
+		conf.serializeResults = false;
+		conf.optimize = false;
+		conf.useWideningPoints = false;
+		return conf;
+	}
+}
@@ -0,0 +1,183 @@
+package it.unipr;
+
+import it.unipr.cfg.Opcode;
+import it.unipr.frontend.EVMFrontend;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * Schedules the analyses of the contracts of a benchmark on a work-stealing
+ * pool, the most expensive first. The cost of an analysis is estimated up
+ * front from the bytecode of the contract (see {@link #estimateCost(byte[])}),
+ * so that the largest contracts do not start last and leave all but one core
+ * idle at the end of the benchmark. The scheduler also measures the time the
+ * cores spend analyzing, to report the achieved core utilization.
+ */
+class BenchmarkScheduler {
+
+	private final ForkJoinPool pool;
+	private final int parallelism;
+
+	/**
+	 * The total time spent running tasks, in nanoseconds.
+	 */
+	private final AtomicLong busyTime = new AtomicLong();
+
+	/**
+	 * When the first task was submitted and when the last one completed, in
+	 * nanoseconds.
+	 */
+	private long start = -1;
+	private final AtomicLong end = new AtomicLong();
+
+	/**
+	 * Builds a scheduler running the given number of tasks in parallel.
+	 *
+	 * @param parallelism the number of cores used
+	 */
+	BenchmarkScheduler(int parallelism) {
+		this.parallelism = parallelism;
+		// FIFO mode: the tasks are taken, or stolen, in the order they are
+		// submitted, that is, the most expensive first
+		this.pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+	}
+
+	/**
+	 * Estimates the relative cost of the analysis of the given bytecode. Each
+	 * jump whose destination is not pushed right before it may require a
+	 * further run of the fixpoint over the code, and may be linked to any
+	 * JUMPDEST; hence the cost grows with the code length and the number of
+	 * JUMPDESTs, times the number of such jumps.
+	 *
+	 * @param bytecode the raw bytecode
+	 *
+	 * @return the estimated cost, in arbitrary units
+	 */
+	static long estimateCost(byte[] bytecode) {
+		int length = EVMFrontend.codeLength(bytecode);
+		int jumps = 0, pushedJumps = 0, jumpdests = 0;
+		boolean afterPush = false;
+
+		for (int pc = 0; pc < length; pc++) {
+			Opcode opcode = Opcode.of(bytecode[pc] & 0xff);
+			if (opcode == Opcode.JUMP || opcode == Opcode.JUMPI) {
+				jumps++;
+				if (afterPush)
+					pushedJumps++;
+			} else if (opcode == Opcode.JUMPDEST)
+				jumpdests++;
+
+			afterPush = opcode != null && opcode.getImmediateLength() > 0;
+			if (afterPush)
+				pc += opcode.getImmediateLength();
+		}
+
+		long unpushedJumps = jumps - pushedJumps;
+		return (long) length * (1 + unpushedJumps) + (long) jumpdests * unpushedJumps;
+	}
+
+	/**
+	 * Orders the given contracts by decreasing estimated cost. The contracts
+	 * whose cost cannot be estimated (e.g., their bytecode is yet to be
+	 * downloaded) are given the average cost of the others.
+	 *
+	 * @param addresses the addresses of the contracts
+	 * @param cost      the estimated cost of each contract, negative if it
+	 *                      cannot be estimated
+	 *
+	 * @return the addresses, the most expensive first
+	 */
+	static List<String> order(List<String> addresses, ToLongFunction<String> cost) {
+		Map<String, Long> costs = new HashMap<>();
+		long known = 0, total = 0;
+		for (String address : addresses) {
+			long c = cost.applyAsLong(address);
+			costs.put(address, c);
+			if (c >= 0) {
+				known++;
+				total += c;
+			}
+		}
+
+		long average = known == 0 ? 0 : total / known;
+		costs.replaceAll((address, c) -> c >= 0 ? c : average);
+
+		List<String> ordered = new ArrayList<>(addresses);
+		ordered.sort(Comparator.comparingLong((String address) -> costs.get(address)).reversed());
+		return ordered;
+	}
+
+	/**
+	 * Submits the given task, measuring the time spent running it.
+	 *
+	 * @param task the task
+	 */
+	void submit(Runnable task) {
+		synchronized (this) {
+			if (start < 0)
+				start = System.nanoTime();
+		}
+
+		pool.execute(() -> {
+			long taskStart = System.nanoTime();
+			try {
+				task.run();
+			} finally {
+				long taskEnd = System.nanoTime();
+				busyTime.addAndGet(taskEnd - taskStart);
+				end.accumulateAndGet(taskEnd, Math::max);
+			}
+		});
+	}
+
+	/**
+	 * Stops accepting tasks and waits for the submitted ones to complete, up
+	 * to the given timeout, after which, or if interrupted while waiting, the
+	 * running tasks are interrupted.
+	 *
+	 * @param timeout the maximum time to wait
+	 * @param unit    the unit of {@code timeout}
+	 *
+	 * @return {@code true} if all the tasks completed within the timeout
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	boolean shutdownAndAwait(long timeout, TimeUnit unit) throws InterruptedException {
+		pool.shutdown();
+		try {
+			if (pool.awaitTermination(timeout, unit))
+				return true;
+		} catch (InterruptedException e) {
+			pool.shutdownNow();
+			throw e;
+		}
+		pool.shutdownNow();
+		return false;
+	}
+
+	/**
+	 * Yields the fraction of the available core time spent running tasks,
+	 * from the submission of the first task to the completion of the last
+	 * one.
+	 *
+	 * @return the core utilization, between 0 and 1
+	 */
+	double getUtilization() {
+		long elapsed;
+		synchronized (this) {
+			if (start < 0)
+				return 0;
+			elapsed = end.get() - start;
+		}
+		if (elapsed <= 0)
+			return 0;
+		return (double) busyTime.get() / ((double) elapsed * parallelism);
+	}
+}
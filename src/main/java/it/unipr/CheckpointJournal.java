@@ -0,0 +1,168 @@
+package it.unipr;
+
+import it.unipr.frontend.EVMFrontend;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The journal of the contracts completed by a benchmark, used to resume it
+ * after a crash. Each line holds the address of a completed contract, whether
+ * its analysis succeeded or failed, and the SHA-256 hash of its result. The
+ * lines are appended after the results of the contract, hence a contract in
+ * the journal has its results in the output files of the benchmark. The
+ * contracts whose analysis is interrupted (e.g., by a shutdown) are not
+ * journaled, hence they are analyzed again when the benchmark is resumed.
+ */
+class CheckpointJournal {
+	private static final Logger log = LogManager.getLogger(CheckpointJournal.class);
+
+	/**
+	 * The prefix of the names of the journals.
+	 */
+	static final String PREFIX = "checkpoint-";
+
+	/**
+	 * The extension of the names of the journals.
+	 */
+	static final String EXTENSION = ".journal";
+
+	private final Path path;
+	private final Set<String> completed;
+
+	private CheckpointJournal(Path path, Set<String> completed) {
+		this.path = path;
+		this.completed = completed;
+	}
+
+	/**
+	 * Opens the journal at the given path, reading the contracts it records
+	 * as completed, if it exists.
+	 *
+	 * @param path the path of the journal
+	 *
+	 * @return the journal
+	 *
+	 * @throws IOException if the journal cannot be read
+	 */
+	static CheckpointJournal open(Path path) throws IOException {
+		Set<String> completed = new HashSet<>();
+		if (Files.exists(path)) {
+			List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+			for (String line : lines) {
+				// the last line may be truncated by a crash
+				String[] tokens = line.trim().split(" ");
+				if (tokens.length == 3 && tokens[2].length() == 2 * 32)
+					completed.add(tokens[0]);
+				else if (!line.isBlank())
+					log.warn("Malformed line in {} ignored: {}", path, line);
+			}
+		}
+		return new CheckpointJournal(path, completed);
+	}
+
+	/**
+	 * Yields the most recent journal in the given directory whose name ends
+	 * with the given suffix, as written by the benchmarks whose output files
+	 * end with the same suffix.
+	 *
+	 * @param directory the directory of the journals
+	 * @param suffix    the suffix of the name of the journal, without
+	 *                      extension
+	 *
+	 * @return the postfix of the name of the journal, that is, its name
+	 *             without prefix and extension, or {@code null} if there is
+	 *             no such journal
+	 *
+	 * @throws IOException if the directory cannot be read
+	 */
+	static String findLatest(Path directory, String suffix) throws IOException {
+		if (!Files.isDirectory(directory))
+			return null;
+
+		// the names start with the timestamp of the benchmark, hence the most
+		// recent is the greatest
+		String latest = null;
+		try (DirectoryStream<Path> journals = Files.newDirectoryStream(directory,
+				PREFIX + "*" + suffix + EXTENSION)) {
+			for (Path journal : journals) {
+				String name = journal.getFileName().toString();
+				String postFix = name.substring(PREFIX.length(), name.length() - EXTENSION.length());
+				if (latest == null || postFix.compareTo(latest) > 0)
+					latest = postFix;
+			}
+		}
+		return latest;
+	}
+
+	/**
+	 * Yields the path of this journal.
+	 *
+	 * @return the path of this journal
+	 */
+	Path getPath() {
+		return path;
+	}
+
+	/**
+	 * Yields the number of contracts recorded as completed when the journal
+	 * was opened.
+	 *
+	 * @return the number of completed contracts
+	 */
+	int size() {
+		return completed.size();
+	}
+
+	/**
+	 * Yields whether the given contract was recorded as completed when the
+	 * journal was opened.
+	 *
+	 * @param address the address of the contract
+	 *
+	 * @return {@code true} if the contract was completed
+	 */
+	boolean isCompleted(String address) {
+		return completed.contains(address);
+	}
+
+	/**
+	 * Yields the given contracts that were not recorded as completed when the
+	 * journal was opened, that is, those still to analyze, in their order.
+	 *
+	 * @param addresses the addresses of the contracts
+	 *
+	 * @return the addresses of the contracts still to analyze
+	 */
+	List<String> pending(List<String> addresses) {
+		return addresses.stream()
+				.filter(address -> !isCompleted(address))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Yields the line of the journal recording the completion of the given
+	 * contract.
+	 *
+	 * @param address the address of the contract
+	 * @param status  {@code SUCCESS} or {@code FAILURE}
+	 * @param result  the result of the contract
+	 *
+	 * @return the line, terminated by a newline
+	 */
+	static String entry(String address, String status, String result) {
+		return address + " " + status + " " + hash(result) + "\n";
+	}
+
+	private static String hash(String result) {
+		return EVMFrontend.toHex(EVMFrontend.sha256(result.getBytes(StandardCharsets.UTF_8)));
+	}
+}
@@ -2,22 +2,25 @@ package it.unipr;
 
 import static it.unipr.cfg.EVMCFG.generateDotGraph;
 
-import it.unipr.analysis.AbstractStack;
-import it.unipr.analysis.AbstractStackSet;
+import it.unipr.analysis.AnalysisBudget;
+import it.unipr.analysis.AnalysisContext;
+import it.unipr.analysis.BudgetExceededException;
 import it.unipr.analysis.EVMAbstractState;
 import it.unipr.analysis.MyCache;
 import it.unipr.analysis.MyLogger;
+import it.unipr.analysis.ProductAbstractDomain;
+import it.unipr.analysis.ResultCache;
 import it.unipr.analysis.StackElement;
+import it.unipr.analysis.taint.TaintAbstractDomain;
 import it.unipr.analysis.taint.TimestampDependencyAbstractDomain;
 import it.unipr.analysis.taint.TxOriginAbstractDomain;
 import it.unipr.cfg.EVMCFG;
 import it.unipr.cfg.Jump;
 import it.unipr.cfg.Jumpi;
 import it.unipr.checker.JumpSolver;
-import it.unipr.checker.ReentrancyChecker;
-import it.unipr.checker.TimestampDependencyChecker;
-import it.unipr.checker.TxOriginChecker;
+import it.unipr.checker.ProductChecker;
 import it.unipr.frontend.EVMFrontend;
+import it.unipr.frontend.PackedCorpus;
 import it.unive.lisa.LiSA;
 import it.unive.lisa.analysis.SimpleAbstractState;
 import it.unive.lisa.analysis.heap.MonolithicHeap;
@@ -25,15 +28,16 @@ import it.unive.lisa.analysis.nonrelational.value.TypeEnvironment;
 import it.unive.lisa.analysis.types.InferredTypes;
 import it.unive.lisa.conf.LiSAConfiguration;
 import it.unive.lisa.conf.LiSAConfiguration.GraphType;
-import it.unive.lisa.interprocedural.ModularWorstCaseAnalysis;
-import it.unive.lisa.interprocedural.callgraph.RTACallGraph;
 import it.unive.lisa.program.Program;
+import it.unive.lisa.program.cfg.CFG;
 import it.unive.lisa.program.cfg.edge.SequentialEdge;
 import it.unive.lisa.program.cfg.statement.Statement;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -42,12 +46,11 @@ import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Scanner;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -73,6 +76,13 @@ public class EVMLiSA {
 	private String FAILURE_FULLPATH = _outputDirPath.resolve("failure.csv").toString();
 	private String LOGS_FULLPATH = _outputDirPath.resolve("logs.txt").toString();
 	private static String SMARTCONTRACTS_FULLPATH = Paths.get("").toString();
+	private String NDJSON_FULLPATH = null;
+
+	/**
+	 * The header of the statistics files.
+	 */
+	static final String STATISTICS_HEADER = "Smart Contract, Total Opcodes, Total Jumps, Solved Jumps, Definitely unreachable jumps, Maybe unreachable jumps, Total solved Jumps, "
+			+ "Unsound jumps, Maybe unsound jumps, % Total Solved, Time (millis), Time lost to get Storage, Actual time, Notes \n";
 
 	// Statistics
 	private int numberOfAPIEtherscanRequest = 0;
@@ -82,9 +92,11 @@ public class EVMLiSA {
 
 	// Configuration
 	private static final boolean REGENERATE = false;
-	private static boolean ENABLE_REENTRANCY_CHECKER = false;
-	private static boolean ENABLE_TXORIGIN_CHECKER = false;
-	private static boolean ENABLE_TIMESTAMPDEPENDENCY_CHECKER = false;
+	private AnalysisContext context = AnalysisContext.builder().build();
+	private ResultCache resultCache;
+	private PackedCorpus corpus;
+	private ResultsWriter resultsWriter;
+	private CheckpointJournal journal;
 
 	/**
 	 * Generates a control flow graph (represented as a LiSA {@code Program})
@@ -97,50 +109,23 @@ public class EVMLiSA {
 	}
 
 	/**
-	 * Computes the basic blocks of the CFG of a given EVM bytecode.
+	 * Computes the basic blocks of the CFG of a given EVM bytecode. The
+	 * analysis is performed in memory, see {@link Analyzer}.
 	 *
 	 * @param bytecode The EVM bytecode to analyze.
 	 * 
 	 * @return A list of pairs where each pair represents the start and end
 	 *             program counter of a basic block.
 	 * 
-	 * @throws IOException If an error occurs while writing the bytecode to a
-	 *                         file.
+	 * @throws IllegalArgumentException If the bytecode is not a valid
+	 *                                      hexadecimal string or it is empty.
 	 */
-	public List<Long[]> computeBasicBlocks(String bytecode) throws IOException {
-		JumpSolver.setLinkUnsoundJumpsToAllJumpdest();
-		String address = setupAnalysisDirectories(null);
-		String bytecodeFullPath = _outputDirPath.resolve(address).toString();
-
-		try (FileWriter writer = new FileWriter(bytecodeFullPath)) {
-			writer.write(bytecode);
-		} catch (IOException e) {
-			log.error("[computeBasicBlocks] Error during writing on file {}", bytecodeFullPath, e);
-			return null;
-		}
+	public List<Long[]> computeBasicBlocks(String bytecode) {
+		AnalysisResult result = new Analyzer(context).analyze(bytecode);
 
-		EVMFrontend.opcodesFromBytecode(bytecode, bytecodeFullPath);
-		Program program = EVMFrontend.generateCfgFromFile(bytecodeFullPath);
+		log.info("Basic blocks: {}", EVMCFG.bbToString(result.getBasicBlocks()));
 
-		LiSAConfiguration conf = new LiSAConfiguration();
-		conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(), new EVMAbstractState(address),
-				new TypeEnvironment<>(new InferredTypes()));
-		conf.workdir = OUTPUT_DIR;
-		conf.interproceduralAnalysis = new ModularWorstCaseAnalysis<>();
-		conf.callGraph = new RTACallGraph();
-		conf.serializeResults = false;
-		conf.optimize = false;
-		conf.useWideningPoints = false;
-		conf.analysisGraphs = GraphType.HTML_WITH_SUBNODES;
-
-		JumpSolver checker = new JumpSolver();
-		conf.semanticChecks.add(checker);
-		LiSA lisa = new LiSA(conf);
-		lisa.run(program);
-
-		log.info("Basic blocks: {}", EVMCFG.bbToString(checker.getComputedCFG().basicBlocksToLongArray()));
-
-		return checker.getComputedCFG().basicBlocksToLongArray();
+		return result.getBasicBlocks();
 	}
 
 	private void go(String[] args) throws Exception {
@@ -148,10 +133,17 @@ public class EVMLiSA {
 		if (cmd == null)
 			return;
 
+		// Server case
+		if (cmd.hasOption("serve") || cmd.hasOption("serve-port")) {
+			setupGlobalOptions(cmd);
+			serve(cmd);
+			return;
+		}
+
 		// Ensure that at least one valid option is provided to specify the
 		// bytecode source
-		if (!cmd.hasOption("address") && !cmd.hasOption("filepath-bytecode")) {
-			log.error("Address or filepath required.");
+		if (!cmd.hasOption("address") && !cmd.hasOption("filepath-bytecode") && !cmd.hasOption("benchmark")) {
+			log.error("Address, filepath or benchmark required.");
 			System.exit(1);
 		}
 
@@ -167,9 +159,18 @@ public class EVMLiSA {
 			return;
 		}
 
+		// Pack the bytecodes of a benchmark (with no analysis) case
+		if (cmd.hasOption("pack-corpus") && cmd.hasOption("benchmark")) {
+			packCorpus(cmd);
+			return;
+		}
+
 		// Benchmark case
 		if (cmd.hasOption("benchmark")) {
-			setupBenchmark(cmd.getOptionValue("benchmark"), json);
+			if (cmd.hasOption("ndjson"))
+				NDJSON_FULLPATH = cmd.getOptionValue("ndjson");
+			setupResultCache(cmd);
+			setupBenchmark(cmd.getOptionValue("benchmark"), cmd.hasOption("resume"), json);
 			return;
 		}
 
@@ -180,63 +181,51 @@ public class EVMLiSA {
 		String bytecodeFullPath = setupBytecode(cmd);
 		String bytecode = new String(Files.readAllBytes(Paths.get(bytecodeFullPath)));
 
-		String bytecodeMnemonicPath = _outputDirPath.resolve(address + ".opcode").toString();
-
+		byte[] code = null;
 		try {
-			EVMFrontend.opcodesFromBytecode(bytecode, bytecodeMnemonicPath);
-		} catch (Exception e) {
-			log.error("Could not parse opcodes from bytecode {}.", bytecodeFullPath);
+			code = EVMFrontend.hexToBytes(bytecode);
+		} catch (IllegalArgumentException e) {
+			log.error("Could not parse opcodes from bytecode {}: {}", bytecodeFullPath, e.getMessage());
 			System.exit(1);
 		}
 
 		json.put("bytecode", bytecode);
 
-		Program program = EVMFrontend.generateCfgFromFile(bytecodeMnemonicPath);
-
 		long start = System.currentTimeMillis();
 
-		LiSAConfiguration conf = createLiSAConfig(address, cmd);
-		JumpSolver checker = new JumpSolver();
-		conf.semanticChecks.add(checker);
+		Analyzer analyzer = createAnalyzer(context.withContractAddress(address), cmd);
 
 		try {
-			LiSA lisa = new LiSA(conf);
-			lisa.run(program);
-			Set<Statement> soundlySolved = getSoundlySolvedJumps(checker, lisa, program);
-
-			long finish = System.currentTimeMillis();
-
-			json.put("basic_blocks_pc", EVMCFG.bbToString(checker.getComputedCFG().basicBlocksToLongArray()));
+			AnalysisResult analysis = analyzer.analyze(code, address, json);
+			MyLogger result = analysis.getStatistics();
 
 			if (cmd.hasOption("basic-blocks")) {
-				JSONArray j = checker.getComputedCFG().basicBlocksToJson();
+				JSONArray j = analysis.getCFG().basicBlocksToJson();
 				String dotFilePath = _outputDirPath.resolve("CFG_with_basic_blocks.dot").toString();
 				json.put("basic_blocks", j);
 				generateDotGraph(j, dotFilePath);
 			}
 
-			checkers(conf, lisa, program, checker, json);
-
-			MyLogger result = EVMLiSA.dumpStatistics(checker, soundlySolved)
-					.address(address)
-					.time(finish - start)
-					.timeLostToGetStorage(MyCache.getInstance().getTimeLostToGetStorage(address))
-					.buildJson(json)
-					.build();
-
 			if (cmd.hasOption("dump-stats")) {
 				toFile(STATISTICS_FULLPATH, result.toString());
 				log.info("Statistics written in {}.", STATISTICS_FULLPATH);
 			}
 
+			if (cmd.hasOption("dump-snapshot")) {
+				Path snapshotPath = _outputDirPath.resolve(address + ".evmcfg");
+				try (OutputStream out = Files.newOutputStream(snapshotPath)) {
+					analysis.writeSnapshot(out);
+				}
+				log.info("CFG snapshot written in {}.", snapshotPath);
+			}
+
 			System.err.println(result.getJson());
 
 		} catch (Throwable e) {
 			long finish = System.currentTimeMillis();
 
-			String msg = MyLogger.newLogger()
+			String msg = failureLogger(e)
 					.address(address)
-					.notes("failure: " + e + " - details: " + e.getMessage())
 					.time(finish - start)
 					.timeLostToGetStorage(MyCache.getInstance().getTimeLostToGetStorage(address))
 					.buildJson(json)
@@ -274,25 +263,37 @@ public class EVMLiSA {
 			CORES = 1;
 		}
 
-		ENABLE_REENTRANCY_CHECKER = cmd.hasOption("checker-reentrancy");
-		ENABLE_TXORIGIN_CHECKER = cmd.hasOption("checker-txorigin");
-		ENABLE_TIMESTAMPDEPENDENCY_CHECKER = cmd.hasOption("checker-timestampdependency");
+		AnalysisContext.Builder builder = AnalysisContext.builder()
+				.reentrancyChecker(cmd.hasOption("checker-reentrancy"))
+				.txOriginChecker(cmd.hasOption("checker-txorigin"))
+				.timestampDependencyChecker(cmd.hasOption("checker-timestampdependency"))
+				.linkUnsoundJumpsToAllJumpdest(cmd.hasOption("link-unsound-jumps-to-all-jumpdest"))
+				.lazyCfg(cmd.hasOption("lazy-cfg"))
+				.useStorageLive(cmd.hasOption("use-live-storage")
+						&& (cmd.hasOption("address") || cmd.hasOption("benchmark")));
 
 		try {
 			if (cmd.hasOption("stack-size"))
-				AbstractStack.setStackLimit(Integer.parseInt(cmd.getOptionValue("stack-size")));
+				builder.stackLimit(Integer.parseInt(cmd.getOptionValue("stack-size")));
 
 			if (cmd.hasOption("stack-set-size"))
-				AbstractStackSet.setStackSetSize(Integer.parseInt(cmd.getOptionValue("stack-set-size")));
+				builder.stackSetSize(Integer.parseInt(cmd.getOptionValue("stack-set-size")));
+
+			if (cmd.hasOption("timeout-per-contract"))
+				builder.timeoutPerContract(
+						TimeUnit.SECONDS.toMillis(Long.parseLong(cmd.getOptionValue("timeout-per-contract"))));
+
+			if (cmd.hasOption("max-fixpoint-iterations"))
+				builder.maxFixpointIterations(Long.parseLong(cmd.getOptionValue("max-fixpoint-iterations")));
 		} catch (NumberFormatException e) {
-			log.error("Size must be an integer.");
+			log.error("Sizes, timeouts and iterations must be integers.");
+			System.exit(1);
+		} catch (IllegalArgumentException e) {
+			log.error(e.getMessage());
 			System.exit(1);
 		}
 
-		if (cmd.hasOption("link-unsound-jumps-to-all-jumpdest"))
-			JumpSolver.setLinkUnsoundJumpsToAllJumpdest();
-		if (cmd.hasOption("use-live-storage") && (cmd.hasOption("address") || cmd.hasOption("benchmark")))
-			EVMAbstractState.setUseStorageLive();
+		context = builder.build();
 	}
 
 	private void setupOutputDirectories(CommandLine cmd) {
@@ -318,20 +319,36 @@ public class EVMLiSA {
 		jsonOptions.put("use_creation_code", cmd.hasOption("creation-code"));
 		if (cmd.getOptionValue("filepath_bytecode") != null)
 			jsonOptions.put("input_filepath", cmd.getOptionValue("filepath-bytecode"));
-		jsonOptions.put("stack_size", AbstractStack.getStackLimit());
-		jsonOptions.put("stack_set_size", AbstractStackSet.getStackSetLimit());
+		jsonOptions.put("stack_size", context.getStackLimit());
+		jsonOptions.put("stack_set_size", context.getStackSetSize());
 		jsonOptions.put("benchmark", cmd.getOptionValue("benchmark"));
 		jsonOptions.put("cores", CORES);
 		jsonOptions.put("dump_report", cmd.hasOption("dump-report"));
 		jsonOptions.put("output_directory", OUTPUT_DIR);
-		jsonOptions.put("link_unsound_jumps_to_all_jumpdest", JumpSolver.getLinkUnsoundJumpsToAllJumpdest());
+		jsonOptions.put("link_unsound_jumps_to_all_jumpdest", context.linkUnsoundJumpsToAllJumpdest());
 		return jsonOptions;
 	}
 
-	private void setupBenchmark(String benchmarkPath, JSONObject json) {
+	private void setupBenchmark(String benchmarkPath, boolean resume, JSONObject json) {
 		SimpleDateFormat DATE_FORMAT_BENCHMARK = new SimpleDateFormat("yyyy-MM-dd-HH-mm-ss");
 		String timestamp = DATE_FORMAT_BENCHMARK.format(System.currentTimeMillis());
-		String postFix = timestamp + "-" + AbstractStack.getStackLimit() + "-" + AbstractStackSet.getStackSetLimit();
+		String sizes = "-" + context.getStackLimit() + "-" + context.getStackSetSize();
+		String postFix = timestamp + sizes;
+
+		// A resumed benchmark appends to the output files of the most recent
+		// one with the same sizes
+		if (resume)
+			try {
+				String latest = CheckpointJournal.findLatest(_outputDirPath.resolve("benchmark"), sizes);
+				if (latest != null) {
+					postFix = latest;
+					log.info("Resuming benchmark {}.", postFix);
+				} else
+					log.warn("No benchmark to resume, starting a new one.");
+			} catch (IOException e) {
+				log.error("Could not look for the benchmark to resume: {}", e.getMessage());
+				System.exit(1);
+			}
 
 		try {
 			Files.createDirectories(_outputDirPath.resolve("benchmark"));
@@ -357,6 +374,16 @@ public class EVMLiSA {
 				.resolve("logs-" + postFix + ".txt")
 				.toString();
 
+		Path journalPath = _outputDirPath
+				.resolve("benchmark")
+				.resolve(CheckpointJournal.PREFIX + postFix + CheckpointJournal.EXTENSION);
+		try {
+			journal = CheckpointJournal.open(journalPath);
+		} catch (IOException e) {
+			log.error("Could not read checkpoint journal {}: {}", journalPath, e.getMessage());
+			System.exit(1);
+		}
+
 		try {
 			runBenchmark(json);
 		} catch (FileNotFoundException e) {
@@ -366,6 +393,60 @@ public class EVMLiSA {
 		}
 	}
 
+	/**
+	 * Serves analysis requests, see {@link AnalysisServer}, over the standard
+	 * streams or, if a port is given, over the connections to that port of
+	 * the loopback address.
+	 */
+	private void serve(CommandLine cmd) throws IOException, InterruptedException {
+		AnalysisServer server = new AnalysisServer(context, CORES);
+
+		if (cmd.hasOption("serve-port")) {
+			int port = 0;
+			try {
+				port = Integer.parseInt(cmd.getOptionValue("serve-port"));
+			} catch (NumberFormatException e) {
+				log.error("Port must be an integer.");
+				System.exit(1);
+			}
+			server.listen(port);
+			return;
+		}
+
+		// The standard output carries the responses only: the logs are
+		// redirected to the standard error
+		PrintStream responses = System.out;
+		System.setOut(System.err);
+		log.info("Serving requests on the standard streams.");
+		server.serve(System.in, responses);
+		server.shutdown(1, TimeUnit.MINUTES);
+	}
+
+	private void setupResultCache(CommandLine cmd) {
+		Path cacheDir = _outputDirPath.resolve("benchmark").resolve("cache");
+		try {
+			resultCache = new ResultCache(cmd.hasOption("persist-cache") ? cacheDir : null);
+		} catch (IOException e) {
+			log.error("Could not create cache directory {}.", cacheDir);
+			System.exit(1);
+		}
+	}
+
+	private void packCorpus(CommandLine cmd) {
+		Path corpusPath = Paths.get(cmd.getOptionValue("pack-corpus"));
+		try {
+			List<String> smartContracts = readSmartContractsFromFile(cmd.getOptionValue("benchmark"));
+			// bytecodes stored by the benchmarks and by --download-bytecode
+			List<Path> directories = List.of(_outputDirPath.resolve("benchmark").resolve("bytecode"),
+					Paths.get("download", "bytecode"));
+			int packed = PackedCorpus.convert(smartContracts, directories, corpusPath);
+			log.info("Packed {} of {} smart contracts in {}.", packed, smartContracts.size(), corpusPath);
+		} catch (Exception e) {
+			log.error("Could not pack corpus {}: {}", corpusPath, e.getMessage());
+			System.exit(1);
+		}
+	}
+
 	private void downloadBytecode(CommandLine cmd) {
 		SMARTCONTRACTS_FULLPATH = Paths.get(cmd.getOptionValue("benchmark")).toString();
 		OUTPUT_DIR = Paths.get("download").toString();
@@ -431,31 +512,22 @@ public class EVMLiSA {
 		return bytecodePath;
 	}
 
-	private LiSAConfiguration createLiSAConfig(String address, CommandLine cmd) {
-		LiSAConfiguration conf = new LiSAConfiguration();
-		conf.serializeInputs = cmd.hasOption("serialize-inputs");
-		conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(), new EVMAbstractState(address),
-				new TypeEnvironment<>(new InferredTypes()));
-		conf.jsonOutput = cmd.hasOption("dump-report");
-		conf.workdir = OUTPUT_DIR;
-		conf.interproceduralAnalysis = new ModularWorstCaseAnalysis<>();
-		conf.callGraph = new RTACallGraph();
-		conf.serializeResults = false;
-		conf.optimize = false;
-		conf.useWideningPoints = false;
+	private Analyzer createAnalyzer(AnalysisContext context, CommandLine cmd) {
+		GraphType analysisGraphs = GraphType.NONE;
 		if (cmd.hasOption("html"))
-			conf.analysisGraphs = GraphType.HTML_WITH_SUBNODES;
+			analysisGraphs = GraphType.HTML_WITH_SUBNODES;
 		else if (cmd.hasOption("dot"))
-			conf.analysisGraphs = GraphType.DOT;
+			analysisGraphs = GraphType.DOT;
 
-		return conf;
+		return new Analyzer(context, OUTPUT_DIR, analysisGraphs, cmd.hasOption("dump-report"),
+				cmd.hasOption("serialize-inputs"));
 	}
 
 	/**
 	 * Performs a new analysis for a given smart contract. This method retrieves
-	 * the bytecode (via API requests to Etherscan.io if necessary), generates
-	 * the Control Flow Graph (CFG), configures the analysis parameters,
-	 * executes the analysis, and collects the results.
+	 * the bytecode (via API requests to Etherscan.io if necessary) and answers
+	 * from the {@link ResultCache} if the same bytecode was already analyzed;
+	 * otherwise, the contract is analyzed by an {@link Analyzer}.
 	 *
 	 * @param CONTRACT_ADDR the address of the smart contract to analyze.
 	 * @param jsonOptions   a {@link JSONObject} containing configuration
@@ -470,18 +542,73 @@ public class EVMLiSA {
 	 */
 	private MyLogger newAnalysis(String CONTRACT_ADDR, JSONObject jsonOptions) throws Exception {
 		Path bytecodeWorkDir = Paths.get(OUTPUT_DIR, "benchmark", "bytecode", CONTRACT_ADDR);
-		String BYTECODE_WORKDIR = bytecodeWorkDir.toString();
+		Path bytecodeFullPath = bytecodeWorkDir.resolve(CONTRACT_ADDR + ".bytecode");
+
+		// Mnemonic bytecode downloaded by previous versions
+		Path mnemonicFullPath = bytecodeWorkDir.resolve(CONTRACT_ADDR + ".opcode");
+
+		byte[] bytecode;
+		if (corpus != null) {
+			// No file is created nor read for the contracts of a packed corpus
+			bytecode = corpus.getBytecode(CONTRACT_ADDR);
+			if (bytecode == null)
+				throw new IOException(CONTRACT_ADDR + " is not in the packed corpus");
+		} else
+			bytecode = retrieveBytecode(CONTRACT_ADDR, bytecodeWorkDir, bytecodeFullPath, mnemonicFullPath);
+
+		AnalysisContext contractContext = context.withContractAddress(CONTRACT_ADDR);
+
+		// Contracts with byte-identical code are answered from the cache. The
+		// metadata is not part of the key, since it is not analyzed
+		String cacheKey = bytecode != null && ResultCache.isCacheable(contractContext)
+				? ResultCache.key(Arrays.copyOf(bytecode, EVMFrontend.codeLength(bytecode)), contractContext)
+				: null;
+		if (cacheKey != null) {
+			long lookupStart = System.currentTimeMillis();
+			JSONObject cached = resultCache.get(cacheKey);
+			if (cached != null) {
+				log.info("{} has the same bytecode of a cached analysis.", CONTRACT_ADDR);
+				for (String key : cached.getJSONObject("checkers").keySet())
+					jsonOptions.put(key, cached.getJSONObject("checkers").get(key));
+				if (cached.has("basic_blocks_pc"))
+					jsonOptions.put("basic_blocks_pc", cached.get("basic_blocks_pc"));
+
+				return MyLogger.fromStatistics(cached.getJSONObject("statistics"))
+						.address(CONTRACT_ADDR)
+						.time(System.currentTimeMillis() - lookupStart)
+						.buildJson(jsonOptions)
+						.build();
+			}
+		}
 
-		Path bytecodeFullPath = bytecodeWorkDir.resolve(CONTRACT_ADDR + ".opcode");
-		String BYTECODE_FULLPATH = bytecodeFullPath.toString();
+		Analyzer analyzer = new Analyzer(contractContext);
+		AnalysisResult result = bytecode != null
+				? analyzer.analyze(bytecode, CONTRACT_ADDR, jsonOptions)
+				: analyzer.analyzeMnemonic(mnemonicFullPath, CONTRACT_ADDR, jsonOptions);
 
+		MyLogger statistics = result.getStatistics();
+		if (cacheKey != null && statistics != null)
+			resultCache.put(cacheKey, toCacheEntry(statistics, jsonOptions));
+
+		return statistics;
+	}
+
+	/**
+	 * Retrieves the bytecode of a smart contract of a benchmark from its
+	 * directory, downloading it from Etherscan.io if it is not there yet.
+	 *
+	 * @return the raw bytecode, or {@code null} if only the mnemonic bytecode
+	 *             downloaded by previous versions is available
+	 */
+	private byte[] retrieveBytecode(String CONTRACT_ADDR, Path bytecodeWorkDir, Path bytecodeFullPath,
+			Path mnemonicFullPath) throws IOException {
 		// Directory setup and bytecode retrieval
 		Files.createDirectories(bytecodeWorkDir);
 
 		// If the file does not exist, we will do an API request to Etherscan
 		synchronized (EVMLiSA.class) {
-			File file = new File(BYTECODE_FULLPATH);
-			if (!file.exists() || REGENERATE) {
+			File file = bytecodeFullPath.toFile();
+			if ((!file.exists() && !Files.exists(mnemonicFullPath)) || REGENERATE) {
 				numberOfAPIEtherscanRequest++;
 
 				if (numberOfAPIEtherscanRequest % 5 == 0) {
@@ -494,51 +621,65 @@ public class EVMLiSA {
 				}
 
 				String bytecode = EVMFrontend.parseContractFromEtherscan(CONTRACT_ADDR);
-				if (EVMFrontend.opcodesFromBytecode(bytecode, BYTECODE_FULLPATH))
+				if (bytecode != null && !bytecode.isEmpty()) {
+					Files.writeString(bytecodeFullPath, bytecode);
 					numberOfAPIEtherscanRequestOnSuccess++;
+				}
 			}
 		}
 
-		// Configuration and test run
-		Program program = EVMFrontend.generateCfgFromFile(BYTECODE_FULLPATH);
-
-		long start = System.currentTimeMillis();
-
-		LiSAConfiguration conf = new LiSAConfiguration();
-		conf.serializeInputs = false;
-		conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(), new EVMAbstractState(CONTRACT_ADDR),
-				new TypeEnvironment<>(new InferredTypes()));
-		conf.jsonOutput = false;
-		conf.workdir = BYTECODE_WORKDIR;
-		conf.interproceduralAnalysis = new ModularWorstCaseAnalysis<>();
-		JumpSolver checker = new JumpSolver();
-		conf.semanticChecks.add(checker);
-		conf.callGraph = new RTACallGraph();
-		conf.serializeResults = false;
-		conf.optimize = false;
-
-		LiSA lisa = new LiSA(conf);
-		lisa.run(program);
-
-		Set<Statement> soundlySolved = getSoundlySolvedJumps(checker, lisa, program);
-
-		long finish = System.currentTimeMillis();
+		return Files.exists(bytecodeFullPath)
+				? EVMFrontend.hexToBytes(Files.readString(bytecodeFullPath))
+				: null;
+	}
 
-		checkers(conf, lisa, program, checker, jsonOptions);
+	/**
+	 * Estimates the cost of the analysis of a smart contract of a benchmark
+	 * (see {@link BenchmarkScheduler#estimateCost(byte[])}) from its bytecode,
+	 * if it is available without downloading it.
+	 *
+	 * @return the estimated cost, or -1 if the bytecode is not available
+	 */
+	private long estimateCost(String CONTRACT_ADDR) {
+		try {
+			byte[] bytecode;
+			if (corpus != null)
+				bytecode = corpus.getBytecode(CONTRACT_ADDR);
+			else {
+				Path bytecodeFullPath = Paths.get(OUTPUT_DIR, "benchmark", "bytecode", CONTRACT_ADDR,
+						CONTRACT_ADDR + ".bytecode");
+				bytecode = Files.exists(bytecodeFullPath)
+						? EVMFrontend.hexToBytes(Files.readString(bytecodeFullPath))
+						: null;
+			}
+			return bytecode == null ? -1 : BenchmarkScheduler.estimateCost(bytecode);
+		} catch (IOException | IllegalArgumentException e) {
+			return -1;
+		}
+	}
 
-		return EVMLiSA.dumpStatistics(checker, soundlySolved)
-				.address(CONTRACT_ADDR)
-				.time(finish - start)
-				.timeLostToGetStorage(MyCache.getInstance().getTimeLostToGetStorage(CONTRACT_ADDR))
-				.buildJson(jsonOptions)
-				.build();
+	/**
+	 * Builds the entry of the {@link ResultCache} of an analysis: the jump
+	 * statistics, the basic blocks and the results of the enabled checkers,
+	 * that is, what a cache hit restores.
+	 */
+	private static JSONObject toCacheEntry(MyLogger statistics, JSONObject jsonOptions) {
+		JSONObject checkers = new JSONObject();
+		for (String key : Arrays.asList("re-entrancy-warning", "tx-origin-warning", "timestamp-dependency-warning"))
+			if (jsonOptions.has(key))
+				checkers.put(key, jsonOptions.get(key));
+
+		return new JSONObject()
+				.put("statistics", statistics.statisticsToJson())
+				.put("basic_blocks_pc", jsonOptions.optString("basic_blocks_pc"))
+				.put("checkers", checkers);
 	}
 
 	/**
 	 * Computes the set of jumps that are soundly solved by the JumpSolver. This
 	 * method applies an iterative approach to resolve unsound jumps by
 	 * conservatively attaching them to all jump destinations, as per the
-	 * configuration.
+	 * configuration of the analysis of the checker.
 	 *
 	 * @param checker the {@link JumpSolver} instance responsible for resolving
 	 *                    jumps
@@ -549,15 +690,16 @@ public class EVMLiSA {
 	 *             soundly solved jumps after applying the iterative resolution
 	 *             process
 	 */
-	Set<Statement> getSoundlySolvedJumps(JumpSolver checker, LiSA lisa, Program program) {
+	static Set<Statement> getSoundlySolvedJumps(JumpSolver checker, LiSA lisa, Program program) {
 		HashSet<Statement> soundlySolved = new HashSet<>();
-		if (JumpSolver.getLinkUnsoundJumpsToAllJumpdest()) {
+		if (checker.getContext().linkUnsoundJumpsToAllJumpdest()) {
 			int currentIteration = 0;
 			int MAX_ITER = 5;
 			boolean fixpoint;
 			do {
 				fixpoint = false;
 				EVMCFG cfg = checker.getComputedCFG();
+				cfg.getBudget().check();
 				Set<Statement> jumpdestNodes = cfg.getAllJumpdest();
 				for (Statement unsoundNode : checker.getUnsoundJumps())
 					if (!soundlySolved.contains(unsoundNode)) {
@@ -572,61 +714,162 @@ public class EVMLiSA {
 				lisa.run(program);
 			} while (fixpoint && checker.getUnsoundJumps() != null && ++currentIteration < MAX_ITER);
 		}
+
+		// the jumps are solved: the next analyses are not resumed
+		forgetFixpointResults(program);
 		return soundlySolved;
 	}
 
+	/**
+	 * Releases the fixpoint results kept by the CFGs of the given program to
+	 * resume their analyses (see {@link EVMCFG#forgetFixpointResults()}).
+	 *
+	 * @param program the analyzed program
+	 */
+	static void forgetFixpointResults(Program program) {
+		for (CFG cfg : program.getAllCFGs())
+			if (cfg instanceof EVMCFG)
+				((EVMCFG) cfg).forgetFixpointResults();
+	}
+
+	/**
+	 * Sets a new {@link AnalysisBudget}, starting now with the limits of the
+	 * given context, on the CFGs of the given program.
+	 *
+	 * @param program the program to analyze
+	 * @param context the context of the analysis
+	 *
+	 * @return the budget
+	 */
+	static AnalysisBudget setBudget(Program program, AnalysisContext context) {
+		AnalysisBudget budget = AnalysisBudget.of(context);
+		for (CFG cfg : program.getAllCFGs())
+			if (cfg instanceof EVMCFG)
+				((EVMCFG) cfg).setBudget(budget);
+		return budget;
+	}
+
+	/**
+	 * Yields the exception to throw when the analysis of the given program
+	 * fails with {@code e}. If the budget of the analysis is exhausted, LiSA
+	 * may have wrapped the {@link BudgetExceededException}: it is unwrapped
+	 * and given the statistics of the CFG computed so far, that is, its
+	 * opcodes and jumps, and the time spent. Any other failure is returned
+	 * as is.
+	 *
+	 * @param budget  the budget of the analysis
+	 * @param e       the failure
+	 * @param program the analyzed program
+	 * @param time    the time spent analyzing, in milliseconds
+	 *
+	 * @return the exception to throw
+	 */
+	static RuntimeException budgetExceeded(AnalysisBudget budget, RuntimeException e, Program program, long time) {
+		if (!budget.isExceeded())
+			return e;
+
+		BudgetExceededException exceeded = null;
+		for (Throwable cause = e; cause != null && exceeded == null; cause = cause.getCause())
+			if (cause instanceof BudgetExceededException)
+				exceeded = (BudgetExceededException) cause;
+		if (exceeded == null) {
+			exceeded = new BudgetExceededException(String.valueOf(e.getMessage()));
+			exceeded.initCause(e);
+		}
+
+		MyLogger partial = MyLogger.newLogger().time(time);
+		for (CFG cfg : program.getAllCFGs())
+			if (cfg instanceof EVMCFG)
+				partial = partial
+						.opcodes(((EVMCFG) cfg).getOpcodeCount())
+						.jumps(((EVMCFG) cfg).getAllJumps().size());
+		return exceeded.withPartialStatistics(partial);
+	}
+
+	/**
+	 * Yields the logger of the failure {@code e}, starting from the partial
+	 * statistics of the analysis if its budget was exhausted.
+	 */
+	static MyLogger failureLogger(Throwable e) {
+		MyLogger partial = e instanceof BudgetExceededException
+				? ((BudgetExceededException) e).getPartialStatistics()
+				: null;
+		return (partial != null ? partial : MyLogger.newLogger())
+				.notes("failure: " + e + " - details: " + e.getMessage());
+	}
+
+	/**
+	 * Yields whether the failure {@code e} is due to the interruption of the
+	 * analyzing thread (e.g., by a shutdown) rather than to the analyzed
+	 * contract, looking also into the exceptions that LiSA may have wrapped.
+	 */
+	static boolean isInterruption(Throwable e) {
+		if (Thread.currentThread().isInterrupted())
+			return true;
+		for (Throwable cause = e; cause != null; cause = cause.getCause())
+			if (cause instanceof InterruptedException
+					|| (cause instanceof BudgetExceededException && ((BudgetExceededException) cause).isInterruption()))
+				return true;
+		return false;
+	}
+
 	/**
 	 * Executes the specified semantic checkers on the provided program and
 	 * configuration, updating the JSON options with warnings generated by the
-	 * analysis. This method dynamically adds and runs semantic checks based on
-	 * the enabled configuration flags.
+	 * analysis. All the enabled checkers are run in a single analysis, whose
+	 * abstract state is the {@link ProductAbstractDomain} of the
+	 * {@link EVMAbstractState} and of the taint domains required by the
+	 * enabled checkers.
 	 *
 	 * @param conf        the {@link LiSAConfiguration} used for static analysis
 	 * @param lisa        the {@link LiSA} instance performing the analysis
 	 * @param program     the {@link Program} representing the analyzed code
 	 * @param checker     the {@link JumpSolver} providing CFG information for
-	 *                        the analysis
+	 *                        the analysis, and its configuration
 	 * @param jsonOptions the {@link JSONObject} where the results of the
 	 *                        analysis are stored
 	 */
-	void checkers(LiSAConfiguration conf, LiSA lisa, Program program, JumpSolver checker, JSONObject jsonOptions) {
-		if (ENABLE_REENTRANCY_CHECKER) {
-			// Clear existing checks and add the ReentrancyChecker
-			conf.semanticChecks.clear();
-			conf.semanticChecks.add(new ReentrancyChecker());
-			lisa.run(program);
+	static void checkers(LiSAConfiguration conf, LiSA lisa, Program program, JumpSolver checker,
+			JSONObject jsonOptions) {
+		AnalysisContext context = checker.getContext();
+		if (!context.isAnyCheckerEnabled())
+			return;
 
-			// Store re-entrancy warnings in the JSON options
-			jsonOptions.put("re-entrancy-warning",
-					MyCache.getInstance().getReentrancyWarnings(checker.getComputedCFG().hashCode()));
+		List<TaintAbstractDomain> taints = new ArrayList<>();
+		if (context.isTxOriginCheckerEnabled())
+			taints.add(new TxOriginAbstractDomain(context.getStackLimit()));
+		if (context.isTimestampDependencyCheckerEnabled())
+			taints.add(new TimestampDependencyAbstractDomain(context.getStackLimit()));
+
+		// Clear existing checks and run all the enabled checkers at once
+		conf.semanticChecks.clear();
+		conf.semanticChecks.add(new ProductChecker(context.isReentrancyCheckerEnabled(),
+				context.isTxOriginCheckerEnabled(), context.isTimestampDependencyCheckerEnabled()));
+		conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(),
+				new ProductAbstractDomain(new EVMAbstractState(context),
+						taints.toArray(new TaintAbstractDomain[taints.size()])),
+				new TypeEnvironment<>(new InferredTypes()));
+		try {
+			lisa.run(program);
+		} finally {
+			// the results of the product domain are not needed after the checks
+			forgetFixpointResults(program);
 		}
 
-		if (ENABLE_TXORIGIN_CHECKER) {
-			// Clear existing checks and add the TxOriginChecker
-			conf.semanticChecks.clear();
-			conf.semanticChecks.add(new TxOriginChecker());
-			conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(), new TxOriginAbstractDomain(),
-					new TypeEnvironment<>(new InferredTypes()));
-			lisa.run(program);
+		int cfgHash = checker.getComputedCFG().hashCode();
 
-			// Store tx-origin warnings in the JSON options
-			jsonOptions.put("tx-origin-warning",
-					MyCache.getInstance().getTxOriginWarnings(checker.getComputedCFG().hashCode()));
-		}
+		// Store re-entrancy warnings in the JSON options
+		if (context.isReentrancyCheckerEnabled())
+			jsonOptions.put("re-entrancy-warning", MyCache.getInstance().getReentrancyWarnings(cfgHash));
 
-		if (ENABLE_TIMESTAMPDEPENDENCY_CHECKER) {
-			// Clear existing checks and add the TimestampdependencyChecker
-			conf.semanticChecks.clear();
-			conf.semanticChecks.add(new TimestampDependencyChecker());
-			conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(),
-					new TimestampDependencyAbstractDomain(),
-					new TypeEnvironment<>(new InferredTypes()));
-			lisa.run(program);
+		// Store tx-origin warnings in the JSON options
+		if (context.isTxOriginCheckerEnabled())
+			jsonOptions.put("tx-origin-warning", MyCache.getInstance().getTxOriginWarnings(cfgHash));
 
-			// Store timestamp-dependency warnings in the JSON options
+		// Store timestamp-dependency warnings in the JSON options
+		if (context.isTimestampDependencyCheckerEnabled())
 			jsonOptions.put("timestamp-dependency-warning",
-					MyCache.getInstance().getTimestampDependencyWarnings(checker.getComputedCFG().hashCode()));
-		}
+					MyCache.getInstance().getTimestampDependencyWarnings(cfgHash));
 	}
 
 	/**
@@ -642,42 +885,63 @@ public class EVMLiSA {
 	 *                       analysis.
 	 */
 	private void runBenchmark(JSONObject jsonOptions) throws Exception {
-		List<String> smartContracts = readSmartContractsFromFile(SMARTCONTRACTS_FULLPATH);
+		List<String> smartContracts;
+		if (PackedCorpus.isPackedCorpus(Paths.get(SMARTCONTRACTS_FULLPATH))) {
+			corpus = PackedCorpus.open(Paths.get(SMARTCONTRACTS_FULLPATH));
+			smartContracts = corpus.getAddresses();
+		} else
+			smartContracts = readSmartContractsFromFile(SMARTCONTRACTS_FULLPATH);
 		List<String> smartContractsTerminatedSuccessfully = new ArrayList<>();
 		List<String> smartContractsFailed = new ArrayList<>();
+		RunnableHandler runnableHandler;
 
-		synchronized (EVMLiSA.class) {
-			long timeToWait = 1000 * 60 * 60 * 5; // 5 hours
+		// The contracts completed before resuming are not analyzed again
+		int completed = smartContracts.size();
+		smartContracts = journal.pending(smartContracts);
+		completed -= smartContracts.size();
+
+		resultsWriter = new ResultsWriter();
+		try {
+			synchronized (EVMLiSA.class) {
+				long timeToWait = 1000 * 60 * 60 * 5; // 5 hours
+
+				String msg = "Start: " + now() + ".\n";
+				msg += "Cores: " + CORES + " (parallel analysis).\n";
+				msg += "Analysis: " + smartContracts.size() + ".\n";
+				if (completed > 0)
+					msg += "Resumed: " + completed + " already completed.\n";
+				msg += "Stack size = " + context.getStackLimit() + ".\n";
+				msg += "Stack set size = " + context.getStackSetSize() + ".\n";
+				msg += "Heap size: " + new Converter().getSize(Runtime.getRuntime().totalMemory()) + ".\n";
+				msg += "Heap Max size: " + new Converter().getSize(Runtime.getRuntime().maxMemory()) + ".\n\n";
+
+				log.info(msg);
+				resultsWriter.write(LOGS_FULLPATH, msg);
+
+				runnableHandler = new RunnableHandler(smartContracts, smartContractsTerminatedSuccessfully,
+						smartContractsFailed, jsonOptions);
+				Thread handler = new Thread(runnableHandler);
+				handler.start();
+
+				EVMLiSA.class.wait(timeToWait);
+			}
 
-			String msg = "Start: " + now() + ".\n";
-			msg += "Cores: " + CORES + " (parallel analysis).\n";
+			String msg = "End: " + now() + ".\n";
 			msg += "Analysis: " + smartContracts.size() + ".\n";
-			msg += "Stack size = " + AbstractStack.getStackLimit() + ".\n";
-			msg += "Stack set size = " + AbstractStackSet.getStackSetLimit() + ".\n";
-			msg += "Heap size: " + new Converter().getSize(Runtime.getRuntime().totalMemory()) + ".\n";
-			msg += "Heap Max size: " + new Converter().getSize(Runtime.getRuntime().maxMemory()) + ".\n\n";
+			msg += "Successfully: " + smartContractsTerminatedSuccessfully.size() + ".\n";
+			msg += "Failed: " + (smartContracts.size() - smartContractsTerminatedSuccessfully.size()) + ".\n";
+			msg += String.format("Core utilization: %.1f%%.\n", 100 * runnableHandler.getUtilization());
 
 			log.info(msg);
-			toFile(LOGS_FULLPATH, msg);
-
-			Runnable runnableHandler = new RunnableHandler(smartContracts, smartContractsTerminatedSuccessfully,
-					smartContractsFailed, jsonOptions);
-			Thread handler = new Thread(runnableHandler);
-			handler.start();
-
-			EVMLiSA.class.wait(timeToWait);
+			resultsWriter.write(LOGS_FULLPATH, msg);
+		} finally {
+			resultsWriter.close();
 		}
 
-		String msg = "End: " + now() + ".\n";
-		msg += "Analysis: " + smartContracts.size() + ".\n";
-		msg += "Successfully: " + smartContractsTerminatedSuccessfully.size() + ".\n";
-		msg += "Failed: " + (smartContracts.size() - smartContractsTerminatedSuccessfully.size()) + ".\n";
-
-		log.info(msg);
-		toFile(LOGS_FULLPATH, msg);
-
 		log.info("Statistics successfully written in {}.", STATISTICS_FULLPATH);
 		log.info("Logs successfully written in {}.", LOGS_FULLPATH);
+		if (NDJSON_FULLPATH != null)
+			log.info("JSON results successfully written in {}.", NDJSON_FULLPATH);
 	}
 
 	private class RunnableHandler implements Runnable {
@@ -685,6 +949,7 @@ public class EVMLiSA {
 		private final List<String> smartContractsTerminatedSuccessfully;
 		private final List<String> smartContractsFailed;
 		private final JSONObject jsonOptions;
+		private final BenchmarkScheduler scheduler = new BenchmarkScheduler(CORES);
 
 		public RunnableHandler(List<String> smartContracts, List<String> smartContractsTerminatedSuccessfully,
 				List<String> smartContractsFailed, JSONObject jsonOptions) {
@@ -694,24 +959,38 @@ public class EVMLiSA {
 			this.jsonOptions = jsonOptions;
 		}
 
+		/**
+		 * Yields the fraction of the available core time spent analyzing.
+		 */
+		public double getUtilization() {
+			return scheduler.getUtilization();
+		}
+
 		@Override
 		public void run() {
-			ExecutorService executor = Executors.newFixedThreadPool(CORES);
-
-			for (String address : smartContracts) {
-				executor.submit(() -> {
+			// The most expensive contracts first, so that they do not delay
+			// the end of the benchmark
+			for (String address : BenchmarkScheduler.order(smartContracts, EVMLiSA.this::estimateCost)) {
+				// Each contract fills its own copy of the options, written
+				// by the writer thread after the analysis
+				JSONObject contractJson = new JSONObject(jsonOptions.toString());
+				scheduler.submit(() -> {
 					try {
-						MyLogger myStats = newAnalysis(address, jsonOptions);
+						MyLogger myStats = newAnalysis(address, contractJson);
 
 						synchronized (smartContractsTerminatedSuccessfully) {
 							smartContractsTerminatedSuccessfully.add(address);
 
 							if (myStats.jumpSize() == 0)
-								toFile(STATISTICSZEROJUMP_FULLPATH, myStats.toString());
+								resultsWriter.write(STATISTICSZEROJUMP_FULLPATH, myStats.toString());
 							else
-								toFile(STATISTICS_FULLPATH, myStats.toString());
+								resultsWriter.write(STATISTICS_FULLPATH, myStats.toString());
+							if (NDJSON_FULLPATH != null)
+								resultsWriter.writeJson(NDJSON_FULLPATH, myStats.getJsonLine());
+							resultsWriter.writeJournal(journal.getPath().toString(), CheckpointJournal.entry(address,
+									"SUCCESS", myStats.statisticsToJson().toString()));
 
-							toFile(LOGS_FULLPATH, buildMessage("SUCCESS", address, smartContracts.size(),
+							resultsWriter.write(LOGS_FULLPATH, buildMessage("SUCCESS", address, smartContracts.size(),
 									smartContractsTerminatedSuccessfully.size(),
 									smartContractsTerminatedSuccessfully.size(),
 									smartContractsFailed.size()));
@@ -720,15 +999,22 @@ public class EVMLiSA {
 						synchronized (smartContractsFailed) {
 							smartContractsFailed.add(address);
 
-							String msg = MyLogger.newLogger()
+							MyLogger failure = failureLogger(e)
 									.address(address)
-									.notes("failure: " + e + " - details: " + e.getMessage())
-									.build().toString();
+									.build();
+							String msg = failure.toString();
 
 							log.error(msg);
-							toFile(FAILURE_FULLPATH, msg);
-
-							toFile(LOGS_FULLPATH, buildMessage("FAILURE", address, smartContracts.size(),
+							resultsWriter.write(FAILURE_FULLPATH, msg);
+							if (NDJSON_FULLPATH != null)
+								resultsWriter.writeJson(NDJSON_FULLPATH, failure.getJsonLine());
+							// An interrupted contract is not journaled, so that it
+							// is analyzed again when the benchmark is resumed
+							if (!isInterruption(e))
+								resultsWriter.writeJournal(journal.getPath().toString(),
+										CheckpointJournal.entry(address, "FAILURE", String.valueOf(e)));
+
+							resultsWriter.write(LOGS_FULLPATH, buildMessage("FAILURE", address, smartContracts.size(),
 									smartContractsTerminatedSuccessfully.size(),
 									smartContractsTerminatedSuccessfully.size(),
 									smartContractsFailed.size()));
@@ -737,15 +1023,11 @@ public class EVMLiSA {
 				});
 			}
 
-			executor.shutdown();
 			try {
-				if (!executor.awaitTermination(5, TimeUnit.HOURS)) {
-					executor.shutdownNow();
+				if (!scheduler.shutdownAndAwait(5, TimeUnit.HOURS))
 					log.error("Timeout while waiting for tasks to complete");
-				}
 			} catch (InterruptedException e) {
 				log.error("Execution interrupted: {}", e.getMessage());
-				executor.shutdownNow();
 			}
 
 			synchronized (EVMLiSA.class) {
@@ -792,7 +1074,7 @@ public class EVMLiSA {
 		Statement entryPoint = cfg.getEntrypoints().stream().findAny().get();
 		Set<Statement> pushedJumps = cfg.getAllPushedJumps();
 
-		if (!JumpSolver.getLinkUnsoundJumpsToAllJumpdest())
+		if (!checker.getContext().linkUnsoundJumpsToAllJumpdest())
 			for (Statement jumpNode : cfg.getAllJumps()) {
 				if (pushedJumps.contains(jumpNode))
 					continue;
@@ -963,11 +1245,7 @@ public class EVMLiSA {
 				File idea = new File(FILE_PATH);
 				if (!idea.exists()) {
 					FileWriter myWriter = new FileWriter(idea, true);
-
-					String init = "Smart Contract, Total Opcodes, Total Jumps, Solved Jumps, Definitely unreachable jumps, Maybe unreachable jumps, Total solved Jumps, "
-							+ "Unsound jumps, Maybe unsound jumps, % Total Solved, Time (millis), Time lost to get Storage, Actual time, Notes \n";
-
-					myWriter.write(init + stats);
+					myWriter.write(STATISTICS_HEADER + stats);
 					myWriter.close();
 
 				} else {
@@ -1182,6 +1460,55 @@ public class EVMLiSA {
 				.hasArg(false)
 				.build();
 
+		Option lazyCfgOption = Option.builder()
+				.longOpt("lazy-cfg")
+				.desc("Build the CFG on demand, from the code reachable through the solved jumps.")
+				.required(false)
+				.hasArg(false)
+				.build();
+
+		Option timeoutPerContractOption = Option.builder()
+				.longOpt("timeout-per-contract")
+				.desc("Stop the analysis of a contract after the given number of seconds, recording it as a failure.")
+				.required(false)
+				.hasArg(true)
+				.build();
+
+		Option maxFixpointIterationsOption = Option.builder()
+				.longOpt("max-fixpoint-iterations")
+				.desc("Stop the analysis of a contract after the given number of fixpoint iterations (statement evaluations), recording it as a failure.")
+				.required(false)
+				.hasArg(true)
+				.build();
+
+		Option ndjsonOption = Option.builder()
+				.longOpt("ndjson")
+				.desc("Also write the JSON result of each contract of the benchmark, one per line, in the given file.")
+				.required(false)
+				.hasArg(true)
+				.build();
+
+		Option resumeOption = Option.builder()
+				.longOpt("resume")
+				.desc("Resume the most recent benchmark, skipping the contracts already completed and appending to its output files.")
+				.required(false)
+				.hasArg(false)
+				.build();
+
+		Option serveOption = Option.builder()
+				.longOpt("serve")
+				.desc("Serve analysis requests, as newline-delimited JSON, on the standard input and output.")
+				.required(false)
+				.hasArg(false)
+				.build();
+
+		Option servePortOption = Option.builder()
+				.longOpt("serve-port")
+				.desc("Serve analysis requests, as newline-delimited JSON, on the given port of the loopback address.")
+				.required(false)
+				.hasArg(true)
+				.build();
+
 		Option dumpAnalysisReport = Option.builder()
 				.longOpt("dump-report")
 				.desc("Dump analysis report.")
@@ -1196,6 +1523,27 @@ public class EVMLiSA {
 				.hasArg(false)
 				.build();
 
+		Option dumpSnapshotOption = Option.builder()
+				.longOpt("dump-snapshot")
+				.desc("Dump a binary snapshot of the CFG with the resolved jumps.")
+				.required(false)
+				.hasArg(false)
+				.build();
+
+		Option packCorpusOption = Option.builder()
+				.longOpt("pack-corpus")
+				.desc("Pack the bytecodes of the benchmark in the given corpus file, usable as benchmark.")
+				.required(false)
+				.hasArg(true)
+				.build();
+
+		Option persistCacheOption = Option.builder()
+				.longOpt("persist-cache")
+				.desc("Persist the results of the benchmark analyses, keyed by bytecode, in the output directory.")
+				.required(false)
+				.hasArg(false)
+				.build();
+
 		Option enableReentrancyCheckerOption = Option.builder()
 				.longOpt("checker-reentrancy")
 				.desc("Enable re-entrancy checker.")
@@ -1226,10 +1574,17 @@ public class EVMLiSA {
 		options.addOption(coresOption);
 
 		options.addOption(dumpStatisticsOption);
+		options.addOption(ndjsonOption);
+		options.addOption(resumeOption);
+		options.addOption(serveOption);
+		options.addOption(servePortOption);
 		options.addOption(serializeInputsOption);
 		options.addOption(downloadBytecodeOption);
 		options.addOption(useStorageLiveOption);
 		options.addOption(linkUnsoundJumpsToAllJumpdestOption);
+		options.addOption(lazyCfgOption);
+		options.addOption(timeoutPerContractOption);
+		options.addOption(maxFixpointIterationsOption);
 		options.addOption(dumpAnalysisReport);
 		options.addOption(dumpHtmlOption);
 		options.addOption(dumpDotOption);
@@ -1237,6 +1592,9 @@ public class EVMLiSA {
 		options.addOption(enableTxOriginCheckerOption);
 		options.addOption(enableTimestampDependencyCheckerOption);
 		options.addOption(basicBlocksOption);
+		options.addOption(persistCacheOption);
+		options.addOption(dumpSnapshotOption);
+		options.addOption(packCorpusOption);
 
 		return options;
 	}
@@ -0,0 +1,326 @@
+package it.unipr;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Writes the results of a benchmark from a dedicated thread, so that the
+ * analyzing threads only enqueue their lines instead of contending for the
+ * files. Each file (statistics, failures, logs, ...) is opened once, in append
+ * mode, and its output is buffered and flushed periodically and when the
+ * writer is closed. The queue is bounded: when it is full, the analyzing
+ * threads wait for the writer to catch up. The lines are written in the order
+ * they are enqueued, but the entries of the {@link CheckpointJournal}s are
+ * held back until the other files are flushed, so that a contract in a
+ * journal has its results on disk. If the thread of the writer dies, the
+ * lines are discarded rather than blocking the analyzing threads.
+ */
+class ResultsWriter implements AutoCloseable {
+	private static final Logger log = LogManager.getLogger(ResultsWriter.class);
+
+	/**
+	 * The maximum number of lines waiting to be written.
+	 */
+	private static final int CAPACITY = 4096;
+
+	/**
+	 * The default interval between two flushes of the files, in nanoseconds.
+	 */
+	private static final long FLUSH_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+	private enum Kind {
+		CSV,
+		JSON,
+		JOURNAL
+	}
+
+	private static final class Line {
+		private final String path;
+		private final String text;
+		private final Kind kind;
+
+		private Line(String path, String text, Kind kind) {
+			this.path = path;
+			this.text = text;
+			this.kind = kind;
+		}
+	}
+
+	private final Queue<Line> queue = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * The free slots of {@link #queue}.
+	 */
+	private final Semaphore space = new Semaphore(CAPACITY);
+
+	/**
+	 * The open files, by path. Only accessed by {@link #writer}.
+	 */
+	private final Map<String, Writer> sinks = new HashMap<>();
+
+	/**
+	 * The open journals, by path. Only accessed by {@link #writer}.
+	 */
+	private final Map<String, Writer> journals = new HashMap<>();
+
+	/**
+	 * The entries of the journals written at the next flush, by path. Only
+	 * accessed by {@link #writer}.
+	 */
+	private final Map<String, StringBuilder> journalEntries = new HashMap<>();
+
+	/**
+	 * The number of threads enqueuing a line. They are counted before reading
+	 * {@link #closed}, and the writer stops only when it is closed and none
+	 * is left, so that no line enqueued while closing is missed by the last
+	 * drain of the queue.
+	 */
+	private final AtomicInteger enqueuing = new AtomicInteger();
+
+	/**
+	 * The interval between two flushes of the files, in nanoseconds.
+	 */
+	private final long flushInterval;
+
+	private final Thread writer;
+	private volatile boolean closed = false;
+
+	/**
+	 * The reason why the thread of the writer died, or {@code null}.
+	 */
+	private volatile Throwable failure;
+
+	/**
+	 * Builds the writer and starts its thread.
+	 */
+	ResultsWriter() {
+		this(FLUSH_INTERVAL);
+	}
+
+	/**
+	 * Builds the writer, flushing the files with the given interval, and
+	 * starts its thread.
+	 *
+	 * @param flushInterval the interval between two flushes, in nanoseconds
+	 */
+	ResultsWriter(long flushInterval) {
+		this.flushInterval = flushInterval;
+		this.writer = new Thread(this::run, "results-writer");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	/**
+	 * Appends the given text to the given CSV file. As in
+	 * {@link EVMLiSA#toFile(String, String)}, the header of the statistics is
+	 * written first if the file does not exist.
+	 *
+	 * @param path the path of the file
+	 * @param text the text to append
+	 *
+	 * @return {@code false} if the line was discarded because the writer is
+	 *             closed or dead
+	 */
+	boolean write(String path, String text) {
+		return enqueue(new Line(path, text, Kind.CSV));
+	}
+
+	/**
+	 * Appends the given JSON to the given newline-delimited JSON file.
+	 *
+	 * @param path the path of the file
+	 * @param json the JSON, on a single line
+	 *
+	 * @return {@code false} if the line was discarded because the writer is
+	 *             closed or dead
+	 */
+	boolean writeJson(String path, String json) {
+		return enqueue(new Line(path, json + "\n", Kind.JSON));
+	}
+
+	/**
+	 * Appends the given entry to the given {@link CheckpointJournal}.
+	 *
+	 * @param path  the path of the journal
+	 * @param entry the entry, terminated by a newline
+	 *
+	 * @return {@code false} if the entry was discarded because the writer is
+	 *             closed or dead
+	 */
+	boolean writeJournal(String path, String entry) {
+		return enqueue(new Line(path, entry, Kind.JOURNAL));
+	}
+
+	private boolean enqueue(Line line) {
+		if (line.path == null || line.text == null)
+			throw new NullPointerException("(void ResultsWriter.write) path or text null");
+
+		enqueuing.incrementAndGet();
+		try {
+			if (closed) {
+				// e.g., an analysis that outlived the benchmark
+				log.warn("Results writer closed, discarded line of {}", line.path);
+				return false;
+			}
+
+			// not interruptible, so that the results of the contracts analyzed
+			// while the benchmark is stopped are not lost
+			space.acquireUninterruptibly();
+			if (failure != null) {
+				// the permits released by the dead writer are passed on to the
+				// other waiting threads
+				space.release();
+				log.error("Results writer dead, discarded line of {}", line.path);
+				return false;
+			}
+			queue.offer(line);
+		} finally {
+			enqueuing.decrementAndGet();
+		}
+
+		LockSupport.unpark(writer);
+		return true;
+	}
+
+	/**
+	 * Writes the pending lines, closes the files and stops the thread of the
+	 * writer.
+	 */
+	@Override
+	public void close() {
+		// the writer drains the lines being enqueued before stopping
+		closed = true;
+		LockSupport.unpark(writer);
+
+		boolean interrupted = false;
+		while (writer.isAlive())
+			try {
+				writer.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+
+		if (failure != null)
+			log.error("Results writer died, some results were not written: {}", failure.toString());
+	}
+
+	private void run() {
+		try {
+			long lastFlush = System.nanoTime();
+			while (true) {
+				// read before draining, so that the lines enqueued before
+				// closing, or while closing, are written
+				boolean stop = closed && enqueuing.get() == 0;
+
+				Line line;
+				while ((line = queue.poll()) != null) {
+					space.release();
+					try {
+						append(line);
+					} catch (RuntimeException e) {
+						log.error("An error occurred in {}: {}", line.path, e.toString());
+					}
+				}
+
+				if (stop)
+					break;
+
+				if (System.nanoTime() - lastFlush >= flushInterval) {
+					flush();
+					lastFlush = System.nanoTime();
+				}
+
+				LockSupport.parkNanos(this, flushInterval);
+			}
+
+			flush();
+			close(sinks);
+			close(journals);
+		} catch (Throwable t) {
+			failure = t;
+			log.error("Results writer died: {}", t.toString());
+			// wakes up the threads waiting for space, which then discard
+			// their lines
+			space.release(CAPACITY);
+			throw t;
+		}
+	}
+
+	private void append(Line line) {
+		if (line.kind == Kind.JOURNAL) {
+			journalEntries.computeIfAbsent(line.path, path -> new StringBuilder()).append(line.text);
+			return;
+		}
+
+		try {
+			open(sinks, line.path, line.kind == Kind.CSV).write(line.text);
+		} catch (IOException e) {
+			log.error("An error occurred in {}", line.path);
+		}
+	}
+
+	private Writer open(Map<String, Writer> files, String path, boolean header) throws IOException {
+		Writer out = files.get(path);
+		if (out == null) {
+			Path file = Paths.get(path);
+			boolean exists = Files.exists(file);
+			out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+					StandardOpenOption.APPEND);
+			files.put(path, out);
+			if (!exists && header)
+				out.write(EVMLiSA.STATISTICS_HEADER);
+		}
+		return out;
+	}
+
+	private void flush() {
+		flush(sinks);
+
+		// the journals only after the results they record
+		for (Map.Entry<String, StringBuilder> entries : journalEntries.entrySet())
+			if (entries.getValue().length() > 0)
+				try {
+					open(journals, entries.getKey(), false).append(entries.getValue());
+					entries.getValue().setLength(0);
+				} catch (IOException e) {
+					log.error("An error occurred in {}", entries.getKey());
+				}
+		flush(journals);
+	}
+
+	private void flush(Map<String, Writer> files) {
+		for (Map.Entry<String, Writer> file : files.entrySet())
+			try {
+				file.getValue().flush();
+			} catch (IOException e) {
+				log.error("An error occurred in {}", file.getKey());
+			}
+	}
+
+	private void close(Map<String, Writer> files) {
+		for (Map.Entry<String, Writer> file : files.entrySet())
+			try {
+				file.getValue().close();
+			} catch (IOException e) {
+				log.error("An error occurred in {}", file.getKey());
+			}
+		files.clear();
+	}
+}
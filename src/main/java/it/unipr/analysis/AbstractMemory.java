@@ -22,22 +22,92 @@ public class AbstractMemory implements ValueDomain<AbstractMemory>, BaseLattice<
 	private static final Logger log = LogManager.getLogger(AbstractMemory.class);
 
 	private static final int WORD_SIZE = 32;
-	private final byte[] memory;
+
+	/**
+	 * Number of index bits consumed by each level of the page table.
+	 */
+	private static final int BITS = 5;
+
+	/**
+	 * Number of children of each inner node of the page table.
+	 */
+	private static final int WIDTH = 1 << BITS;
+
+	private static final int MASK = WIDTH - 1;
+
+	public static final AbstractMemory BOTTOM = new AbstractMemory(null, -1, 0, 0, false);
+	public static final AbstractMemory TOP = new AbstractMemory(null, -1, 0, 0, true);
+
+	/**
+	 * The root of the page table, mapping word indexes to 32-byte pages.
+	 * Inner nodes are {@code Object[]} of {@link #WIDTH} children, leaves are
+	 * {@code byte[]} pages. Pages that only contain zeros and subtrees that
+	 * only contain such pages are represented by {@code null}, hence the
+	 * empty memory has a {@code null} root. Nodes and pages are never
+	 * modified once reachable, so they are shared among the memories derived
+	 * one from another.
+	 */
+	private final Object root;
+
+	/**
+	 * The size of the memory in bytes, always a multiple of
+	 * {@link #WORD_SIZE}, or {@code -1} if this is the bottom or the top
+	 * memory.
+	 */
+	private final long size;
+
+	/**
+	 * The number of index bits below the root of the page table, determined
+	 * by {@link #size}.
+	 */
+	private final int shift;
+
+	/**
+	 * Sum of {@link #pageHash(long, byte[])} over the non-zero pages, updated
+	 * at each write.
+	 */
+	private final int pagesHash;
+
 	private final boolean isTop;
-	public static final AbstractMemory BOTTOM = new AbstractMemory(null);
-	public static final AbstractMemory TOP = new AbstractMemory(null, true);
 
+	/**
+	 * Builds an empty memory.
+	 */
 	public AbstractMemory() {
-		this(new byte[0]);
+		this(null, 0, 0, 0, false);
 	}
 
+	/**
+	 * Builds a memory with the given content.
+	 *
+	 * @param memory the content of the memory, or {@code null} to build the
+	 *                   bottom memory
+	 */
 	public AbstractMemory(byte[] memory) {
-		this.memory = memory;
-		this.isTop = false;
+		this(memory, false);
 	}
 
+	/**
+	 * Builds a memory with the given content.
+	 *
+	 * @param memory the content of the memory, or {@code null} to build the
+	 *                   bottom (or top) memory
+	 * @param isTop  whether the memory is the top one
+	 */
 	public AbstractMemory(byte[] memory, boolean isTop) {
-		this.memory = memory;
+		AbstractMemory built = memory == null ? BOTTOM : new AbstractMemory().write(0, memory, 0, memory.length);
+		this.root = built.root;
+		this.size = built.size;
+		this.shift = built.shift;
+		this.pagesHash = built.pagesHash;
+		this.isTop = isTop;
+	}
+
+	private AbstractMemory(Object root, long size, int shift, int pagesHash, boolean isTop) {
+		this.root = root;
+		this.size = size;
+		this.shift = shift;
+		this.pagesHash = pagesHash;
 		this.isTop = isTop;
 	}
 
@@ -45,55 +115,172 @@ public class AbstractMemory implements ValueDomain<AbstractMemory>, BaseLattice<
 		if (value.length != WORD_SIZE) {
 			throw new IllegalArgumentException("The value must be 32 bytes");
 		}
-		byte[] newMemory = ensureCapacity(offset + WORD_SIZE);
-		System.arraycopy(value, 0, newMemory, offset, WORD_SIZE);
-		return new AbstractMemory(newMemory);
+		return write(checkOffset(offset), value, 0, WORD_SIZE);
 	}
 
 	public AbstractMemory mstore8(int offset, byte value) {
-		byte[] newMemory = ensureCapacity(offset + 1);
-		newMemory[offset] = value;
-		return new AbstractMemory(newMemory);
+		return write(checkOffset(offset), new byte[] { value }, 0, 1);
 	}
 
 	public byte[] mload(int offset) {
-		byte[] newMemory = ensureCapacity(offset + WORD_SIZE);
-		byte[] result = new byte[WORD_SIZE];
-		System.arraycopy(newMemory, offset, result, 0, WORD_SIZE);
-		return result;
+		return read(checkOffset(offset), WORD_SIZE);
 	}
 
 	public AbstractMemory mcopy(int destOffset, int srcOffset, int length) {
 		if (length <= 0)
 			return this;
 
-		byte[] newMemory = ensureCapacity(Math.max(destOffset + length, srcOffset + length));
-
-		int availableSrc = Math.min(srcOffset + length, memory.length) - srcOffset;
-		int copyLength = Math.min(availableSrc, length);
+		byte[] data = read(checkOffset(srcOffset), length);
+		return write(checkOffset(destOffset), data, 0, length)
+				.expand((long) srcOffset + length);
+	}
 
-		if (copyLength > 0)
-			System.arraycopy(memory, srcOffset, newMemory, destOffset, copyLength);
+	private static long checkOffset(int offset) {
+		if (offset < 0)
+			throw new IllegalArgumentException("Memory offset out of range: " + Integer.toUnsignedString(offset));
+		return offset;
+	}
 
-		return new AbstractMemory(newMemory);
+	/**
+	 * Yields the {@code length} bytes starting at {@code offset}, reading
+	 * zeros past the end of the memory.
+	 */
+	private byte[] read(long offset, int length) {
+		byte[] result = new byte[length];
+		long end = offset + length;
+		for (long pos = offset; pos < end;) {
+			long word = pos / WORD_SIZE;
+			int from = (int) (pos % WORD_SIZE);
+			int count = (int) Math.min(WORD_SIZE - from, end - pos);
+			byte[] page = page(word);
+			if (page != null)
+				System.arraycopy(page, from, result, (int) (pos - offset), count);
+			pos += count;
+		}
+		return result;
 	}
 
-	private byte[] ensureCapacity(int size) {
-		int alignedSize = ((size + 31) / 32) * 32;
-		if (alignedSize <= memory.length) {
-			return Arrays.copyOf(memory, memory.length);
+	/**
+	 * Yields a copy of this memory where the {@code length} bytes starting at
+	 * {@code offset} are replaced by the ones of {@code data} starting at
+	 * {@code from}. Only the pages touched by the write and their ancestors in
+	 * the page table are copied.
+	 */
+	private AbstractMemory write(long offset, byte[] data, int from, int length) {
+		AbstractMemory result = expand(offset + length);
+		Object root = result.root;
+		int hash = result.pagesHash;
+		long end = offset + length;
+		for (long pos = offset; pos < end;) {
+			long word = pos / WORD_SIZE;
+			int start = (int) (pos % WORD_SIZE);
+			int count = (int) Math.min(WORD_SIZE - start, end - pos);
+			byte[] old = page(root, result.shift, word);
+			byte[] page = old == null ? new byte[WORD_SIZE] : old.clone();
+			System.arraycopy(data, from + (int) (pos - offset), page, start, count);
+			if (isZero(page))
+				page = null;
+
+			if (old != null)
+				hash -= pageHash(word, old);
+			if (page != null)
+				hash += pageHash(word, page);
+			if (old != null || page != null)
+				root = set(root, result.shift, word, page);
+			pos += count;
 		}
-		byte[] newMemory = new byte[alignedSize];
-		Arrays.fill(newMemory, (byte) 0);
-		System.arraycopy(memory, 0, newMemory, 0, memory.length);
-		return newMemory;
+		return new AbstractMemory(root, result.size, result.shift, hash, false);
+	}
+
+	/**
+	 * Yields a memory with the same content of this one, whose size covers at
+	 * least {@code end} bytes.
+	 */
+	private AbstractMemory expand(long end) {
+		long newSize = (end + WORD_SIZE - 1) / WORD_SIZE * WORD_SIZE;
+		if (newSize <= size)
+			return this;
+
+		int newShift = shiftFor(newSize);
+		Object newRoot = root;
+		if (newRoot != null)
+			for (int s = shift; s < newShift; s += BITS) {
+				Object[] node = new Object[WIDTH];
+				node[0] = newRoot;
+				newRoot = node;
+			}
+		return new AbstractMemory(newRoot, newSize, newShift, pagesHash, false);
+	}
+
+	private static int shiftFor(long size) {
+		long lastWord = Math.max(0, size / WORD_SIZE - 1);
+		int shift = 0;
+		while (lastWord >>> (shift + BITS) != 0)
+			shift += BITS;
+		return shift;
+	}
+
+	private byte[] page(long word) {
+		if (word >= size / WORD_SIZE)
+			return null;
+		return page(root, shift, word);
+	}
+
+	private static byte[] page(Object node, int shift, long word) {
+		for (int s = shift; node != null && s >= 0; s -= BITS)
+			node = ((Object[]) node)[(int) (word >>> s) & MASK];
+		return (byte[]) node;
+	}
+
+	/**
+	 * Yields a copy of the subtree {@code node} where the page {@code word}
+	 * is {@code page}, or {@code null} if the resulting subtree is empty.
+	 */
+	private static Object set(Object node, int shift, long word, byte[] page) {
+		Object[] children = node == null ? new Object[WIDTH] : ((Object[]) node).clone();
+		int index = (int) (word >>> shift) & MASK;
+		children[index] = shift == 0 ? page : set(children[index], shift - BITS, word, page);
+		if (children[index] != null)
+			return children;
+
+		for (Object child : children)
+			if (child != null)
+				return children;
+		return null;
+	}
+
+	private static boolean isZero(byte[] page) {
+		for (byte b : page)
+			if (b != 0)
+				return false;
+		return true;
+	}
+
+	private static int pageHash(long word, byte[] page) {
+		return (Long.hashCode(word) ^ Arrays.hashCode(page)) * 0x9E3779B9;
+	}
+
+	private static boolean sameTree(Object a, Object b, int shift) {
+		if (a == b)
+			return true;
+		if (a == null || b == null)
+			return false;
+		if (shift < 0)
+			return Arrays.equals((byte[]) a, (byte[]) b);
+
+		Object[] x = (Object[]) a, y = (Object[]) b;
+		for (int i = 0; i < WIDTH; i++)
+			if (!sameTree(x[i], y[i], shift - BITS))
+				return false;
+		return true;
 	}
 
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + Arrays.hashCode(memory);
+		result = prime * result + pagesHash;
+		result = prime * result + Long.hashCode(size);
 		result = prime * result + Objects.hash(isTop);
 		return result;
 	}
@@ -107,33 +294,39 @@ public class AbstractMemory implements ValueDomain<AbstractMemory>, BaseLattice<
 		if (getClass() != obj.getClass())
 			return false;
 		AbstractMemory other = (AbstractMemory) obj;
-		return isTop == other.isTop && Arrays.equals(memory, other.memory);
+		return isTop == other.isTop && size == other.size && pagesHash == other.pagesHash
+				&& sameTree(root, other.root, shift);
 	}
 
 	@Override
 	public AbstractMemory clone() {
-		if (isTop())
-			return TOP;
-		else if (isBottom())
-			return BOTTOM;
-		AbstractMemory cloned = new AbstractMemory(Arrays.copyOf(this.memory, this.memory.length), false);
-		return cloned;
+		// memories are immutable
+		return this;
 	}
 
 	@Override
 	public String toString() {
 		if (isTop)
 			return Lattice.TOP_STRING;
-		else if (memory == null)
+		else if (isBottom())
 			return Lattice.BOTTOM_STRING;
-
-		StringBuilder hexString = new StringBuilder("");
-		for (byte b : memory)
-			hexString.append(String.format("%02X", b));
-
-		if (memory.length == 0 || hexString.toString().matches("^0+$"))
+		else if (root == null)
 			return "EMPTY";
 
+		return hexDump();
+	}
+
+	private String hexDump() {
+		StringBuilder hexString = new StringBuilder((int) Math.min(Integer.MAX_VALUE, size * 2));
+		for (long word = 0; word < size / WORD_SIZE; word++) {
+			byte[] page = page(word);
+			if (page == null)
+				for (int i = 0; i < WORD_SIZE; i++)
+					hexString.append("00");
+			else
+				for (byte b : page)
+					hexString.append(String.format("%02X", b));
+		}
 		return hexString.toString();
 	}
 
@@ -164,7 +357,7 @@ public class AbstractMemory implements ValueDomain<AbstractMemory>, BaseLattice<
 
 	@Override
 	public boolean isBottom() {
-		return memory == null && !isTop;
+		return size < 0 && !isTop;
 	}
 
 	@Override
@@ -231,15 +424,10 @@ public class AbstractMemory implements ValueDomain<AbstractMemory>, BaseLattice<
 		else if (isBottom())
 			return Lattice.bottomRepresentation();
 
-		StringBuilder hexString = new StringBuilder("");
-		for (byte b : memory) {
-			hexString.append(String.format("%02X", b));
-		}
-
-		if (memory.length == 0 || hexString.toString().matches("^0+$"))
+		if (root == null)
 			return new StringRepresentation("EMPTY");
 
-		return new StringRepresentation(hexString.toString());
+		return new StringRepresentation(hexDump());
 	}
 
 	static public String printBytes(byte[] bytes) {
@@ -13,8 +13,8 @@ import it.unive.lisa.symbolic.value.ValueExpression;
 import it.unive.lisa.util.representation.StringRepresentation;
 import it.unive.lisa.util.representation.StructuredRepresentation;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Predicate;
@@ -22,15 +22,11 @@ import java.util.function.Predicate;
 public class AbstractStack implements ValueDomain<AbstractStack>, BaseLattice<AbstractStack> {
 
 	/**
-	 * The stack height.
-	 */
-	private static int STACK_LIMIT = 32;
-
-	/**
-	 * The top abstract element of this domain.
+	 * The top abstract element of this domain with the default stack height,
+	 * which is also the top of the bottom element.
 	 */
 	private static final AbstractStack TOP = new AbstractStack(
-			new ArrayList<>(Collections.nCopies(STACK_LIMIT, StackElement.TOP)));
+			new ArrayList<>(Collections.nCopies(AnalysisContext.DEFAULT_STACK_LIMIT, StackElement.TOP)));
 
 	/**
 	 * The bottom abstract element of this domain.
@@ -38,15 +34,40 @@ public class AbstractStack implements ValueDomain<AbstractStack>, BaseLattice<Ab
 	private static final AbstractStack BOTTOM = new AbstractStack(null);
 
 	/**
-	 * The abstract stack.
+	 * The number of slots of the abstract stack.
+	 */
+	private final int limit;
+
+	/**
+	 * The frame holding the top of the stack, or {@code null} if the stack
+	 * only contains padding slots. Frames are immutable and shared among the
+	 * stacks derived one from another.
+	 */
+	private Frame frames;
+
+	/**
+	 * The topmost frame below the stack, or {@code null}. When a push
+	 * overflows the stack, the deepest slot is dropped lazily by moving the
+	 * base one frame up, so that all the frames below the top of the stack
+	 * are still shared. The dropped frames are released by copying the stack
+	 * once as many frames as the stack height have been dropped.
 	 */
-	private final ArrayList<StackElement> stack;
+	private Frame base;
 
 	/**
-	 * Builds an initial symbolic stack.
+	 * The element filling the slots below the deepest frame (either
+	 * {@link StackElement#BOTTOM} or {@link StackElement#TOP}), or
+	 * {@code null} if this is the bottom stack.
 	 */
-	public AbstractStack() {
-		this(new ArrayList<>(Collections.nCopies(STACK_LIMIT, StackElement.BOTTOM)));
+	private StackElement padding;
+
+	/**
+	 * Builds an initial symbolic stack with the given height.
+	 *
+	 * @param limit the stack height
+	 */
+	public AbstractStack(int limit) {
+		this(limit, null, null, StackElement.BOTTOM);
 	}
 
 	/**
@@ -55,7 +76,39 @@ public class AbstractStack implements ValueDomain<AbstractStack>, BaseLattice<Ab
 	 * @param stack the stack of values
 	 */
 	public AbstractStack(ArrayList<StackElement> stack) {
-		this.stack = stack;
+		if (stack == null) {
+			this.limit = 0;
+			this.padding = null;
+			return;
+		}
+
+		this.limit = stack.size();
+		if (stack.isEmpty() || !stack.get(0).isTop())
+			this.padding = StackElement.BOTTOM;
+		else
+			this.padding = StackElement.TOP;
+
+		// leading slots equal to the padding are kept implicit
+		int i = 0;
+		while (i < stack.size() && isPadding(stack.get(i), padding))
+			i++;
+		for (; i < stack.size(); i++)
+			this.frames = new Frame(stack.get(i), frames);
+	}
+
+	/**
+	 * Builds a symbolic stack starting from a given chain of frames.
+	 *
+	 * @param limit   the number of slots of the stack
+	 * @param frames  the frame holding the top of the stack
+	 * @param base    the topmost frame below the stack
+	 * @param padding the element filling the slots below the deepest frame
+	 */
+	private AbstractStack(int limit, Frame frames, Frame base, StackElement padding) {
+		this.limit = limit;
+		this.frames = frames;
+		this.base = base;
+		this.padding = padding;
 	}
 
 	@Override
@@ -115,12 +168,14 @@ public class AbstractStack implements ValueDomain<AbstractStack>, BaseLattice<Ab
 
 	@Override
 	public String toString() {
-		return this.stack.toString();
+		return getStack().toString();
 	}
 
 	@Override
 	public AbstractStack top() {
-		return TOP;
+		if (isBottom() || limit == TOP.limit)
+			return TOP;
+		return new AbstractStack(limit, null, null, StackElement.TOP);
 	}
 
 	@Override
@@ -130,26 +185,33 @@ public class AbstractStack implements ValueDomain<AbstractStack>, BaseLattice<Ab
 
 	@Override
 	public boolean isTop() {
-		if (isBottom())
-			return false;
-		for (StackElement element : this.stack)
-			if (!element.isTop())
-				return false;
-		return true;
+		return !isBottom() && tops() == limit;
 	}
 
 	@Override
 	public boolean isBottom() {
-		return stack == null;
+		return padding == null;
 	}
 
 	public boolean isEmpty() {
-		return stack.isEmpty();
+		return limit == 0;
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(stack);
+		if (isBottom())
+			return 0;
+		// same value of List.hashCode() on the slots, from the deepest one
+		int result = 1;
+		for (int i = depth(); i < limit; i++)
+			result = 31 * result + padding.hashCode();
+		if (frames == null)
+			return result;
+		if (base == null)
+			return frames.hash + frames.power * (result - 1);
+		// the hash code of the dropped frames is replaced by the one of the
+		// padding slots, 31 raised to the depth being the ratio of the powers
+		return frames.hash + frames.power * base.inverse * (result - base.hash);
 	}
 
 	@Override
@@ -161,7 +223,25 @@ public class AbstractStack implements ValueDomain<AbstractStack>, BaseLattice<Ab
 		if (getClass() != obj.getClass())
 			return false;
 		AbstractStack other = (AbstractStack) obj;
-		return Objects.equals(stack, other.stack);
+		if (isBottom() || other.isBottom())
+			return isBottom() && other.isBottom();
+		if (limit != other.limit)
+			return false;
+		if (frames == other.frames && base == other.base && padding == other.padding)
+			return true;
+		if (bottoms() != other.bottoms() || tops() != other.tops())
+			return false;
+		Frame f1 = frames, f2 = other.frames;
+		for (int i = 0; i < limit; i++) {
+			if (f1 != null && f1 == f2 && base == other.base)
+				// the remaining frames are shared
+				return limit - i - (f1.size - sizeOf(base)) == 0 || padding == other.padding;
+			if (!Objects.equals(f1 == null ? padding : f1.element, f2 == null ? other.padding : f2.element))
+				return false;
+			f1 = below(f1);
+			f2 = other.below(f2);
+		}
+		return true;
 	}
 
 	@Override
@@ -176,14 +256,15 @@ public class AbstractStack implements ValueDomain<AbstractStack>, BaseLattice<Ab
 	 * @return the StackElement at the top of the stack.
 	 */
 	public StackElement getTop() {
-		return this.stack.get(stack.size() - 1); // Get the last element
+		return peek(0);
 	}
 
 	@Override
 	public AbstractStack clone() {
-		if (isBottom() || isTop())
+		if (isBottom())
 			return this;
-		return new AbstractStack(new ArrayList<>(stack));
+		// frames are immutable, hence they can be shared with the clone
+		return new AbstractStack(limit, frames, base, padding);
 	}
 
 	/**
@@ -192,8 +273,20 @@ public class AbstractStack implements ValueDomain<AbstractStack>, BaseLattice<Ab
 	 * @param target the element to be pushed onto the stack.
 	 */
 	public void push(StackElement target) {
-		stack.remove(0);
-		stack.add(target);
+		if (depth() == limit)
+			// the deepest frame is dropped, otherwise the deepest padding slot
+			base = frameAt(sizeOf(base) + 1);
+		frames = new Frame(target, frames);
+
+		if (base != null && base.size >= limit) {
+			// the dropped frames are released
+			StackElement[] elements = topFrames(depth());
+			Frame result = null;
+			for (int i = elements.length - 1; i >= 0; i--)
+				result = new Frame(elements[i], result);
+			frames = result;
+			base = null;
+		}
 	}
 
 	/**
@@ -202,100 +295,255 @@ public class AbstractStack implements ValueDomain<AbstractStack>, BaseLattice<Ab
 	 * @return the element at the top of the stack.
 	 */
 	public StackElement pop() {
-		StackElement result = stack.remove(stack.size() - 1);
-		if (!stack.get(0).isTop())
-			stack.add(0, StackElement.BOTTOM);
-		else
-			stack.add(0, StackElement.TOP);
+		if (frames == null)
+			return padding;
+
+		StackElement result = frames.element;
+		if (depth() == limit)
+			// the slot freed at the bottom of the stack becomes padding
+			padding = deepest().isTop() ? StackElement.TOP : StackElement.BOTTOM;
+		frames = below(frames);
+		if (frames == null)
+			base = null;
 		return result;
 	}
 
+	/**
+	 * Duplicates the x-th element from the top of the stack, pushing it onto
+	 * the stack.
+	 *
+	 * @param x the position of the element to duplicate, starting from 1
+	 */
+	public void dup(int x) {
+		push(peek(x - 1));
+	}
+
+	/**
+	 * Swaps the top of the stack with the (x + 1)-th element from the top of
+	 * the stack.
+	 *
+	 * @param x the distance of the element to swap from the top of the stack
+	 */
+	public void swap(int x) {
+		// only the frames above the swapped element are copied
+		StackElement[] elements = topFrames(x + 1);
+		Frame result = dropFrames(x + 1);
+		if (result == null)
+			// all the frames are copied
+			base = null;
+		result = new Frame(elements[0], result);
+		for (int i = x - 1; i >= 1; i--)
+			result = new Frame(elements[i], result);
+		frames = new Frame(elements[x], result);
+	}
+
 	/**
 	 * Returns the number of items in the stack (non-bottom).
 	 *
 	 * @return the number of items in the stack.
 	 */
 	public int size() {
-		int bottomCounter = 0;
-		for (StackElement item : stack) {
-			if (item.isBottom()) {
-				bottomCounter++;
-			}
-		}
-		return stack.size() - bottomCounter;
+		return limit - bottoms();
 	}
 
 	/**
-	 * Yields the stack.
+	 * Yields the stack, from the deepest slot to the top of the stack.
+	 * Modifying the returned list does not affect this stack.
 	 * 
 	 * @return the stack
 	 */
 	public List<StackElement> getStack() {
-		return stack;
+		return Arrays.asList(toArray());
 	}
 
-	@Override
-	public AbstractStack lubAux(AbstractStack other) throws SemanticException {
-		ArrayList<StackElement> result = new ArrayList<>(STACK_LIMIT);
+	/**
+	 * Yields the slots of the stack, from the deepest one to the top of the
+	 * stack.
+	 * 
+	 * @return the slots of the stack
+	 */
+	private StackElement[] toArray() {
+		StackElement[] result = new StackElement[limit];
+		int i = limit - 1;
+		for (Frame f = frames; f != null; f = below(f))
+			result[i--] = f.element;
+		for (; i >= 0; i--)
+			result[i] = padding;
+		return result;
+	}
 
-		Iterator<StackElement> thisIterator = this.stack.iterator();
-		Iterator<StackElement> otherIterator = other.stack.iterator();
+	/**
+	 * Yields the element at the given distance from the top of the stack.
+	 * 
+	 * @param i the distance from the top of the stack
+	 * 
+	 * @return the element at the given distance from the top of the stack
+	 */
+	private StackElement peek(int i) {
+		Frame f = frames;
+		for (; f != null && i > 0; i--)
+			f = below(f);
+		return f == null ? padding : f.element;
+	}
 
-		while (thisIterator.hasNext() && otherIterator.hasNext()) {
-			StackElement thisElement = thisIterator.next();
-			StackElement otherElement = otherIterator.next();
-			result.add(thisElement.lub(otherElement));
+	/**
+	 * Yields the elements in the n slots at the top of the stack, starting
+	 * from the top one.
+	 */
+	private StackElement[] topFrames(int n) {
+		StackElement[] result = new StackElement[n];
+		Frame f = frames;
+		for (int i = 0; i < n; i++) {
+			result[i] = f == null ? padding : f.element;
+			f = below(f);
 		}
+		return result;
+	}
 
-		return new AbstractStack(result);
+	/**
+	 * Yields the frames below the n slots at the top of the stack.
+	 */
+	private Frame dropFrames(int n) {
+		if (n <= depth()) {
+			Frame f = frames;
+			for (int i = 0; i < n; i++)
+				f = below(f);
+			return f;
+		}
+		return null;
 	}
 
-	@Override
-	public AbstractStack wideningAux(AbstractStack other) throws SemanticException {
-		ArrayList<StackElement> result = new ArrayList<>(STACK_LIMIT);
+	/**
+	 * Yields the element in the deepest frame.
+	 */
+	private StackElement deepest() {
+		return frameAt(sizeOf(base) + 1).element;
+	}
+
+	/**
+	 * Yields the frame below the given one, or {@code null} if the given frame
+	 * is the deepest one of the stack (or {@code null} itself).
+	 */
+	private Frame below(Frame f) {
+		return f == null || f.next == base ? null : f.next;
+	}
 
-		Iterator<StackElement> thisIterator = this.stack.iterator();
-		Iterator<StackElement> otherIterator = other.stack.iterator();
+	/**
+	 * Yields the frame of the chain with the given size, following the jump
+	 * pointers of the frames.
+	 */
+	private Frame frameAt(int size) {
+		Frame f = frames;
+		while (f.size > size)
+			f = f.jump != null && f.jump.size >= size ? f.jump : f.next;
+		return f;
+	}
 
-		while (thisIterator.hasNext() && otherIterator.hasNext()) {
-			StackElement thisElement = thisIterator.next();
-			StackElement otherElement = otherIterator.next();
-			result.add(thisElement.widening(otherElement));
-		}
+	/**
+	 * Yields the number of slots held by frames.
+	 */
+	private int depth() {
+		return frames == null ? 0 : frames.size - sizeOf(base);
+	}
 
-		return new AbstractStack(result);
+	private int bottoms() {
+		int result = frames == null ? 0 : frames.bottoms - (base == null ? 0 : base.bottoms);
+		return padding.isBottom() ? result + limit - depth() : result;
 	}
 
-	@Override
-	public AbstractStack glbAux(AbstractStack other) throws SemanticException {
-		ArrayList<StackElement> result = new ArrayList<>(STACK_LIMIT);
+	private int tops() {
+		int result = frames == null ? 0 : frames.tops - (base == null ? 0 : base.tops);
+		return padding.isTop() ? result + limit - depth() : result;
+	}
 
-		Iterator<StackElement> thisIterator = this.stack.iterator();
-		Iterator<StackElement> otherIterator = other.stack.iterator();
+	private static int sizeOf(Frame f) {
+		return f == null ? 0 : f.size;
+	}
 
-		while (thisIterator.hasNext() && otherIterator.hasNext()) {
-			StackElement thisElement = thisIterator.next();
-			StackElement otherElement = otherIterator.next();
-			result.add(thisElement.glb(otherElement));
-		}
+	private static boolean isPadding(StackElement element, StackElement padding) {
+		return padding.isBottom() ? element.isBottom() : element.isTop();
+	}
 
-		return new AbstractStack(result);
+	@Override
+	public AbstractStack lubAux(AbstractStack other) throws SemanticException {
+		return combine(other, StackElement::lub);
 	}
 
 	@Override
-	public boolean lessOrEqualAux(AbstractStack other) throws SemanticException {
-		Iterator<StackElement> thisIterator = this.stack.iterator();
-		Iterator<StackElement> otherIterator = other.stack.iterator();
+	public AbstractStack wideningAux(AbstractStack other) throws SemanticException {
+		return combine(other, StackElement::widening);
+	}
+
+	@Override
+	public AbstractStack glbAux(AbstractStack other) throws SemanticException {
+		return combine(other, StackElement::glb);
+	}
 
-		while (thisIterator.hasNext() && otherIterator.hasNext()) {
-			if (!thisIterator.next().lessOrEqual(otherIterator.next())) {
+	@Override
+	public boolean lessOrEqualAux(AbstractStack other) throws SemanticException {
+		int size = Math.min(limit, other.limit);
+		Frame f1 = dropFrames(limit - size), f2 = other.dropFrames(other.limit - size);
+		for (int i = 0; i < size; i++) {
+			if (f1 != null && f1 == f2 && base == other.base && padding == other.padding)
+				// the remaining slots are shared
+				return true;
+			if (f1 == null && f2 == null)
+				// the remaining slots are padding
+				return padding.lessOrEqual(other.padding);
+			if (!(f1 == null ? padding : f1.element).lessOrEqual(f2 == null ? other.padding : f2.element))
 				return false;
-			}
+			f1 = below(f1);
+			f2 = other.below(f2);
 		}
 
 		return true;
 	}
 
+	/**
+	 * Combines the slots of this stack and of the given one pairwise, from the
+	 * top of the stacks. The slots below the frames shared by the two stacks
+	 * are combined with themselves, hence they are shared with the result
+	 * too. If the stacks have different heights, the result has the lowest
+	 * one and the slots are paired from the bottom of the stacks.
+	 *
+	 * @param other    the other stack
+	 * @param operator the operator combining two slots
+	 * 
+	 * @return the combination of the two stacks
+	 * 
+	 * @throws SemanticException if the operator fails
+	 */
+	private AbstractStack combine(AbstractStack other, SlotOperator operator) throws SemanticException {
+		int size = Math.min(limit, other.limit);
+		Frame f1 = dropFrames(limit - size), f2 = other.dropFrames(other.limit - size);
+		StackElement fill = operator.apply(padding, other.padding);
+		boolean uniform = fill.isTop() || fill.isBottom();
+
+		StackElement[] elements = new StackElement[size];
+		Frame tail = null, tailBase = null;
+		int n = 0;
+		for (; n < size; n++) {
+			if (f1 != null && f1 == f2 && base == other.base && padding == other.padding) {
+				// the remaining slots are shared
+				tail = f1;
+				tailBase = base;
+				fill = padding;
+				break;
+			}
+			if (f1 == null && f2 == null && uniform)
+				// the remaining slots are padding
+				break;
+			elements[n] = operator.apply(f1 == null ? padding : f1.element, f2 == null ? other.padding : f2.element);
+			f1 = below(f1);
+			f2 = other.below(f2);
+		}
+
+		Frame result = tail;
+		for (int i = n - 1; i >= 0; i--)
+			result = new Frame(elements[i], result);
+		return new AbstractStack(size, result, tailBase, fill.isTop() ? StackElement.TOP : StackElement.BOTTOM);
+	}
+
 	/**
 	 * Yields the second element of this abstract stack.
 	 * 
@@ -306,28 +554,16 @@ public class AbstractStack implements ValueDomain<AbstractStack>, BaseLattice<Ab
 			return StackElement.BOTTOM;
 		else if (isTop())
 			return StackElement.TOP;
-		return this.stack.get(STACK_LIMIT - 2);
-	}
-
-	/**
-	 * Set the stack limit.
-	 *
-	 * @param n the new stack limit
-	 */
-	public static void setStackLimit(int n) {
-		if (n > 0)
-			STACK_LIMIT = n;
-		else
-			throw new RuntimeException("Stack height cannot be non-positive");
+		return peek(1);
 	}
 
 	/**
-	 * Yields the stack limit.
+	 * Yields the height of this stack.
 	 *
-	 * @return the stack limit
+	 * @return the height of this stack
 	 */
-	public static int getStackLimit() {
-		return STACK_LIMIT;
+	public int getStackLimit() {
+		return limit;
 	}
 
 	/**
@@ -340,9 +576,17 @@ public class AbstractStack implements ValueDomain<AbstractStack>, BaseLattice<Ab
 	 *             is bottom, {@code false} otherwise.
 	 */
 	public boolean hasBottomUntil(int x) {
-		for (int i = 0; i < x; i++)
-			if (this.stack.get((STACK_LIMIT - 1) - i).isBottom())
+		if (frames == null || frames.bottoms == (base == null ? 0 : base.bottoms))
+			// only the padding slots can be bottom
+			return x > depth() && padding.isBottom();
+		Frame f = frames;
+		for (int i = 0; i < x; i++) {
+			if (f == null)
+				return padding.isBottom();
+			if (f.element.isBottom())
 				return true;
+			f = below(f);
+		}
 		return false;
 	}
 
@@ -350,4 +594,85 @@ public class AbstractStack implements ValueDomain<AbstractStack>, BaseLattice<Ab
 	public boolean knowsIdentifier(Identifier id) {
 		return true;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * An operator combining two slots of the stacks.
+	 */
+	@FunctionalInterface
+	private interface SlotOperator {
+		StackElement apply(StackElement first, StackElement second) throws SemanticException;
+	}
+
+	/**
+	 * An immutable frame of an abstract stack, holding one slot and the frames
+	 * below it. Each frame also caches some information about the slots from
+	 * itself to the deepest frame, so that it does not need to be recomputed
+	 * at each instruction.
+	 */
+	private static final class Frame {
+
+		/**
+		 * The inverse of 31 modulo 2^32.
+		 */
+		private static final int INVERSE_31 = 0xbdef7bdf;
+
+		/**
+		 * The element of this frame.
+		 */
+		private final StackElement element;
+
+		/**
+		 * The frame below this one, or {@code null}.
+		 */
+		private final Frame next;
+
+		/**
+		 * A frame below this one, or {@code null} for the virtual frame below
+		 * the deepest one, chosen so that any frame below this one is reached
+		 * following a logarithmic number of jumps and {@link #next} links.
+		 */
+		private final Frame jump;
+
+		/**
+		 * The number of frames, the number of bottom elements and the number of
+		 * top elements from this frame to the deepest one.
+		 */
+		private final int size, bottoms, tops;
+
+		/**
+		 * The list hash code of the elements from the deepest frame to this
+		 * one, 31 raised to {@link #size} and its inverse modulo 2^32.
+		 */
+		private final int hash, power, inverse;
+
+		private Frame(StackElement element, Frame next) {
+			this.element = element;
+			this.next = next;
+			int size = 0, bottoms = 0, tops = 0, hash = 1, power = 1, inverse = 1;
+			if (next != null) {
+				size = next.size;
+				bottoms = next.bottoms;
+				tops = next.tops;
+				hash = next.hash;
+				power = next.power;
+				inverse = next.inverse;
+			}
+			this.size = size + 1;
+			this.bottoms = element.isBottom() ? bottoms + 1 : bottoms;
+			this.tops = element.isTop() ? tops + 1 : tops;
+			this.hash = 31 * hash + element.hashCode();
+			this.power = 31 * power;
+			this.inverse = INVERSE_31 * inverse;
+
+			// skew-binary jump pointers, as in Myers' applicative random
+			// access stacks
+			if (next == null)
+				this.jump = null;
+			else if (next.jump != null
+					&& next.size - next.jump.size == next.jump.size - sizeOf(next.jump.jump))
+				this.jump = next.jump.jump;
+			else
+				this.jump = next;
+		}
+	}
+}
@@ -10,27 +10,32 @@ import java.util.Set;
 public class AbstractStackSet extends SetLattice<AbstractStackSet, AbstractStack> {
 
 	/**
-	 * The maximum size of an abstract stack set
+	 * The maximum size of this abstract stack set.
 	 */
-	private static int SIZE = 8;
+	private final int sizeLimit;
 
 	/**
-	 * The bottom element of the abstract stack set domain.
+	 * Builds an initial abstract stack set.
+	 *
+	 * @param stackLimit the height of the stacks
+	 * @param sizeLimit  the maximum size of the set
 	 */
-	private static final AbstractStackSet BOTTOM = new AbstractStackSet(null, false);
-
-	/**
-	 * The top element of the abstract stack set domain.
-	 */
-	private static final AbstractStackSet TOP = new AbstractStackSet(Collections.emptySet(), true);
-
-	public AbstractStackSet() {
+	public AbstractStackSet(int stackLimit, int sizeLimit) {
 		super(new HashSet<AbstractStack>(), false);
-		this.elements.add(new AbstractStack());
+		this.sizeLimit = sizeLimit;
+		this.elements.add(new AbstractStack(stackLimit));
 	}
 
-	public AbstractStackSet(Set<AbstractStack> elements, boolean isTop) {
+	/**
+	 * Builds an abstract stack set.
+	 *
+	 * @param elements  the stacks
+	 * @param isTop     whether the set is top
+	 * @param sizeLimit the maximum size of the set
+	 */
+	public AbstractStackSet(Set<AbstractStack> elements, boolean isTop, int sizeLimit) {
 		super(elements, isTop);
+		this.sizeLimit = sizeLimit;
 	}
 
 	/**
@@ -45,12 +50,12 @@ public class AbstractStackSet extends SetLattice<AbstractStackSet, AbstractStack
 
 	@Override
 	public AbstractStackSet top() {
-		return TOP;
+		return isTop() ? this : new AbstractStackSet(Collections.emptySet(), true, sizeLimit);
 	}
 
 	@Override
 	public AbstractStackSet bottom() {
-		return BOTTOM;
+		return isBottom() ? this : new AbstractStackSet(null, false, sizeLimit);
 	}
 
 	@Override
@@ -71,14 +76,14 @@ public class AbstractStackSet extends SetLattice<AbstractStackSet, AbstractStack
 	@Override
 	public AbstractStackSet lubAux(AbstractStackSet other) throws SemanticException {
 		AbstractStackSet lubAux = super.lubAux(other);
-		if (lubAux.size() > SIZE)
-			return TOP;
+		if (lubAux.size() > sizeLimit)
+			return top();
 		return lubAux;
 	}
 
 	@Override
 	public AbstractStackSet mk(Set<AbstractStack> set) {
-		return new AbstractStackSet(set, false);
+		return new AbstractStackSet(set, false, sizeLimit);
 	}
 
 	public String toString2() {
@@ -97,21 +102,11 @@ public class AbstractStackSet extends SetLattice<AbstractStackSet, AbstractStack
 	}
 
 	/**
-	 * Sets the stack set limit.
-	 * 
-	 * @param n the new stack set limit
-	 */
-	public static void setStackSetSize(int n) {
-		if (n > 0)
-			SIZE = n;
-	}
-
-	/**
-	 * Yields the stack set limit.
+	 * Yields the maximum size of this abstract stack set.
 	 * 
-	 * @return the stack set limit
+	 * @return the maximum size of this abstract stack set
 	 */
-	public static int getStackSetLimit() {
-		return SIZE;
+	public int getSizeLimit() {
+		return sizeLimit;
 	}
 }
@@ -4,7 +4,7 @@ import it.unive.lisa.analysis.lattices.FunctionalLattice;
 import java.util.HashMap;
 import java.util.Map;
 
-public class AbstractStorage extends FunctionalLattice<AbstractStorage, Number, StackElement> {
+public class AbstractStorage extends FunctionalLattice<AbstractStorage, UInt256, StackElement> {
 
 	/**
 	 * Default constructor for AbstractStorage. Initializes the AbstractStorage
@@ -33,7 +33,7 @@ public class AbstractStorage extends FunctionalLattice<AbstractStorage, Number,
 	 * @param function The initial function (mapping of addresses to Intervals)
 	 *                     for the AbstractStorage.
 	 */
-	public AbstractStorage(StackElement lattice, Map<Number, StackElement> function) {
+	public AbstractStorage(StackElement lattice, Map<UInt256, StackElement> function) {
 		super(lattice, function);
 	}
 
@@ -48,7 +48,7 @@ public class AbstractStorage extends FunctionalLattice<AbstractStorage, Number,
 	}
 
 	@Override
-	public AbstractStorage mk(StackElement lattice, Map<Number, StackElement> function) {
+	public AbstractStorage mk(StackElement lattice, Map<UInt256, StackElement> function) {
 		return new AbstractStorage(lattice, function);
 	}
 
@@ -67,7 +67,7 @@ public class AbstractStorage extends FunctionalLattice<AbstractStorage, Number,
 	}
 
 	@Override
-	public StackElement stateOfUnknown(Number key) {
+	public StackElement stateOfUnknown(UInt256 key) {
 		return StackElement.TOP;
 	}
 }
@@ -0,0 +1,97 @@
+package it.unipr.analysis;
+
+/**
+ * The wall-clock and iteration budget of the analysis of a single contract.
+ * The budget is checked cooperatively by the fixpoint, at each evaluation of
+ * a statement and at each join, and by the jump solver, before each new run
+ * of the analysis: once it is exhausted, or the analyzing thread is
+ * interrupted, a {@link BudgetExceededException} is thrown, so that the
+ * thread is freed immediately. An iteration is an evaluation of the semantics
+ * of a statement, and the iterations are counted over all the runs of the
+ * analysis of the contract.
+ */
+public final class AnalysisBudget {
+
+	/**
+	 * The reason of the exhaustion of the budgets of the interrupted threads.
+	 */
+	static final String INTERRUPTED = "interrupted";
+
+	private final long timeout;
+	private final long deadline;
+	private final long maxIterations;
+	private long iterations;
+
+	/**
+	 * The reason why the budget has been exhausted, or {@code null} if it has
+	 * not.
+	 */
+	private volatile String exceeded;
+
+	/**
+	 * Builds a budget starting now.
+	 *
+	 * @param timeout       the wall-clock time available, in milliseconds, or
+	 *                          0 if unlimited
+	 * @param maxIterations the number of fixpoint iterations (evaluations of
+	 *                          a statement) available, or 0 if unlimited
+	 */
+	public AnalysisBudget(long timeout, long maxIterations) {
+		this.timeout = timeout;
+		this.deadline = timeout > 0 ? System.nanoTime() + timeout * 1_000_000 : Long.MAX_VALUE;
+		this.maxIterations = maxIterations > 0 ? maxIterations : Long.MAX_VALUE;
+	}
+
+	/**
+	 * Yields a budget starting now, with the limits set in the given context.
+	 *
+	 * @param context the context of the analysis
+	 *
+	 * @return the budget
+	 */
+	public static AnalysisBudget of(AnalysisContext context) {
+		return new AnalysisBudget(context.getTimeoutPerContract(), context.getMaxFixpointIterations());
+	}
+
+	/**
+	 * Accounts for a fixpoint iteration, that is, an evaluation of the
+	 * semantics of a statement, and checks the budget.
+	 *
+	 * @throws BudgetExceededException if the budget is exhausted
+	 */
+	public void iteration() {
+		if (maxIterations != Long.MAX_VALUE && ++iterations > maxIterations)
+			exceed("more than " + maxIterations + " fixpoint iterations");
+		check();
+	}
+
+	/**
+	 * Checks that the budget is not exhausted and the analyzing thread is not
+	 * interrupted.
+	 *
+	 * @throws BudgetExceededException if the budget is exhausted
+	 */
+	public void check() {
+		if (exceeded != null)
+			throw new BudgetExceededException(exceeded);
+		if (System.nanoTime() > deadline)
+			exceed("timeout of " + timeout + " ms");
+		if (Thread.currentThread().isInterrupted())
+			exceed(INTERRUPTED);
+	}
+
+	/**
+	 * Yields whether the budget has been exhausted.
+	 *
+	 * @return {@code true} if the budget has been exhausted
+	 */
+	public boolean isExceeded() {
+		return exceeded != null;
+	}
+
+	private void exceed(String reason) {
+		// the budget stays exhausted, even if the exception is swallowed
+		exceeded = reason;
+		throw new BudgetExceededException(reason);
+	}
+}
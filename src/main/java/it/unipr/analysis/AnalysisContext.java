@@ -0,0 +1,418 @@
+package it.unipr.analysis;
+
+import java.util.Objects;
+
+/**
+ * The immutable configuration of a single analysis: the analyzed contract and
+ * the parameters of the domains and of the checkers. Each analysis carries its
+ * own context, hence analyses with different configurations can safely run
+ * concurrently in the same JVM.
+ */
+public final class AnalysisContext {
+
+	/**
+	 * The default stack height.
+	 */
+	public static final int DEFAULT_STACK_LIMIT = 32;
+
+	/**
+	 * The default maximum size of a stack set.
+	 */
+	public static final int DEFAULT_STACK_SET_SIZE = 8;
+
+	private final String contractAddress;
+	private final int stackLimit;
+	private final int stackSetSize;
+	private final boolean useStorageLive;
+	private final boolean linkUnsoundJumpsToAllJumpdest;
+	private final boolean reentrancyChecker;
+	private final boolean txOriginChecker;
+	private final boolean timestampDependencyChecker;
+	private final boolean lazyCfg;
+	private final long timeoutPerContract;
+	private final long maxFixpointIterations;
+
+	private AnalysisContext(Builder builder) {
+		this.contractAddress = builder.contractAddress;
+		this.stackLimit = builder.stackLimit;
+		this.stackSetSize = builder.stackSetSize;
+		this.useStorageLive = builder.useStorageLive;
+		this.linkUnsoundJumpsToAllJumpdest = builder.linkUnsoundJumpsToAllJumpdest;
+		this.reentrancyChecker = builder.reentrancyChecker;
+		this.txOriginChecker = builder.txOriginChecker;
+		this.timestampDependencyChecker = builder.timestampDependencyChecker;
+		this.lazyCfg = builder.lazyCfg;
+		this.timeoutPerContract = builder.timeoutPerContract;
+		this.maxFixpointIterations = builder.maxFixpointIterations;
+	}
+
+	/**
+	 * Yields a builder starting from the default configuration.
+	 *
+	 * @return the builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Yields a builder starting from this configuration.
+	 *
+	 * @return the builder
+	 */
+	public Builder toBuilder() {
+		return new Builder()
+				.contractAddress(contractAddress)
+				.stackLimit(stackLimit)
+				.stackSetSize(stackSetSize)
+				.useStorageLive(useStorageLive)
+				.linkUnsoundJumpsToAllJumpdest(linkUnsoundJumpsToAllJumpdest)
+				.reentrancyChecker(reentrancyChecker)
+				.txOriginChecker(txOriginChecker)
+				.timestampDependencyChecker(timestampDependencyChecker)
+				.lazyCfg(lazyCfg)
+				.timeoutPerContract(timeoutPerContract)
+				.maxFixpointIterations(maxFixpointIterations);
+	}
+
+	/**
+	 * Yields a copy of this context analyzing the given contract.
+	 *
+	 * @param contractAddress the address of the contract
+	 *
+	 * @return the new context
+	 */
+	public AnalysisContext withContractAddress(String contractAddress) {
+		return toBuilder().contractAddress(contractAddress).build();
+	}
+
+	/**
+	 * Yields the address of the analyzed contract.
+	 *
+	 * @return the address of the contract, or {@code null} if it is unknown or
+	 *             it is not a valid address
+	 */
+	public String getContractAddress() {
+		return contractAddress;
+	}
+
+	/**
+	 * Yields the stack height.
+	 *
+	 * @return the stack height
+	 */
+	public int getStackLimit() {
+		return stackLimit;
+	}
+
+	/**
+	 * Yields the maximum size of a stack set.
+	 *
+	 * @return the maximum size of a stack set
+	 */
+	public int getStackSetSize() {
+		return stackSetSize;
+	}
+
+	/**
+	 * Yields whether the storage of the contract is read from the blockchain.
+	 *
+	 * @return {@code true} if the storage is read from the blockchain
+	 */
+	public boolean useStorageLive() {
+		return useStorageLive;
+	}
+
+	/**
+	 * Yields whether the unsound jumps are linked to all the jump
+	 * destinations.
+	 *
+	 * @return {@code true} if the unsound jumps are linked to all the jump
+	 *             destinations
+	 */
+	public boolean linkUnsoundJumpsToAllJumpdest() {
+		return linkUnsoundJumpsToAllJumpdest;
+	}
+
+	/**
+	 * Yields whether the reentrancy checker is enabled.
+	 *
+	 * @return {@code true} if the checker is enabled
+	 */
+	public boolean isReentrancyCheckerEnabled() {
+		return reentrancyChecker;
+	}
+
+	/**
+	 * Yields whether the tx-origin checker is enabled.
+	 *
+	 * @return {@code true} if the checker is enabled
+	 */
+	public boolean isTxOriginCheckerEnabled() {
+		return txOriginChecker;
+	}
+
+	/**
+	 * Yields whether the timestamp-dependency checker is enabled.
+	 *
+	 * @return {@code true} if the checker is enabled
+	 */
+	public boolean isTimestampDependencyCheckerEnabled() {
+		return timestampDependencyChecker;
+	}
+
+	/**
+	 * Yields whether the CFG is materialized on demand, starting from the
+	 * entrypoint and from the JUMPDESTs the jumps are solved to, instead of
+	 * from the whole bytecode.
+	 *
+	 * @return {@code true} if the CFG is materialized on demand
+	 */
+	public boolean isLazyCfg() {
+		return lazyCfg;
+	}
+
+	/**
+	 * Yields the wall-clock time available to the analysis of a contract.
+	 *
+	 * @return the time available, in milliseconds, or 0 if unlimited
+	 */
+	public long getTimeoutPerContract() {
+		return timeoutPerContract;
+	}
+
+	/**
+	 * Yields the number of fixpoint iterations available to the analysis of
+	 * a contract, each iteration being the evaluation of a statement.
+	 *
+	 * @return the number of iterations available, or 0 if unlimited
+	 */
+	public long getMaxFixpointIterations() {
+		return maxFixpointIterations;
+	}
+
+	/**
+	 * Yields whether at least one checker is enabled.
+	 *
+	 * @return {@code true} if at least one checker is enabled
+	 */
+	public boolean isAnyCheckerEnabled() {
+		return reentrancyChecker || txOriginChecker || timestampDependencyChecker;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(contractAddress, stackLimit, stackSetSize, useStorageLive,
+				linkUnsoundJumpsToAllJumpdest, reentrancyChecker, txOriginChecker, timestampDependencyChecker,
+				lazyCfg, timeoutPerContract, maxFixpointIterations);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		AnalysisContext other = (AnalysisContext) obj;
+		return Objects.equals(contractAddress, other.contractAddress) && stackLimit == other.stackLimit
+				&& stackSetSize == other.stackSetSize && useStorageLive == other.useStorageLive
+				&& linkUnsoundJumpsToAllJumpdest == other.linkUnsoundJumpsToAllJumpdest
+				&& reentrancyChecker == other.reentrancyChecker && txOriginChecker == other.txOriginChecker
+				&& timestampDependencyChecker == other.timestampDependencyChecker && lazyCfg == other.lazyCfg
+				&& timeoutPerContract == other.timeoutPerContract
+				&& maxFixpointIterations == other.maxFixpointIterations;
+	}
+
+	@Override
+	public String toString() {
+		return "{ contract: " + contractAddress + ", stack size: " + stackLimit + ", stack set size: "
+				+ stackSetSize + " }";
+	}
+
+	/**
+	 * Builder of {@link AnalysisContext}s.
+	 */
+	public static final class Builder {
+		private String contractAddress = null;
+		private int stackLimit = DEFAULT_STACK_LIMIT;
+		private int stackSetSize = DEFAULT_STACK_SET_SIZE;
+		private boolean useStorageLive = false;
+		private boolean linkUnsoundJumpsToAllJumpdest = false;
+		private boolean reentrancyChecker = false;
+		private boolean txOriginChecker = false;
+		private boolean timestampDependencyChecker = false;
+		private boolean lazyCfg = false;
+		private long timeoutPerContract = 0;
+		private long maxFixpointIterations = 0;
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the address of the analyzed contract. Strings that are not
+		 * valid addresses are recorded as an unknown address.
+		 *
+		 * @param contractAddress the address
+		 *
+		 * @return this builder
+		 */
+		public Builder contractAddress(String contractAddress) {
+			this.contractAddress = contractAddress != null && contractAddress.matches("^0x[a-fA-F0-9]{40}$")
+					? contractAddress
+					: null;
+			return this;
+		}
+
+		/**
+		 * Sets the stack height.
+		 *
+		 * @param stackLimit the stack height
+		 *
+		 * @return this builder
+		 *
+		 * @throws IllegalArgumentException if the height is not positive
+		 */
+		public Builder stackLimit(int stackLimit) {
+			if (stackLimit <= 0)
+				throw new IllegalArgumentException("Stack height cannot be non-positive");
+			this.stackLimit = stackLimit;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum size of a stack set.
+		 *
+		 * @param stackSetSize the size
+		 *
+		 * @return this builder
+		 *
+		 * @throws IllegalArgumentException if the size is not positive
+		 */
+		public Builder stackSetSize(int stackSetSize) {
+			if (stackSetSize <= 0)
+				throw new IllegalArgumentException("Stack set size cannot be non-positive");
+			this.stackSetSize = stackSetSize;
+			return this;
+		}
+
+		/**
+		 * Sets whether the storage of the contract is read from the
+		 * blockchain.
+		 *
+		 * @param useStorageLive the flag
+		 *
+		 * @return this builder
+		 */
+		public Builder useStorageLive(boolean useStorageLive) {
+			this.useStorageLive = useStorageLive;
+			return this;
+		}
+
+		/**
+		 * Sets whether the unsound jumps are linked to all the jump
+		 * destinations.
+		 *
+		 * @param linkUnsoundJumpsToAllJumpdest the flag
+		 *
+		 * @return this builder
+		 */
+		public Builder linkUnsoundJumpsToAllJumpdest(boolean linkUnsoundJumpsToAllJumpdest) {
+			this.linkUnsoundJumpsToAllJumpdest = linkUnsoundJumpsToAllJumpdest;
+			return this;
+		}
+
+		/**
+		 * Enables or disables the reentrancy checker.
+		 *
+		 * @param enabled the flag
+		 *
+		 * @return this builder
+		 */
+		public Builder reentrancyChecker(boolean enabled) {
+			this.reentrancyChecker = enabled;
+			return this;
+		}
+
+		/**
+		 * Enables or disables the tx-origin checker.
+		 *
+		 * @param enabled the flag
+		 *
+		 * @return this builder
+		 */
+		public Builder txOriginChecker(boolean enabled) {
+			this.txOriginChecker = enabled;
+			return this;
+		}
+
+		/**
+		 * Enables or disables the timestamp-dependency checker.
+		 *
+		 * @param enabled the flag
+		 *
+		 * @return this builder
+		 */
+		public Builder timestampDependencyChecker(boolean enabled) {
+			this.timestampDependencyChecker = enabled;
+			return this;
+		}
+
+		/**
+		 * Sets whether the CFG is materialized on demand.
+		 *
+		 * @param lazyCfg the flag
+		 *
+		 * @return this builder
+		 */
+		public Builder lazyCfg(boolean lazyCfg) {
+			this.lazyCfg = lazyCfg;
+			return this;
+		}
+
+		/**
+		 * Sets the wall-clock time available to the analysis of a contract.
+		 *
+		 * @param timeoutPerContract the time available, in milliseconds, or 0
+		 *                               if unlimited
+		 *
+		 * @return this builder
+		 *
+		 * @throws IllegalArgumentException if the time is negative
+		 */
+		public Builder timeoutPerContract(long timeoutPerContract) {
+			if (timeoutPerContract < 0)
+				throw new IllegalArgumentException("Timeout per contract cannot be negative");
+			this.timeoutPerContract = timeoutPerContract;
+			return this;
+		}
+
+		/**
+		 * Sets the number of fixpoint iterations available to the analysis of
+		 * a contract, each iteration being the evaluation of a statement.
+		 *
+		 * @param maxFixpointIterations the number of iterations available, or
+		 *                                  0 if unlimited
+		 *
+		 * @return this builder
+		 *
+		 * @throws IllegalArgumentException if the number is negative
+		 */
+		public Builder maxFixpointIterations(long maxFixpointIterations) {
+			if (maxFixpointIterations < 0)
+				throw new IllegalArgumentException("Maximum fixpoint iterations cannot be negative");
+			this.maxFixpointIterations = maxFixpointIterations;
+			return this;
+		}
+
+		/**
+		 * Builds the context.
+		 *
+		 * @return the context
+		 */
+		public AnalysisContext build() {
+			return new AnalysisContext(this);
+		}
+	}
+}
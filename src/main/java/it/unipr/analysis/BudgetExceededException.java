@@ -0,0 +1,56 @@
+package it.unipr.analysis;
+
+/**
+ * Thrown when the {@link AnalysisBudget} of the analysis of a contract is
+ * exhausted. It carries the statistics computed before the analysis was
+ * stopped, if any.
+ */
+public class BudgetExceededException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String reason;
+
+	private transient MyLogger partialStatistics;
+
+	/**
+	 * Builds the exception.
+	 *
+	 * @param reason the reason why the budget has been exhausted
+	 */
+	public BudgetExceededException(String reason) {
+		super("Analysis budget exceeded: " + reason);
+		this.reason = reason;
+	}
+
+	/**
+	 * Yields whether the analysis was stopped because its thread was
+	 * interrupted, rather than because it exhausted its own budget.
+	 *
+	 * @return {@code true} if the analysis was interrupted
+	 */
+	public boolean isInterruption() {
+		return AnalysisBudget.INTERRUPTED.equals(reason);
+	}
+
+	/**
+	 * Yields the statistics computed before the analysis was stopped.
+	 *
+	 * @return the partial statistics, or {@code null} if none were computed
+	 */
+	public MyLogger getPartialStatistics() {
+		return partialStatistics;
+	}
+
+	/**
+	 * Sets the statistics computed before the analysis was stopped.
+	 *
+	 * @param partialStatistics the partial statistics
+	 *
+	 * @return this exception
+	 */
+	public BudgetExceededException withPartialStatistics(MyLogger partialStatistics) {
+		this.partialStatistics = partialStatistics;
+		return this;
+	}
+}
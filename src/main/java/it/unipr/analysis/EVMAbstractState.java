@@ -1,6 +1,123 @@
 package it.unipr.analysis;
 
+import it.unipr.analysis.operator.AddOperator;
+import it.unipr.analysis.operator.AddmodOperator;
+import it.unipr.analysis.operator.AddressOperator;
+import it.unipr.analysis.operator.AndOperator;
+import it.unipr.analysis.operator.BalanceOperator;
+import it.unipr.analysis.operator.BasefeeOperator;
+import it.unipr.analysis.operator.BlobBaseFeeOperator;
+import it.unipr.analysis.operator.BlobHashOperator;
+import it.unipr.analysis.operator.BlockhashOperator;
+import it.unipr.analysis.operator.ByteOperator;
+import it.unipr.analysis.operator.CallOperator;
+import it.unipr.analysis.operator.CallcodeOperator;
+import it.unipr.analysis.operator.CalldatacopyOperator;
+import it.unipr.analysis.operator.CalldataloadOperator;
+import it.unipr.analysis.operator.CalldatasizeOperator;
+import it.unipr.analysis.operator.CallerOperator;
+import it.unipr.analysis.operator.CallvalueOperator;
+import it.unipr.analysis.operator.ChainidOperator;
+import it.unipr.analysis.operator.CodecopyOperator;
+import it.unipr.analysis.operator.CodesizeOperator;
+import it.unipr.analysis.operator.CoinbaseOperator;
+import it.unipr.analysis.operator.Create2Operator;
+import it.unipr.analysis.operator.CreateOperator;
+import it.unipr.analysis.operator.DelegatecallOperator;
+import it.unipr.analysis.operator.DifficultyOperator;
+import it.unipr.analysis.operator.DivOperator;
+import it.unipr.analysis.operator.Dup10Operator;
+import it.unipr.analysis.operator.Dup11Operator;
+import it.unipr.analysis.operator.Dup12Operator;
+import it.unipr.analysis.operator.Dup13Operator;
+import it.unipr.analysis.operator.Dup14Operator;
+import it.unipr.analysis.operator.Dup15Operator;
+import it.unipr.analysis.operator.Dup16Operator;
+import it.unipr.analysis.operator.Dup1Operator;
+import it.unipr.analysis.operator.Dup2Operator;
+import it.unipr.analysis.operator.Dup3Operator;
+import it.unipr.analysis.operator.Dup4Operator;
+import it.unipr.analysis.operator.Dup5Operator;
+import it.unipr.analysis.operator.Dup6Operator;
+import it.unipr.analysis.operator.Dup7Operator;
+import it.unipr.analysis.operator.Dup8Operator;
+import it.unipr.analysis.operator.Dup9Operator;
+import it.unipr.analysis.operator.EVMOperator;
+import it.unipr.analysis.operator.EqOperator;
+import it.unipr.analysis.operator.ExpOperator;
+import it.unipr.analysis.operator.ExtcodecopyOperator;
+import it.unipr.analysis.operator.ExtcodehashOperator;
+import it.unipr.analysis.operator.ExtcodesizeOperator;
+import it.unipr.analysis.operator.GasOperator;
+import it.unipr.analysis.operator.GaslimitOperator;
+import it.unipr.analysis.operator.GaspriceOperator;
+import it.unipr.analysis.operator.GtOperator;
+import it.unipr.analysis.operator.InvalidOperator;
+import it.unipr.analysis.operator.IszeroOperator;
+import it.unipr.analysis.operator.JumpOperator;
+import it.unipr.analysis.operator.JumpdestOperator;
 import it.unipr.analysis.operator.JumpiOperator;
+import it.unipr.analysis.operator.Log0Operator;
+import it.unipr.analysis.operator.Log1Operator;
+import it.unipr.analysis.operator.Log2Operator;
+import it.unipr.analysis.operator.Log3Operator;
+import it.unipr.analysis.operator.Log4Operator;
+import it.unipr.analysis.operator.LtOperator;
+import it.unipr.analysis.operator.McopyOperator;
+import it.unipr.analysis.operator.MloadOperator;
+import it.unipr.analysis.operator.ModOperator;
+import it.unipr.analysis.operator.MsizeOperator;
+import it.unipr.analysis.operator.Mstore8Operator;
+import it.unipr.analysis.operator.MstoreOperator;
+import it.unipr.analysis.operator.MulOperator;
+import it.unipr.analysis.operator.MulmodOperator;
+import it.unipr.analysis.operator.NotOperator;
+import it.unipr.analysis.operator.NumberOperator;
+import it.unipr.analysis.operator.OrOperator;
+import it.unipr.analysis.operator.OriginOperator;
+import it.unipr.analysis.operator.PcOperator;
+import it.unipr.analysis.operator.PopOperator;
+import it.unipr.analysis.operator.Push0Operator;
+import it.unipr.analysis.operator.PushOperator;
+import it.unipr.analysis.operator.ReturnOperator;
+import it.unipr.analysis.operator.ReturndatacopyOperator;
+import it.unipr.analysis.operator.ReturndatasizeOperator;
+import it.unipr.analysis.operator.RevertOperator;
+import it.unipr.analysis.operator.SarOperator;
+import it.unipr.analysis.operator.SdivOperator;
+import it.unipr.analysis.operator.SelfbalanceOperator;
+import it.unipr.analysis.operator.SelfdestructOperator;
+import it.unipr.analysis.operator.SgtOperator;
+import it.unipr.analysis.operator.Sha3Operator;
+import it.unipr.analysis.operator.ShlOperator;
+import it.unipr.analysis.operator.ShrOperator;
+import it.unipr.analysis.operator.SignextendOperator;
+import it.unipr.analysis.operator.SloadOperator;
+import it.unipr.analysis.operator.SltOperator;
+import it.unipr.analysis.operator.SmodOperator;
+import it.unipr.analysis.operator.SstoreOperator;
+import it.unipr.analysis.operator.StaticcallOperator;
+import it.unipr.analysis.operator.SubOperator;
+import it.unipr.analysis.operator.Swap10Operator;
+import it.unipr.analysis.operator.Swap11Operator;
+import it.unipr.analysis.operator.Swap12Operator;
+import it.unipr.analysis.operator.Swap13Operator;
+import it.unipr.analysis.operator.Swap14Operator;
+import it.unipr.analysis.operator.Swap15Operator;
+import it.unipr.analysis.operator.Swap16Operator;
+import it.unipr.analysis.operator.Swap1Operator;
+import it.unipr.analysis.operator.Swap2Operator;
+import it.unipr.analysis.operator.Swap3Operator;
+import it.unipr.analysis.operator.Swap4Operator;
+import it.unipr.analysis.operator.Swap5Operator;
+import it.unipr.analysis.operator.Swap6Operator;
+import it.unipr.analysis.operator.Swap7Operator;
+import it.unipr.analysis.operator.Swap8Operator;
+import it.unipr.analysis.operator.Swap9Operator;
+import it.unipr.analysis.operator.TimestampOperator;
+import it.unipr.analysis.operator.TloadOperator;
+import it.unipr.analysis.operator.TstoreOperator;
+import it.unipr.analysis.operator.XorOperator;
 import it.unipr.cfg.EVMCFG;
 import it.unipr.frontend.EVMFrontend;
 import it.unive.lisa.analysis.BaseLattice;
@@ -22,10 +139,7 @@ import it.unive.lisa.symbolic.value.operator.unary.UnaryOperator;
 import it.unive.lisa.util.representation.StringRepresentation;
 import it.unive.lisa.util.representation.StructuredRepresentation;
 import java.io.IOException;
-import java.math.BigInteger;
-import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -38,15 +152,12 @@ public class EVMAbstractState
 
 	private static final Logger log = LogManager.getLogger(EVMAbstractState.class);
 
-	private static final EVMAbstractState TOP = new EVMAbstractState(true, "");
-	private static final EVMAbstractState BOTTOM = new EVMAbstractState(new AbstractStackSet().bottom(),
-			new AbstractMemory().bottom(), new AbstractStorage().bottom());
 	private final boolean isTop;
 
 	/**
-	 * The address of the running contract.
+	 * The configuration of the running analysis.
 	 */
-	private static String CONTRACT_ADDRESS;
+	private final AnalysisContext context;
 
 	/**
 	 * The stack memory.
@@ -63,30 +174,27 @@ public class EVMAbstractState
 	 */
 	private final AbstractStorage storage;
 
-	private static boolean USE_STORAGE_LIVE = false;
-
 	/**
-	 * Builds the abstract domain.
+	 * Builds the abstract domain for the given analysis.
+	 * 
+	 * @param context the configuration of the analysis
 	 */
-	public EVMAbstractState(String contractAddress) {
-		this(false, contractAddress);
+	public EVMAbstractState(AnalysisContext context) {
+		this(false, context);
 	}
 
 	/**
 	 * Builds the abstract domain.
 	 * 
-	 * @param isTop whether the abstract value is top.
+	 * @param isTop   whether the abstract value is top.
+	 * @param context the configuration of the analysis
 	 */
-	private EVMAbstractState(boolean isTop, String contractAddress) {
+	private EVMAbstractState(boolean isTop, AnalysisContext context) {
 		this.isTop = isTop;
-		this.stacks = new AbstractStackSet();
+		this.context = context;
+		this.stacks = new AbstractStackSet(context.getStackLimit(), context.getStackSetSize());
 		this.memory = new AbstractMemory();
 		this.storage = new AbstractStorage();
-
-		if (contractAddress == null)
-			CONTRACT_ADDRESS = null;
-		else
-			CONTRACT_ADDRESS = (contractAddress.matches("^0x[a-fA-F0-9]{40}$")) ? contractAddress : null;
 	}
 
 	/**
@@ -96,14 +204,34 @@ public class EVMAbstractState
 	 * @param stacks  the stack to be used.
 	 * @param memory  the memory to be used.
 	 * @param storage the storage to be used.
+	 * @param context the configuration of the analysis
 	 */
-	public EVMAbstractState(AbstractStackSet stacks, AbstractMemory memory, AbstractStorage storage) {
+	public EVMAbstractState(AbstractStackSet stacks, AbstractMemory memory, AbstractStorage storage,
+			AnalysisContext context) {
 		this.isTop = false;
+		this.context = context;
 		this.stacks = stacks;
 		this.memory = memory;
 		this.storage = storage;
 	}
 
+	/**
+	 * Builds a EVMAbsDomain with the given stack, memory and mu_i, within the
+	 * same analysis of this one.
+	 */
+	private EVMAbstractState mk(AbstractStackSet stacks, AbstractMemory memory, AbstractStorage storage) {
+		return new EVMAbstractState(stacks, memory, storage, context);
+	}
+
+	/**
+	 * Yields the configuration of the analysis this abstract state belongs to.
+	 *
+	 * @return the configuration of the analysis
+	 */
+	public AnalysisContext getContext() {
+		return context;
+	}
+
 	/**
 	 * Returns a cloned copy of the stack.
 	 *
@@ -133,10 +261,6 @@ public class EVMAbstractState
 		return storage.clone();
 	}
 
-	public static void setUseStorageLive() {
-		USE_STORAGE_LIVE = true;
-	}
-
 	@Override
 	public EVMAbstractState assign(Identifier id, ValueExpression expression, ProgramPoint pp, SemanticOracle oracle) {
 		// nothing to do here
@@ -156,12 +280,12 @@ public class EVMAbstractState
 		} else if (expression instanceof UnaryExpression) {
 			UnaryExpression un = (UnaryExpression) expression;
 			UnaryOperator op = un.getOperator();
-			AbstractStackSet result = new AbstractStackSet(new HashSet<>(stacks.size()), false);
+			AbstractStackSet result = stacks.mk(new HashSet<>(stacks.size()));
 
-			if (op != null) {
+			if (op instanceof EVMOperator) {
 
-				switch (op.getClass().getSimpleName()) {
-				case "Push0Operator": { // PUSH0
+				switch (((EVMOperator) op).getOpcode()) {
+				case Push0Operator.OPCODE: { // PUSH0
 
 					for (AbstractStack stack : stacks) {
 						AbstractStack resultStack = stack.clone();
@@ -169,11 +293,11 @@ public class EVMAbstractState
 						result.add(resultStack);
 					}
 
-					return new EVMAbstractState(result, memory, storage);
+					return mk(result, memory, storage);
 				}
-				case "PushOperator": { // PUSH
+				case PushOperator.OPCODE: { // PUSH
 
-					StackElement toPush = new StackElement(toBigInteger(un.getExpression()));
+					StackElement toPush = new StackElement(toUInt256(un.getExpression()));
 
 					for (AbstractStack stack : stacks) {
 						AbstractStack resultStack = stack.clone();
@@ -181,15 +305,15 @@ public class EVMAbstractState
 						result.add(resultStack);
 					}
 
-					return new EVMAbstractState(result, memory, storage);
+					return mk(result, memory, storage);
 				}
-				case "AddressOperator": { // ADDRESS
+				case AddressOperator.OPCODE: { // ADDRESS
 
 					StackElement hex;
-					if (CONTRACT_ADDRESS == null)
+					if (context.getContractAddress() == null)
 						hex = StackElement.TOP;
 					else
-						hex = new StackElement(toBigInteger(CONTRACT_ADDRESS));
+						hex = new StackElement(UInt256.fromHex(context.getContractAddress()));
 
 					for (AbstractStack stack : stacks) {
 						AbstractStack resultStack = stack.clone();
@@ -197,55 +321,55 @@ public class EVMAbstractState
 						result.add(resultStack);
 					}
 
-					return new EVMAbstractState(result, memory, storage);
+					return mk(result, memory, storage);
 				}
 
-				case "BlobBaseFeeOperator": // BLOBBASEFEE
-				case "GasOperator": // GAS
-				case "MsizeOperator": // MSIZE
-				case "BasefeeOperator": // BASEFEE
-				case "CoinbaseOperator": // COINBASE
-				case "TimestampOperator": // TIMESTAMP
-				case "NumberOperator": // NUMBER
-				case "DifficultyOperator": // DIFFICULTY
-				case "GaslimitOperator": // GASLIMIT
-				case "ChainidOperator": // CHAINID
-				case "SelfbalanceOperator": // SELFBALANCE
-				case "ReturndatasizeOperator": // RETURNDATASIZE
-				case "GaspriceOperator": // GASPRICE
-				case "CodesizeOperator": // CODESIZE
-				case "OriginOperator": // ORIGIN
-				case "CallerOperator": // CALLER
-				case "CalldatasizeOperator": // CALLDATASIZE
-				case "CallvalueOperator": { // CALLVALUE
+				case BlobBaseFeeOperator.OPCODE: // BLOBBASEFEE
+				case GasOperator.OPCODE: // GAS
+				case MsizeOperator.OPCODE: // MSIZE
+				case BasefeeOperator.OPCODE: // BASEFEE
+				case CoinbaseOperator.OPCODE: // COINBASE
+				case TimestampOperator.OPCODE: // TIMESTAMP
+				case NumberOperator.OPCODE: // NUMBER
+				case DifficultyOperator.OPCODE: // DIFFICULTY
+				case GaslimitOperator.OPCODE: // GASLIMIT
+				case ChainidOperator.OPCODE: // CHAINID
+				case SelfbalanceOperator.OPCODE: // SELFBALANCE
+				case ReturndatasizeOperator.OPCODE: // RETURNDATASIZE
+				case GaspriceOperator.OPCODE: // GASPRICE
+				case CodesizeOperator.OPCODE: // CODESIZE
+				case OriginOperator.OPCODE: // ORIGIN
+				case CallerOperator.OPCODE: // CALLER
+				case CalldatasizeOperator.OPCODE: // CALLDATASIZE
+				case CallvalueOperator.OPCODE: { // CALLVALUE
 					for (AbstractStack stack : stacks) {
 						AbstractStack resultStack = stack.clone();
 						resultStack.push(StackElement.NOT_JUMPDEST_TOP);
 						result.add(resultStack);
 					}
 
-					return new EVMAbstractState(result, memory, storage);
+					return mk(result, memory, storage);
 				}
 
-				case "PcOperator": { // PC
+				case PcOperator.OPCODE: { // PC
 					for (AbstractStack stack : stacks) {
 						AbstractStack resultStack = stack.clone();
 						Integer i = (Integer) ((Constant) un.getExpression()).getValue();
-						resultStack.push(new StackElement(BigInteger.valueOf(i)));
+						resultStack.push(new StackElement(i));
 						result.add(resultStack);
 					}
 
-					return new EVMAbstractState(result, memory, storage);
+					return mk(result, memory, storage);
 				}
 
-				case "JumpdestOperator": { // JUMPDEST
+				case JumpdestOperator.OPCODE: { // JUMPDEST
 					return this;
 				}
 
 				// Above, operators that do not perform pop()
 				// Below, operators that perform pop operation on the stack
 
-				case "JumpOperator": { // JUMP
+				case JumpOperator.OPCODE: { // JUMP
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(1))
@@ -253,24 +377,24 @@ public class EVMAbstractState
 
 						AbstractStack resultStack = stack.clone();
 						StackElement jmpDest = resultStack.pop();
-						if (((EVMCFG) pp.getCFG()).getAllPushedJumps().contains(pp) && jmpDest.isTop())
+						if (((EVMCFG) pp.getCFG()).isPushedJump(pp) && jmpDest.isTop())
 							continue;
 
 						if (jmpDest.isBottom() || jmpDest.isTopNotJumpdest())
 							continue;
 
-						if (((EVMCFG) pp.getCFG()).getAllJumpdestLocations().contains(jmpDest.getNumber())
+						if (((EVMCFG) pp.getCFG()).isJumpdestLocation(jmpDest.getNumber())
 								|| jmpDest.isTop())
 							result.add(resultStack);
 
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "JumpiOperator": { // JUMPI
+				case JumpiOperator.OPCODE: { // JUMPI
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
@@ -282,17 +406,17 @@ public class EVMAbstractState
 						if (jmpDest.isBottom() || cond.isBottom() || jmpDest.isTopNotJumpdest())
 							continue;
 
-						if (((EVMCFG) pp.getCFG()).getAllJumpdestLocations().contains(jmpDest.getNumber())
+						if (((EVMCFG) pp.getCFG()).isJumpdestLocation(jmpDest.getNumber())
 								|| jmpDest.isTop())
 							result.add(resultStack);
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "AddOperator": { // ADD
+				case AddOperator.OPCODE: { // ADD
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
@@ -306,11 +430,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "SubOperator": { // SUB
+				case SubOperator.OPCODE: { // SUB
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
@@ -324,11 +448,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "MulOperator": { // MUL
+				case MulOperator.OPCODE: { // MUL
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
@@ -342,11 +466,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "DivOperator": { // DIV
+				case DivOperator.OPCODE: { // DIV
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
@@ -363,11 +487,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "SdivOperator": { // SDIV
+				case SdivOperator.OPCODE: { // SDIV
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
@@ -376,7 +500,7 @@ public class EVMAbstractState
 						StackElement opnd2 = resultStack.pop();
 
 						try {
-							resultStack.push(opnd1.div(opnd2));
+							resultStack.push(opnd1.sdiv(opnd2));
 						} catch (ArithmeticException e) {
 							resultStack.push(StackElement.ZERO);
 						}
@@ -384,11 +508,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "ModOperator": { // MOD
+				case ModOperator.OPCODE: { // MOD
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
@@ -401,11 +525,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "SmodOperator": { // SMOD
+				case SmodOperator.OPCODE: { // SMOD
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
@@ -413,16 +537,16 @@ public class EVMAbstractState
 						StackElement opnd1 = resultStack.pop();
 						StackElement opnd2 = resultStack.pop();
 
-						resultStack.push(opnd1.mod(opnd2));
+						resultStack.push(opnd1.smod(opnd2));
 						result.add(resultStack);
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "AddmodOperator": { // ADDMOD
+				case AddmodOperator.OPCODE: { // ADDMOD
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(3))
 							continue;
@@ -435,11 +559,11 @@ public class EVMAbstractState
 						result.add(resultStack);
 					}
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "MulmodOperator": { // MULMOD
+				case MulmodOperator.OPCODE: { // MULMOD
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(3))
 							continue;
@@ -453,11 +577,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "ExpOperator": { // EXP
+				case ExpOperator.OPCODE: { // EXP
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
@@ -470,11 +594,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "SignextendOperator": { // SIGNEXTEND
+				case SignextendOperator.OPCODE: { // SIGNEXTEND
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
@@ -482,16 +606,16 @@ public class EVMAbstractState
 						StackElement opnd1 = resultStack.pop();
 						StackElement opnd2 = resultStack.pop();
 
-						resultStack.push(opnd2);
+						resultStack.push(opnd1.signextend(opnd2));
 						result.add(resultStack);
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "LtOperator": { // LT
+				case LtOperator.OPCODE: { // LT
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
@@ -504,11 +628,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "SltOperator": { // SLT
+				case SltOperator.OPCODE: { // SLT
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
@@ -516,16 +640,16 @@ public class EVMAbstractState
 						StackElement opnd1 = resultStack.pop();
 						StackElement opnd2 = resultStack.pop();
 
-						resultStack.push(opnd1.lt(opnd2));
+						resultStack.push(opnd1.slt(opnd2));
 						result.add(resultStack);
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "GtOperator": { // GT
+				case GtOperator.OPCODE: { // GT
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
@@ -538,11 +662,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "SgtOperator": { // SGT
+				case SgtOperator.OPCODE: { // SGT
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
@@ -550,16 +674,16 @@ public class EVMAbstractState
 						StackElement opnd1 = resultStack.pop();
 						StackElement opnd2 = resultStack.pop();
 
-						resultStack.push(opnd1.gt(opnd2));
+						resultStack.push(opnd1.sgt(opnd2));
 						result.add(resultStack);
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "EqOperator": { // EQ
+				case EqOperator.OPCODE: { // EQ
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
@@ -572,11 +696,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "IszeroOperator": { // ISZERO
+				case IszeroOperator.OPCODE: { // ISZERO
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(1))
 							continue;
@@ -588,11 +712,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "AndOperator": { // AND
+				case AndOperator.OPCODE: { // AND
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
@@ -605,11 +729,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "OrOperator": { // OR
+				case OrOperator.OPCODE: { // OR
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
@@ -622,11 +746,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "XorOperator": { // XOR
+				case XorOperator.OPCODE: { // XOR
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
@@ -639,11 +763,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "NotOperator": { // NOT
+				case NotOperator.OPCODE: { // NOT
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(1))
 							continue;
@@ -655,46 +779,28 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "ByteOperator": { // BYTE
+				case ByteOperator.OPCODE: { // BYTE
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
 						AbstractStack resultStack = stack.clone();
 						StackElement indexOfByte = resultStack.pop();
 						StackElement target = resultStack.pop();
-						StackElement resultStackElement = StackElement.ZERO;
-
-						if (target.isTop() || indexOfByte.isTop()) {
-							resultStack.push(StackElement.TOP);
-						} else if (target.isTopNotJumpdest() || indexOfByte.isTopNotJumpdest()) {
-							resultStack.push(StackElement.NOT_JUMPDEST_TOP);
-						} else {
-							byte[] valueAsByteArray = target.getNumber().toByteArray();
-							int intIndex = indexOfByte.getNumber().intValue();
-
-							if (intIndex <= 0 || intIndex >= valueAsByteArray.length) {
-								resultStackElement.lub(StackElement.ZERO);
-							} else {
-								int selectedByteAsInt = valueAsByteArray[intIndex];
-								resultStackElement.lub(new StackElement(selectedByteAsInt));
-							}
-
-							resultStack.push(resultStackElement);
-						}
 
+						resultStack.push(indexOfByte.byteOf(target));
 						result.add(resultStack);
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "ShlOperator": { // SHL
+				case ShlOperator.OPCODE: { // SHL
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
@@ -707,11 +813,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "ShrOperator": { // SHR
+				case ShrOperator.OPCODE: { // SHR
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
@@ -724,11 +830,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "SarOperator": { // SAR
+				case SarOperator.OPCODE: { // SAR
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
@@ -742,12 +848,12 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
 
-				case "BlobHashOperator": { // BLOBHASH
+				case BlobHashOperator.OPCODE: { // BLOBHASH
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(1))
 							continue;
@@ -759,12 +865,12 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
 
-				case "Sha3Operator": { // SHA3
+				case Sha3Operator.OPCODE: { // SHA3
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
@@ -777,11 +883,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "BalanceOperator": { // BALANCE
+				case BalanceOperator.OPCODE: { // BALANCE
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(1))
 							continue;
@@ -793,11 +899,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "CalldataloadOperator": { // CALLDATALOAD
+				case CalldataloadOperator.OPCODE: { // CALLDATALOAD
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(1))
 							continue;
@@ -809,11 +915,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "CalldatacopyOperator": { // CALLDATACOPY
+				case CalldatacopyOperator.OPCODE: { // CALLDATACOPY
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(3))
 							continue;
@@ -826,11 +932,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "CodecopyOperator": { // CODECOPY
+				case CodecopyOperator.OPCODE: { // CODECOPY
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(3))
 							continue;
@@ -843,11 +949,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "ExtcodesizeOperator": { // EXTCODESIZE
+				case ExtcodesizeOperator.OPCODE: { // EXTCODESIZE
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(1))
 							continue;
@@ -859,11 +965,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "ExtcodecopyOperator": { // EXTCODECOPY
+				case ExtcodecopyOperator.OPCODE: { // EXTCODECOPY
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(4))
 							continue;
@@ -877,11 +983,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "ReturndatacopyOperator": { // RETURNDATACOPY
+				case ReturndatacopyOperator.OPCODE: { // RETURNDATACOPY
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(3))
 							continue;
@@ -894,11 +1000,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "ExtcodehashOperator": { // EXTCODEHASH
+				case ExtcodehashOperator.OPCODE: { // EXTCODEHASH
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(1))
 							continue;
@@ -910,11 +1016,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "BlockhashOperator": { // BLOCKHASH
+				case BlockhashOperator.OPCODE: { // BLOCKHASH
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(1))
 							continue;
@@ -926,11 +1032,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "PopOperator": { // POP
+				case PopOperator.OPCODE: { // POP
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(1))
 							continue;
@@ -940,11 +1046,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "TloadOperator": { // TLOAD
+				case TloadOperator.OPCODE: { // TLOAD
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(1))
 							continue;
@@ -956,12 +1062,12 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
 
-				case "TstoreOperator": { // TSTORE
+				case TstoreOperator.OPCODE: { // TSTORE
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(1))
 							continue;
@@ -972,12 +1078,12 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
 
-				case "MloadOperator": { // MLOAD
+				case MloadOperator.OPCODE: { // MLOAD
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(1))
 							continue;
@@ -1005,11 +1111,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "MstoreOperator": { // MSTORE
+				case MstoreOperator.OPCODE: { // MSTORE
 					AbstractMemory memoryResult = memory.bottom();
 
 					for (AbstractStack stack : stacks) {
@@ -1032,11 +1138,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memoryResult, storage);
+						return mk(result, memoryResult, storage);
 				}
-				case "Mstore8Operator": { // MSTORE8
+				case Mstore8Operator.OPCODE: { // MSTORE8
 					AbstractMemory memoryResult = memory.bottom();
 
 					for (AbstractStack stack : stacks) {
@@ -1059,11 +1165,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memoryResult, storage);
+						return mk(result, memoryResult, storage);
 				}
-				case "McopyOperator": { // MCOPY
+				case McopyOperator.OPCODE: { // MCOPY
 					AbstractMemory memoryResult = memory.bottom();
 
 					for (AbstractStack stack : stacks) {
@@ -1091,11 +1197,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memoryResult, storage);
+						return mk(result, memoryResult, storage);
 				}
-				case "SloadOperator": { // SLOAD
+				case SloadOperator.OPCODE: { // SLOAD
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(1))
@@ -1111,20 +1217,20 @@ public class EVMAbstractState
 							if (storage.getKeys().contains(key.getNumber()))
 								valueToPush = valueToPush.lub(storage.getState(key.getNumber()));
 							else {
-								if (USE_STORAGE_LIVE && CONTRACT_ADDRESS != null) {
+								if (context.useStorageLive() && context.getContractAddress() != null) {
 									StackElement valueCached = MyCache.getInstance()
-											.get(Pair.of(CONTRACT_ADDRESS, key.getNumber()));
+											.get(Pair.of(context.getContractAddress(), key.getNumber()));
 
 									if (valueCached == null) {
 										long start = System.currentTimeMillis();
-										valueToPush = getStorageAt(key.getNumber(), CONTRACT_ADDRESS); // API
+										valueToPush = getStorageAt(key.getNumber(), context.getContractAddress()); // API
 																										// request
 										long timeLostToGetStorage = System.currentTimeMillis() - start;
 
-										MyCache.getInstance().updateTimeLostToGetStorage(CONTRACT_ADDRESS,
+										MyCache.getInstance().updateTimeLostToGetStorage(context.getContractAddress(),
 												timeLostToGetStorage);
 
-										MyCache.getInstance().put(Pair.of(CONTRACT_ADDRESS, key.getNumber()),
+										MyCache.getInstance().put(Pair.of(context.getContractAddress(), key.getNumber()),
 												valueToPush);
 									} else {
 										valueToPush = valueCached;
@@ -1140,11 +1246,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "SstoreOperator": { // SSTORE
+				case SstoreOperator.OPCODE: { // SSTORE
 
 					AbstractStorage storageResult = storage.bottom();
 
@@ -1164,11 +1270,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storageResult);
+						return mk(result, memory, storageResult);
 				}
-				case "Dup1Operator": { // DUP1
+				case Dup1Operator.OPCODE: { // DUP1
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(1))
@@ -1178,11 +1284,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Dup2Operator": { // DUP2
+				case Dup2Operator.OPCODE: { // DUP2
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
@@ -1192,11 +1298,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Dup3Operator": { // DUP3
+				case Dup3Operator.OPCODE: { // DUP3
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(3))
@@ -1206,11 +1312,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Dup4Operator": { // DUP4
+				case Dup4Operator.OPCODE: { // DUP4
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(4))
@@ -1220,11 +1326,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Dup5Operator": { // DUP5
+				case Dup5Operator.OPCODE: { // DUP5
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(5))
@@ -1234,11 +1340,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Dup6Operator": { // DUP6
+				case Dup6Operator.OPCODE: { // DUP6
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(6))
@@ -1248,11 +1354,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Dup7Operator": { // DUP7
+				case Dup7Operator.OPCODE: { // DUP7
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(7))
@@ -1262,11 +1368,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Dup8Operator": { // DUP8
+				case Dup8Operator.OPCODE: { // DUP8
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(8))
@@ -1276,11 +1382,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Dup9Operator": { // DUP9
+				case Dup9Operator.OPCODE: { // DUP9
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(9))
@@ -1290,11 +1396,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Dup10Operator": { // DUP10
+				case Dup10Operator.OPCODE: { // DUP10
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(10))
@@ -1304,11 +1410,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Dup11Operator": { // DUP11
+				case Dup11Operator.OPCODE: { // DUP11
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(11))
@@ -1318,11 +1424,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Dup12Operator": { // DUP12
+				case Dup12Operator.OPCODE: { // DUP12
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(12))
@@ -1332,11 +1438,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Dup13Operator": { // DUP13
+				case Dup13Operator.OPCODE: { // DUP13
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(13))
@@ -1346,11 +1452,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Dup14Operator": { // DUP14
+				case Dup14Operator.OPCODE: { // DUP14
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(14))
@@ -1360,11 +1466,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Dup15Operator": { // DUP15
+				case Dup15Operator.OPCODE: { // DUP15
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(15))
@@ -1374,11 +1480,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Dup16Operator": { // DUP16
+				case Dup16Operator.OPCODE: { // DUP16
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(16))
@@ -1388,11 +1494,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Swap1Operator": { // SWAP1
+				case Swap1Operator.OPCODE: { // SWAP1
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
@@ -1402,11 +1508,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Swap2Operator": { // SWAP2
+				case Swap2Operator.OPCODE: { // SWAP2
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(3))
@@ -1416,11 +1522,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Swap3Operator": { // SWAP3
+				case Swap3Operator.OPCODE: { // SWAP3
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(4))
@@ -1430,11 +1536,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Swap4Operator": { // SWAP4
+				case Swap4Operator.OPCODE: { // SWAP4
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(5))
@@ -1444,11 +1550,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Swap5Operator": { // SWAP5
+				case Swap5Operator.OPCODE: { // SWAP5
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(6))
@@ -1458,11 +1564,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Swap6Operator": { // SWAP6
+				case Swap6Operator.OPCODE: { // SWAP6
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(7))
@@ -1472,11 +1578,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Swap7Operator": { // SWAP7
+				case Swap7Operator.OPCODE: { // SWAP7
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(8))
@@ -1486,11 +1592,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Swap8Operator": { // SWAP8
+				case Swap8Operator.OPCODE: { // SWAP8
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(9))
@@ -1500,11 +1606,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Swap9Operator": { // SWAP9
+				case Swap9Operator.OPCODE: { // SWAP9
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(10))
@@ -1514,11 +1620,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Swap10Operator": { // SWAP10
+				case Swap10Operator.OPCODE: { // SWAP10
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(11))
@@ -1528,11 +1634,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Swap11Operator": { // SWAP11
+				case Swap11Operator.OPCODE: { // SWAP11
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(12))
@@ -1542,11 +1648,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Swap12Operator": { // SWAP12
+				case Swap12Operator.OPCODE: { // SWAP12
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(13))
@@ -1556,11 +1662,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Swap13Operator": { // SWAP13
+				case Swap13Operator.OPCODE: { // SWAP13
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(14))
@@ -1570,11 +1676,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Swap14Operator": { // SWAP14
+				case Swap14Operator.OPCODE: { // SWAP14
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(15))
@@ -1584,11 +1690,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Swap15Operator": { // SWAP15
+				case Swap15Operator.OPCODE: { // SWAP15
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(16))
@@ -1598,11 +1704,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Swap16Operator": { // SWAP16
+				case Swap16Operator.OPCODE: { // SWAP16
 
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(17))
@@ -1612,11 +1718,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Log0Operator": { // LOG0
+				case Log0Operator.OPCODE: { // LOG0
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
@@ -1628,11 +1734,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Log1Operator": { // LOG1
+				case Log1Operator.OPCODE: { // LOG1
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(3))
 							continue;
@@ -1645,11 +1751,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Log2Operator": { // LOG2
+				case Log2Operator.OPCODE: { // LOG2
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(4))
 							continue;
@@ -1663,11 +1769,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Log3Operator": { // LOG3
+				case Log3Operator.OPCODE: { // LOG3
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(5))
 							continue;
@@ -1682,11 +1788,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Log4Operator": { // LOG4
+				case Log4Operator.OPCODE: { // LOG4
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(6))
 							continue;
@@ -1702,11 +1808,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "CreateOperator": { // CREATE
+				case CreateOperator.OPCODE: { // CREATE
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(3))
 							continue;
@@ -1720,11 +1826,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "Create2Operator": { // CREATE2
+				case Create2Operator.OPCODE: { // CREATE2
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(4))
 							continue;
@@ -1739,11 +1845,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "CallOperator": { // CALL
+				case CallOperator.OPCODE: { // CALL
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(7))
 							continue;
@@ -1761,11 +1867,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "CallcodeOperator": { // CALLCODE
+				case CallcodeOperator.OPCODE: { // CALLCODE
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(7))
 							continue;
@@ -1783,11 +1889,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "ReturnOperator": { // RETURN
+				case ReturnOperator.OPCODE: { // RETURN
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
@@ -1799,11 +1905,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "DelegatecallOperator": { // DELEGATECALL
+				case DelegatecallOperator.OPCODE: { // DELEGATECALL
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(6))
 							continue;
@@ -1820,11 +1926,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "StaticcallOperator": { // STATICCALL
+				case StaticcallOperator.OPCODE: { // STATICCALL
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(6))
 							continue;
@@ -1841,11 +1947,11 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "RevertOperator": { // REVERT
+				case RevertOperator.OPCODE: { // REVERT
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(2))
 							continue;
@@ -1857,14 +1963,14 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
-				case "InvalidOperator": { // INVALID
+				case InvalidOperator.OPCODE: { // INVALID
 					return this;
 				}
-				case "SelfdestructOperator": { // SELFDESTRUCT
+				case SelfdestructOperator.OPCODE: { // SELFDESTRUCT
 					for (AbstractStack stack : stacks) {
 						if (stack.hasBottomUntil(1))
 							continue;
@@ -1875,9 +1981,9 @@ public class EVMAbstractState
 					}
 
 					if (result.isEmpty())
-						return BOTTOM;
+						return bottom();
 					else
-						return new EVMAbstractState(result, memory, storage);
+						return mk(result, memory, storage);
 				}
 				}
 			}
@@ -1895,34 +2001,17 @@ public class EVMAbstractState
 	 *
 	 * @param x     The position of the element to duplicate from the top of the
 	 *                  stack.
-	 * @param stack The original stack.
+	 * @param stack The stack to modify, usually a clone of the original one.
 	 * 
-	 * @return A new stack with the specified element duplicated at the top.
+	 * @return The given stack with the specified element duplicated at the
+	 *             top.
 	 */
 	private AbstractStack dupX(int x, AbstractStack stack) {
 		if (stack.hasBottomUntil(x))
 			return stack.bottom();
 
-		List<StackElement> clone = stack.clone().getStack();
-		Object[] obj = clone.toArray();
-
-		int first;
-		if (stack.size() < AbstractStack.getStackLimit())
-			first = AbstractStack.getStackLimit();
-		else
-			first = clone.size();
-
-		StackElement tmp = (StackElement) obj[first - x];
-
-		ArrayList<StackElement> result = new ArrayList<>();
-
-		for (int i = 0; i < clone.size(); i++)
-			result.add((StackElement) obj[i]);
-
-		result.add(tmp);
-		result.remove(0);
-
-		return new AbstractStack(result);
+		stack.dup(x);
+		return stack;
 	}
 
 	/**
@@ -1931,33 +2020,16 @@ public class EVMAbstractState
 	 *
 	 * @param x     The position of the element to swap with the top of the
 	 *                  stack.
-	 * @param stack The original stack.
+	 * @param stack The stack to modify, usually a clone of the original one.
 	 * 
-	 * @return A new stack with the specified elements swapped.
+	 * @return The given stack with the specified elements swapped.
 	 */
 	private AbstractStack swapX(int x, AbstractStack stack) {
 		if (stack.hasBottomUntil(x + 1))
 			return stack.bottom();
 
-		List<StackElement> clone = stack.clone().getStack();
-		Object[] obj = clone.toArray();
-		int first;
-
-		if (stack.size() < AbstractStack.getStackLimit())
-			first = AbstractStack.getStackLimit() - 1;
-		else
-			first = clone.size() - 1;
-
-		Object tmp = obj[first];
-		obj[first] = obj[first - x];
-		obj[first - x] = tmp;
-
-		ArrayList<StackElement> result = new ArrayList<>();
-
-		for (int i = 0; i < clone.size(); i++)
-			result.add((StackElement) obj[i]);
-
-		return new AbstractStack(result);
+		stack.swap(x);
+		return stack;
 	}
 
 	@Override
@@ -1980,7 +2052,7 @@ public class EVMAbstractState
 					return top();
 				else if (split.getLeft().isEmpty())
 					return bottom();
-				return new EVMAbstractState(new AbstractStackSet(split.getLeft(), false), memory, storage);
+				return mk(stacks.mk(split.getLeft()), memory, storage);
 
 			} else if (op instanceof LogicalNegation) {
 				// Get the expression wrapped by LogicalNegation
@@ -2001,7 +2073,7 @@ public class EVMAbstractState
 							return top();
 						else if (split.getRight().isEmpty())
 							return bottom();
-						return new EVMAbstractState(new AbstractStackSet(split.getRight(), false), memory, storage);
+						return mk(stacks.mk(split.getRight()), memory, storage);
 					}
 				}
 			}
@@ -2053,41 +2125,36 @@ public class EVMAbstractState
 
 	@Override
 	public EVMAbstractState top() {
-		return TOP;
+		// top and bottom stay within the analysis of this state
+		return isTop() ? this : new EVMAbstractState(true, context);
 	}
 
 	@Override
 	public EVMAbstractState bottom() {
-		return BOTTOM;
+		return isBottom() ? this : mk(stacks.bottom(), memory.bottom(), storage.bottom());
 	}
 
 	@Override
 	public boolean isTop() {
-		return this == TOP;
+		return isTop;
 	}
 
 	@Override
 	public boolean isBottom() {
-		return this == BOTTOM;
+		return !isTop && stacks.isBottom();
 	}
 
 	/**
-	 * Helper method to convert a memory word to a BigInteger.
+	 * Helper method to convert a memory word to a 256-bit word.
 	 * 
 	 * @param expression the memory word to convert
 	 * 
-	 * @return the BigInteger corresponding to the memory word
+	 * @return the 256-bit word corresponding to the memory word
 	 */
-	private Number toBigInteger(SymbolicExpression expression) {
+	private UInt256 toUInt256(SymbolicExpression expression) {
 		Constant c = (Constant) expression;
 		String hex = (String) c.getValue();
-		return toBigInteger(hex);
-	}
-
-	private Number toBigInteger(String str) {
-		String hexadecimal = str.substring(2);
-		BigInteger bigIntVal = new BigInteger(hexadecimal, 16);
-		return new Number(bigIntVal);
+		return UInt256.fromHex(hex);
 	}
 
 	@Override
@@ -2136,21 +2203,21 @@ public class EVMAbstractState
 
 	@Override
 	public EVMAbstractState wideningAux(EVMAbstractState other) throws SemanticException {
-		return new EVMAbstractState(stacks.widening(other.stacks),
+		return mk(stacks.widening(other.stacks),
 				memory.widening(other.getMemory()),
 				storage.widening(other.storage));
 	}
 
 	@Override
 	public EVMAbstractState lubAux(EVMAbstractState other) throws SemanticException {
-		return new EVMAbstractState(stacks.lubAux(other.stacks),
+		return mk(stacks.lubAux(other.stacks),
 				memory.lub(other.getMemory()),
 				storage.lub(other.storage));
 	}
 
 	@Override
 	public EVMAbstractState glbAux(EVMAbstractState other) throws SemanticException {
-		return new EVMAbstractState(stacks.glbAux(other.stacks),
+		return mk(stacks.glbAux(other.stacks),
 				memory.glb(other.getMemory()),
 				storage.glb(other.storage));
 	}
@@ -2188,18 +2255,17 @@ public class EVMAbstractState
 	 * Retrieves the storage value at a specific key for a given Ethereum
 	 * contract address using the Etherscan API.
 	 *
-	 * @param key     the storage key as a Number. This key will be converted to
-	 *                    a hexadecimal string.
+	 * @param key     the storage key as a 256-bit word. This key will be
+	 *                    converted to a hexadecimal string.
 	 * @param address the Ethereum contract address as a String.
 	 * 
 	 * @return a {@link StackElement} containing the storage value if the
 	 *             request is successful, or {@link StackElement#TOP} if an
 	 *             error occurs.
 	 */
-	public StackElement getStorageAt(Number key, String address) {
+	public StackElement getStorageAt(UInt256 key, String address) {
 		try {
-			BigInteger toHex = Number.toBigInteger(key);
-			String hexString = "0x" + toHex.toString(16);
+			String hexString = "0x" + key.toHexString();
 
 			String getStorageAtRequest;
 			synchronized (MyCache.getInstance()) {
@@ -2215,9 +2281,7 @@ public class EVMAbstractState
 			String[] test = getStorageAtRequest.split("\"");
 			String bytecode = test[9].substring(2);
 
-			BigInteger decimal = new BigInteger(bytecode, 16);
-
-			return new StackElement(decimal);
+			return new StackElement(UInt256.fromHex(bytecode));
 		} catch (IOException | InterruptedException e) {
 			log.error(e.getMessage());
 		}
@@ -2226,14 +2290,7 @@ public class EVMAbstractState
 	}
 
 	private byte[] convertStackElementToBytes(StackElement element) {
-		byte[] bytes = new byte[32];
-		BigInteger bigIntValue = Number.toBigInteger(element.getNumber());
-
-		for (int i = 0; i < 32; i++) {
-			bytes[31 - i] = bigIntValue.shiftRight(i * 8).byteValue();
-		}
-
-		return bytes;
+		return element.getNumber().toByteArray();
 	}
 
 	@Override
@@ -9,12 +9,12 @@ import org.apache.commons.lang3.tuple.Pair;
 /**
  * Singleton class implementing a cache with an LRU (Least Recently Used)
  * eviction policy. The cache uses a {@link LRUMap} to store key-value pairs
- * where the key is a {@link Pair} of {@link String} and {@link Number}, and the
+ * where the key is a {@link Pair} of {@link String} and {@link UInt256}, and the
  * value is a {@link StackElement}.
  */
 public class MyCache {
 	private static MyCache _instance = null;
-	private final LRUMap<Pair<String, Number>, StackElement> _map;
+	private final LRUMap<Pair<String, UInt256>, StackElement> _map;
 	private final LRUMap<String, Long> _timeLostToGetStorage;
 	private final LRUMap<Integer, Set<Object>> _reentrancyWarnings;
 	private final LRUMap<Integer, Set<Object>> _txOriginWarnings;
@@ -41,7 +41,7 @@ public class MyCache {
 	 * a maximum size of 500.
 	 */
 	private MyCache() {
-		this._map = new LRUMap<Pair<String, Number>, StackElement>(500);
+		this._map = new LRUMap<Pair<String, UInt256>, StackElement>(500);
 		this._timeLostToGetStorage = new LRUMap<String, Long>(500);
 		this._reentrancyWarnings = new LRUMap<Integer, Set<Object>>(1000);
 		this._txOriginWarnings = new LRUMap<Integer, Set<Object>>(1000);
@@ -53,10 +53,10 @@ public class MyCache {
 	 * Puts a key-value pair into the cache.
 	 *
 	 * @param key   the key, a {@link Pair} of {@link String} and
-	 *                  {@link Number}.
+	 *                  {@link UInt256}.
 	 * @param value the value, a {@link StackElement}.
 	 */
-	public void put(Pair<String, Number> key, StackElement value) {
+	public void put(Pair<String, UInt256> key, StackElement value) {
 		synchronized (_map) {
 			_map.put(key, value);
 		}
@@ -65,12 +65,12 @@ public class MyCache {
 	/**
 	 * Retrieves a value from the cache by its key.
 	 *
-	 * @param key the key, a {@link Pair} of {@link String} and {@link Number}.
+	 * @param key the key, a {@link Pair} of {@link String} and {@link UInt256}.
 	 * 
 	 * @return the value associated with the key, or {@code null} if the key is
 	 *             not in the cache.
 	 */
-	public StackElement get(Pair<String, Number> key) {
+	public StackElement get(Pair<String, UInt256> key) {
 		synchronized (_map) {
 			return _map.get(key);
 		}
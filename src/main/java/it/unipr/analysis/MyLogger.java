@@ -177,10 +177,60 @@ public class MyLogger {
 		return jumps;
 	}
 
+	/**
+	 * Yields the jump statistics of this logger, independent of the analyzed
+	 * address and of the timing, so that they can be restored with
+	 * {@link #fromStatistics(JSONObject)}.
+	 *
+	 * @return the jump statistics
+	 */
+	public JSONObject statisticsToJson() {
+		JSONObject statistics = new JSONObject();
+		statistics.put("opcodes", opcodes);
+		statistics.put("jumps", jumps);
+		statistics.put("precisely_resolved_jumps", preciselyResolvedJumps);
+		statistics.put("sound_resolved_jumps", soundResolvedJumps);
+		statistics.put("definitely_unreachable_jumps", definitelyUnreachableJumps);
+		statistics.put("maybe_unreachable_jumps", maybeUnreachableJumps);
+		statistics.put("unsound_jumps", unsoundJumps);
+		statistics.put("maybe_unsound_jumps", maybeUnsoundJumps);
+		return statistics;
+	}
+
+	/**
+	 * Yields a new logger with the jump statistics produced by
+	 * {@link #statisticsToJson()}.
+	 *
+	 * @param statistics the jump statistics
+	 *
+	 * @return the logger
+	 */
+	public static MyLogger fromStatistics(JSONObject statistics) {
+		return newLogger()
+				.opcodes(statistics.getInt("opcodes"))
+				.jumps(statistics.getInt("jumps"))
+				.preciselyResolvedJumps(statistics.getInt("precisely_resolved_jumps"))
+				.soundResolvedJumps(statistics.getInt("sound_resolved_jumps"))
+				.definitelyUnreachableJumps(statistics.getInt("definitely_unreachable_jumps"))
+				.maybeUnreachableJumps(statistics.getInt("maybe_unreachable_jumps"))
+				.unsoundJumps(statistics.getInt("unsound_jumps"))
+				.maybeUnsoundJumps(statistics.getInt("maybe_unsound_jumps"));
+	}
+
 	public String getJson() {
 		return json.toString(4);
 	}
 
+	/**
+	 * Yields the JSON of this logger on a single line, as in newline-delimited
+	 * JSON.
+	 *
+	 * @return the JSON of this logger
+	 */
+	public String getJsonLine() {
+		return json.toString();
+	}
+
 	@Override
 	public String toString() {
 		return address + divider +
@@ -0,0 +1,275 @@
+package it.unipr.analysis;
+
+import it.unipr.analysis.taint.TaintAbstractDomain;
+import it.unive.lisa.analysis.BaseLattice;
+import it.unive.lisa.analysis.Lattice;
+import it.unive.lisa.analysis.ScopeToken;
+import it.unive.lisa.analysis.SemanticException;
+import it.unive.lisa.analysis.SemanticOracle;
+import it.unive.lisa.analysis.lattices.Satisfiability;
+import it.unive.lisa.analysis.value.ValueDomain;
+import it.unive.lisa.program.cfg.ProgramPoint;
+import it.unive.lisa.symbolic.value.Identifier;
+import it.unive.lisa.symbolic.value.ValueExpression;
+import it.unive.lisa.util.representation.StringRepresentation;
+import it.unive.lisa.util.representation.StructuredRepresentation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Reduced product of the {@link EVMAbstractState} and of a list of
+ * {@link TaintAbstractDomain}s, computing all of them within a single
+ * fixpoint. The reduction propagates unreachability: whenever the EVM
+ * component is bottom, the whole product is bottom.
+ */
+public class ProductAbstractDomain
+		implements ValueDomain<ProductAbstractDomain>, BaseLattice<ProductAbstractDomain> {
+
+	/**
+	 * The EVM component.
+	 */
+	private final EVMAbstractState evm;
+
+	/**
+	 * The taint components.
+	 */
+	private final List<TaintAbstractDomain> taints;
+
+	/**
+	 * Builds the product of the given domains.
+	 *
+	 * @param evm    the EVM component
+	 * @param taints the taint components
+	 */
+	public ProductAbstractDomain(EVMAbstractState evm, TaintAbstractDomain... taints) {
+		this(evm, Arrays.asList(taints));
+	}
+
+	private ProductAbstractDomain(EVMAbstractState evm, List<TaintAbstractDomain> taints) {
+		this.evm = evm;
+		this.taints = taints;
+	}
+
+	/**
+	 * Yields the EVM component of this product.
+	 *
+	 * @return the EVM component
+	 */
+	public EVMAbstractState getEVMState() {
+		return evm;
+	}
+
+	/**
+	 * Yields the taint component of the given class.
+	 *
+	 * @param <T>    the type of the taint component
+	 * @param domain the class of the taint component
+	 *
+	 * @return the taint component, or {@code null} if this product has no
+	 *             component of the given class
+	 */
+	public <T extends TaintAbstractDomain> T getTaintState(Class<T> domain) {
+		for (TaintAbstractDomain taint : taints)
+			if (domain.isInstance(taint))
+				return domain.cast(taint);
+		return null;
+	}
+
+	/**
+	 * Applies the reduction: the product is bottom as soon as its EVM
+	 * component is.
+	 */
+	private ProductAbstractDomain mk(EVMAbstractState evm, List<TaintAbstractDomain> taints) {
+		if (evm.isBottom())
+			return bottom();
+		return new ProductAbstractDomain(evm, taints);
+	}
+
+	@Override
+	public ProductAbstractDomain assign(Identifier id, ValueExpression expression, ProgramPoint pp,
+			SemanticOracle oracle) throws SemanticException {
+		List<TaintAbstractDomain> result = new ArrayList<>(taints.size());
+		for (TaintAbstractDomain taint : taints)
+			result.add(taint.assign(id, expression, pp, oracle));
+		return mk(evm.assign(id, expression, pp, oracle), result);
+	}
+
+	@Override
+	public ProductAbstractDomain smallStepSemantics(ValueExpression expression, ProgramPoint pp,
+			SemanticOracle oracle) throws SemanticException {
+		if (isBottom())
+			return this;
+
+		EVMAbstractState evmResult = evm.smallStepSemantics(expression, pp, oracle);
+		if (evmResult.isBottom())
+			return bottom();
+
+		List<TaintAbstractDomain> result = new ArrayList<>(taints.size());
+		for (TaintAbstractDomain taint : taints)
+			result.add(taint.smallStepSemantics(expression, pp, oracle));
+		return mk(evmResult, result);
+	}
+
+	@Override
+	public ProductAbstractDomain assume(ValueExpression expression, ProgramPoint src, ProgramPoint dest,
+			SemanticOracle oracle) throws SemanticException {
+		if (isBottom())
+			return this;
+
+		EVMAbstractState evmResult = evm.assume(expression, src, dest, oracle);
+		if (evmResult.isBottom())
+			return bottom();
+
+		List<TaintAbstractDomain> result = new ArrayList<>(taints.size());
+		for (TaintAbstractDomain taint : taints)
+			result.add(taint.assume(expression, src, dest, oracle));
+		return mk(evmResult, result);
+	}
+
+	@Override
+	public boolean knowsIdentifier(Identifier id) {
+		return evm.knowsIdentifier(id);
+	}
+
+	@Override
+	public ProductAbstractDomain forgetIdentifier(Identifier id) throws SemanticException {
+		List<TaintAbstractDomain> result = new ArrayList<>(taints.size());
+		for (TaintAbstractDomain taint : taints)
+			result.add(taint.forgetIdentifier(id));
+		return mk(evm.forgetIdentifier(id), result);
+	}
+
+	@Override
+	public ProductAbstractDomain forgetIdentifiersIf(Predicate<Identifier> test) throws SemanticException {
+		List<TaintAbstractDomain> result = new ArrayList<>(taints.size());
+		for (TaintAbstractDomain taint : taints)
+			result.add(taint.forgetIdentifiersIf(test));
+		return mk(evm.forgetIdentifiersIf(test), result);
+	}
+
+	@Override
+	public Satisfiability satisfies(ValueExpression expression, ProgramPoint pp, SemanticOracle oracle)
+			throws SemanticException {
+		// taint domains do not track values
+		return evm.satisfies(expression, pp, oracle);
+	}
+
+	@Override
+	public ProductAbstractDomain pushScope(ScopeToken token) throws SemanticException {
+		List<TaintAbstractDomain> result = new ArrayList<>(taints.size());
+		for (TaintAbstractDomain taint : taints)
+			result.add(taint.pushScope(token));
+		return mk(evm.pushScope(token), result);
+	}
+
+	@Override
+	public ProductAbstractDomain popScope(ScopeToken token) throws SemanticException {
+		List<TaintAbstractDomain> result = new ArrayList<>(taints.size());
+		for (TaintAbstractDomain taint : taints)
+			result.add(taint.popScope(token));
+		return mk(evm.popScope(token), result);
+	}
+
+	@Override
+	public ProductAbstractDomain lubAux(ProductAbstractDomain other) throws SemanticException {
+		List<TaintAbstractDomain> result = new ArrayList<>(taints.size());
+		for (int i = 0; i < taints.size(); i++)
+			result.add(taints.get(i).lub(other.taints.get(i)));
+		return mk(evm.lub(other.evm), result);
+	}
+
+	@Override
+	public ProductAbstractDomain wideningAux(ProductAbstractDomain other) throws SemanticException {
+		List<TaintAbstractDomain> result = new ArrayList<>(taints.size());
+		for (int i = 0; i < taints.size(); i++)
+			result.add(taints.get(i).widening(other.taints.get(i)));
+		return mk(evm.widening(other.evm), result);
+	}
+
+	@Override
+	public ProductAbstractDomain glbAux(ProductAbstractDomain other) throws SemanticException {
+		List<TaintAbstractDomain> result = new ArrayList<>(taints.size());
+		for (int i = 0; i < taints.size(); i++)
+			result.add(taints.get(i).glb(other.taints.get(i)));
+		return mk(evm.glb(other.evm), result);
+	}
+
+	@Override
+	public boolean lessOrEqualAux(ProductAbstractDomain other) throws SemanticException {
+		if (!evm.lessOrEqual(other.evm))
+			return false;
+		for (int i = 0; i < taints.size(); i++)
+			if (!taints.get(i).lessOrEqual(other.taints.get(i)))
+				return false;
+		return true;
+	}
+
+	@Override
+	public ProductAbstractDomain top() {
+		List<TaintAbstractDomain> result = new ArrayList<>(taints.size());
+		for (TaintAbstractDomain taint : taints)
+			result.add(taint.top());
+		return new ProductAbstractDomain(evm.top(), result);
+	}
+
+	@Override
+	public boolean isTop() {
+		if (!evm.isTop())
+			return false;
+		for (TaintAbstractDomain taint : taints)
+			if (!taint.isTop())
+				return false;
+		return true;
+	}
+
+	@Override
+	public ProductAbstractDomain bottom() {
+		List<TaintAbstractDomain> result = new ArrayList<>(taints.size());
+		for (TaintAbstractDomain taint : taints)
+			result.add(taint.bottom());
+		return new ProductAbstractDomain(evm.bottom(), result);
+	}
+
+	@Override
+	public boolean isBottom() {
+		return evm.isBottom();
+	}
+
+	@Override
+	public StructuredRepresentation representation() {
+		if (isBottom())
+			return Lattice.bottomRepresentation();
+		else if (isTop())
+			return Lattice.topRepresentation();
+
+		StringBuilder result = new StringBuilder("{ evm: ").append(evm.representation());
+		for (TaintAbstractDomain taint : taints)
+			result.append(", ").append(taint.getClass().getSimpleName()).append(": ").append(taint.representation());
+		return new StringRepresentation(result.append(" }").toString());
+	}
+
+	@Override
+	public String toString() {
+		return representation().toString();
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(evm, taints);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ProductAbstractDomain other = (ProductAbstractDomain) obj;
+		return Objects.equals(evm, other.evm) && Objects.equals(taints, other.taints);
+	}
+}
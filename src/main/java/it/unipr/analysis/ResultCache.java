@@ -0,0 +1,160 @@
+package it.unipr.analysis;
+
+import it.unipr.frontend.EVMFrontend;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import org.apache.commons.collections4.map.LRUMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Content-addressed cache of the results of the analyses, keyed by the hash of
+ * the runtime bytecode of a contract and of the options of the analysis.
+ * Byte-identical contracts deployed at different addresses (e.g., minimal
+ * proxies and token clones) are therefore analyzed only once. The results are
+ * kept in memory with an LRU eviction policy and, optionally, in a directory
+ * on disk, one JSON file per key, so that they survive across runs.
+ */
+public class ResultCache {
+	private static final Logger log = LogManager.getLogger(ResultCache.class);
+
+	private final LRUMap<String, JSONObject> _map;
+
+	/**
+	 * The directory where the results are persisted, or {@code null} if they
+	 * are kept in memory only.
+	 */
+	private final Path directory;
+
+	/**
+	 * Builds a cache keeping the results in memory only.
+	 */
+	public ResultCache() {
+		this._map = new LRUMap<String, JSONObject>(10000);
+		this.directory = null;
+	}
+
+	/**
+	 * Builds a cache persisting the results in the given directory.
+	 *
+	 * @param directory the directory where the results are persisted, or
+	 *                      {@code null} to keep them in memory only
+	 *
+	 * @throws IOException if the directory cannot be created
+	 */
+	public ResultCache(Path directory) throws IOException {
+		this._map = new LRUMap<String, JSONObject>(10000);
+		this.directory = directory;
+		if (directory != null)
+			Files.createDirectories(directory);
+	}
+
+	/**
+	 * Yields whether the results of the analyses with the given context can
+	 * be cached. The results obtained reading the live storage of a contract
+	 * depend on its address, not only on its bytecode, hence they are not
+	 * cached.
+	 *
+	 * @param context the context of the analyses
+	 *
+	 * @return {@code true} if the results can be cached
+	 */
+	public static boolean isCacheable(AnalysisContext context) {
+		return !context.useStorageLive();
+	}
+
+	/**
+	 * Yields the key of the analysis of the given runtime bytecode with the
+	 * given context: the SHA-256 of the bytecode and of the options of the
+	 * analysis. The address of the contract is not part of the key.
+	 *
+	 * @param bytecode the runtime bytecode
+	 * @param context  the context of the analysis
+	 *
+	 * @return the key, as an hexadecimal string
+	 */
+	public static String key(byte[] bytecode, AnalysisContext context) {
+		String options = context.getStackLimit() + ";" + context.getStackSetSize() + ";"
+				+ context.linkUnsoundJumpsToAllJumpdest() + ";" + context.isReentrancyCheckerEnabled() + ";"
+				+ context.isTxOriginCheckerEnabled() + ";" + context.isTimestampDependencyCheckerEnabled() + ";"
+				+ context.isLazyCfg();
+		return EVMFrontend.toHex(EVMFrontend.sha256(bytecode, options.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Retrieves the results stored with the given key, looking them up on
+	 * disk if they are not in memory.
+	 *
+	 * @param key the key
+	 *
+	 * @return the results, or {@code null} if there are none
+	 */
+	public JSONObject get(String key) {
+		synchronized (_map) {
+			JSONObject result = _map.get(key);
+			if (result != null)
+				return result;
+		}
+
+		if (directory == null)
+			return null;
+
+		Path file = directory.resolve(key + ".json");
+		if (!Files.exists(file))
+			return null;
+
+		try {
+			JSONObject result = new JSONObject(Files.readString(file));
+			synchronized (_map) {
+				_map.put(key, result);
+			}
+			return result;
+		} catch (IOException | JSONException e) {
+			log.warn("Could not read cached results {}: {}", file, e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the given results with the given key, in memory and, if a
+	 * directory is set, on disk.
+	 *
+	 * @param key    the key
+	 * @param result the results
+	 */
+	public void put(String key, JSONObject result) {
+		synchronized (_map) {
+			_map.put(key, result);
+		}
+
+		if (directory == null)
+			return;
+
+		// written to a temporary file first, so that concurrent readers never
+		// see a partial file
+		Path file = directory.resolve(key + ".json");
+		try {
+			Path tmp = Files.createTempFile(directory, key, ".tmp");
+			Files.writeString(tmp, result.toString());
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			log.warn("Could not write cached results {}: {}", file, e.getMessage());
+		}
+	}
+
+	/**
+	 * Returns the number of results currently in memory.
+	 *
+	 * @return the number of results in memory
+	 */
+	public int size() {
+		synchronized (_map) {
+			return _map.size();
+		}
+	}
+}
@@ -13,10 +13,6 @@ import org.apache.logging.log4j.Logger;
 public class StackElement implements BaseLattice<StackElement> {
 	private static final Logger log = LogManager.getLogger(StackElement.class);
 
-	private static final Number ZERO_INT = new Number(0);
-	private static final Number ONE_INT = new Number(1);
-	private static final Number MAX = new Number(BigInteger.valueOf(2).pow(256));
-
 	public static final StackElement ZERO = new StackElement(0);
 	public static final StackElement ONE = new StackElement(1);
 
@@ -32,7 +28,7 @@ public class StackElement implements BaseLattice<StackElement> {
 	 */
 	public static final StackElement BOTTOM = new StackElement(false, true);
 
-	private final Number n;
+	private final UInt256 n;
 	private final boolean isTop, isBottom;
 
 	/**
@@ -59,18 +55,18 @@ public class StackElement implements BaseLattice<StackElement> {
 	 * @param isTop    if it is the top abstract element
 	 * @param isBottom if it is the bottom abstract element
 	 */
-	private StackElement(Number n, boolean isTop, boolean isBottom) {
+	private StackElement(UInt256 n, boolean isTop, boolean isBottom) {
 		this.n = n;
 		this.isTop = isTop;
 		this.isBottom = isBottom;
 	}
 
 	/**
-	 * Builds a stack element starting from a number.
+	 * Builds a stack element starting from a 256-bit word.
 	 * 
-	 * @param n the number
+	 * @param n the word
 	 */
-	public StackElement(Number n) {
+	public StackElement(UInt256 n) {
 		this(n, false, false);
 	}
 
@@ -80,7 +76,7 @@ public class StackElement implements BaseLattice<StackElement> {
 	 * @param i the integer value
 	 */
 	public StackElement(Integer i) {
-		this(new Number(i.intValue()));
+		this(UInt256.valueOf(i.longValue()));
 	}
 
 	/**
@@ -89,7 +85,7 @@ public class StackElement implements BaseLattice<StackElement> {
 	 * @param i the big integer value
 	 */
 	public StackElement(BigInteger i) {
-		this(new Number(i));
+		this(UInt256.valueOf(i));
 	}
 
 	@Override
@@ -172,7 +168,7 @@ public class StackElement implements BaseLattice<StackElement> {
 	 * 
 	 * @return the number of this stack element
 	 */
-	public Number getNumber() {
+	public UInt256 getNumber() {
 		return n;
 	}
 
@@ -185,8 +181,7 @@ public class StackElement implements BaseLattice<StackElement> {
 	 * <li>If either element is top, the result is top.</li>
 	 * <li>If either element is top but not a jump destination, the result is
 	 * NOT_JUMPDEST_TOP.</li>
-	 * <li>Otherwise, performs numeric addition with modular reduction by
-	 * MAX.</li>
+	 * <li>Otherwise, performs numeric addition modulo 2^256.</li>
 	 * </ul>
 	 *
 	 * @param other the stack element to be added
@@ -202,11 +197,7 @@ public class StackElement implements BaseLattice<StackElement> {
 		else if (isTopNotJumpdest() || other.isTopNotJumpdest())
 			return NOT_JUMPDEST_TOP;
 
-		Number add = this.n.add(other.n);
-		if (add.compareTo(MAX) >= 0)
-			add = add.subtract(MAX);
-
-		return new StackElement(add);
+		return new StackElement(this.n.add(other.n));
 	}
 
 	public StackElement sub(StackElement other) {
@@ -217,14 +208,7 @@ public class StackElement implements BaseLattice<StackElement> {
 		else if (isTopNotJumpdest() || other.isTopNotJumpdest())
 			return NOT_JUMPDEST_TOP;
 
-		Number sub;
-		if (this.n.compareTo(other.n) < 0) {
-			sub = MAX.subtract(other.n);
-			sub = sub.add(this.n);
-		} else
-			sub = this.n.subtract(other.n);
-
-		return new StackElement(sub);
+		return new StackElement(this.n.subtract(other.n));
 	}
 
 	/**
@@ -237,11 +221,7 @@ public class StackElement implements BaseLattice<StackElement> {
 	 * <li>If either element is top, the result is top.</li>
 	 * <li>If either element is top but not a jump destination, the result is
 	 * NOT_JUMPDEST_TOP.</li>
-	 * <li>Otherwise, performs numeric multiplication with modular
-	 * handling.</li>
-	 * <li>If the multiplication results in a negative number, it wraps around
-	 * by adding MAX.</li>
-	 * <li>If the result exceeds MAX, it wraps around by subtracting MAX.</li>
+	 * <li>Otherwise, performs numeric multiplication modulo 2^256.</li>
 	 * </ul>
 	 *
 	 * @param other the stack element to multiply with this element
@@ -259,13 +239,7 @@ public class StackElement implements BaseLattice<StackElement> {
 		else if (isTopNotJumpdest() || other.isTopNotJumpdest())
 			return NOT_JUMPDEST_TOP;
 
-		Number mul = this.n.multiply(other.n);
-		if (mul.compareTo(ZERO_INT) < 0)
-			mul = mul.add(MAX);
-		if (mul.compareTo(MAX) > 0)
-			mul = mul.subtract(MAX);
-
-		return new StackElement(mul);
+		return new StackElement(this.n.multiply(other.n));
 	}
 
 	public StackElement div(StackElement other) {
@@ -278,11 +252,20 @@ public class StackElement implements BaseLattice<StackElement> {
 		else if (isTopNotJumpdest() || other.isTopNotJumpdest())
 			return NOT_JUMPDEST_TOP;
 
-		if (other.n.equals(ZERO_INT))
-			return new StackElement(ZERO_INT);
-		else
-			return new StackElement(this.n.divide(other.n));
+		return new StackElement(this.n.divide(other.n));
+	}
+
+	public StackElement sdiv(StackElement other) {
+		if (isBottom() || other.isBottom())
+			return bottom();
+		else if (other.equals(ZERO))
+			return ZERO;
+		else if (isTop() || other.isTop())
+			return top();
+		else if (isTopNotJumpdest() || other.isTopNotJumpdest())
+			return NOT_JUMPDEST_TOP;
 
+		return new StackElement(this.n.sdiv(other.n));
 	}
 
 	public StackElement mod(StackElement other) {
@@ -295,10 +278,20 @@ public class StackElement implements BaseLattice<StackElement> {
 		else if (isTopNotJumpdest() || other.isTopNotJumpdest())
 			return NOT_JUMPDEST_TOP;
 
-		if (other.n.equals(ZERO_INT))
-			return new StackElement(this.n);
-		else
-			return new StackElement(this.n.subtract(other.n.multiply(this.n.divide(other.n))));
+		return new StackElement(this.n.mod(other.n));
+	}
+
+	public StackElement smod(StackElement other) {
+		if (isBottom() || other.isBottom())
+			return bottom();
+		else if (other.equals(ZERO))
+			return ZERO;
+		else if (isTop() || other.isTop())
+			return top();
+		else if (isTopNotJumpdest() || other.isTopNotJumpdest())
+			return NOT_JUMPDEST_TOP;
+
+		return new StackElement(this.n.smod(other.n));
 	}
 
 	public StackElement addmod(StackElement that, StackElement other) {
@@ -311,11 +304,7 @@ public class StackElement implements BaseLattice<StackElement> {
 		else if (isTopNotJumpdest() || other.isTopNotJumpdest() || that.isTopNotJumpdest())
 			return NOT_JUMPDEST_TOP;
 
-		if (other.n.equals(ZERO_INT))
-			return new StackElement(ZERO_INT);
-		else
-			return new StackElement(this.n.add(that.n).subtract(other.n.multiply(this.n.add(that.n).divide(other.n))));
-
+		return new StackElement(this.n.addmod(that.n, other.n));
 	}
 
 	public StackElement mulmod(StackElement that, StackElement other) {
@@ -328,32 +317,29 @@ public class StackElement implements BaseLattice<StackElement> {
 		else if (isTopNotJumpdest() || other.isTopNotJumpdest() || that.isTopNotJumpdest())
 			return NOT_JUMPDEST_TOP;
 
-		if (other.n.equals(ZERO_INT))
-			return new StackElement(ZERO_INT);
-		else
-			return new StackElement(
-					this.n.multiply(that.n).subtract(other.n.multiply(this.n.multiply(that.n).divide(other.n))));
+		return new StackElement(this.n.mulmod(that.n, other.n));
 	}
 
+	/**
+	 * Computes this stack element raised to the power of another stack element,
+	 * modulo 2^256 (EXP).
+	 *
+	 * @param other the exponent
+	 * 
+	 * @return a new {@code StackElement} representing this element raised to
+	 *             the power of the other stack element
+	 */
 	public StackElement exp(StackElement other) {
 		if (isBottom() || other.isBottom())
 			return bottom();
-		else if (other.equals(ZERO))
+		else if (other.equals(ZERO) || this.equals(ONE))
 			return ONE;
 		else if (isTop() || other.isTop())
 			return top();
 		else if (isTopNotJumpdest() || other.isTopNotJumpdest())
 			return NOT_JUMPDEST_TOP;
 
-		Number r = this.n;
-
-		for (int k = 0; other.n.compareTo(new Number(k)) > 0; k++)
-			if (r.compareTo(MAX) > 0)
-				return TOP;
-			else
-				r = r.multiply(this.n);
-
-		return new StackElement(r);
+		return new StackElement(this.n.pow(other.n));
 	}
 
 	public StackElement lt(StackElement other) {
@@ -384,6 +370,34 @@ public class StackElement implements BaseLattice<StackElement> {
 			return StackElement.ZERO;
 	}
 
+	public StackElement slt(StackElement other) {
+		if (isBottom() || other.isBottom())
+			return StackElement.BOTTOM;
+		else if (isTop() || other.isTop())
+			return StackElement.NOT_JUMPDEST_TOP;
+		else if (isTopNotJumpdest() || other.isTopNotJumpdest())
+			return NOT_JUMPDEST_TOP;
+
+		if (this.n.signedCompareTo(other.n) < 0)
+			return StackElement.ONE;
+		else
+			return StackElement.ZERO;
+	}
+
+	public StackElement sgt(StackElement other) {
+		if (isBottom() || other.isBottom())
+			return StackElement.BOTTOM;
+		else if (isTop() || other.isTop())
+			return StackElement.NOT_JUMPDEST_TOP;
+		else if (isTopNotJumpdest() || other.isTopNotJumpdest())
+			return StackElement.NOT_JUMPDEST_TOP;
+
+		if (this.n.signedCompareTo(other.n) > 0)
+			return StackElement.ONE;
+		else
+			return StackElement.ZERO;
+	}
+
 	public StackElement eq(StackElement other) {
 		if (isBottom() || other.isBottom())
 			return StackElement.BOTTOM;
@@ -442,13 +456,18 @@ public class StackElement implements BaseLattice<StackElement> {
 		else if (isTopNotJumpdest())
 			return NOT_JUMPDEST_TOP;
 
-		if (this.n.compareTo(ZERO_INT) >= 0)
-			return new StackElement(MAX.subtract(this.n.add(ONE_INT)));
-		else
-			return new StackElement(this.n.not());
+		return new StackElement(this.n.not());
 	}
 
-	public StackElement shl(StackElement other) {
+	/**
+	 * Yields the {@code this}-th byte of {@code other}, starting from the most
+	 * significant one (BYTE).
+	 * 
+	 * @param other the word from which the byte is selected
+	 * 
+	 * @return the selected byte
+	 */
+	public StackElement byteOf(StackElement other) {
 		if (isBottom() || other.isBottom())
 			return bottom();
 		else if (isTop() || other.isTop())
@@ -456,10 +475,18 @@ public class StackElement implements BaseLattice<StackElement> {
 		else if (isTopNotJumpdest() || other.isTopNotJumpdest())
 			return NOT_JUMPDEST_TOP;
 
-		return new StackElement((new Number(new BigInteger(shiftLeft(other.n.toByteArray(), this.n.intValue())))));
+		return new StackElement(other.n.byteAt(this.n));
 	}
 
-	public StackElement shr(StackElement other) {
+	/**
+	 * Extends the sign of {@code other} from its {@code (this + 1)}-th least
+	 * significant byte (SIGNEXTEND).
+	 * 
+	 * @param other the word to extend
+	 * 
+	 * @return the sign-extended word
+	 */
+	public StackElement signextend(StackElement other) {
 		if (isBottom() || other.isBottom())
 			return bottom();
 		else if (isTop() || other.isTop())
@@ -467,10 +494,10 @@ public class StackElement implements BaseLattice<StackElement> {
 		else if (isTopNotJumpdest() || other.isTopNotJumpdest())
 			return NOT_JUMPDEST_TOP;
 
-		return new StackElement(other.n.shiftRight(this.n.intValue()));
+		return new StackElement(other.n.signextend(this.n));
 	}
 
-	public StackElement sar(StackElement other) {
+	public StackElement shl(StackElement other) {
 		if (isBottom() || other.isBottom())
 			return bottom();
 		else if (isTop() || other.isTop())
@@ -478,177 +505,36 @@ public class StackElement implements BaseLattice<StackElement> {
 		else if (isTopNotJumpdest() || other.isTopNotJumpdest())
 			return NOT_JUMPDEST_TOP;
 
-		return new StackElement(
-				new Number(new BigInteger(shiftArithmeticRight(other.n.toByteArray(), this.n.intValue()))));
+		return new StackElement(this.n.shl(other.n));
 	}
 
-	/**
-	 * Shifts the given byte array to the left by the specified number of bits.
-	 *
-	 * @param byteArray     The byte array to be left-shifted.
-	 * @param shiftBitCount The number of bits by which to shift the byte array
-	 *                          to the left.
-	 * 
-	 * @return The resulting byte array after left-shifting by the specified bit
-	 *             count.
-	 *             <p>
-	 *             This method performs a left shift on the provided byte array,
-	 *             where each byte is shifted to the left by the given number of
-	 *             bits. The shift operation is performed in a bitwise manner,
-	 *             and the bits shifted beyond the byte boundary are wrapped
-	 *             around to the opposite end. The shift is done in place, and
-	 *             the modified byte array is returned as the result.
-	 *             </p>
-	 *             <p>
-	 *             The {@code shiftBitCount} parameter determines the number of
-	 *             bits to shift.
-	 *             </p>
-	 * 
-	 * @throws IllegalArgumentException If the input {@code byteArray} is
-	 *                                      {@code null}.
-	 */
-	public static byte[] shiftLeft(byte[] byteArray, int shiftBitCount) {
-		final int shiftMod = shiftBitCount % 8;
-		final byte carryMask = (byte) ((1 << shiftMod) - 1);
-		final int offsetBytes = (shiftBitCount / 8);
-
-		int start;
-
-		if (byteArray.length > 32)
-			start = 1;
-		else
-			start = 0;
-
-		int sourceIndex;
-		for (int i = start; i < byteArray.length; i++) {
-			sourceIndex = i + offsetBytes;
-			if (sourceIndex >= byteArray.length) {
-				byteArray[i] = 0;
-			} else {
-				byte src = byteArray[sourceIndex];
-				byte dst = (byte) (src << shiftMod);
-				if (sourceIndex + 1 < byteArray.length) {
-					dst |= byteArray[sourceIndex + 1] >>> (8 - shiftMod) & carryMask;
-				}
-				byteArray[i] = dst;
-			}
-		}
-		return byteArray;
-	}
+	public StackElement shr(StackElement other) {
+		if (isBottom() || other.isBottom())
+			return bottom();
+		else if (isTop() || other.isTop())
+			return top();
+		else if (isTopNotJumpdest() || other.isTopNotJumpdest())
+			return NOT_JUMPDEST_TOP;
 
-	/**
-	 * Shifts the elements of a byte array to the right by a specified number of
-	 * bits.
-	 *
-	 * @param byteArray     The byte array to be shifted.
-	 * @param shiftBitCount The number of bits by which the array elements
-	 *                          should be shifted to the right.
-	 * 
-	 * @return The byte array after the right shift operation.
-	 *             <p>
-	 *             This method performs a bitwise right shift on the input byte
-	 *             array, where each element is treated as a single byte. The
-	 *             shift operation is performed in-place, and the original array
-	 *             is modified.
-	 *             </p>
-	 *             <p>
-	 *             If the {@code shiftBitCount} is zero, the array remains
-	 *             unchanged.
-	 *             </p>
-	 *             <p>
-	 *             The method uses a circular shift approach, with consideration
-	 *             for byte boundaries and a carry mechanism.
-	 *             </p>
-	 *
-	 * @throws IllegalArgumentException If the {@code byteArray} is
-	 *                                      {@code null}.
-	 */
-	public static byte[] shiftRight(byte[] byteArray, int shiftBitCount) {
-		final int shiftMod = shiftBitCount % 8;
-		final byte carryMask = (byte) (0xFF << (8 - shiftMod));
-		final int offsetBytes = (shiftBitCount / 8);
-
-		int sourceIndex;
-		for (int i = byteArray.length - 1; i >= 0; i--) {
-			sourceIndex = i - offsetBytes;
-			if (sourceIndex < 0) {
-				byteArray[i] = 0;
-			} else {
-				byte src = byteArray[sourceIndex];
-				byte dst = (byte) ((0xff & src) >>> shiftMod);
-				if (sourceIndex - 1 >= 0) {
-					dst |= byteArray[(sourceIndex - 1)] << (8 - shiftMod) & carryMask;
-				}
-				byteArray[i] = dst;
-			}
-		}
-		return byteArray;
+		return new StackElement(this.n.shr(other.n));
 	}
 
-	/**
-	 * Shifts the bits of the given byte array towards the least significant bit
-	 * (SAR - Shift Arithmetic Right). The bits moved before the first one are
-	 * discarded, and the new bits are set to 0 if the previous most significant
-	 * bit was 0; otherwise, the new bits are set to 1.
-	 *
-	 * @param byteArray     The byte array to be right-shifted.
-	 * @param shiftBitCount The number of bits by which to shift the byte array
-	 *                          to the right.
-	 * 
-	 * @return The resulting byte array after right-shifting by the specified
-	 *             bit count.
-	 *             <p>
-	 *             This method performs a right shift on the provided byte array
-	 *             (SAR operation), where each byte is shifted to the right by
-	 *             the given number of bits. The shift operation is performed in
-	 *             a bitwise manner, and the bits shifted beyond the byte
-	 *             boundary are discarded. The new bits introduced during the
-	 *             shift are set based on the value of the previous most
-	 *             significant bit (0 or 1).
-	 *             </p>
-	 *             <p>
-	 *             The {@code shiftBitCount} parameter determines the number of
-	 *             bits to shift.
-	 *             </p>
-	 *
-	 * @throws IllegalArgumentException If the input {@code byteArray} is
-	 *                                      {@code null}.
-	 */
-	public static byte[] shiftArithmeticRight(byte[] byteArray, int shiftBitCount) {
-		final int shiftMod = shiftBitCount % 8;
-		final byte carryMask = (byte) (0xFF << (8 - shiftMod));
-		final int offsetBytes = (shiftBitCount / 8);
-
-		int sourceIndex;
-		int start;
+	public StackElement sar(StackElement other) {
+		if (isBottom() || other.isBottom())
+			return bottom();
+		else if (isTop() || other.isTop())
+			return top();
+		else if (isTopNotJumpdest() || other.isTopNotJumpdest())
+			return NOT_JUMPDEST_TOP;
 
-		if (byteArray.length > 32)
-			start = 1;
-		else
-			start = 0;
-		for (int i = start; i < byteArray.length; i++) {
-			sourceIndex = i + offsetBytes;
-			if (sourceIndex >= byteArray.length) {
-				byteArray[i] = (byte) (byteArray[i] < 0 ? 0xFF : 0);
-			} else {
-				byte src = byteArray[sourceIndex];
-				byte dst = (byte) (src >>> shiftMod);
-				if (sourceIndex + 1 < byteArray.length) {
-					dst |= byteArray[sourceIndex + 1] << (8 - shiftMod) & carryMask;
-				}
-				byteArray[i] = dst;
-			}
-		}
-		return byteArray;
+		return new StackElement(this.n.sar(other.n));
 	}
 
 	public static StackElement fromBytes(byte[] bytes) {
 		if (bytes == null || bytes.length != 32)
 			throw new IllegalArgumentException("Invalid byte array: must be exactly 32 bytes");
 
-		BigInteger value = new BigInteger(1, bytes);
-
-		return new StackElement(new Number(value));
+		return new StackElement(UInt256.fromBytes(bytes));
 	}
 
 	/**
@@ -661,7 +547,7 @@ public class StackElement implements BaseLattice<StackElement> {
 	public boolean isDefinitelyTrue() {
 		if (isTop() || isBottom() || isTopNotJumpdest())
 			return false;
-		return !this.n.equals(ZERO_INT);
+		return !this.n.isZero();
 	}
 
 	/**
@@ -673,7 +559,7 @@ public class StackElement implements BaseLattice<StackElement> {
 	public boolean isDefinitelyFalse() {
 		if (isTop() || isBottom() || isTopNotJumpdest())
 			return false;
-		return this.n.equals(ZERO_INT);
+		return this.n.isZero();
 	}
 
 	/**
@@ -0,0 +1,689 @@
+package it.unipr.analysis;
+
+import java.math.BigInteger;
+
+/**
+ * An immutable 256-bit unsigned integer, i.e., an EVM word. Every operation
+ * follows the EVM semantics, hence it is computed modulo 2^256 and the signed
+ * operations interpret the words in two's complement. The value is stored in
+ * four {@code long} limbs, from the least significant one ({@code w0}) to the
+ * most significant one ({@code w3}).
+ */
+public final class UInt256 implements Comparable<UInt256> {
+
+	/**
+	 * The number of bits of a word.
+	 */
+	public static final int BITS = 256;
+
+	/**
+	 * The number of bytes of a word.
+	 */
+	public static final int BYTES = 32;
+
+	/**
+	 * The word 0.
+	 */
+	public static final UInt256 ZERO = new UInt256(0, 0, 0, 0);
+
+	/**
+	 * The word 1.
+	 */
+	public static final UInt256 ONE = new UInt256(1, 0, 0, 0);
+
+	/**
+	 * The largest word, i.e., 2^256 - 1.
+	 */
+	public static final UInt256 MAX_VALUE = new UInt256(-1, -1, -1, -1);
+
+	/**
+	 * The smallest signed word, i.e., -2^255.
+	 */
+	private static final UInt256 MIN_SIGNED = new UInt256(0, 0, 0, Long.MIN_VALUE);
+
+	private final long w0, w1, w2, w3;
+
+	private UInt256(long w0, long w1, long w2, long w3) {
+		this.w0 = w0;
+		this.w1 = w1;
+		this.w2 = w2;
+		this.w3 = w3;
+	}
+
+	/**
+	 * Yields the word corresponding to the given value. Negative values are
+	 * converted in two's complement.
+	 *
+	 * @param value the value
+	 *
+	 * @return the word corresponding to the given value
+	 */
+	public static UInt256 valueOf(long value) {
+		if (value == 0)
+			return ZERO;
+		else if (value == 1)
+			return ONE;
+		long ext = value < 0 ? -1 : 0;
+		return new UInt256(value, ext, ext, ext);
+	}
+
+	/**
+	 * Yields the word corresponding to the given value, modulo 2^256. Negative
+	 * values are converted in two's complement.
+	 *
+	 * @param value the value
+	 *
+	 * @return the word corresponding to the given value
+	 */
+	public static UInt256 valueOf(BigInteger value) {
+		if (value.bitLength() < 64)
+			return valueOf(value.longValue());
+		return new UInt256(value.longValue(), value.shiftRight(64).longValue(), value.shiftRight(128).longValue(),
+				value.shiftRight(192).longValue());
+	}
+
+	/**
+	 * Yields the word corresponding to the given big-endian unsigned bytes. If
+	 * more than 32 bytes are given, only the least significant 32 ones are
+	 * considered.
+	 *
+	 * @param bytes the bytes
+	 *
+	 * @return the word corresponding to the given bytes
+	 */
+	public static UInt256 fromBytes(byte[] bytes) {
+		long[] words = new long[4];
+		int length = Math.min(bytes.length, BYTES);
+		for (int i = 0; i < length; i++) {
+			int shift = 8 * i;
+			words[shift >>> 6] |= (bytes[bytes.length - 1 - i] & 0xFFL) << (shift & 63);
+		}
+		return new UInt256(words[0], words[1], words[2], words[3]);
+	}
+
+	/**
+	 * Yields the word corresponding to the given hexadecimal string, with or
+	 * without the {@code 0x} prefix.
+	 *
+	 * @param hex the hexadecimal string
+	 *
+	 * @return the word corresponding to the given hexadecimal string
+	 */
+	public static UInt256 fromHex(String hex) {
+		int start = hex.startsWith("0x") || hex.startsWith("0X") ? 2 : 0;
+		long[] words = new long[4];
+		int bit = 0;
+		for (int i = hex.length() - 1; i >= start && bit < BITS; i--, bit += 4) {
+			int digit = Character.digit(hex.charAt(i), 16);
+			if (digit < 0)
+				throw new NumberFormatException("Invalid hexadecimal word: " + hex);
+			words[bit >>> 6] |= (long) digit << (bit & 63);
+		}
+		return new UInt256(words[0], words[1], words[2], words[3]);
+	}
+
+	/**
+	 * Yields the 32 big-endian bytes of this word.
+	 *
+	 * @return the 32 big-endian bytes of this word
+	 */
+	public byte[] toByteArray() {
+		byte[] result = new byte[BYTES];
+		for (int i = 0; i < BYTES; i++)
+			result[BYTES - 1 - i] = (byte) (word(i >>> 3) >>> (8 * (i & 7)));
+		return result;
+	}
+
+	/**
+	 * Yields this word as an unsigned big integer.
+	 *
+	 * @return this word as an unsigned big integer
+	 */
+	public BigInteger toBigInteger() {
+		if (fitsLong())
+			return BigInteger.valueOf(w0);
+		return new BigInteger(1, toByteArray());
+	}
+
+	/**
+	 * Yields the least significant 32 bits of this word.
+	 *
+	 * @return the least significant 32 bits of this word
+	 */
+	public int intValue() {
+		return (int) w0;
+	}
+
+	/**
+	 * Yields the least significant 64 bits of this word.
+	 *
+	 * @return the least significant 64 bits of this word
+	 */
+	public long longValue() {
+		return w0;
+	}
+
+	/**
+	 * Checks whether this word is a non-negative {@code int}.
+	 *
+	 * @return {@code true} if this word is a non-negative {@code int},
+	 *             {@code false} otherwise
+	 */
+	public boolean fitsInt() {
+		return fitsLong() && w0 <= Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Checks whether this word is a non-negative {@code long}.
+	 *
+	 * @return {@code true} if this word is a non-negative {@code long},
+	 *             {@code false} otherwise
+	 */
+	public boolean fitsLong() {
+		return w0 >= 0 && (w1 | w2 | w3) == 0;
+	}
+
+	/**
+	 * Checks whether this word is zero.
+	 *
+	 * @return {@code true} if this word is zero, {@code false} otherwise
+	 */
+	public boolean isZero() {
+		return (w0 | w1 | w2 | w3) == 0;
+	}
+
+	/**
+	 * Checks whether this word is negative, when interpreted in two's
+	 * complement.
+	 *
+	 * @return {@code true} if this word is negative, {@code false} otherwise
+	 */
+	public boolean isNegative() {
+		return w3 < 0;
+	}
+
+	private long word(int i) {
+		switch (i) {
+		case 0:
+			return w0;
+		case 1:
+			return w1;
+		case 2:
+			return w2;
+		default:
+			return w3;
+		}
+	}
+
+	private static UInt256 of(long[] words) {
+		return new UInt256(words[0], words[1], words[2], words[3]);
+	}
+
+	/**
+	 * Yields {@code this + other} modulo 2^256 (ADD).
+	 *
+	 * @param other the other word
+	 *
+	 * @return {@code this + other} modulo 2^256
+	 */
+	public UInt256 add(UInt256 other) {
+		long r0 = w0 + other.w0;
+		long c = Long.compareUnsigned(r0, w0) < 0 ? 1 : 0;
+		long r1 = w1 + other.w1;
+		long c1 = Long.compareUnsigned(r1, w1) < 0 ? 1 : 0;
+		r1 += c;
+		c = c1 | (Long.compareUnsigned(r1, c) < 0 ? 1 : 0);
+		long r2 = w2 + other.w2;
+		long c2 = Long.compareUnsigned(r2, w2) < 0 ? 1 : 0;
+		r2 += c;
+		c = c2 | (Long.compareUnsigned(r2, c) < 0 ? 1 : 0);
+		long r3 = w3 + other.w3 + c;
+		return new UInt256(r0, r1, r2, r3);
+	}
+
+	/**
+	 * Yields {@code this - other} modulo 2^256 (SUB).
+	 *
+	 * @param other the other word
+	 *
+	 * @return {@code this - other} modulo 2^256
+	 */
+	public UInt256 subtract(UInt256 other) {
+		return add(other.negate());
+	}
+
+	/**
+	 * Yields {@code -this} modulo 2^256.
+	 *
+	 * @return {@code -this} modulo 2^256
+	 */
+	public UInt256 negate() {
+		return not().add(ONE);
+	}
+
+	/**
+	 * Yields {@code this * other} modulo 2^256 (MUL).
+	 *
+	 * @param other the other word
+	 *
+	 * @return {@code this * other} modulo 2^256
+	 */
+	public UInt256 multiply(UInt256 other) {
+		long[] r = new long[4];
+		for (int i = 0; i < 4; i++) {
+			long a = word(i);
+			if (a == 0)
+				continue;
+			long carry = 0;
+			for (int j = 0; i + j < 4; j++) {
+				long b = other.word(j);
+				long lo = a * b;
+				long hi = unsignedMultiplyHigh(a, b);
+				lo += r[i + j];
+				if (Long.compareUnsigned(lo, r[i + j]) < 0)
+					hi++;
+				lo += carry;
+				if (Long.compareUnsigned(lo, carry) < 0)
+					hi++;
+				r[i + j] = lo;
+				carry = hi;
+			}
+		}
+		return of(r);
+	}
+
+	private static long unsignedMultiplyHigh(long a, long b) {
+		return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+	}
+
+	/**
+	 * Yields {@code this / other}, or zero if {@code other} is zero (DIV).
+	 *
+	 * @param other the other word
+	 *
+	 * @return {@code this / other}
+	 */
+	public UInt256 divide(UInt256 other) {
+		if (other.isZero())
+			return ZERO;
+		if (fitsLong() && other.fitsLong())
+			return valueOf(w0 / other.w0);
+		if (compareTo(other) < 0)
+			return ZERO;
+		return valueOf(toBigInteger().divide(other.toBigInteger()));
+	}
+
+	/**
+	 * Yields {@code this % other}, or zero if {@code other} is zero (MOD).
+	 *
+	 * @param other the other word
+	 *
+	 * @return {@code this % other}
+	 */
+	public UInt256 mod(UInt256 other) {
+		if (other.isZero())
+			return ZERO;
+		if (fitsLong() && other.fitsLong())
+			return valueOf(w0 % other.w0);
+		if (compareTo(other) < 0)
+			return this;
+		return valueOf(toBigInteger().mod(other.toBigInteger()));
+	}
+
+	/**
+	 * Yields the signed division of this word by {@code other}, or zero if
+	 * {@code other} is zero (SDIV).
+	 *
+	 * @param other the other word
+	 *
+	 * @return the signed division of this word by {@code other}
+	 */
+	public UInt256 sdiv(UInt256 other) {
+		if (other.isZero())
+			return ZERO;
+		if (equals(MIN_SIGNED) && other.equals(MAX_VALUE))
+			return MIN_SIGNED;
+		UInt256 result = abs().divide(other.abs());
+		return isNegative() != other.isNegative() ? result.negate() : result;
+	}
+
+	/**
+	 * Yields the signed remainder of this word divided by {@code other}, with
+	 * the sign of this word, or zero if {@code other} is zero (SMOD).
+	 *
+	 * @param other the other word
+	 *
+	 * @return the signed remainder of this word divided by {@code other}
+	 */
+	public UInt256 smod(UInt256 other) {
+		if (other.isZero())
+			return ZERO;
+		UInt256 result = abs().mod(other.abs());
+		return isNegative() ? result.negate() : result;
+	}
+
+	private UInt256 abs() {
+		return isNegative() ? negate() : this;
+	}
+
+	/**
+	 * Yields {@code (this + that) % modulus}, computed without overflow, or
+	 * zero if {@code modulus} is zero (ADDMOD).
+	 *
+	 * @param that    the word to add
+	 * @param modulus the modulus
+	 *
+	 * @return {@code (this + that) % modulus}
+	 */
+	public UInt256 addmod(UInt256 that, UInt256 modulus) {
+		if (modulus.isZero())
+			return ZERO;
+		return valueOf(toBigInteger().add(that.toBigInteger()).mod(modulus.toBigInteger()));
+	}
+
+	/**
+	 * Yields {@code (this * that) % modulus}, computed without overflow, or
+	 * zero if {@code modulus} is zero (MULMOD).
+	 *
+	 * @param that    the word to multiply
+	 * @param modulus the modulus
+	 *
+	 * @return {@code (this * that) % modulus}
+	 */
+	public UInt256 mulmod(UInt256 that, UInt256 modulus) {
+		if (modulus.isZero())
+			return ZERO;
+		return valueOf(toBigInteger().multiply(that.toBigInteger()).mod(modulus.toBigInteger()));
+	}
+
+	/**
+	 * Yields {@code this ^ exponent} modulo 2^256 (EXP), computed by
+	 * square-and-multiply, i.e., with at most 512 multiplications.
+	 *
+	 * @param exponent the exponent
+	 *
+	 * @return {@code this ^ exponent} modulo 2^256
+	 */
+	public UInt256 pow(UInt256 exponent) {
+		if (exponent.isZero())
+			return ONE;
+		if (isZero() || equals(ONE) || exponent.equals(ONE))
+			return this;
+		// an even base raised to at least 256 is a multiple of 2^256
+		if (!testBit(0) && exponent.compareTo(valueOf(BITS)) >= 0)
+			return ZERO;
+
+		UInt256 result = ONE;
+		for (int i = exponent.bitLength() - 1; i >= 0; i--) {
+			result = result.multiply(result);
+			if (exponent.testBit(i))
+				result = result.multiply(this);
+		}
+		return result;
+	}
+
+	/**
+	 * Extends the sign of the {@code (byteIndex + 1)}-th least significant byte
+	 * of this word (SIGNEXTEND).
+	 *
+	 * @param byteIndex the index of the byte holding the sign, starting from
+	 *                      the least significant one
+	 *
+	 * @return the sign-extended word
+	 */
+	public UInt256 signextend(UInt256 byteIndex) {
+		if (byteIndex.compareTo(valueOf(31)) >= 0)
+			return this;
+		int bit = byteIndex.intValue() * 8 + 7;
+		UInt256 mask = ONE.shl(bit + 1).subtract(ONE);
+		if (testBit(bit))
+			return or(mask.not());
+		else
+			return and(mask);
+	}
+
+	/**
+	 * Yields the {@code index}-th byte of this word, starting from the most
+	 * significant one, or zero if {@code index} is not lower than 32 (BYTE).
+	 *
+	 * @param index the index of the byte
+	 *
+	 * @return the selected byte
+	 */
+	public UInt256 byteAt(UInt256 index) {
+		if (index.compareTo(valueOf(BYTES)) >= 0)
+			return ZERO;
+		int shift = 8 * (BYTES - 1 - index.intValue());
+		return valueOf((word(shift >>> 6) >>> (shift & 63)) & 0xFF);
+	}
+
+	/**
+	 * Yields the number of bits of the minimal binary representation of this
+	 * word, i.e., the position of its most significant set bit plus 1.
+	 *
+	 * @return the number of bits of the minimal representation of this word
+	 */
+	public int bitLength() {
+		if (w3 != 0)
+			return 256 - Long.numberOfLeadingZeros(w3);
+		if (w2 != 0)
+			return 192 - Long.numberOfLeadingZeros(w2);
+		if (w1 != 0)
+			return 128 - Long.numberOfLeadingZeros(w1);
+		return 64 - Long.numberOfLeadingZeros(w0);
+	}
+
+	/**
+	 * Checks whether the bit at the given position is set.
+	 *
+	 * @param n the position of the bit, starting from the least significant
+	 *              one
+	 *
+	 * @return {@code true} if the bit is set, {@code false} otherwise
+	 */
+	public boolean testBit(int n) {
+		return ((word(n >>> 6) >>> (n & 63)) & 1) != 0;
+	}
+
+	/**
+	 * Yields the bitwise AND of this word and {@code other} (AND).
+	 *
+	 * @param other the other word
+	 *
+	 * @return the bitwise AND of this word and {@code other}
+	 */
+	public UInt256 and(UInt256 other) {
+		return new UInt256(w0 & other.w0, w1 & other.w1, w2 & other.w2, w3 & other.w3);
+	}
+
+	/**
+	 * Yields the bitwise OR of this word and {@code other} (OR).
+	 *
+	 * @param other the other word
+	 *
+	 * @return the bitwise OR of this word and {@code other}
+	 */
+	public UInt256 or(UInt256 other) {
+		return new UInt256(w0 | other.w0, w1 | other.w1, w2 | other.w2, w3 | other.w3);
+	}
+
+	/**
+	 * Yields the bitwise XOR of this word and {@code other} (XOR).
+	 *
+	 * @param other the other word
+	 *
+	 * @return the bitwise XOR of this word and {@code other}
+	 */
+	public UInt256 xor(UInt256 other) {
+		return new UInt256(w0 ^ other.w0, w1 ^ other.w1, w2 ^ other.w2, w3 ^ other.w3);
+	}
+
+	/**
+	 * Yields the bitwise complement of this word (NOT).
+	 *
+	 * @return the bitwise complement of this word
+	 */
+	public UInt256 not() {
+		return new UInt256(~w0, ~w1, ~w2, ~w3);
+	}
+
+	/**
+	 * Yields this word shifted left by {@code n} bits, modulo 2^256.
+	 *
+	 * @param n the number of bits
+	 *
+	 * @return this word shifted left by {@code n} bits
+	 */
+	public UInt256 shl(int n) {
+		if (n <= 0)
+			return n == 0 ? this : shr(-n);
+		if (n >= BITS)
+			return ZERO;
+		long[] r = new long[4];
+		int words = n >>> 6, bits = n & 63;
+		for (int i = 3; i >= words; i--) {
+			long value = word(i - words) << bits;
+			if (bits != 0 && i - words - 1 >= 0)
+				value |= word(i - words - 1) >>> (64 - bits);
+			r[i] = value;
+		}
+		return of(r);
+	}
+
+	/**
+	 * Yields this word logically shifted right by {@code n} bits.
+	 *
+	 * @param n the number of bits
+	 *
+	 * @return this word logically shifted right by {@code n} bits
+	 */
+	public UInt256 shr(int n) {
+		if (n <= 0)
+			return n == 0 ? this : shl(-n);
+		if (n >= BITS)
+			return ZERO;
+		long[] r = new long[4];
+		int words = n >>> 6, bits = n & 63;
+		for (int i = 0; i + words < 4; i++) {
+			long value = word(i + words) >>> bits;
+			if (bits != 0 && i + words + 1 < 4)
+				value |= word(i + words + 1) << (64 - bits);
+			r[i] = value;
+		}
+		return of(r);
+	}
+
+	/**
+	 * Yields this word arithmetically shifted right by {@code n} bits, i.e.,
+	 * preserving its two's complement sign.
+	 *
+	 * @param n the number of bits
+	 *
+	 * @return this word arithmetically shifted right by {@code n} bits
+	 */
+	public UInt256 sar(int n) {
+		if (!isNegative())
+			return shr(n);
+		if (n >= BITS)
+			return MAX_VALUE;
+		return not().shr(n).not();
+	}
+
+	/**
+	 * Yields {@code value << this} modulo 2^256, where this word is the shift
+	 * amount (SHL).
+	 *
+	 * @param value the shifted word
+	 *
+	 * @return {@code value << this}
+	 */
+	public UInt256 shl(UInt256 value) {
+		return fitsInt() && w0 < BITS ? value.shl((int) w0) : ZERO;
+	}
+
+	/**
+	 * Yields {@code value >>> this}, where this word is the shift amount (SHR).
+	 *
+	 * @param value the shifted word
+	 *
+	 * @return {@code value >>> this}
+	 */
+	public UInt256 shr(UInt256 value) {
+		return fitsInt() && w0 < BITS ? value.shr((int) w0) : ZERO;
+	}
+
+	/**
+	 * Yields {@code value >> this}, where this word is the shift amount (SAR).
+	 *
+	 * @param value the shifted word
+	 *
+	 * @return {@code value >> this}
+	 */
+	public UInt256 sar(UInt256 value) {
+		return value.sar(fitsInt() && w0 < BITS ? (int) w0 : BITS);
+	}
+
+	/**
+	 * Compares this word with {@code other}, interpreting both in two's
+	 * complement (SLT, SGT).
+	 *
+	 * @param other the other word
+	 *
+	 * @return a negative number, zero, or a positive number if this word is
+	 *             less than, equal to, or greater than {@code other}
+	 */
+	public int signedCompareTo(UInt256 other) {
+		if (isNegative() != other.isNegative())
+			return isNegative() ? -1 : 1;
+		return compareTo(other);
+	}
+
+	@Override
+	public int compareTo(UInt256 other) {
+		int cmp = Long.compareUnsigned(w3, other.w3);
+		if (cmp != 0)
+			return cmp;
+		cmp = Long.compareUnsigned(w2, other.w2);
+		if (cmp != 0)
+			return cmp;
+		cmp = Long.compareUnsigned(w1, other.w1);
+		if (cmp != 0)
+			return cmp;
+		return Long.compareUnsigned(w0, other.w0);
+	}
+
+	@Override
+	public int hashCode() {
+		long h = w0 ^ (31 * (w1 ^ (31 * (w2 ^ (31 * w3)))));
+		return (int) (h ^ (h >>> 32));
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null || getClass() != obj.getClass())
+			return false;
+		UInt256 other = (UInt256) obj;
+		return w0 == other.w0 && w1 == other.w1 && w2 == other.w2 && w3 == other.w3;
+	}
+
+	@Override
+	public String toString() {
+		if (fitsLong())
+			return Long.toString(w0);
+		return toBigInteger().toString();
+	}
+
+	/**
+	 * Yields the hexadecimal representation of this word, without leading
+	 * zeros and without the {@code 0x} prefix.
+	 *
+	 * @return the hexadecimal representation of this word
+	 */
+	public String toHexString() {
+		if (fitsLong())
+			return Long.toHexString(w0);
+		return toBigInteger().toString(16);
+	}
+}
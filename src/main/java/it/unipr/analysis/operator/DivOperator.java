@@ -1,6 +1,5 @@
 package it.unipr.analysis.operator;
 
-import it.unive.lisa.symbolic.value.operator.unary.UnaryOperator;
 import it.unive.lisa.type.Type;
 import it.unive.lisa.type.TypeSystem;
 import it.unive.lisa.type.Untyped;
@@ -12,7 +11,12 @@ import java.util.Set;
  * 
  * @author <a href="mailto:vincenzo.arceri@unipr.it">Vincenzo Arceri</a>
  */
-public class DivOperator implements UnaryOperator {
+public class DivOperator implements EVMOperator {
+
+	/**
+	 * The opcode of DIV.
+	 */
+	public static final int OPCODE = 0x04;
 
 	/**
 	 * The singleton instance of this class.
@@ -22,6 +26,11 @@ public class DivOperator implements UnaryOperator {
 	private DivOperator() {
 	}
 
+	@Override
+	public int getOpcode() {
+		return OPCODE;
+	}
+
 	@Override
 	public String toString() {
 		return "div";
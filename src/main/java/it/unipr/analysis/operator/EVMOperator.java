@@ -0,0 +1,18 @@
+package it.unipr.analysis.operator;
+
+import it.unive.lisa.symbolic.value.operator.unary.UnaryOperator;
+
+/**
+ * A symbolic operator corresponding to an EVM opcode. Each operator exposes
+ * the numeric value of its opcode, so that abstract domains can dispatch their
+ * transfer functions with an integer switch.
+ */
+public interface EVMOperator extends UnaryOperator {
+
+	/**
+	 * Yields the opcode of this operator.
+	 * 
+	 * @return the opcode of this operator
+	 */
+	int getOpcode();
+}
@@ -1,6 +1,5 @@
 package it.unipr.analysis.operator;
 
-import it.unive.lisa.symbolic.value.operator.unary.UnaryOperator;
 import it.unive.lisa.type.Type;
 import it.unive.lisa.type.TypeSystem;
 import it.unive.lisa.type.Untyped;
@@ -10,7 +9,12 @@ import java.util.Set;
 /**
  * The MCOPY symbolic operator.
  */
-public class McopyOperator implements UnaryOperator {
+public class McopyOperator implements EVMOperator {
+
+	/**
+	 * The opcode of MCOPY.
+	 */
+	public static final int OPCODE = 0x5E;
 
 	/**
 	 * The singleton instance of this class.
@@ -20,6 +24,11 @@ public class McopyOperator implements UnaryOperator {
 	private McopyOperator() {
 	}
 
+	@Override
+	public int getOpcode() {
+		return OPCODE;
+	}
+
 	@Override
 	public String toString() {
 		return "mcopy";
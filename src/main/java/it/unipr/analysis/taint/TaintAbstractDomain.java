@@ -1,5 +1,123 @@
 package it.unipr.analysis.taint;
 
+import it.unipr.analysis.operator.AddOperator;
+import it.unipr.analysis.operator.AddmodOperator;
+import it.unipr.analysis.operator.AddressOperator;
+import it.unipr.analysis.operator.AndOperator;
+import it.unipr.analysis.operator.BalanceOperator;
+import it.unipr.analysis.operator.BasefeeOperator;
+import it.unipr.analysis.operator.BlobBaseFeeOperator;
+import it.unipr.analysis.operator.BlobHashOperator;
+import it.unipr.analysis.operator.BlockhashOperator;
+import it.unipr.analysis.operator.ByteOperator;
+import it.unipr.analysis.operator.CallOperator;
+import it.unipr.analysis.operator.CallcodeOperator;
+import it.unipr.analysis.operator.CalldatacopyOperator;
+import it.unipr.analysis.operator.CalldataloadOperator;
+import it.unipr.analysis.operator.CalldatasizeOperator;
+import it.unipr.analysis.operator.CallerOperator;
+import it.unipr.analysis.operator.CallvalueOperator;
+import it.unipr.analysis.operator.ChainidOperator;
+import it.unipr.analysis.operator.CodecopyOperator;
+import it.unipr.analysis.operator.CodesizeOperator;
+import it.unipr.analysis.operator.CoinbaseOperator;
+import it.unipr.analysis.operator.Create2Operator;
+import it.unipr.analysis.operator.CreateOperator;
+import it.unipr.analysis.operator.DelegatecallOperator;
+import it.unipr.analysis.operator.DifficultyOperator;
+import it.unipr.analysis.operator.DivOperator;
+import it.unipr.analysis.operator.Dup10Operator;
+import it.unipr.analysis.operator.Dup11Operator;
+import it.unipr.analysis.operator.Dup12Operator;
+import it.unipr.analysis.operator.Dup13Operator;
+import it.unipr.analysis.operator.Dup14Operator;
+import it.unipr.analysis.operator.Dup15Operator;
+import it.unipr.analysis.operator.Dup16Operator;
+import it.unipr.analysis.operator.Dup1Operator;
+import it.unipr.analysis.operator.Dup2Operator;
+import it.unipr.analysis.operator.Dup3Operator;
+import it.unipr.analysis.operator.Dup4Operator;
+import it.unipr.analysis.operator.Dup5Operator;
+import it.unipr.analysis.operator.Dup6Operator;
+import it.unipr.analysis.operator.Dup7Operator;
+import it.unipr.analysis.operator.Dup8Operator;
+import it.unipr.analysis.operator.Dup9Operator;
+import it.unipr.analysis.operator.EVMOperator;
+import it.unipr.analysis.operator.EqOperator;
+import it.unipr.analysis.operator.ExpOperator;
+import it.unipr.analysis.operator.ExtcodecopyOperator;
+import it.unipr.analysis.operator.ExtcodehashOperator;
+import it.unipr.analysis.operator.ExtcodesizeOperator;
+import it.unipr.analysis.operator.GasOperator;
+import it.unipr.analysis.operator.GaslimitOperator;
+import it.unipr.analysis.operator.GaspriceOperator;
+import it.unipr.analysis.operator.GtOperator;
+import it.unipr.analysis.operator.InvalidOperator;
+import it.unipr.analysis.operator.IszeroOperator;
+import it.unipr.analysis.operator.JumpOperator;
+import it.unipr.analysis.operator.JumpdestOperator;
+import it.unipr.analysis.operator.JumpiOperator;
+import it.unipr.analysis.operator.Log0Operator;
+import it.unipr.analysis.operator.Log1Operator;
+import it.unipr.analysis.operator.Log2Operator;
+import it.unipr.analysis.operator.Log3Operator;
+import it.unipr.analysis.operator.Log4Operator;
+import it.unipr.analysis.operator.LtOperator;
+import it.unipr.analysis.operator.McopyOperator;
+import it.unipr.analysis.operator.MloadOperator;
+import it.unipr.analysis.operator.ModOperator;
+import it.unipr.analysis.operator.MsizeOperator;
+import it.unipr.analysis.operator.Mstore8Operator;
+import it.unipr.analysis.operator.MstoreOperator;
+import it.unipr.analysis.operator.MulOperator;
+import it.unipr.analysis.operator.MulmodOperator;
+import it.unipr.analysis.operator.NotOperator;
+import it.unipr.analysis.operator.NumberOperator;
+import it.unipr.analysis.operator.OrOperator;
+import it.unipr.analysis.operator.OriginOperator;
+import it.unipr.analysis.operator.PcOperator;
+import it.unipr.analysis.operator.PopOperator;
+import it.unipr.analysis.operator.Push0Operator;
+import it.unipr.analysis.operator.PushOperator;
+import it.unipr.analysis.operator.ReturnOperator;
+import it.unipr.analysis.operator.ReturndatacopyOperator;
+import it.unipr.analysis.operator.ReturndatasizeOperator;
+import it.unipr.analysis.operator.RevertOperator;
+import it.unipr.analysis.operator.SarOperator;
+import it.unipr.analysis.operator.SdivOperator;
+import it.unipr.analysis.operator.SelfbalanceOperator;
+import it.unipr.analysis.operator.SelfdestructOperator;
+import it.unipr.analysis.operator.SgtOperator;
+import it.unipr.analysis.operator.Sha3Operator;
+import it.unipr.analysis.operator.ShlOperator;
+import it.unipr.analysis.operator.ShrOperator;
+import it.unipr.analysis.operator.SignextendOperator;
+import it.unipr.analysis.operator.SloadOperator;
+import it.unipr.analysis.operator.SltOperator;
+import it.unipr.analysis.operator.SmodOperator;
+import it.unipr.analysis.operator.SstoreOperator;
+import it.unipr.analysis.operator.StaticcallOperator;
+import it.unipr.analysis.operator.SubOperator;
+import it.unipr.analysis.operator.Swap10Operator;
+import it.unipr.analysis.operator.Swap11Operator;
+import it.unipr.analysis.operator.Swap12Operator;
+import it.unipr.analysis.operator.Swap13Operator;
+import it.unipr.analysis.operator.Swap14Operator;
+import it.unipr.analysis.operator.Swap15Operator;
+import it.unipr.analysis.operator.Swap16Operator;
+import it.unipr.analysis.operator.Swap1Operator;
+import it.unipr.analysis.operator.Swap2Operator;
+import it.unipr.analysis.operator.Swap3Operator;
+import it.unipr.analysis.operator.Swap4Operator;
+import it.unipr.analysis.operator.Swap5Operator;
+import it.unipr.analysis.operator.Swap6Operator;
+import it.unipr.analysis.operator.Swap7Operator;
+import it.unipr.analysis.operator.Swap8Operator;
+import it.unipr.analysis.operator.Swap9Operator;
+import it.unipr.analysis.operator.TimestampOperator;
+import it.unipr.analysis.operator.TloadOperator;
+import it.unipr.analysis.operator.TstoreOperator;
+import it.unipr.analysis.operator.XorOperator;
 import it.unive.lisa.analysis.BaseLattice;
 import it.unive.lisa.analysis.Lattice;
 import it.unive.lisa.analysis.ScopeToken;
@@ -27,11 +145,6 @@ import java.util.function.Predicate;
 public abstract class TaintAbstractDomain
 		implements ValueDomain<TaintAbstractDomain>, BaseLattice<TaintAbstractDomain> {
 
-	/**
-	 * The stack limit.
-	 */
-	protected static int STACK_LIMIT = 32;
-
 	/**
 	 * The abstract stack domain.
 	 */
@@ -42,15 +155,33 @@ public abstract class TaintAbstractDomain
 	 */
 	private final TaintElement memory;
 
+	/**
+	 * The stack height, kept also by the bottom element so that its top has
+	 * the height of the analysis.
+	 */
+	private final int stackLimit;
+
 	/**
 	 * Builds a taint abstract stack starting from a given stack and a list of
 	 * elements that push taint.
 	 *
-	 * @param stack the stack of values
+	 * @param stack      the stack of values
+	 * @param memory     the taint of the memory
+	 * @param stackLimit the stack height
 	 */
-	protected TaintAbstractDomain(ArrayList<TaintElement> stack, TaintElement memory) {
+	protected TaintAbstractDomain(ArrayList<TaintElement> stack, TaintElement memory, int stackLimit) {
 		this.stack = stack;
 		this.memory = memory;
+		this.stackLimit = stackLimit;
+	}
+
+	/**
+	 * Yields the stack height of this domain.
+	 *
+	 * @return the stack height
+	 */
+	public int getStackLimit() {
+		return stackLimit;
 	}
 
 	@Override
@@ -74,46 +205,47 @@ public abstract class TaintAbstractDomain
 			UnaryExpression un = (UnaryExpression) expression;
 			UnaryOperator op = un.getOperator();
 
-			if (op != null) {
-				switch (op.getClass().getSimpleName()) {
-				case "TimestampOperator":
-				case "OriginOperator":
-				case "CodesizeOperator":
-				case "GaspriceOperator":
-				case "ReturndatasizeOperator":
-				case "CoinbaseOperator":
-				case "NumberOperator":
-				case "DifficultyOperator":
-				case "GaslimitOperator":
-				case "ChainidOperator":
-				case "SelfbalanceOperator":
-				case "PcOperator":
-				case "GasOperator":
-				case "MsizeOperator":
-				case "BlobBaseFeeOperator":
-				case "BasefeeOperator":
-				case "CalldatasizeOperator":
-				case "CallvalueOperator":
-				case "CallerOperator":
-				case "AddressOperator":
-				case "PushOperator":
-				case "Push0Operator": {
+			if (op instanceof EVMOperator) {
+				int opcode = ((EVMOperator) op).getOpcode();
+				switch (opcode) {
+				case TimestampOperator.OPCODE:
+				case OriginOperator.OPCODE:
+				case CodesizeOperator.OPCODE:
+				case GaspriceOperator.OPCODE:
+				case ReturndatasizeOperator.OPCODE:
+				case CoinbaseOperator.OPCODE:
+				case NumberOperator.OPCODE:
+				case DifficultyOperator.OPCODE:
+				case GaslimitOperator.OPCODE:
+				case ChainidOperator.OPCODE:
+				case SelfbalanceOperator.OPCODE:
+				case PcOperator.OPCODE:
+				case GasOperator.OPCODE:
+				case MsizeOperator.OPCODE:
+				case BlobBaseFeeOperator.OPCODE:
+				case BasefeeOperator.OPCODE:
+				case CalldatasizeOperator.OPCODE:
+				case CallvalueOperator.OPCODE:
+				case CallerOperator.OPCODE:
+				case AddressOperator.OPCODE:
+				case PushOperator.OPCODE:
+				case Push0Operator.OPCODE: {
 					TaintAbstractDomain resultStack = clone();
-					if (this.getTaintedOpcode().contains(op))
+					if (isTaintedOpcode(opcode))
 						resultStack.push(TaintElement.TAINT);
 					else
 						resultStack.push(TaintElement.CLEAN);
 					return resultStack;
 				}
 
-				case "JumpdestOperator": { // JUMPDEST
+				case JumpdestOperator.OPCODE: { // JUMPDEST
 					return this;
 				}
 
 				// Above, operators that do not perform pop()
 				// Below, operators that perform pop operation on the stack
 
-				case "JumpOperator": { // JUMP
+				case JumpOperator.OPCODE: { // JUMP
 					if (hasBottomUntil(1))
 						return bottom();
 
@@ -123,8 +255,8 @@ public abstract class TaintAbstractDomain
 					return resultStack;
 				}
 
-				case "TstoreOperator":
-				case "JumpiOperator": {
+				case TstoreOperator.OPCODE:
+				case JumpiOperator.OPCODE: {
 					if (hasBottomUntil(2))
 						return bottom();
 
@@ -135,7 +267,7 @@ public abstract class TaintAbstractDomain
 					return resultStack;
 				}
 
-				case "TloadOperator": {
+				case TloadOperator.OPCODE: {
 					if (hasBottomUntil(2))
 						return bottom();
 
@@ -146,27 +278,27 @@ public abstract class TaintAbstractDomain
 					return resultStack;
 				}
 
-				case "BlobHashOperator":
-				case "BalanceOperator":
-				case "BlockhashOperator":
-				case "NotOperator":
-				case "CalldataloadOperator":
-				case "CalldatacopyOperator":
-				case "SloadOperator":
-				case "IszeroOperator": { // pop 1, push 1
+				case BlobHashOperator.OPCODE:
+				case BalanceOperator.OPCODE:
+				case BlockhashOperator.OPCODE:
+				case NotOperator.OPCODE:
+				case CalldataloadOperator.OPCODE:
+				case CalldatacopyOperator.OPCODE:
+				case SloadOperator.OPCODE:
+				case IszeroOperator.OPCODE: { // pop 1, push 1
 					if (hasBottomUntil(1))
 						return bottom();
 
 					TaintAbstractDomain resultStack = clone();
 					TaintElement opnd1 = resultStack.pop();
-					if (this.getTaintedOpcode().contains(op))
+					if (isTaintedOpcode(opcode))
 						resultStack.push(TaintElement.TAINT);
 					else
 						resultStack.push(TaintElement.semantics(opnd1));
 					return resultStack;
 				}
 
-				case "MloadOperator": { // pop 1, push 1
+				case MloadOperator.OPCODE: { // pop 1, push 1
 					if (hasBottomUntil(1))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
@@ -179,8 +311,8 @@ public abstract class TaintAbstractDomain
 					return resultStack;
 				}
 
-				case "MstoreOperator":
-				case "Mstore8Operator": { // pops 2
+				case MstoreOperator.OPCODE:
+				case Mstore8Operator.OPCODE: { // pops 2
 					if (hasBottomUntil(2))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
@@ -192,7 +324,7 @@ public abstract class TaintAbstractDomain
 					else if (value.isClean())
 						return resultStack;
 				}
-				case "McopyOperator": { // pops 3
+				case McopyOperator.OPCODE: { // pops 3
 					if (hasBottomUntil(3))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
@@ -204,28 +336,28 @@ public abstract class TaintAbstractDomain
 					return resultStack;
 				}
 
-				case "ByteOperator":
-				case "ShlOperator":
-				case "ShrOperator":
-				case "SarOperator":
-				case "Sha3Operator":
-				case "AndOperator":
-				case "OrOperator":
-				case "XorOperator":
-				case "ExpOperator":
-				case "SignextendOperator":
-				case "LtOperator":
-				case "SltOperator":
-				case "GtOperator":
-				case "SgtOperator":
-				case "EqOperator":
-				case "SmodOperator":
-				case "ModOperator":
-				case "SdivOperator":
-				case "DivOperator":
-				case "MulOperator":
-				case "SubOperator":
-				case "AddOperator": { // pops 2, push 1
+				case ByteOperator.OPCODE:
+				case ShlOperator.OPCODE:
+				case ShrOperator.OPCODE:
+				case SarOperator.OPCODE:
+				case Sha3Operator.OPCODE:
+				case AndOperator.OPCODE:
+				case OrOperator.OPCODE:
+				case XorOperator.OPCODE:
+				case ExpOperator.OPCODE:
+				case SignextendOperator.OPCODE:
+				case LtOperator.OPCODE:
+				case SltOperator.OPCODE:
+				case GtOperator.OPCODE:
+				case SgtOperator.OPCODE:
+				case EqOperator.OPCODE:
+				case SmodOperator.OPCODE:
+				case ModOperator.OPCODE:
+				case SdivOperator.OPCODE:
+				case DivOperator.OPCODE:
+				case MulOperator.OPCODE:
+				case SubOperator.OPCODE:
+				case AddOperator.OPCODE: { // pops 2, push 1
 					if (hasBottomUntil(2))
 						return bottom();
 
@@ -237,8 +369,8 @@ public abstract class TaintAbstractDomain
 					return resultStack;
 				}
 
-				case "MulmodOperator":
-				case "AddmodOperator": { // pops 3, push 1
+				case MulmodOperator.OPCODE:
+				case AddmodOperator.OPCODE: { // pops 3, push 1
 					if (hasBottomUntil(3))
 						return bottom();
 
@@ -251,7 +383,7 @@ public abstract class TaintAbstractDomain
 					return resultStack;
 				}
 
-				case "PopOperator": { // POP
+				case PopOperator.OPCODE: { // POP
 					if (hasBottomUntil(1))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
@@ -263,7 +395,7 @@ public abstract class TaintAbstractDomain
 						return resultStack;
 				}
 
-				case "SstoreOperator": { // pops 2
+				case SstoreOperator.OPCODE: { // pops 2
 					if (hasBottomUntil(2))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
@@ -276,103 +408,103 @@ public abstract class TaintAbstractDomain
 						return resultStack;
 				}
 
-				case "Dup1Operator": { // DUP1
+				case Dup1Operator.OPCODE: { // DUP1
 					return dupXoperator(1, clone());
 				}
-				case "Dup2Operator": { // DUP2
+				case Dup2Operator.OPCODE: { // DUP2
 					return dupXoperator(2, clone());
 				}
-				case "Dup3Operator": { // DUP3
+				case Dup3Operator.OPCODE: { // DUP3
 					return dupXoperator(3, clone());
 				}
-				case "Dup4Operator": { // DUP4
+				case Dup4Operator.OPCODE: { // DUP4
 					return dupXoperator(4, clone());
 				}
-				case "Dup5Operator": { // DUP5
+				case Dup5Operator.OPCODE: { // DUP5
 					return dupXoperator(5, clone());
 				}
-				case "Dup6Operator": { // DUP6
+				case Dup6Operator.OPCODE: { // DUP6
 					return dupXoperator(6, clone());
 				}
-				case "Dup7Operator": { // DUP7
+				case Dup7Operator.OPCODE: { // DUP7
 					return dupXoperator(7, clone());
 				}
-				case "Dup8Operator": { // DUP8
+				case Dup8Operator.OPCODE: { // DUP8
 					return dupXoperator(8, clone());
 				}
-				case "Dup9Operator": { // DUP9
+				case Dup9Operator.OPCODE: { // DUP9
 					return dupXoperator(9, clone());
 				}
-				case "Dup10Operator": { // DUP10
+				case Dup10Operator.OPCODE: { // DUP10
 					return dupXoperator(10, clone());
 				}
-				case "Dup11Operator": { // DUP11
+				case Dup11Operator.OPCODE: { // DUP11
 					return dupXoperator(11, clone());
 				}
-				case "Dup12Operator": { // DUP12
+				case Dup12Operator.OPCODE: { // DUP12
 					return dupXoperator(12, clone());
 				}
-				case "Dup13Operator": { // DUP13
+				case Dup13Operator.OPCODE: { // DUP13
 					return dupXoperator(13, clone());
 				}
-				case "Dup14Operator": { // DUP14
+				case Dup14Operator.OPCODE: { // DUP14
 					return dupXoperator(14, clone());
 				}
-				case "Dup15Operator": { // DUP15
+				case Dup15Operator.OPCODE: { // DUP15
 					return dupXoperator(15, clone());
 				}
-				case "Dup16Operator": { // DUP16
+				case Dup16Operator.OPCODE: { // DUP16
 					return dupXoperator(16, clone());
 				}
-				case "Swap1Operator": { // SWAP1
+				case Swap1Operator.OPCODE: { // SWAP1
 					return swapXoperator(1, clone());
 				}
-				case "Swap2Operator": { // SWAP2
+				case Swap2Operator.OPCODE: { // SWAP2
 					return swapXoperator(2, clone());
 				}
-				case "Swap3Operator": { // SWAP3
+				case Swap3Operator.OPCODE: { // SWAP3
 					return swapXoperator(3, clone());
 				}
-				case "Swap4Operator": { // SWAP4
+				case Swap4Operator.OPCODE: { // SWAP4
 					return swapXoperator(4, clone());
 				}
-				case "Swap5Operator": { // SWAP5
+				case Swap5Operator.OPCODE: { // SWAP5
 					return swapXoperator(5, clone());
 				}
-				case "Swap6Operator": { // SWAP6
+				case Swap6Operator.OPCODE: { // SWAP6
 					return swapXoperator(6, clone());
 				}
-				case "Swap7Operator": { // SWAP7
+				case Swap7Operator.OPCODE: { // SWAP7
 					return swapXoperator(7, clone());
 				}
-				case "Swap8Operator": { // SWAP8
+				case Swap8Operator.OPCODE: { // SWAP8
 					return swapXoperator(8, clone());
 				}
-				case "Swap9Operator": { // SWAP9
+				case Swap9Operator.OPCODE: { // SWAP9
 					return swapXoperator(9, clone());
 				}
-				case "Swap10Operator": { // SWAP10
+				case Swap10Operator.OPCODE: { // SWAP10
 					return swapXoperator(10, clone());
 				}
-				case "Swap11Operator": { // SWAP11
+				case Swap11Operator.OPCODE: { // SWAP11
 					return swapXoperator(11, clone());
 				}
-				case "Swap12Operator": { // SWAP12
+				case Swap12Operator.OPCODE: { // SWAP12
 					return swapXoperator(12, clone());
 				}
-				case "Swap13Operator": { // SWAP13
+				case Swap13Operator.OPCODE: { // SWAP13
 					return swapXoperator(13, clone());
 				}
-				case "Swap14Operator": { // SWAP14
+				case Swap14Operator.OPCODE: { // SWAP14
 					return swapXoperator(14, clone());
 				}
-				case "Swap15Operator": { // SWAP15
+				case Swap15Operator.OPCODE: { // SWAP15
 					return swapXoperator(15, clone());
 				}
-				case "Swap16Operator": { // SWAP16
+				case Swap16Operator.OPCODE: { // SWAP16
 					return swapXoperator(16, clone());
 				}
-				case "Log0Operator": { // LOG0
+				case Log0Operator.OPCODE: { // LOG0
 					if (hasBottomUntil(2))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
@@ -384,7 +516,7 @@ public abstract class TaintAbstractDomain
 					else
 						return resultStack;
 				}
-				case "Log1Operator": { // LOG1
+				case Log1Operator.OPCODE: { // LOG1
 					if (hasBottomUntil(3))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
@@ -397,7 +529,7 @@ public abstract class TaintAbstractDomain
 					else
 						return resultStack;
 				}
-				case "Log2Operator": { // LOG2
+				case Log2Operator.OPCODE: { // LOG2
 					if (hasBottomUntil(4))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
@@ -411,7 +543,7 @@ public abstract class TaintAbstractDomain
 					else
 						return resultStack;
 				}
-				case "Log3Operator": { // LOG3
+				case Log3Operator.OPCODE: { // LOG3
 					if (hasBottomUntil(5))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
@@ -426,7 +558,7 @@ public abstract class TaintAbstractDomain
 					else
 						return resultStack;
 				}
-				case "Log4Operator": { // LOG4
+				case Log4Operator.OPCODE: { // LOG4
 					if (hasBottomUntil(6))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
@@ -442,7 +574,7 @@ public abstract class TaintAbstractDomain
 					else
 						return resultStack;
 				}
-				case "CreateOperator": { // CREATE
+				case CreateOperator.OPCODE: { // CREATE
 					if (hasBottomUntil(3))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
@@ -450,13 +582,13 @@ public abstract class TaintAbstractDomain
 					TaintElement offset = resultStack.pop();
 					TaintElement length = resultStack.pop();
 
-					if (this.getTaintedOpcode().contains(op))
+					if (isTaintedOpcode(opcode))
 						resultStack.push(TaintElement.TAINT);
 					else
 						resultStack.push(TaintElement.semantics(value, offset, length));
 					return resultStack;
 				}
-				case "Create2Operator": { // CREATE2
+				case Create2Operator.OPCODE: { // CREATE2
 					if (hasBottomUntil(4))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
@@ -465,14 +597,14 @@ public abstract class TaintAbstractDomain
 					TaintElement length = resultStack.pop();
 					TaintElement salt = resultStack.pop();
 
-					if (this.getTaintedOpcode().contains(op))
+					if (isTaintedOpcode(opcode))
 						resultStack.push(TaintElement.TAINT);
 					else
 						resultStack.push(TaintElement.semantics(value, offset, length, salt));
 					return resultStack;
 				}
-				case "CallOperator":
-				case "CallcodeOperator": { // pops 7, push 1
+				case CallOperator.OPCODE:
+				case CallcodeOperator.OPCODE: { // pops 7, push 1
 					if (hasBottomUntil(7))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
@@ -484,14 +616,14 @@ public abstract class TaintAbstractDomain
 					TaintElement outOffset = resultStack.pop();
 					TaintElement outLength = resultStack.pop();
 
-					if (this.getTaintedOpcode().contains(op))
+					if (isTaintedOpcode(opcode))
 						resultStack.push(TaintElement.TAINT);
 					else
 						resultStack
 								.push(TaintElement.semantics(gas, to, value, inOffset, inLength, outOffset, outLength));
 					return resultStack;
 				}
-				case "ReturnOperator": { // RETURN
+				case ReturnOperator.OPCODE: { // RETURN
 					if (hasBottomUntil(2))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
@@ -503,8 +635,8 @@ public abstract class TaintAbstractDomain
 					else
 						return resultStack;
 				}
-				case "DelegatecallOperator":
-				case "StaticcallOperator": { // pops 6, push 1
+				case DelegatecallOperator.OPCODE:
+				case StaticcallOperator.OPCODE: { // pops 6, push 1
 					if (hasBottomUntil(6))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
@@ -515,13 +647,13 @@ public abstract class TaintAbstractDomain
 					TaintElement outOffset = resultStack.pop();
 					TaintElement outLength = resultStack.pop();
 
-					if (this.getTaintedOpcode().contains(op))
+					if (isTaintedOpcode(opcode))
 						resultStack.push(TaintElement.TAINT);
 					else
 						resultStack.push(TaintElement.semantics(gas, to, inOffset, inLength, outOffset, outLength));
 					return resultStack;
 				}
-				case "RevertOperator": { // REVERT
+				case RevertOperator.OPCODE: { // REVERT
 					if (hasBottomUntil(2))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
@@ -533,10 +665,10 @@ public abstract class TaintAbstractDomain
 					else
 						return resultStack;
 				}
-				case "InvalidOperator": { // INVALID
+				case InvalidOperator.OPCODE: { // INVALID
 					return this;
 				}
-				case "SelfdestructOperator": { // SELFDESTRUCT
+				case SelfdestructOperator.OPCODE: { // SELFDESTRUCT
 					if (hasBottomUntil(1))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
@@ -547,7 +679,7 @@ public abstract class TaintAbstractDomain
 					else
 						return resultStack;
 				}
-				case "CodecopyOperator": { // CODECOPY
+				case CodecopyOperator.OPCODE: { // CODECOPY
 					if (hasBottomUntil(3))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
@@ -560,19 +692,19 @@ public abstract class TaintAbstractDomain
 					else
 						return resultStack;
 				}
-				case "ExtcodesizeOperator": { // EXTCODESIZE
+				case ExtcodesizeOperator.OPCODE: { // EXTCODESIZE
 					if (hasBottomUntil(1))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
 					TaintElement address = resultStack.pop();
 
-					if (this.getTaintedOpcode().contains(op))
+					if (isTaintedOpcode(opcode))
 						resultStack.push(TaintElement.TAINT);
 					else
 						resultStack.push(TaintElement.semantics(address));
 					return resultStack;
 				}
-				case "ExtcodecopyOperator": { // EXTCODECOPY
+				case ExtcodecopyOperator.OPCODE: { // EXTCODECOPY
 					if (hasBottomUntil(4))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
@@ -586,7 +718,7 @@ public abstract class TaintAbstractDomain
 					else
 						return resultStack;
 				}
-				case "ReturndatacopyOperator": { // RETURNDATACOPY
+				case ReturndatacopyOperator.OPCODE: { // RETURNDATACOPY
 					if (hasBottomUntil(3))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
@@ -599,13 +731,13 @@ public abstract class TaintAbstractDomain
 					else
 						return resultStack;
 				}
-				case "ExtcodehashOperator": { // EXTCODEHASH
+				case ExtcodehashOperator.OPCODE: { // EXTCODEHASH
 					if (hasBottomUntil(1))
 						return bottom();
 					TaintAbstractDomain resultStack = clone();
 					TaintElement address = resultStack.pop();
 
-					if (this.getTaintedOpcode().contains(op))
+					if (isTaintedOpcode(opcode))
 						resultStack.push(TaintElement.TAINT);
 					else
 						resultStack.push(TaintElement.semantics(address));
@@ -642,8 +774,8 @@ public abstract class TaintAbstractDomain
 		Object[] obj = clone.toArray();
 		int first;
 
-		if (stack.size() < STACK_LIMIT)
-			first = STACK_LIMIT - 1;
+		if (stack.size() < stackLimit)
+			first = stackLimit - 1;
 		else
 			first = clone.size() - 1;
 
@@ -668,8 +800,8 @@ public abstract class TaintAbstractDomain
 		Object[] obj = clone.toArray();
 
 		int first;
-		if (stack.size() < STACK_LIMIT)
-			first = STACK_LIMIT;
+		if (stack.size() < stackLimit)
+			first = stackLimit;
 		else
 			first = clone.size();
 
@@ -759,6 +891,22 @@ public abstract class TaintAbstractDomain
 		return stack.toString();
 	}
 
+	@Override
+	public boolean isTop() {
+		// the top element is the initial stack, with a clean memory
+		if (isBottom() || !memory.equals(TaintElement.CLEAN))
+			return false;
+		for (TaintElement element : stack)
+			if (!element.isBottom())
+				return false;
+		return true;
+	}
+
+	@Override
+	public boolean isBottom() {
+		return stack == null;
+	}
+
 	@Override
 	public TaintAbstractDomain pushScope(ScopeToken token) throws SemanticException {
 		// nothing to do here
@@ -773,7 +921,7 @@ public abstract class TaintAbstractDomain
 
 	@Override
 	public TaintAbstractDomain glbAux(TaintAbstractDomain other) throws SemanticException {
-		ArrayList<TaintElement> result = new ArrayList<>(STACK_LIMIT);
+		ArrayList<TaintElement> result = new ArrayList<>(stackLimit);
 
 		Iterator<TaintElement> thisIterator = this.stack.iterator();
 		Iterator<TaintElement> otherIterator = other.stack.iterator();
@@ -789,7 +937,7 @@ public abstract class TaintAbstractDomain
 
 	@Override
 	public TaintAbstractDomain lubAux(TaintAbstractDomain other) throws SemanticException {
-		ArrayList<TaintElement> result = new ArrayList<>(STACK_LIMIT);
+		ArrayList<TaintElement> result = new ArrayList<>(stackLimit);
 
 		Iterator<TaintElement> thisIterator = this.stack.iterator();
 		Iterator<TaintElement> otherIterator = other.stack.iterator();
@@ -854,7 +1002,7 @@ public abstract class TaintAbstractDomain
 	 */
 	public boolean hasBottomUntil(int x) {
 		for (int i = 0; i < x; i++)
-			if (this.stack.get((STACK_LIMIT - 1) - i).isBottom())
+			if (this.stack.get((stackLimit - 1) - i).isBottom())
 				return true;
 		return false;
 	}
@@ -888,7 +1036,7 @@ public abstract class TaintAbstractDomain
 			return TaintElement.BOTTOM;
 		else if (isTop())
 			return TaintElement.TOP;
-		return this.stack.get(STACK_LIMIT - 2);
+		return this.stack.get(stackLimit - 2);
 	}
 
 	public TaintElement getFirstElement() {
@@ -896,7 +1044,7 @@ public abstract class TaintAbstractDomain
 			return TaintElement.BOTTOM;
 		else if (isTop())
 			return TaintElement.TOP;
-		return this.stack.get(STACK_LIMIT - 1);
+		return this.stack.get(stackLimit - 1);
 	}
 
 	/**
@@ -906,6 +1054,34 @@ public abstract class TaintAbstractDomain
 	 */
 	public abstract Set<Operator> getTaintedOpcode();
 
+	/**
+	 * Yields whether the instruction with the given opcode pushes a taint
+	 * element. Concrete domains answer this query through a table built once
+	 * by {@link #buildTaintTable(Set)} from their
+	 * {@link #getTaintedOpcode()}.
+	 * 
+	 * @param opcode the opcode of the instruction
+	 * 
+	 * @return {@code true} if the instruction pushes a taint element,
+	 *             {@code false} otherwise
+	 */
+	public abstract boolean isTaintedOpcode(int opcode);
+
+	/**
+	 * Builds the table indexed by opcode marking the instructions that push
+	 * taint elements.
+	 * 
+	 * @param taintedOpcodes the set of opcodes that push taint elements
+	 * 
+	 * @return the table indexed by opcode
+	 */
+	protected static boolean[] buildTaintTable(Set<Operator> taintedOpcodes) {
+		boolean[] table = new boolean[256];
+		for (Operator op : taintedOpcodes)
+			table[((EVMOperator) op).getOpcode()] = true;
+		return table;
+	}
+
 	/**
 	 * Utility for creating a concrete instance of {@link TaintAbstractDomain}
 	 * given the stack and the memory.
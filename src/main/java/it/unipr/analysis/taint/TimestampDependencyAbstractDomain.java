@@ -1,5 +1,6 @@
 package it.unipr.analysis.taint;
 
+import it.unipr.analysis.AnalysisContext;
 import it.unipr.analysis.operator.BalanceOperator;
 import it.unipr.analysis.operator.BlockhashOperator;
 import it.unipr.analysis.operator.DifficultyOperator;
@@ -7,56 +8,64 @@ import it.unipr.analysis.operator.TimestampOperator;
 import it.unive.lisa.symbolic.value.Operator;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
 
 public class TimestampDependencyAbstractDomain extends TaintAbstractDomain {
-	private static final TimestampDependencyAbstractDomain TOP = new TimestampDependencyAbstractDomain(
-			new ArrayList<>(Collections.nCopies(TaintAbstractDomain.STACK_LIMIT, TaintElement.BOTTOM)),
-			TaintElement.CLEAN);
-	private static final TimestampDependencyAbstractDomain BOTTOM = new TimestampDependencyAbstractDomain(null,
-			TaintElement.BOTTOM);
+	private static final Set<Operator> TAINTED_OPCODES = Set.of(TimestampOperator.INSTANCE,
+			BlockhashOperator.INSTANCE, DifficultyOperator.INSTANCE, BalanceOperator.INSTANCE);
+	private static final boolean[] TAINT_TABLE = buildTaintTable(TAINTED_OPCODES);
 
 	/**
-	 * Builds an initial symbolic stack.
+	 * Builds an initial symbolic stack of the default height.
 	 */
 	public TimestampDependencyAbstractDomain() {
-		this(new ArrayList<>(Collections.nCopies(STACK_LIMIT, TaintElement.BOTTOM)), TaintElement.CLEAN);
+		this(AnalysisContext.DEFAULT_STACK_LIMIT);
+	}
+
+	/**
+	 * Builds an initial symbolic stack with the given height.
+	 *
+	 * @param stackLimit the stack height
+	 */
+	public TimestampDependencyAbstractDomain(int stackLimit) {
+		this(new ArrayList<>(Collections.nCopies(stackLimit, TaintElement.BOTTOM)), TaintElement.CLEAN, stackLimit);
 	}
 
 	/**
 	 * Builds a taint abstract stack starting from a given stack and a list of
 	 * elements that push taint.
 	 *
-	 * @param stack the stack of values
+	 * @param stack      the stack of values
+	 * @param memory     the taint of the memory
+	 * @param stackLimit the stack height
 	 */
-	protected TimestampDependencyAbstractDomain(ArrayList<TaintElement> stack, TaintElement memory) {
-		super(stack, memory);
+	protected TimestampDependencyAbstractDomain(ArrayList<TaintElement> stack, TaintElement memory, int stackLimit) {
+		super(stack, memory, stackLimit);
 	}
 
 	@Override
 	public Set<Operator> getTaintedOpcode() {
-		Set<Operator> taintedOpcode = new HashSet<>();
-		taintedOpcode.add(TimestampOperator.INSTANCE);
-		taintedOpcode.add(BlockhashOperator.INSTANCE);
-		taintedOpcode.add(DifficultyOperator.INSTANCE);
-		taintedOpcode.add(BalanceOperator.INSTANCE);
-		return taintedOpcode;
+		return TAINTED_OPCODES;
+	}
+
+	@Override
+	public boolean isTaintedOpcode(int opcode) {
+		return TAINT_TABLE[opcode];
 	}
 
 	@Override
 	public TimestampDependencyAbstractDomain top() {
-		return TOP;
+		return new TimestampDependencyAbstractDomain(getStackLimit());
 	}
 
 	@Override
 	public TimestampDependencyAbstractDomain bottom() {
-		return BOTTOM;
+		return new TimestampDependencyAbstractDomain(null, TaintElement.BOTTOM, getStackLimit());
 	}
 
 	@Override
 	public TaintAbstractDomain mk(ArrayList<TaintElement> list, TaintElement memory) {
-		return new TimestampDependencyAbstractDomain(list, memory);
+		return new TimestampDependencyAbstractDomain(list, memory, getStackLimit());
 	}
 
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package it.unipr.analysis.taint;
 
+import it.unipr.analysis.AnalysisContext;
 import it.unipr.analysis.operator.OriginOperator;
 import it.unive.lisa.symbolic.value.Operator;
 import java.util.ArrayList;
@@ -8,45 +9,59 @@ import java.util.Set;
 
 public class TxOriginAbstractDomain extends TaintAbstractDomain {
 
-	private static final TxOriginAbstractDomain TOP = new TxOriginAbstractDomain(
-			new ArrayList<>(Collections.nCopies(TaintAbstractDomain.STACK_LIMIT, TaintElement.BOTTOM)),
-			TaintElement.CLEAN);
-	private static final TxOriginAbstractDomain BOTTOM = new TxOriginAbstractDomain(null, TaintElement.BOTTOM);
+	private static final Set<Operator> TAINTED_OPCODES = Collections.singleton(OriginOperator.INSTANCE);
+	private static final boolean[] TAINT_TABLE = buildTaintTable(TAINTED_OPCODES);
 
 	/**
-	 * Builds an initial symbolic stack.
+	 * Builds an initial symbolic stack of the default height.
 	 */
 	public TxOriginAbstractDomain() {
-		this(new ArrayList<>(Collections.nCopies(STACK_LIMIT, TaintElement.BOTTOM)), TaintElement.CLEAN);
+		this(AnalysisContext.DEFAULT_STACK_LIMIT);
+	}
+
+	/**
+	 * Builds an initial symbolic stack with the given height.
+	 *
+	 * @param stackLimit the stack height
+	 */
+	public TxOriginAbstractDomain(int stackLimit) {
+		this(new ArrayList<>(Collections.nCopies(stackLimit, TaintElement.BOTTOM)), TaintElement.CLEAN, stackLimit);
 	}
 
 	/**
 	 * Builds a taint abstract stack starting from a given stack and a list of
 	 * elements that push taint.
 	 *
-	 * @param stack the stack of values
+	 * @param stack      the stack of values
+	 * @param memory     the taint of the memory
+	 * @param stackLimit the stack height
 	 */
-	protected TxOriginAbstractDomain(ArrayList<TaintElement> stack, TaintElement memory) {
-		super(stack, memory);
+	protected TxOriginAbstractDomain(ArrayList<TaintElement> stack, TaintElement memory, int stackLimit) {
+		super(stack, memory, stackLimit);
 	}
 
 	@Override
 	public Set<Operator> getTaintedOpcode() {
-		return Collections.singleton(OriginOperator.INSTANCE);
+		return TAINTED_OPCODES;
+	}
+
+	@Override
+	public boolean isTaintedOpcode(int opcode) {
+		return TAINT_TABLE[opcode];
 	}
 
 	@Override
 	public TxOriginAbstractDomain top() {
-		return TOP;
+		return new TxOriginAbstractDomain(getStackLimit());
 	}
 
 	@Override
 	public TxOriginAbstractDomain bottom() {
-		return BOTTOM;
+		return new TxOriginAbstractDomain(null, TaintElement.BOTTOM, getStackLimit());
 	}
 
 	@Override
 	public TaintAbstractDomain mk(ArrayList<TaintElement> list, TaintElement memory) {
-		return new TxOriginAbstractDomain(list, memory);
+		return new TxOriginAbstractDomain(list, memory, getStackLimit());
 	}
 }
@@ -1,5 +1,6 @@
 package it.unipr.cfg;
 
+import it.unipr.analysis.AnalysisBudget;
 import it.unive.lisa.analysis.AbstractState;
 import it.unive.lisa.analysis.SemanticException;
 import it.unive.lisa.interprocedural.InterproceduralAnalysis;
@@ -13,6 +14,7 @@ public class EVMAscendingFixpoint<A extends AbstractState<A>> extends CFGFixpoin
 
 	private final int widenAfter;
 	private final Map<Statement, Integer> lubs;
+	private final AnalysisBudget budget;
 
 	/**
 	 * Builds the fixpoint implementation.
@@ -23,15 +25,44 @@ public class EVMAscendingFixpoint<A extends AbstractState<A>> extends CFGFixpoin
 	 *                            semantics computations
 	 */
 	public EVMAscendingFixpoint(CFG graph, InterproceduralAnalysis<A> interprocedural, int widenAfter) {
+		this(graph, interprocedural, widenAfter, new AnalysisBudget(0, 0));
+	}
+
+	/**
+	 * Builds the fixpoint implementation, stopping it when the given budget
+	 * is exhausted.
+	 * 
+	 * @param graph           the CFG to analyze
+	 * @param widenAfter      the widening threshold
+	 * @param interprocedural the {@link InterproceduralAnalysis} to use for
+	 *                            semantics computations
+	 * @param budget          the budget of the analysis, charged at each
+	 *                            evaluation of a statement and checked at
+	 *                            each join
+	 */
+	public EVMAscendingFixpoint(CFG graph, InterproceduralAnalysis<A> interprocedural, int widenAfter,
+			AnalysisBudget budget) {
 		super(graph, interprocedural);
 		this.widenAfter = widenAfter;
 		this.lubs = new HashMap<>(graph.getNodesCount());
+		this.budget = budget;
+	}
+
+	@Override
+	public CompoundState<A> semantics(Statement node,
+			CompoundState<A> entrystate) throws SemanticException {
+		// each evaluation of a statement is an iteration of the fixpoint,
+		// whether or not its result is then joined with a previous one
+		budget.iteration();
+		return super.semantics(node, entrystate);
 	}
 
 	@Override
 	public CompoundState<A> operation(Statement node,
 			CompoundState<A> approx,
 			CompoundState<A> old) throws SemanticException {
+		budget.check();
+
 		// optimization: never apply widening on normal instructions,
 		// save time and precision and only apply to widening points
 		if (widenAfter < 0)
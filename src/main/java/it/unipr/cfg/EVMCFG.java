@@ -1,8 +1,9 @@
 package it.unipr.cfg;
 
+import it.unipr.analysis.AnalysisBudget;
 import it.unipr.analysis.BasicBlock;
 import it.unipr.analysis.MyCache;
-import it.unipr.analysis.Number;
+import it.unipr.analysis.UInt256;
 import it.unipr.cfg.push.Push;
 import it.unive.lisa.analysis.AbstractState;
 import it.unive.lisa.analysis.AnalysisState;
@@ -19,6 +20,7 @@ import it.unive.lisa.interprocedural.ScopeId;
 import it.unive.lisa.program.ProgramValidationException;
 import it.unive.lisa.program.cfg.CFG;
 import it.unive.lisa.program.cfg.CodeMemberDescriptor;
+import it.unive.lisa.program.cfg.ProgramPoint;
 import it.unive.lisa.program.cfg.edge.Edge;
 import it.unive.lisa.program.cfg.fixpoints.CFGFixpoint.CompoundState;
 import it.unive.lisa.program.cfg.fixpoints.OptimizedFixpoint;
@@ -32,6 +34,8 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.HashMap;
@@ -40,7 +44,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.json.JSONArray;
@@ -49,13 +52,80 @@ import org.json.JSONObject;
 public class EVMCFG extends CFG {
 	private static final Logger log = LogManager.getLogger(EVMCFG.class);
 
-	private Set<Statement> jumpDestsNodes;
-	private Set<Statement> jumpNodes;
-	private Set<Statement> pushedJumps;
-	private Set<Statement> sstores;
-	private Set<Number> jumpDestsNodesLocations;
+	/**
+	 * A byte with no opcode, recorded in {@link #opcodes} for the statements
+	 * that have no byte (e.g., the mnemonics of the grammar that are not
+	 * opcodes of the current EVM).
+	 */
+	private static final byte NO_OPCODE = 0x0c;
+
 	private Set<BasicBlock> basicBlocks;
 
+	/**
+	 * The statements of this CFG indexed by their program counter, or
+	 * {@code null} if the index has not been built yet.
+	 */
+	private Statement[] statementsByPc;
+
+	/*
+	 * The side index of this CFG, by program counter: the opcode of each
+	 * statement and the program counters of the JUMPDEST, JUMP/JUMPI,
+	 * pushed-jump and SSTORE statements. It is built by
+	 * computeHotspotNodes() and kept up to date as statements are
+	 * materialized.
+	 */
+	private byte[] opcodes;
+	private BitSet jumpDestsNodes;
+	private BitSet jumpNodes;
+	private BitSet pushedJumps;
+	private BitSet sstores;
+
+	/**
+	 * The successors of the statements of this CFG in compressed sparse row
+	 * form: the program counters of the successors of the statement at
+	 * program counter {@code pc} are stored in {@link #successors} from
+	 * {@code successorOffsets[pc]} (inclusive) to
+	 * {@code successorOffsets[pc + 1]} (exclusive). Rebuilt on demand after
+	 * nodes or edges are added.
+	 */
+	private int[] successorOffsets;
+	private int[] successors;
+
+	/**
+	 * The number of edges added to this CFG, and the numbers of edges and of
+	 * nodes when {@link #successors} was built.
+	 */
+	private int edgeCount, indexedEdgeCount, indexedNodeCount;
+
+	/**
+	 * The starting points of the last ascending fixpoint computed on this CFG,
+	 * or {@code null} if no fixpoint has been computed yet.
+	 */
+	private Map<Statement, ?> lastStartingPoints;
+
+	/**
+	 * The results of the last ascending fixpoint computed on this CFG. Since
+	 * edges are only added to the CFG, these results are a sound starting
+	 * point for the next fixpoint computation with the same starting points.
+	 */
+	private Map<Statement, ?> lastAscending;
+
+	/**
+	 * The destinations of the edges added after the last ascending fixpoint.
+	 */
+	private final Set<Statement> pendingEntries = new HashSet<>();
+
+	/**
+	 * The materializer of the statements of this CFG, if they are decoded
+	 * from the bytecode on demand, {@code null} otherwise.
+	 */
+	private LazyMaterializer materializer;
+
+	/**
+	 * The budget of the analyses of this CFG.
+	 */
+	private AnalysisBudget budget = new AnalysisBudget(0, 0);
+
 	/**
 	 * Builds a EVMCFG starting from its description.
 	 *
@@ -65,29 +135,200 @@ public class EVMCFG extends CFG {
 		super(cfgDesc);
 	}
 
+	/**
+	 * Sets the budget of the analyses of this CFG, checked at each iteration
+	 * of their fixpoints.
+	 *
+	 * @param budget the budget
+	 */
+	public void setBudget(AnalysisBudget budget) {
+		this.budget = budget;
+	}
+
+	/**
+	 * Yields the budget of the analyses of this CFG.
+	 *
+	 * @return the budget
+	 */
+	public AnalysisBudget getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Forgets the results of the last ascending fixpoint computed on this CFG,
+	 * kept to resume the next one. They are only needed while the jumps are
+	 * being solved: once they are, releasing them avoids keeping every
+	 * abstract state alive as long as this CFG.
+	 */
+	public void forgetFixpointResults() {
+		this.lastStartingPoints = null;
+		this.lastAscending = null;
+		this.pendingEntries.clear();
+	}
+
 	public void computeHotspotNodes() {
-		this.jumpDestsNodes = new HashSet<Statement>();
-		this.jumpNodes = new HashSet<Statement>();
-		this.pushedJumps = new HashSet<Statement>();
-		this.sstores = new HashSet<Statement>();
+		if (statementsByPc == null)
+			statementsByPc = indexStatementsByPc();
+
+		this.opcodes = new byte[statementsByPc.length];
+		this.jumpDestsNodes = new BitSet(statementsByPc.length);
+		this.jumpNodes = new BitSet(statementsByPc.length);
+		this.pushedJumps = new BitSet(statementsByPc.length);
+		this.sstores = new BitSet(statementsByPc.length);
 
 		NodeList<CFG, Statement, Edge> cfgNodeList = this.getNodeList();
 
 		for (Statement statement : cfgNodeList.getNodes()) {
-			if (statement instanceof Sstore)
-				sstores.add(statement);
-			else if (statement instanceof Jumpdest)
-				jumpDestsNodes.add(statement);
-			else if ((statement instanceof Jump) || (statement instanceof Jumpi)) {
-				jumpNodes.add(statement);
-			}
+			int pc = indexOf(statement);
+			if (pc >= 0)
+				index(pc, Opcode.of(statement));
+		}
+
+		for (Edge edge : cfgNodeList.getEdges()) {
+			int pc = indexOf(edge.getDestination());
+			if (pc >= 0 && jumpNodes.get(pc) && (edge.getSource() instanceof Push))
+				pushedJumps.set(pc);
+		}
+	}
+
+	/**
+	 * Records the opcode of the statement at the given program counter in the
+	 * side index.
+	 */
+	private void index(int pc, Opcode opcode) {
+		opcodes[pc] = opcode == null || opcode.getCode() < 0 ? NO_OPCODE : (byte) opcode.getCode();
+		if (opcode == Opcode.SSTORE)
+			sstores.set(pc);
+		else if (opcode == Opcode.JUMPDEST)
+			jumpDestsNodes.set(pc);
+		else if (opcode == Opcode.JUMP || opcode == Opcode.JUMPI)
+			jumpNodes.set(pc);
+	}
+
+	/**
+	 * Yields the program counter of the given statement of this CFG, or -1 if
+	 * it is not in {@link #statementsByPc} (e.g., it is not an opcode).
+	 */
+	private int indexOf(Statement statement) {
+		if (!(statement.getLocation() instanceof ProgramCounterLocation))
+			return -1;
+		int pc = ((ProgramCounterLocation) statement.getLocation()).getPc();
+		return pc >= 0 && pc < statementsByPc.length && statementsByPc[pc] == statement ? pc : -1;
+	}
+
+	/**
+	 * Yields the statements at the program counters in the given set.
+	 */
+	private Set<Statement> statementsAt(BitSet pcs) {
+		Set<Statement> statements = new HashSet<>();
+		for (int pc = pcs.nextSetBit(0); pc >= 0; pc = pcs.nextSetBit(pc + 1))
+			statements.add(statementsByPc[pc]);
+		return statements;
+	}
 
+	/**
+	 * Builds {@link #successors} if nodes or edges have been added since it
+	 * was last built.
+	 */
+	private void indexSuccessors() {
+		if (statementsByPc == null)
+			statementsByPc = indexStatementsByPc();
+		if (successors != null && indexedEdgeCount == edgeCount && indexedNodeCount == getNodesCount())
+			return;
+
+		int n = statementsByPc.length;
+		Collection<Edge> edges = getEdges();
+		int[] offsets = new int[n + 1];
+		for (Edge edge : edges) {
+			int source = indexOf(edge.getSource());
+			if (source >= 0 && indexOf(edge.getDestination()) >= 0)
+				offsets[source + 1]++;
+		}
+		for (int pc = 0; pc < n; pc++)
+			offsets[pc + 1] += offsets[pc];
+
+		int[] next = Arrays.copyOf(offsets, n);
+		int[] targets = new int[offsets[n]];
+		for (Edge edge : edges) {
+			int source = indexOf(edge.getSource());
+			int destination = indexOf(edge.getDestination());
+			if (source >= 0 && destination >= 0)
+				targets[next[source]++] = destination;
 		}
 
-		for (Edge edge : cfgNodeList.getEdges())
-			if ((edge.getDestination() instanceof Jump || edge.getDestination() instanceof Jumpi)
-					&& (edge.getSource() instanceof Push))
-				pushedJumps.add(edge.getDestination());
+		this.successorOffsets = offsets;
+		this.successors = targets;
+		this.indexedEdgeCount = edgeCount;
+		this.indexedNodeCount = getNodesCount();
+	}
+
+	/**
+	 * Fills this CFG lazily from the first {@code length} bytes of the given
+	 * bytecode: only the code reachable from program counter 0 through
+	 * sequential edges and pushed jumps is materialized here, while the code
+	 * at the other JUMPDESTs is materialized when a jump is first resolved to
+	 * them (see {@link #materializeJumpdestAt(UInt256)}). The statement at
+	 * program counter 0 is the entrypoint of the CFG.
+	 *
+	 * @param bytecode the raw bytecode
+	 * @param length   the number of bytes of code
+	 *
+	 * @throws IllegalArgumentException if the code contains no opcode
+	 */
+	public void materializeLazily(byte[] bytecode, int length) {
+		this.materializer = new LazyMaterializer(this, bytecode, length);
+		this.statementsByPc = new Statement[Math.max(length, 1)];
+		computeHotspotNodes();
+
+		Statement entrypoint = materializer.materialize(0);
+		if (entrypoint == null)
+			throw new IllegalArgumentException("The bytecode contains no opcode");
+		getEntrypoints().add(entrypoint);
+	}
+
+	/**
+	 * Adds a statement materialized from the bytecode to this CFG, indexing it
+	 * by program counter and among the hotspot nodes.
+	 */
+	void register(Statement statement, Opcode opcode, boolean pushedJump) {
+		addNode(statement);
+		int pc = ((ProgramCounterLocation) statement.getLocation()).getPc();
+		statementsByPc[pc] = statement;
+		index(pc, opcode);
+		if (pushedJump)
+			pushedJumps.set(pc);
+	}
+
+	/**
+	 * Yields whether the code of this CFG is materialized on demand and there
+	 * is a JUMPDEST at the given program counter that is not materialized
+	 * yet.
+	 *
+	 * @param pc the program counter
+	 *
+	 * @return {@code true} if the JUMPDEST at {@code pc} is yet to be
+	 *             materialized
+	 */
+	public boolean isUnmaterializedJumpdestAt(UInt256 pc) {
+		return materializer != null && pc.fitsInt() && getStatementAt(pc.intValue()) == null
+				&& materializer.isJumpdest(pc.intValue());
+	}
+
+	/**
+	 * Yields the JUMPDEST statement at the given program counter,
+	 * materializing it and the code that follows it if needed. Nodes are
+	 * added to this CFG, hence this must not be called while its nodes are
+	 * being visited.
+	 *
+	 * @param pc the program counter
+	 *
+	 * @return the JUMPDEST statement at {@code pc}, or {@code null} if there
+	 *             is no JUMPDEST at {@code pc}
+	 */
+	public Statement materializeJumpdestAt(UInt256 pc) {
+		if (isUnmaterializedJumpdestAt(pc))
+			materializer.materialize(pc.intValue());
+		return getJumpdestAt(pc);
 	}
 
 	/**
@@ -96,16 +337,20 @@ public class EVMCFG extends CFG {
 	 * @return a set of all the SSTORE statements in the CFG
 	 */
 	public Set<Statement> getAllSstore() {
-		return sstores;
+		return statementsAt(sstores);
 	}
 
 	/**
-	 * Returns a set of all the JUMPDEST statements in the CFG.
+	 * Returns a set of all the JUMPDEST statements in the CFG. If the code of
+	 * the CFG is materialized on demand, all the JUMPDESTs are materialized
+	 * first.
 	 *
 	 * @return a set of all the JUMPDEST statements in the CFG
 	 */
 	public Set<Statement> getAllJumpdest() {
-		return jumpDestsNodes;
+		if (materializer != null)
+			materializer.materializeAllJumpdests();
+		return statementsAt(jumpDestsNodes);
 	}
 
 	/**
@@ -113,14 +358,86 @@ public class EVMCFG extends CFG {
 	 *
 	 * @return the program counters of all JUMPDEST statements
 	 */
-	public Set<Number> getAllJumpdestLocations() {
-		if (jumpDestsNodesLocations == null)
-			return jumpDestsNodesLocations = this.jumpDestsNodes.stream()
-					.map(j -> new Number(((ProgramCounterLocation) j.getLocation()).getPc()))
-					.collect(Collectors.toSet());
-		else
-			return jumpDestsNodesLocations;
+	public Set<UInt256> getAllJumpdestLocations() {
+		BitSet locations = jumpdestLocations();
+		Set<UInt256> result = new HashSet<>();
+		for (int pc = locations.nextSetBit(0); pc >= 0; pc = locations.nextSetBit(pc + 1))
+			result.add(UInt256.valueOf(pc));
+		return result;
+	}
+
+	/**
+	 * Yields whether there is a JUMPDEST statement at the given program
+	 * counter.
+	 *
+	 * @param pc the program counter
+	 *
+	 * @return {@code true} if there is a JUMPDEST at {@code pc}
+	 */
+	public boolean isJumpdestLocation(UInt256 pc) {
+		return pc.fitsInt() && jumpdestLocations().get(pc.intValue());
+	}
+
+	private BitSet jumpdestLocations() {
+		// the JUMPDESTs that are not materialized yet are valid destinations
+		return materializer != null ? materializer.getJumpdestLocations() : jumpDestsNodes;
+	}
+
+	/**
+	 * Sets the index of the statements of this CFG by program counter, as
+	 * built while decoding the bytecode. Position {@code i} of the index holds
+	 * the statement at program counter {@code i}, or {@code null} if no
+	 * statement starts there (e.g., push data).
+	 *
+	 * @param statementsByPc the index of the statements by program counter
+	 */
+	public void setStatementsByPc(Statement[] statementsByPc) {
+		this.statementsByPc = statementsByPc;
+	}
 
+	/**
+	 * Yields the statement at the given program counter.
+	 *
+	 * @param pc the program counter
+	 *
+	 * @return the statement at {@code pc}, or {@code null} if no statement
+	 *             starts at {@code pc}
+	 */
+	public Statement getStatementAt(int pc) {
+		if (statementsByPc == null)
+			statementsByPc = indexStatementsByPc();
+		return pc >= 0 && pc < statementsByPc.length ? statementsByPc[pc] : null;
+	}
+
+	/**
+	 * Yields the JUMPDEST statement at the given program counter.
+	 *
+	 * @param pc the program counter
+	 *
+	 * @return the JUMPDEST statement at {@code pc}, or {@code null} if the
+	 *             statement at {@code pc} is not a JUMPDEST
+	 */
+	public Statement getJumpdestAt(UInt256 pc) {
+		if (!pc.fitsInt())
+			return null;
+		Statement statement = getStatementAt(pc.intValue());
+		return statement instanceof Jumpdest ? statement : null;
+	}
+
+	private Statement[] indexStatementsByPc() {
+		int length = 0;
+		for (Statement statement : getNodes())
+			if (statement.getLocation() instanceof ProgramCounterLocation)
+				length = Math.max(length, ((ProgramCounterLocation) statement.getLocation()).getPc() + 1);
+
+		Statement[] index = new Statement[length];
+		for (Statement statement : getNodes())
+			if (statement.getLocation() instanceof ProgramCounterLocation) {
+				int pc = ((ProgramCounterLocation) statement.getLocation()).getPc();
+				if (pc >= 0)
+					index[pc] = statement;
+			}
+		return index;
 	}
 
 	/**
@@ -129,7 +446,7 @@ public class EVMCFG extends CFG {
 	 * @return a set of all the JUMP and JUMPI statements in the CFG
 	 */
 	public Set<Statement> getAllJumps() {
-		return jumpNodes;
+		return statementsAt(jumpNodes);
 	}
 
 	public int getOpcodeCount() {
@@ -146,7 +463,29 @@ public class EVMCFG extends CFG {
 	 *             the CFG
 	 */
 	public Set<Statement> getAllPushedJumps() {
-		return pushedJumps;
+		return statementsAt(pushedJumps);
+	}
+
+	/**
+	 * Yields whether the given program point is a JUMP or JUMPI statement
+	 * preceded by a PUSH statement.
+	 *
+	 * @param pp the program point
+	 *
+	 * @return {@code true} if {@code pp} is a pushed jump
+	 */
+	public boolean isPushedJump(ProgramPoint pp) {
+		int pc = pp instanceof Statement ? indexOf((Statement) pp) : -1;
+		return pc >= 0 && pushedJumps.get(pc);
+	}
+
+	@Override
+	public void addEdge(Edge edge) {
+		if (!containsEdge(edge)) {
+			pendingEntries.add(edge.getDestination());
+			edgeCount++;
+		}
+		super.addEdge(edge);
 	}
 
 	@Override
@@ -163,12 +502,29 @@ public class EVMCFG extends CFG {
 				? new OptimizedFixpoint<>(this, false, conf.hotspots)
 				: new Fixpoint<>(this, false);
 		EVMAscendingFixpoint<A> asc = new EVMAscendingFixpoint<>(this, interprocedural,
-				conf.wideningThreshold);
+				conf.wideningThreshold, budget);
 
 		Map<Statement, CompoundState<A>> starting = new HashMap<>();
 		StatementStore<A> bot = new StatementStore<>(singleton.bottom());
 		startingPoints.forEach((st, state) -> starting.put(st, CompoundState.of(state, bot)));
-		Map<Statement, CompoundState<A>> ascending = fix.fixpoint(starting, ws, asc);
+
+		Map<Statement, CompoundState<A>> previous = resumableResults(isOptimized, startingPoints);
+		if (previous != null)
+			// resume the previous fixpoint: only the destinations of the new
+			// edges (and what they reach) need to be recomputed
+			for (Statement entry : pendingEntries)
+				if (predecessorsOf(entry).stream().anyMatch(previous::containsKey))
+					ws.push(entry);
+
+		Map<Statement, CompoundState<A>> ascending = previous == null
+				? fix.fixpoint(starting, ws, asc)
+				: fix.fixpoint(starting, ws, asc, previous);
+
+		if (!isOptimized) {
+			this.lastStartingPoints = startingPoints;
+			this.lastAscending = ascending;
+			this.pendingEntries.clear();
+		}
 
 		if (conf.descendingPhaseType == DescendingPhaseType.NONE)
 			return flatten(isOptimized, singleton, startingPoints, interprocedural, id, ascending);
@@ -197,6 +553,19 @@ public class EVMCFG extends CFG {
 		return flatten(conf.optimize, singleton, startingPoints, interprocedural, id, descending);
 	}
 
+	/**
+	 * Yields the results of the last ascending fixpoint if the next one can be
+	 * resumed from them, that is, if both are computed without optimizations
+	 * and from the same starting points, {@code null} otherwise.
+	 */
+	@SuppressWarnings("unchecked")
+	private <A extends AbstractState<A>> Map<Statement, CompoundState<A>> resumableResults(boolean isOptimized,
+			Map<Statement, AnalysisState<A>> startingPoints) {
+		if (isOptimized || lastAscending == null || !startingPoints.equals(lastStartingPoints))
+			return null;
+		return (Map<Statement, CompoundState<A>>) lastAscending;
+	}
+
 	private <V extends ValueDomain<V>,
 			T extends TypeDomain<T>,
 			A extends AbstractState<A>,
@@ -251,38 +620,54 @@ public class EVMCFG extends CFG {
 			return MyCache.getInstance().isReachableFrom(key);
 		}
 
-		boolean result = dfs(start, target, new HashSet<>());
+		boolean result = dfs(start, target, false);
 		MyCache.getInstance().addReachableFrom(key, result);
 		return result;
 	}
 
 	/**
-	 * Performs a depth-first search (DFS) to determine if the target statement
-	 * is reachable from the start statement.
+	 * Performs a depth-first search (DFS) on the successors by program
+	 * counter to determine if the target statement is reachable from the
+	 * start statement.
 	 *
-	 * @param start   The starting statement.
-	 * @param target  The target statement.
-	 * @param visited A set of visited statements to avoid cycles.
+	 * @param start     The starting statement.
+	 * @param target    The target statement.
+	 * @param skipJumps Whether the edges leaving JUMP and JUMPI statements are
+	 *                      ignored.
 	 * 
 	 * @return True if the target is reachable from the start, false otherwise.
 	 */
-	private boolean dfs(Statement start, Statement target, Set<Statement> visited) {
-		Deque<Statement> stack = new ArrayDeque<>();
-		stack.push(start);
+	private boolean dfs(Statement start, Statement target, boolean skipJumps) {
+		if (start.equals(target))
+			return true;
 
-		while (!stack.isEmpty()) {
-			Statement current = stack.pop();
+		indexSuccessors();
+		int from = indexOf(start);
+		int to = indexOf(target);
+		if (from < 0 || to < 0)
+			return false;
 
-			if (current.equals(target))
+		BitSet visited = new BitSet(statementsByPc.length);
+		int[] stack = new int[16];
+		int size = 0;
+		stack[size++] = from;
+
+		while (size > 0) {
+			int current = stack[--size];
+
+			if (current == to)
 				return true;
 
-			if (visited.add(current)) {
-				for (Edge edge : list.getOutgoingEdges(current)) {
-					Statement next = edge.getDestination();
-					if (!visited.contains(next))
-						stack.push(next);
+			if (visited.get(current) || (skipJumps && jumpNodes.get(current)))
+				continue;
+			visited.set(current);
+
+			for (int i = successorOffsets[current]; i < successorOffsets[current + 1]; i++)
+				if (!visited.get(successors[i])) {
+					if (size == stack.length)
+						stack = Arrays.copyOf(stack, 2 * size);
+					stack[size++] = successors[i];
 				}
-			}
 		}
 
 		return false;
@@ -297,25 +682,31 @@ public class EVMCFG extends CFG {
 	 * @return A set of the furthest reachable SSTORE statements.
 	 */
 	public Set<Statement> getFurthestSstores(Statement start) {
-		Deque<Statement> queue = new ArrayDeque<>();
-		Set<Statement> visited = new HashSet<>();
 		Set<Statement> last = new HashSet<>();
-
-		queue.add(start);
-		visited.add(start);
-
-		while (!queue.isEmpty()) {
-			Statement current = queue.poll();
-			if (current instanceof Sstore) {
-				last.add(current);
-			}
-
-			for (Edge edge : list.getOutgoingEdges(current)) {
-				Statement next = edge.getDestination();
-				if (visited.add(next)) {
-					queue.add(next);
+		indexSuccessors();
+		int from = indexOf(start);
+		if (from < 0)
+			return last;
+
+		// the program counters are enqueued at most once, hence the queue
+		// never holds more than all of them
+		int[] queue = new int[statementsByPc.length];
+		int head = 0, tail = 0;
+		BitSet visited = new BitSet(statementsByPc.length);
+
+		queue[tail++] = from;
+		visited.set(from);
+
+		while (head < tail) {
+			int current = queue[head++];
+			if (sstores.get(current))
+				last.add(statementsByPc[current]);
+
+			for (int i = successorOffsets[current]; i < successorOffsets[current + 1]; i++)
+				if (!visited.get(successors[i])) {
+					visited.set(successors[i]);
+					queue[tail++] = successors[i];
 				}
-			}
 		}
 		return last;
 	}
@@ -336,46 +727,11 @@ public class EVMCFG extends CFG {
 			return MyCache.getInstance().isReachableFrom(key);
 		}
 
-		boolean result = dfsSequential(start, target, new HashSet<>());
+		boolean result = dfs(start, target, true);
 		MyCache.getInstance().addReachableFrom(key, result);
 		return result;
 	}
 
-	/**
-	 * Performs a depth-first search (DFS) to determine if the target statement
-	 * is sequentially reachable from the start statement. Ignores jumps.
-	 *
-	 * @param start   The starting statement.
-	 * @param target  The target statement.
-	 * @param visited A set of visited statements to avoid cycles.
-	 * 
-	 * @return True if the target is sequentially reachable from the start,
-	 *             false otherwise.
-	 */
-	private boolean dfsSequential(Statement start, Statement target, Set<Statement> visited) {
-		Deque<Statement> stack = new ArrayDeque<>();
-		stack.push(start);
-
-		while (!stack.isEmpty()) {
-			Statement current = stack.pop();
-
-			if (current.equals(target))
-				return true;
-
-			if (visited.add(current)) {
-				for (Edge edge : list.getOutgoingEdges(current)) {
-					if (edge.getSource() instanceof Jumpi || edge.getSource() instanceof Jump)
-						continue;
-					Statement next = edge.getDestination();
-					if (!visited.contains(next))
-						stack.push(next);
-				}
-			}
-		}
-
-		return false;
-	}
-
 	public static String bbToString(List<Long[]> bb) {
 		StringBuilder sb = new StringBuilder();
 		sb.append("[");
@@ -407,73 +763,58 @@ public class EVMCFG extends CFG {
 		if (start == null)
 			return null;
 
-		Set<Statement> visited = new HashSet<>();
-		Deque<Statement> stack = new ArrayDeque<>();
-		stack.push(start);
+		indexSuccessors();
+		int startIndex = indexOf(start);
+		if (startIndex < 0)
+			return null;
+
+		// the blocks are built on the successors by program counter, that
+		// leave out the statements that are not opcodes (e.g., returns)
+		BitSet visited = new BitSet(statementsByPc.length);
+		Deque<Integer> stack = new ArrayDeque<>();
+		stack.push(startIndex);
 		basicBlocks = new HashSet<>();
 
 		while (!stack.isEmpty()) {
-			Statement current = stack.pop();
-			if (visited.contains(current))
+			int current = stack.pop();
+			if (visited.get(current))
 				continue;
 
-			Statement blockStart = current;
-			Statement blockEnd = current;
+			int blockStart = current;
+			int blockEnd = current;
 			List<Statement> statements = new ArrayList<>();
 
 			while (true) {
-				statements.add(blockEnd);
-				Collection<Edge> outgoingEdges = list.getOutgoingEdges(blockEnd);
-
-				if (outgoingEdges.isEmpty()
-						|| blockEnd instanceof Jump
-						|| blockEnd instanceof Jumpi
-						|| blockEnd instanceof Invalid
-						|| blockEnd instanceof Stop
-						|| blockEnd instanceof Revert
-						|| blockEnd instanceof Selfdestruct
-						|| blockEnd instanceof Ret) {
+				statements.add(statementsByPc[blockEnd]);
+				if (successorOffsets[blockEnd] == successorOffsets[blockEnd + 1])
 					break;
-				}
 
-				Statement next = outgoingEdges.iterator().next().getDestination();
-				if (visited.contains(next))
+				Opcode opcode = Opcode.of(opcodes[blockEnd] & 0xff);
+				if (opcode != null && opcode.isTerminator())
 					break;
 
-				visited.add(next);
-
-				if (next instanceof Ret)
+				int next = successors[successorOffsets[blockEnd]];
+				if (visited.get(next))
 					break;
 
+				visited.set(next);
 				blockEnd = next;
-
 			}
 
-			int startPc = ((ProgramCounterLocation) blockStart.getLocation()).getPc();
-			BasicBlock.BlockType blockType = getBlockType(blockEnd);
-
-			if (blockType.equals(BasicBlock.BlockType.RET))
-				continue;
-
-			BasicBlock basicBlock = new BasicBlock(startPc, blockType);
+			BasicBlock basicBlock = new BasicBlock(blockStart, getBlockType(statementsByPc[blockEnd]));
 
 			for (Statement stmt : statements) {
 				basicBlock.addStatement(stmt);
 			}
 
-			for (Edge edge : getOutgoingEdges(blockEnd)) {
-				int endPc = ((ProgramCounterLocation) edge.getDestination().getLocation()).getPc();
-				if (startPc != endPc
-						&& !(edge.getDestination() instanceof Ret)) {
-					basicBlock.addEdge(endPc);
-				}
-			}
+			for (int i = successorOffsets[blockEnd]; i < successorOffsets[blockEnd + 1]; i++)
+				if (blockStart != successors[i])
+					basicBlock.addEdge(successors[i]);
 
 			basicBlocks.add(basicBlock);
 
-			for (Edge edge : list.getOutgoingEdges(blockEnd)) {
-				stack.push(edge.getDestination());
-			}
+			for (int i = successorOffsets[blockEnd]; i < successorOffsets[blockEnd + 1]; i++)
+				stack.push(successors[i]);
 		}
 
 		// Split basic blocks on jumpdest
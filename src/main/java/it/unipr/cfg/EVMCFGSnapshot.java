@@ -0,0 +1,213 @@
+package it.unipr.cfg;
+
+import it.unipr.cfg.push.Push;
+import it.unipr.frontend.EVMFrontend;
+import it.unive.lisa.program.ClassUnit;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.cfg.CodeMemberDescriptor;
+import it.unive.lisa.program.cfg.Parameter;
+import it.unive.lisa.program.cfg.edge.Edge;
+import it.unive.lisa.program.cfg.edge.FalseEdge;
+import it.unive.lisa.program.cfg.edge.SequentialEdge;
+import it.unive.lisa.program.cfg.edge.TrueEdge;
+import it.unive.lisa.program.cfg.statement.Statement;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned binary snapshot of an {@link EVMCFG}, e.g., of the CFG whose jumps
+ * have been resolved by the analysis, so that it can be reloaded without
+ * parsing the bytecode and solving the jumps again. A snapshot holds the
+ * statements ordered by program counter, each with its line, its opcode and
+ * its pushed value, if any; the edges, as pairs of statement indexes with
+ * their kind; and the entrypoints. The JUMPDEST, jump and pushed-jump sets are
+ * recomputed from the statements and the edges when the snapshot is loaded.
+ * Statements that do not correspond to an opcode (e.g., the return statement
+ * added by LiSA) are not part of the snapshot.
+ */
+public final class EVMCFGSnapshot {
+
+	/**
+	 * The magic number of the snapshots, {@code "EVMC"}.
+	 */
+	private static final int MAGIC = 0x45564d43;
+
+	/**
+	 * The current version of the format.
+	 */
+	public static final int VERSION = 1;
+
+	private static final byte SEQUENTIAL = 0;
+	private static final byte TRUE = 1;
+	private static final byte FALSE = 2;
+
+	private EVMCFGSnapshot() {
+	}
+
+	/**
+	 * Writes the snapshot of the given CFG in the given stream. The stream is
+	 * not closed.
+	 *
+	 * @param cfg the CFG
+	 * @param out the stream
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void write(EVMCFG cfg, OutputStream out) throws IOException {
+		List<Statement> nodes = new ArrayList<>();
+		for (Statement node : cfg.getNodes())
+			if (Opcode.of(node) != null && node.getLocation() instanceof ProgramCounterLocation)
+				nodes.add(node);
+		nodes.sort(Comparator.comparingInt(node -> ((ProgramCounterLocation) node.getLocation()).getPc()));
+
+		Map<Statement, Integer> indexes = new HashMap<>();
+		for (int i = 0; i < nodes.size(); i++)
+			indexes.put(nodes.get(i), i);
+
+		DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+		data.writeInt(MAGIC);
+		data.writeShort(VERSION);
+		data.writeUTF(cfg.getDescriptor().getName());
+
+		data.writeInt(nodes.size());
+		for (Statement node : nodes) {
+			ProgramCounterLocation location = (ProgramCounterLocation) node.getLocation();
+			Opcode opcode = Opcode.of(node);
+			data.writeInt(location.getPc());
+			data.writeInt(location.getSourceCodeLine());
+			data.writeShort(opcode.getCode());
+			if (opcode.getCode() < 0)
+				data.writeUTF(opcode.getMnemonic());
+			if (opcode.getImmediateLength() > 0)
+				writeHex(data, ((HexDecimalLiteral) ((Push) node).getSubExpression()).getValue().substring(2));
+		}
+
+		List<Edge> edges = new ArrayList<>();
+		for (Edge edge : cfg.getEdges())
+			if (indexes.containsKey(edge.getSource()) && indexes.containsKey(edge.getDestination()))
+				edges.add(edge);
+
+		data.writeInt(edges.size());
+		for (Edge edge : edges) {
+			data.writeInt(indexes.get(edge.getSource()));
+			data.writeInt(indexes.get(edge.getDestination()));
+			if (edge instanceof TrueEdge)
+				data.writeByte(TRUE);
+			else if (edge instanceof FalseEdge)
+				data.writeByte(FALSE);
+			else
+				data.writeByte(SEQUENTIAL);
+		}
+
+		List<Integer> entrypoints = new ArrayList<>();
+		for (Statement entrypoint : cfg.getEntrypoints())
+			if (indexes.containsKey(entrypoint))
+				entrypoints.add(indexes.get(entrypoint));
+
+		data.writeInt(entrypoints.size());
+		for (int entrypoint : entrypoints)
+			data.writeInt(entrypoint);
+
+		data.flush();
+	}
+
+	/**
+	 * Reads a snapshot from the given stream, building its CFG as a member of
+	 * a new unit of the given program. The stream is not closed.
+	 *
+	 * @param in      the stream
+	 * @param program the program the CFG belongs to
+	 *
+	 * @return the CFG
+	 *
+	 * @throws IOException if an I/O error occurs, or the stream does not
+	 *                         contain a snapshot of a supported version
+	 */
+	public static EVMCFG read(InputStream in, Program program) throws IOException {
+		DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+		if (data.readInt() != MAGIC)
+			throw new IOException("Not an EVMCFG snapshot");
+		int version = data.readUnsignedShort();
+		if (version != VERSION)
+			throw new IOException("Unsupported EVMCFG snapshot version: " + version);
+
+		ClassUnit unit = new ClassUnit(new ProgramCounterLocation(-1, -1), program, "program", false);
+		CodeMemberDescriptor cfgDesc = new CodeMemberDescriptor(new ProgramCounterLocation(-1, -1), unit, false,
+				data.readUTF(), new Parameter[] {});
+		EVMCFG cfg = new EVMCFG(cfgDesc);
+
+		Statement[] nodes = new Statement[data.readInt()];
+		int maxPc = -1;
+		for (int i = 0; i < nodes.length; i++) {
+			int pc = data.readInt();
+			int line = data.readInt();
+			short code = data.readShort();
+			Opcode opcode = code < 0 ? Opcode.of(data.readUTF()) : Opcode.of(code);
+			if (opcode == null)
+				throw new IOException("Unknown opcode at pc " + pc);
+
+			String immediate = opcode.getImmediateLength() > 0 ? "0x" + readHex(data) : null;
+			nodes[i] = opcode.create(cfg, new ProgramCounterLocation(pc, line), immediate);
+			cfg.addNode(nodes[i]);
+			maxPc = Math.max(maxPc, pc);
+		}
+
+		int edges = data.readInt();
+		for (int i = 0; i < edges; i++) {
+			Statement source = nodes[data.readInt()];
+			Statement destination = nodes[data.readInt()];
+			byte kind = data.readByte();
+			if (kind == TRUE)
+				cfg.addEdge(new TrueEdge(source, destination));
+			else if (kind == FALSE)
+				cfg.addEdge(new FalseEdge(source, destination));
+			else
+				cfg.addEdge(new SequentialEdge(source, destination));
+		}
+
+		int entrypoints = data.readInt();
+		for (int i = 0; i < entrypoints; i++)
+			cfg.getEntrypoints().add(nodes[data.readInt()]);
+
+		Statement[] statementsByPc = new Statement[maxPc + 1];
+		for (Statement node : nodes)
+			statementsByPc[((ProgramCounterLocation) node.getLocation()).getPc()] = node;
+		cfg.setStatementsByPc(statementsByPc);
+
+		unit.addCodeMember(cfg);
+		cfg.computeHotspotNodes();
+		return cfg;
+	}
+
+	/**
+	 * Writes the given hexadecimal digits as their number followed by the
+	 * bytes they represent, left-padded with a zero digit if their number is
+	 * odd, so that the digits are restored exactly.
+	 */
+	private static void writeHex(DataOutputStream data, String digits) throws IOException {
+		data.writeByte(digits.length());
+		String padded = digits.length() % 2 == 0 ? digits : "0" + digits;
+		for (int i = 0; i < padded.length(); i += 2)
+			data.writeByte((Character.digit(padded.charAt(i), 16) << 4) | Character.digit(padded.charAt(i + 1), 16));
+	}
+
+	private static String readHex(DataInputStream data) throws IOException {
+		int digits = data.readUnsignedByte();
+		byte[] bytes = new byte[(digits + 1) / 2];
+		data.readFully(bytes);
+
+		String hex = EVMFrontend.toHex(bytes);
+		return hex.substring(hex.length() - digits);
+	}
+}
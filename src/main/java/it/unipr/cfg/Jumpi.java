@@ -2,6 +2,7 @@ package it.unipr.cfg;
 
 import it.unipr.analysis.AbstractStack;
 import it.unipr.analysis.EVMAbstractState;
+import it.unipr.analysis.ProductAbstractDomain;
 import it.unipr.analysis.StackElement;
 import it.unipr.analysis.operator.JumpiOperator;
 import it.unive.lisa.analysis.AbstractState;
@@ -51,6 +52,11 @@ public class Jumpi extends Statement {
 			InterproceduralAnalysis<A> interprocedural, StatementStore<A> expressions) throws SemanticException {
 
 		EVMAbstractState valueState = entryState.getState().getDomainInstance(EVMAbstractState.class);
+		if (valueState == null) {
+			ProductAbstractDomain product = entryState.getState().getDomainInstance(ProductAbstractDomain.class);
+			if (product != null)
+				valueState = product.getEVMState();
+		}
 
 		if (valueState == null) {
 			// if EVMLiSA is not using EVMAbstractState, we just return the
@@ -0,0 +1,215 @@
+package it.unipr.cfg;
+
+import it.unipr.frontend.EVMFrontend;
+import it.unive.lisa.program.cfg.edge.FalseEdge;
+import it.unive.lisa.program.cfg.edge.SequentialEdge;
+import it.unive.lisa.program.cfg.edge.TrueEdge;
+import it.unive.lisa.program.cfg.statement.Statement;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Decodes the statements of an {@link EVMCFG} from its bytecode on demand.
+ * Starting from a program counter, the statements are created and linked up
+ * to the first terminator or to the first statement already in the CFG,
+ * following the destinations of the jumps whose destination is pushed right
+ * before them. The CFG therefore holds only the code reachable from its
+ * entrypoint and from the JUMPDESTs materialized so far. The statements and
+ * the edges are the same of the CFG built from the whole bytecode, restricted
+ * to the materialized code.
+ */
+final class LazyMaterializer {
+
+	private final EVMCFG cfg;
+	private final byte[] bytecode;
+	private final int length;
+
+	/**
+	 * The line, in the mnemonic bytecode, of the instruction starting at each
+	 * program counter, or 0 if no instruction starts there (e.g., push data).
+	 */
+	private final int[] lines;
+
+	/**
+	 * The program counters of all the JUMPDESTs of the bytecode, materialized
+	 * or not.
+	 */
+	private final BitSet jumpdestLocations;
+
+	/**
+	 * Whether all the JUMPDESTs have been materialized.
+	 */
+	private boolean allJumpdests = false;
+
+	/**
+	 * Builds the materializer of the first {@code length} bytes of the given
+	 * bytecode. Only the instruction boundaries are computed here, in a single
+	 * pass; no statement is created.
+	 */
+	LazyMaterializer(EVMCFG cfg, byte[] bytecode, int length) {
+		this.cfg = cfg;
+		this.bytecode = bytecode;
+		this.length = length;
+		this.lines = new int[length];
+
+		this.jumpdestLocations = new BitSet(length);
+		int line = 1;
+		for (int pc = 0; pc < length; pc++, line++) {
+			Opcode opcode = Opcode.of(bytecode[pc] & 0xff);
+			int n = opcode == null ? 0 : opcode.getImmediateLength();
+
+			// a trailing push without data has no mnemonic
+			if (n > 0 && pc + 1 == length)
+				break;
+
+			lines[pc] = line;
+			if (opcode == Opcode.JUMPDEST)
+				jumpdestLocations.set(pc);
+			pc += n;
+		}
+	}
+
+	/**
+	 * Yields the program counters of all the JUMPDESTs of the bytecode.
+	 */
+	BitSet getJumpdestLocations() {
+		return jumpdestLocations;
+	}
+
+	/**
+	 * Yields whether an instruction starts at the given program counter.
+	 */
+	boolean isInstruction(int pc) {
+		return pc >= 0 && pc < length && lines[pc] != 0;
+	}
+
+	/**
+	 * Yields whether a JUMPDEST starts at the given program counter.
+	 */
+	boolean isJumpdest(int pc) {
+		return isInstruction(pc) && (bytecode[pc] & 0xff) == Opcode.JUMPDEST.getCode();
+	}
+
+	/**
+	 * Materializes the code starting at the given program counter, and the
+	 * code reachable from it through sequential edges and pushed jumps.
+	 *
+	 * @return the statement at {@code pc}, or {@code null} if no instruction
+	 *             starts there
+	 */
+	Statement materialize(int pc) {
+		if (!isInstruction(pc))
+			return null;
+		Statement existing = cfg.getStatementAt(pc);
+		if (existing != null)
+			return existing;
+
+		Deque<Integer> starts = new ArrayDeque<>();
+		Map<Statement, Integer> pushedJumps = new HashMap<>();
+		starts.push(pc);
+
+		while (!starts.isEmpty()) {
+			Statement previous = null;
+			Opcode previousOpcode = null;
+
+			for (int current = starts.pop(); isInstruction(current);) {
+				Statement st = cfg.getStatementAt(current);
+				boolean created = st == null;
+				Opcode opcode;
+				int push = -1;
+				if (created) {
+					opcode = Opcode.of(bytecode[current] & 0xff);
+					st = create(current, opcode);
+					if (opcode == null)
+						opcode = Opcode.INVALID;
+					if (opcode == Opcode.JUMP || opcode == Opcode.JUMPI)
+						push = previousPush(current);
+					cfg.register(st, opcode, push >= 0);
+				} else
+					opcode = Opcode.of(st);
+
+				// the false branch of a JUMPI falls through to the next
+				// statement, as any other non-terminator
+				if (previous != null)
+					cfg.addEdge(previousOpcode == Opcode.JUMPI ? new FalseEdge(previous, st)
+							: new SequentialEdge(previous, st));
+
+				if (!created)
+					break;
+
+				if (push >= 0) {
+					BigInteger target = new BigInteger(1, Arrays.copyOfRange(bytecode, push + 1, current));
+					if (target.bitLength() < Integer.SIZE && isInstruction(target.intValue())) {
+						pushedJumps.put(st, target.intValue());
+						if (cfg.getStatementAt(target.intValue()) == null)
+							starts.push(target.intValue());
+					}
+				}
+
+				if (opcode.isTerminator() && opcode != Opcode.JUMPI)
+					break;
+
+				previous = st;
+				previousOpcode = opcode;
+				current += 1 + opcode.getImmediateLength();
+			}
+		}
+
+		for (Entry<Statement, Integer> entry : pushedJumps.entrySet()) {
+			Statement destination = cfg.getStatementAt(entry.getValue());
+			if (Opcode.of(entry.getKey()) == Opcode.JUMPI)
+				cfg.addEdge(new TrueEdge(entry.getKey(), destination));
+			else
+				cfg.addEdge(new SequentialEdge(entry.getKey(), destination));
+		}
+
+		return cfg.getStatementAt(pc);
+	}
+
+	/**
+	 * Materializes all the JUMPDESTs of the bytecode, e.g., to link them to
+	 * the unsound jumps.
+	 */
+	void materializeAllJumpdests() {
+		if (allJumpdests)
+			return;
+		for (int pc = jumpdestLocations.nextSetBit(0); pc >= 0; pc = jumpdestLocations.nextSetBit(pc + 1))
+			materialize(pc);
+		allJumpdests = true;
+	}
+
+	/**
+	 * Creates the statement of the instruction at the given program counter,
+	 * with the given opcode, or an {@link Invalid} statement if the opcode is
+	 * unknown.
+	 */
+	private Statement create(int pc, Opcode opcode) {
+		ProgramCounterLocation location = new ProgramCounterLocation(pc, lines[pc]);
+		if (opcode == null)
+			return new Invalid(cfg, location);
+
+		int n = opcode.getImmediateLength();
+		return opcode.create(cfg, location, n > 0 ? EVMFrontend.toHexLiteral(bytecode, pc + 1, Math.min(pc + 1 + n, length)) : null);
+	}
+
+	/**
+	 * Yields the program counter of the instruction right before the one at
+	 * the given program counter if it is a push with data, -1 otherwise. Since
+	 * push data is at most 32 bytes long, the previous instruction starts in
+	 * one of the 33 bytes before {@code pc}.
+	 */
+	private int previousPush(int pc) {
+		for (int i = pc - 1; i >= 0 && i >= pc - 33; i--)
+			if (lines[i] != 0) {
+				Opcode opcode = Opcode.of(bytecode[i] & 0xff);
+				return opcode != null && opcode.getImmediateLength() > 0 ? i : -1;
+			}
+		return -1;
+	}
+}
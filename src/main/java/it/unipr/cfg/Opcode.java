@@ -0,0 +1,427 @@
+package it.unipr.cfg;
+
+import it.unipr.cfg.push.Push0;
+import it.unipr.cfg.push.Push1;
+import it.unipr.cfg.push.Push10;
+import it.unipr.cfg.push.Push11;
+import it.unipr.cfg.push.Push12;
+import it.unipr.cfg.push.Push13;
+import it.unipr.cfg.push.Push14;
+import it.unipr.cfg.push.Push15;
+import it.unipr.cfg.push.Push16;
+import it.unipr.cfg.push.Push17;
+import it.unipr.cfg.push.Push18;
+import it.unipr.cfg.push.Push19;
+import it.unipr.cfg.push.Push2;
+import it.unipr.cfg.push.Push20;
+import it.unipr.cfg.push.Push21;
+import it.unipr.cfg.push.Push22;
+import it.unipr.cfg.push.Push23;
+import it.unipr.cfg.push.Push24;
+import it.unipr.cfg.push.Push25;
+import it.unipr.cfg.push.Push26;
+import it.unipr.cfg.push.Push27;
+import it.unipr.cfg.push.Push28;
+import it.unipr.cfg.push.Push29;
+import it.unipr.cfg.push.Push3;
+import it.unipr.cfg.push.Push30;
+import it.unipr.cfg.push.Push31;
+import it.unipr.cfg.push.Push32;
+import it.unipr.cfg.push.Push4;
+import it.unipr.cfg.push.Push5;
+import it.unipr.cfg.push.Push6;
+import it.unipr.cfg.push.Push7;
+import it.unipr.cfg.push.Push8;
+import it.unipr.cfg.push.Push9;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.CodeLocation;
+import it.unive.lisa.program.cfg.statement.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An entry of the table of the EVM opcodes, holding the mnemonic of the
+ * opcode, the length of its immediate data, its effect on the stack, whether
+ * it ends a basic block and the constructor of the statement representing it
+ * in the CFG. The table is indexed by the byte of the opcode, by its mnemonic
+ * and by the class of its statement, all with constant-time lookups.
+ */
+public final class Opcode {
+
+	/**
+	 * Constructor of the statement of an opcode without immediate data.
+	 */
+	@FunctionalInterface
+	private interface StatementConstructor {
+		Statement create(CFG cfg, CodeLocation location);
+	}
+
+	/**
+	 * Constructor of the statement of a push with immediate data.
+	 */
+	@FunctionalInterface
+	private interface PushConstructor {
+		Statement create(CFG cfg, CodeLocation location, HexDecimalLiteral value);
+	}
+
+	private static final Opcode[] BY_CODE = new Opcode[256];
+	private static final Map<String, Opcode> BY_MNEMONIC = new HashMap<>();
+	private static final Map<Class<? extends Statement>, Opcode> BY_STATEMENT = new HashMap<>();
+
+	static {
+		terminator(0x00, "STOP", 0, 0, Stop.class, Stop::new);
+		op(0x01, "ADD", 2, 1, Add.class, Add::new);
+		op(0x02, "MUL", 2, 1, Mul.class, Mul::new);
+		op(0x03, "SUB", 2, 1, Sub.class, Sub::new);
+		op(0x04, "DIV", 2, 1, Div.class, Div::new);
+		op(0x05, "SDIV", 2, 1, Sdiv.class, Sdiv::new);
+		op(0x06, "MOD", 2, 1, Mod.class, Mod::new);
+		op(0x07, "SMOD", 2, 1, Smod.class, Smod::new);
+		op(0x08, "ADDMOD", 3, 1, Addmod.class, Addmod::new);
+		op(0x09, "MULMOD", 3, 1, Mulmod.class, Mulmod::new);
+		op(0x0a, "EXP", 2, 1, Exp.class, Exp::new);
+		op(0x0b, "SIGNEXTEND", 2, 1, Signextend.class, Signextend::new);
+		op(0x10, "LT", 2, 1, Lt.class, Lt::new);
+		op(0x11, "GT", 2, 1, Gt.class, Gt::new);
+		op(0x12, "SLT", 2, 1, Slt.class, Slt::new);
+		op(0x13, "SGT", 2, 1, Sgt.class, Sgt::new);
+		op(0x14, "EQ", 2, 1, Eq.class, Eq::new);
+		op(0x15, "ISZERO", 1, 1, Iszero.class, Iszero::new);
+		op(0x16, "AND", 2, 1, And.class, And::new);
+		op(0x17, "OR", 2, 1, Or.class, Or::new);
+		op(0x18, "XOR", 2, 1, Xor.class, Xor::new);
+		op(0x19, "NOT", 1, 1, Not.class, Not::new);
+		op(0x1a, "BYTE", 2, 1, Byte.class, Byte::new);
+		op(0x1b, "SHL", 2, 1, Shl.class, Shl::new);
+		op(0x1c, "SHR", 2, 1, Shr.class, Shr::new);
+		op(0x1d, "SAR", 2, 1, Sar.class, Sar::new);
+		op(0x20, "SHA3", 2, 1, Sha3.class, Sha3::new);
+		op(0x30, "ADDRESS", 0, 1, Address.class, Address::new);
+		op(0x31, "BALANCE", 1, 1, Balance.class, Balance::new);
+		op(0x32, "ORIGIN", 0, 1, Origin.class, Origin::new);
+		op(0x33, "CALLER", 0, 1, Caller.class, Caller::new);
+		op(0x34, "CALLVALUE", 0, 1, Callvalue.class, Callvalue::new);
+		op(0x35, "CALLDATALOAD", 1, 1, Calldataload.class, Calldataload::new);
+		op(0x36, "CALLDATASIZE", 0, 1, Calldatasize.class, Calldatasize::new);
+		op(0x37, "CALLDATACOPY", 3, 0, Calldatacopy.class, Calldatacopy::new);
+		op(0x38, "CODESIZE", 0, 1, Codesize.class, Codesize::new);
+		op(0x39, "CODECOPY", 3, 0, Codecopy.class, Codecopy::new);
+		op(0x3a, "GASPRICE", 0, 1, Gasprice.class, Gasprice::new);
+		op(0x3b, "EXTCODESIZE", 1, 1, Extcodesize.class, Extcodesize::new);
+		op(0x3c, "EXTCODECOPY", 4, 0, Extcodecopy.class, Extcodecopy::new);
+		op(0x3d, "RETURNDATASIZE", 0, 1, Returndatasize.class, Returndatasize::new);
+		op(0x3e, "RETURNDATACOPY", 3, 0, Returndatacopy.class, Returndatacopy::new);
+		op(0x3f, "EXTCODEHASH", 1, 1, Extcodehash.class, Extcodehash::new);
+		op(0x40, "BLOCKHASH", 1, 1, Blockhash.class, Blockhash::new);
+		op(0x41, "COINBASE", 0, 1, Coinbase.class, Coinbase::new);
+		op(0x42, "TIMESTAMP", 0, 1, Timestamp.class, Timestamp::new);
+		op(0x43, "NUMBER", 0, 1, Number.class, Number::new);
+		op(0x44, "DIFFICULTY", 0, 1, Difficulty.class, Difficulty::new);
+		op(0x45, "GASLIMIT", 0, 1, Gaslimit.class, Gaslimit::new);
+		op(0x46, "CHAINID", 0, 1, Chainid.class, Chainid::new);
+		op(0x47, "SELFBALANCE", 0, 1, Selfbalance.class, Selfbalance::new);
+		op(0x48, "BASEFEE", 0, 1, Basefee.class, Basefee::new);
+		op(0x49, "BLOBHASH", 1, 1, BlobHash.class, BlobHash::new);
+		op(0x4a, "BLOBBASEFEE", 0, 1, BlobBaseFee.class, BlobBaseFee::new);
+		op(0x50, "POP", 1, 0, Pop.class, Pop::new);
+		op(0x51, "MLOAD", 1, 1, Mload.class, Mload::new);
+		op(0x52, "MSTORE", 2, 0, Mstore.class, Mstore::new);
+		op(0x53, "MSTORE8", 2, 0, Mstore8.class, Mstore8::new);
+		op(0x54, "SLOAD", 1, 1, Sload.class, Sload::new);
+		op(0x55, "SSTORE", 2, 0, Sstore.class, Sstore::new);
+		terminator(0x56, "JUMP", 1, 0, Jump.class, Jump::new);
+		terminator(0x57, "JUMPI", 2, 0, Jumpi.class, Jumpi::new);
+		op(0x58, "PC", 0, 1, Pc.class, Pc::new);
+		op(0x59, "MSIZE", 0, 1, Msize.class, Msize::new);
+		op(0x5a, "GAS", 0, 1, Gas.class, Gas::new);
+		op(0x5b, "JUMPDEST", 0, 0, Jumpdest.class, Jumpdest::new);
+		op(0x5c, "TLOAD", 1, 1, Tload.class, Tload::new);
+		op(0x5d, "TSTORE", 2, 0, Tstore.class, Tstore::new);
+		op(0x5e, "MCOPY", 3, 0, Mcopy.class, Mcopy::new);
+		op(0x5f, "PUSH0", 0, 1, Push0.class, Push0::new);
+		push(0x60, 1, Push1.class, Push1::new);
+		push(0x61, 2, Push2.class, Push2::new);
+		push(0x62, 3, Push3.class, Push3::new);
+		push(0x63, 4, Push4.class, Push4::new);
+		push(0x64, 5, Push5.class, Push5::new);
+		push(0x65, 6, Push6.class, Push6::new);
+		push(0x66, 7, Push7.class, Push7::new);
+		push(0x67, 8, Push8.class, Push8::new);
+		push(0x68, 9, Push9.class, Push9::new);
+		push(0x69, 10, Push10.class, Push10::new);
+		push(0x6a, 11, Push11.class, Push11::new);
+		push(0x6b, 12, Push12.class, Push12::new);
+		push(0x6c, 13, Push13.class, Push13::new);
+		push(0x6d, 14, Push14.class, Push14::new);
+		push(0x6e, 15, Push15.class, Push15::new);
+		push(0x6f, 16, Push16.class, Push16::new);
+		push(0x70, 17, Push17.class, Push17::new);
+		push(0x71, 18, Push18.class, Push18::new);
+		push(0x72, 19, Push19.class, Push19::new);
+		push(0x73, 20, Push20.class, Push20::new);
+		push(0x74, 21, Push21.class, Push21::new);
+		push(0x75, 22, Push22.class, Push22::new);
+		push(0x76, 23, Push23.class, Push23::new);
+		push(0x77, 24, Push24.class, Push24::new);
+		push(0x78, 25, Push25.class, Push25::new);
+		push(0x79, 26, Push26.class, Push26::new);
+		push(0x7a, 27, Push27.class, Push27::new);
+		push(0x7b, 28, Push28.class, Push28::new);
+		push(0x7c, 29, Push29.class, Push29::new);
+		push(0x7d, 30, Push30.class, Push30::new);
+		push(0x7e, 31, Push31.class, Push31::new);
+		push(0x7f, 32, Push32.class, Push32::new);
+		op(0x80, "DUP1", 1, 2, Dup1.class, Dup1::new);
+		op(0x81, "DUP2", 2, 3, Dup2.class, Dup2::new);
+		op(0x82, "DUP3", 3, 4, Dup3.class, Dup3::new);
+		op(0x83, "DUP4", 4, 5, Dup4.class, Dup4::new);
+		op(0x84, "DUP5", 5, 6, Dup5.class, Dup5::new);
+		op(0x85, "DUP6", 6, 7, Dup6.class, Dup6::new);
+		op(0x86, "DUP7", 7, 8, Dup7.class, Dup7::new);
+		op(0x87, "DUP8", 8, 9, Dup8.class, Dup8::new);
+		op(0x88, "DUP9", 9, 10, Dup9.class, Dup9::new);
+		op(0x89, "DUP10", 10, 11, Dup10.class, Dup10::new);
+		op(0x8a, "DUP11", 11, 12, Dup11.class, Dup11::new);
+		op(0x8b, "DUP12", 12, 13, Dup12.class, Dup12::new);
+		op(0x8c, "DUP13", 13, 14, Dup13.class, Dup13::new);
+		op(0x8d, "DUP14", 14, 15, Dup14.class, Dup14::new);
+		op(0x8e, "DUP15", 15, 16, Dup15.class, Dup15::new);
+		op(0x8f, "DUP16", 16, 17, Dup16.class, Dup16::new);
+		op(0x90, "SWAP1", 2, 2, Swap1.class, Swap1::new);
+		op(0x91, "SWAP2", 3, 3, Swap2.class, Swap2::new);
+		op(0x92, "SWAP3", 4, 4, Swap3.class, Swap3::new);
+		op(0x93, "SWAP4", 5, 5, Swap4.class, Swap4::new);
+		op(0x94, "SWAP5", 6, 6, Swap5.class, Swap5::new);
+		op(0x95, "SWAP6", 7, 7, Swap6.class, Swap6::new);
+		op(0x96, "SWAP7", 8, 8, Swap7.class, Swap7::new);
+		op(0x97, "SWAP8", 9, 9, Swap8.class, Swap8::new);
+		op(0x98, "SWAP9", 10, 10, Swap9.class, Swap9::new);
+		op(0x99, "SWAP10", 11, 11, Swap10.class, Swap10::new);
+		op(0x9a, "SWAP11", 12, 12, Swap11.class, Swap11::new);
+		op(0x9b, "SWAP12", 13, 13, Swap12.class, Swap12::new);
+		op(0x9c, "SWAP13", 14, 14, Swap13.class, Swap13::new);
+		op(0x9d, "SWAP14", 15, 15, Swap14.class, Swap14::new);
+		op(0x9e, "SWAP15", 16, 16, Swap15.class, Swap15::new);
+		op(0x9f, "SWAP16", 17, 17, Swap16.class, Swap16::new);
+		op(0xa0, "LOG0", 2, 0, Log0.class, Log0::new);
+		op(0xa1, "LOG1", 3, 0, Log1.class, Log1::new);
+		op(0xa2, "LOG2", 4, 0, Log2.class, Log2::new);
+		op(0xa3, "LOG3", 5, 0, Log3.class, Log3::new);
+		op(0xa4, "LOG4", 6, 0, Log4.class, Log4::new);
+		op(0xf0, "CREATE", 3, 1, Create.class, Create::new);
+		op(0xf1, "CALL", 7, 1, Call.class, Call::new);
+		op(0xf2, "CALLCODE", 7, 1, Callcode.class, Callcode::new);
+		terminator(0xf3, "RETURN", 2, 0, Return.class, Return::new);
+		op(0xf4, "DELEGATECALL", 6, 1, Delegatecall.class, Delegatecall::new);
+		op(0xf5, "CREATE2", 4, 1, Create2.class, Create2::new);
+		op(0xfa, "STATICCALL", 6, 1, Staticcall.class, Staticcall::new);
+		terminator(0xfd, "REVERT", 2, 0, Revert.class, Revert::new);
+		terminator(0xfe, "INVALID", 0, 0, Invalid.class, Invalid::new);
+		terminator(0xff, "SELFDESTRUCT", 1, 0, Selfdestruct.class, Selfdestruct::new);
+
+		// mnemonics of the grammar with no opcode in the current EVM
+		op(-1, "JUMPTO", 0, 0, Jumpto.class, Jumpto::new);
+		op(-1, "JUMPIF", 0, 0, Jumpif.class, Jumpif::new);
+		op(-1, "JUMPSUB", 0, 0, Jumpsub.class, Jumpsub::new);
+		op(-1, "JUMPSUBV", 0, 0, Jumpsubv.class, Jumpsubv::new);
+		op(-1, "BEGINSUB", 0, 0, Beginsub.class, Beginsub::new);
+		op(-1, "BEGINDATA", 0, 0, Begindata.class, Begindata::new);
+		op(-1, "RETURNSUB", 0, 0, Returnsub.class, Returnsub::new);
+		op(-1, "PUTLOCAL", 0, 0, Putlocal.class, Putlocal::new);
+		op(-1, "GETLOCA", 0, 0, Getloca.class, Getloca::new);
+		op(-1, "SLOADBYTES", 0, 0, Sloadbytes.class, Sloadbytes::new);
+		op(-1, "SSTOREBYTES", 0, 0, Sstorebytes.class, Sstorebytes::new);
+		op(-1, "SSIZE", 0, 0, Ssize.class, Ssize::new);
+		op(-1, "CALLBLACKBOX", 0, 0, Callblackbox.class, Callblackbox::new);
+		op(-1, "TXEXECGAS", 0, 0, Txexecgas.class, Txexecgas::new);
+	}
+
+	/**
+	 * The STOP opcode.
+	 */
+	public static final Opcode STOP = of(0x00);
+
+	/**
+	 * The SSTORE opcode.
+	 */
+	public static final Opcode SSTORE = of(0x55);
+
+	/**
+	 * The JUMP opcode.
+	 */
+	public static final Opcode JUMP = of(0x56);
+
+	/**
+	 * The JUMPI opcode.
+	 */
+	public static final Opcode JUMPI = of(0x57);
+
+	/**
+	 * The JUMPDEST opcode.
+	 */
+	public static final Opcode JUMPDEST = of(0x5b);
+
+	/**
+	 * The INVALID opcode, also representing the bytes that are not opcodes.
+	 */
+	public static final Opcode INVALID = of(0xfe);
+
+	private final int code;
+	private final String mnemonic;
+	private final int immediateLength;
+	private final int pops;
+	private final int pushes;
+	private final boolean terminator;
+	private final Class<? extends Statement> statement;
+	private final StatementConstructor constructor;
+	private final PushConstructor pushConstructor;
+
+	private Opcode(int code, String mnemonic, int immediateLength, int pops, int pushes, boolean terminator,
+			Class<? extends Statement> statement, StatementConstructor constructor,
+			PushConstructor pushConstructor) {
+		this.code = code;
+		this.mnemonic = mnemonic;
+		this.immediateLength = immediateLength;
+		this.pops = pops;
+		this.pushes = pushes;
+		this.terminator = terminator;
+		this.statement = statement;
+		this.constructor = constructor;
+		this.pushConstructor = pushConstructor;
+	}
+
+	private static void register(Opcode opcode) {
+		if (opcode.code >= 0)
+			BY_CODE[opcode.code] = opcode;
+		BY_MNEMONIC.put(opcode.mnemonic, opcode);
+		BY_STATEMENT.put(opcode.statement, opcode);
+	}
+
+	private static void op(int code, String mnemonic, int pops, int pushes, Class<? extends Statement> statement,
+			StatementConstructor constructor) {
+		register(new Opcode(code, mnemonic, 0, pops, pushes, false, statement, constructor, null));
+	}
+
+	private static void terminator(int code, String mnemonic, int pops, int pushes,
+			Class<? extends Statement> statement, StatementConstructor constructor) {
+		register(new Opcode(code, mnemonic, 0, pops, pushes, true, statement, constructor, null));
+	}
+
+	private static void push(int code, int n, Class<? extends Statement> statement, PushConstructor constructor) {
+		register(new Opcode(code, "PUSH" + n, n, 0, 1, false, statement, null, constructor));
+	}
+
+	/**
+	 * Yields the opcode of the given byte.
+	 *
+	 * @param code the byte of the opcode, as an unsigned value
+	 *
+	 * @return the opcode, or {@code null} if {@code code} is not an opcode
+	 */
+	public static Opcode of(int code) {
+		return code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+	}
+
+	/**
+	 * Yields the opcode with the given mnemonic.
+	 *
+	 * @param mnemonic the mnemonic of the opcode
+	 *
+	 * @return the opcode, or {@code null} if there is no opcode with the given
+	 *             mnemonic
+	 */
+	public static Opcode of(String mnemonic) {
+		return BY_MNEMONIC.get(mnemonic);
+	}
+
+	/**
+	 * Yields the opcode represented by the given statement.
+	 *
+	 * @param statement the statement
+	 *
+	 * @return the opcode, or {@code null} if the statement does not represent
+	 *             an opcode
+	 */
+	public static Opcode of(Statement statement) {
+		return BY_STATEMENT.get(statement.getClass());
+	}
+
+	/**
+	 * Yields the byte of this opcode.
+	 *
+	 * @return the byte of this opcode, or -1 if this is a mnemonic of the
+	 *             grammar with no opcode in the current EVM
+	 */
+	public int getCode() {
+		return code;
+	}
+
+	/**
+	 * Yields the mnemonic of this opcode.
+	 *
+	 * @return the mnemonic of this opcode
+	 */
+	public String getMnemonic() {
+		return mnemonic;
+	}
+
+	/**
+	 * Yields the number of bytes of immediate data following this opcode.
+	 *
+	 * @return the number of bytes of immediate data
+	 */
+	public int getImmediateLength() {
+		return immediateLength;
+	}
+
+	/**
+	 * Yields the number of elements popped from the stack by this opcode.
+	 *
+	 * @return the number of popped elements
+	 */
+	public int getPops() {
+		return pops;
+	}
+
+	/**
+	 * Yields the number of elements pushed on the stack by this opcode.
+	 *
+	 * @return the number of pushed elements
+	 */
+	public int getPushes() {
+		return pushes;
+	}
+
+	/**
+	 * Yields whether this opcode ends a basic block, i.e., the execution does
+	 * not fall through to the next opcode, except for the false branch of a
+	 * JUMPI.
+	 *
+	 * @return {@code true} if this opcode ends a basic block
+	 */
+	public boolean isTerminator() {
+		return terminator;
+	}
+
+	/**
+	 * Builds the statement of this opcode.
+	 *
+	 * @param cfg       the cfg that the statement belongs to
+	 * @param location  the location of the statement
+	 * @param immediate the hexadecimal immediate data, prefixed by
+	 *                      {@code 0x}, of a push; ignored by the other
+	 *                      opcodes
+	 *
+	 * @return the statement of this opcode
+	 */
+	public Statement create(CFG cfg, CodeLocation location, String immediate) {
+		if (pushConstructor != null)
+			return pushConstructor.create(cfg, location, new HexDecimalLiteral(cfg, location, immediate));
+		return constructor.create(cfg, location);
+	}
+
+	@Override
+	public String toString() {
+		return mnemonic;
+	}
+}
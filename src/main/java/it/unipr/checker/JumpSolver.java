@@ -2,9 +2,10 @@ package it.unipr.checker;
 
 import it.unipr.analysis.AbstractStack;
 import it.unipr.analysis.AbstractStackSet;
+import it.unipr.analysis.AnalysisContext;
 import it.unipr.analysis.EVMAbstractState;
-import it.unipr.analysis.Number;
 import it.unipr.analysis.StackElement;
+import it.unipr.analysis.UInt256;
 import it.unipr.cfg.EVMCFG;
 import it.unipr.cfg.Jump;
 import it.unipr.cfg.Jumpi;
@@ -33,7 +34,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -74,6 +74,13 @@ public class JumpSolver implements
 	 */
 	private Map<Statement, Set<StackElement>> topStackValuesPerJump = new HashMap<>();
 
+	/**
+	 * The destinations of the jumps solved to JUMPDESTs that are not
+	 * materialized yet (see {@link EVMCFG#materializeLazily(byte[], int)}).
+	 * They are materialized and linked once the visit of the CFG is over.
+	 */
+	private final Map<Statement, Set<UInt256>> deferredDests = new HashMap<>();
+
 	/**
 	 * Yields the computed CFG.
 	 * 
@@ -99,19 +106,35 @@ public class JumpSolver implements
 		return topStackValuesPerJump.get(node);
 	}
 
-	private static boolean LINK_UNSOUND_JUMPS_TO_ALL_JUMPDEST = false;
+	/**
+	 * The configuration of the analysis this solver belongs to.
+	 */
+	private final AnalysisContext context;
 
-	static public void setLinkUnsoundJumpsToAllJumpdest() {
-		LINK_UNSOUND_JUMPS_TO_ALL_JUMPDEST = true;
+	/**
+	 * Builds the solver for the given analysis.
+	 * 
+	 * @param context the configuration of the analysis
+	 */
+	public JumpSolver(AnalysisContext context) {
+		this.context = context;
 	}
 
-	static public boolean getLinkUnsoundJumpsToAllJumpdest() {
-		return LINK_UNSOUND_JUMPS_TO_ALL_JUMPDEST;
+	/**
+	 * Yields the configuration of the analysis this solver belongs to.
+	 * 
+	 * @return the configuration of the analysis
+	 */
+	public AnalysisContext getContext() {
+		return context;
 	}
 
 	/**
 	 * {@inheritDoc} Checks if analysis has reached fix-point. If not, it runs
 	 * another LiSA analysis to solve the remaining jumps and reach fix-point.
+	 * The new analysis resumes the fixpoint of the previous one (see
+	 * {@link EVMCFG#fixpoint}), recomputing only the states reachable from
+	 * the newly added edges.
 	 * 
 	 * @param tool the semantic check tool that is running this check.
 	 */
@@ -126,7 +149,7 @@ public class JumpSolver implements
 			this.unsoundJumps = new HashSet<>();
 
 			for (Statement node : this.cfgToAnalyze.getAllJumps()) {
-				if (cfgToAnalyze.getAllPushedJumps().contains(node))
+				if (cfgToAnalyze.isPushedJump(node))
 					continue;
 
 				for (AnalyzedCFG<SimpleAbstractState<MonolithicHeap, EVMAbstractState,
@@ -174,6 +197,14 @@ public class JumpSolver implements
 			return;
 		}
 
+		// Each re-run may take as long as the first one: stop here if the
+		// budget of the contract is exhausted
+		cfgToAnalyze.getBudget().check();
+
+		// The visit is over: the JUMPDESTs the jumps have been solved to can
+		// be materialized and linked, before the re-run analyzes them
+		linkDeferredDests();
+
 		this.fixpoint = true;
 
 		LiSAConfiguration conf = tool.getConfiguration();
@@ -185,6 +216,9 @@ public class JumpSolver implements
 		try {
 			lisa.run(program);
 		} catch (AnalysisException e) {
+			// LiSA wraps the failures of the fixpoint, hence the exhaustion
+			// of the budget is checked again rather than swallowed
+			cfgToAnalyze.getBudget().check();
 			log.error("(JumpSolver): {}", e.getMessage());
 		}
 	}
@@ -209,7 +243,7 @@ public class JumpSolver implements
 		// The method focuses only on JUMP and JUMPI statements
 		if (!(node instanceof Jump) && !(node instanceof Jumpi))
 			return true;
-		else if (cfgToAnalyze.getAllPushedJumps().contains(node))
+		else if (cfgToAnalyze.isPushedJump(node))
 			return true;
 
 		// Iterate over all the analysis results, in our case there will be only
@@ -240,19 +274,19 @@ public class JumpSolver implements
 				continue;
 			}
 
-			Set<Number> flattenedTopStack = valueState.getTop().stream()
-					.filter(t -> !t.isTop() && !t.isBottom())
-					.map(s -> s.getNumber())
-					.collect(Collectors.toSet());
-
-			Set<Statement> filteredDests = this.cfgToAnalyze.getAllJumpdest().stream()
-					.filter(pc -> {
-						ProgramCounterLocation pcLocation = (ProgramCounterLocation) pc.getLocation();
-						int pcValue = pcLocation.getPc();
-						// Check if the value is in the flattened set
-						return flattenedTopStack.contains(new Number(pcValue));
-					})
-					.collect(Collectors.toSet());
+			// Look up the JUMPDEST at each value on top of the stacks
+			Set<Statement> filteredDests = new HashSet<>();
+			for (StackElement top : valueState.getTop())
+				if (!top.isTop() && !top.isBottom()) {
+					Statement dest = this.cfgToAnalyze.getJumpdestAt(top.getNumber());
+					if (dest != null)
+						filteredDests.add(dest);
+					else if (this.cfgToAnalyze.isUnmaterializedJumpdestAt(top.getNumber())) {
+						// nodes cannot be added while the CFG is visited
+						deferredDests.computeIfAbsent(node, k -> new HashSet<>()).add(top.getNumber());
+						this.fixpoint = false;
+					}
+				}
 
 			// For each JUMPDEST, add the missing edge from this node to
 			// the JUMPDEST.
@@ -265,6 +299,24 @@ public class JumpSolver implements
 		return true;
 	}
 
+	/**
+	 * Materializes the JUMPDESTs the jumps have been solved to during the
+	 * visit of the CFG, linking the jumps to them.
+	 */
+	private void linkDeferredDests() {
+		for (Map.Entry<Statement, Set<UInt256>> entry : deferredDests.entrySet()) {
+			Set<Statement> dests = new HashSet<>();
+			for (UInt256 pc : entry.getValue())
+				dests.add(this.cfgToAnalyze.materializeJumpdestAt(pc));
+
+			if (entry.getKey() instanceof Jump)
+				addEdgesToCFG(entry.getKey(), dests, SequentialEdge.class);
+			else
+				addEdgesToCFG(entry.getKey(), dests, TrueEdge.class);
+		}
+		deferredDests.clear();
+	}
+
 	private <T extends Edge> void addEdgesToCFG(Statement node, Set<Statement> filteredDests, Class<T> edgeClass) {
 		for (Statement jmp : filteredDests) {
 			Edge edge = edgeClass.equals(SequentialEdge.class) ? new SequentialEdge(node, jmp)
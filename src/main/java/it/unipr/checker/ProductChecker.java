@@ -0,0 +1,93 @@
+package it.unipr.checker;
+
+import it.unipr.analysis.ProductAbstractDomain;
+import it.unipr.analysis.taint.TimestampDependencyAbstractDomain;
+import it.unipr.analysis.taint.TxOriginAbstractDomain;
+import it.unipr.cfg.EVMCFG;
+import it.unive.lisa.analysis.AnalysisState;
+import it.unive.lisa.analysis.AnalyzedCFG;
+import it.unive.lisa.analysis.SemanticException;
+import it.unive.lisa.analysis.SimpleAbstractState;
+import it.unive.lisa.analysis.heap.MonolithicHeap;
+import it.unive.lisa.analysis.nonrelational.value.TypeEnvironment;
+import it.unive.lisa.analysis.types.InferredTypes;
+import it.unive.lisa.checks.semantic.CheckToolWithAnalysisResults;
+import it.unive.lisa.checks.semantic.SemanticCheck;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.statement.Statement;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A semantic checker running the {@link ReentrancyChecker}, the
+ * {@link TxOriginChecker} and the {@link TimestampDependencyChecker} in a
+ * single traversal over the results of an analysis with the
+ * {@link ProductAbstractDomain}. Each checker inspects the component of the
+ * product it was designed for.
+ */
+public class ProductChecker implements
+		SemanticCheck<SimpleAbstractState<MonolithicHeap, ProductAbstractDomain, TypeEnvironment<InferredTypes>>> {
+
+	private static final Logger log = LogManager.getLogger(ProductChecker.class);
+
+	private final ReentrancyChecker reentrancy;
+	private final TxOriginChecker txOrigin;
+	private final TimestampDependencyChecker timestampDependency;
+
+	/**
+	 * Builds the checker, running the enabled checks only.
+	 *
+	 * @param reentrancy          whether the reentrancy check is enabled
+	 * @param txOrigin            whether the tx-origin check is enabled
+	 * @param timestampDependency whether the timestamp-dependency check is
+	 *                                enabled
+	 */
+	public ProductChecker(boolean reentrancy, boolean txOrigin, boolean timestampDependency) {
+		this.reentrancy = reentrancy ? new ReentrancyChecker() : null;
+		this.txOrigin = txOrigin ? new TxOriginChecker() : null;
+		this.timestampDependency = timestampDependency ? new TimestampDependencyChecker() : null;
+	}
+
+	@Override
+	public boolean visit(
+			CheckToolWithAnalysisResults<
+					SimpleAbstractState<MonolithicHeap, ProductAbstractDomain, TypeEnvironment<InferredTypes>>> tool,
+			CFG graph, Statement node) {
+
+		boolean checkReentrancy = reentrancy != null && ReentrancyChecker.inspects(node);
+		boolean checkTxOrigin = txOrigin != null && TxOriginChecker.inspects(node);
+		boolean checkTimestampDependency = timestampDependency != null
+				&& TimestampDependencyChecker.inspects(node);
+
+		if (!checkReentrancy && !checkTxOrigin && !checkTimestampDependency)
+			return true;
+
+		EVMCFG cfg = (EVMCFG) graph;
+
+		for (AnalyzedCFG<SimpleAbstractState<MonolithicHeap, ProductAbstractDomain,
+				TypeEnvironment<InferredTypes>>> result : tool.getResultOf(cfg)) {
+			AnalysisState<SimpleAbstractState<MonolithicHeap, ProductAbstractDomain,
+					TypeEnvironment<InferredTypes>>> analysisResult = null;
+
+			try {
+				analysisResult = result.getAnalysisStateBefore(node);
+			} catch (SemanticException e1) {
+				log.error("(ProductChecker): {}", e1.getMessage());
+			}
+
+			ProductAbstractDomain product = analysisResult.getState().getValueState();
+
+			if (checkReentrancy)
+				reentrancy.check(tool, cfg, node, product.getEVMState());
+
+			if (checkTxOrigin)
+				txOrigin.check(tool, cfg, node, product.getTaintState(TxOriginAbstractDomain.class));
+
+			if (checkTimestampDependency)
+				timestampDependency.check(tool, cfg, node,
+						product.getTaintState(TimestampDependencyAbstractDomain.class));
+		}
+
+		return true;
+	}
+}
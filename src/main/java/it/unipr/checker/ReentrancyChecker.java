@@ -35,7 +35,6 @@ public class ReentrancyChecker implements
 
 		if (node instanceof Call) {
 			EVMCFG cfg = ((EVMCFG) graph);
-			Statement call = node; // Renaming
 
 			for (AnalyzedCFG<SimpleAbstractState<MonolithicHeap, EVMAbstractState,
 					TypeEnvironment<InferredTypes>>> result : tool.getResultOf(cfg)) {
@@ -43,34 +42,55 @@ public class ReentrancyChecker implements
 						TypeEnvironment<InferredTypes>>> analysisResult = null;
 
 				try {
-					analysisResult = result.getAnalysisStateBefore(call);
+					analysisResult = result.getAnalysisStateBefore(node);
 				} catch (SemanticException e1) {
 					log.error("(ReentrancyChecker): {}", e1.getMessage());
 				}
 
 				// Retrieve the symbolic stack from the analysis result
-				EVMAbstractState valueState = analysisResult.getState().getValueState();
-
-				// If the value state is bottom, the jump is definitely
-				// unreachable
-				if (valueState.isBottom())
-					// Nothing to do
-					continue;
-				else if (valueState.isTop())
-					checkForReentrancy(call, tool, cfg);
-				else {
-					for (AbstractStack stack : valueState.getStacks()) {
-						StackElement sndElem = stack.getSecondElement();
-						if (sndElem.isTop() || sndElem.isTopNotJumpdest())
-							checkForReentrancy(call, tool, cfg);
-					}
-				}
+				check(tool, cfg, node, analysisResult.getState().getValueState());
 			}
 		}
 
 		return true;
 	}
 
+	/**
+	 * Yields whether this checker inspects the given node.
+	 *
+	 * @param node the node
+	 *
+	 * @return {@code true} if the node is a CALL, {@code false} otherwise
+	 */
+	static boolean inspects(Statement node) {
+		return node instanceof Call;
+	}
+
+	/**
+	 * Checks the given CALL statement, given the EVM state before it.
+	 *
+	 * @param tool       the tool collecting the warnings
+	 * @param cfg        the CFG containing the statement
+	 * @param call       the CALL statement
+	 * @param valueState the EVM state before the statement
+	 */
+	void check(CheckToolWithAnalysisResults<?> tool, EVMCFG cfg, Statement call, EVMAbstractState valueState) {
+		// If the value state is bottom, the jump is definitely
+		// unreachable
+		if (valueState.isBottom())
+			// Nothing to do
+			return;
+		else if (valueState.isTop())
+			checkForReentrancy(call, tool, cfg);
+		else {
+			for (AbstractStack stack : valueState.getStacks()) {
+				StackElement sndElem = stack.getSecondElement();
+				if (sndElem.isTop() || sndElem.isTopNotJumpdest())
+					checkForReentrancy(call, tool, cfg);
+			}
+		}
+	}
+
 	/**
 	 * Checks for potential reentrancy vulnerabilities in the contract by
 	 * analyzing the flow from a CALL instruction to the furthest reachable
@@ -82,8 +102,7 @@ public class ReentrancyChecker implements
 	 * @param tool The analysis tool used to track and report vulnerabilities.
 	 * @param cfg  The control flow graph of the contract being analyzed.
 	 */
-	private void checkForReentrancy(Statement call, CheckToolWithAnalysisResults<
-			SimpleAbstractState<MonolithicHeap, EVMAbstractState, TypeEnvironment<InferredTypes>>> tool, EVMCFG cfg) {
+	private void checkForReentrancy(Statement call, CheckToolWithAnalysisResults<?> tool, EVMCFG cfg) {
 
 		Set<Statement> otherSstores = cfg.getFurthestSstores(call);
 
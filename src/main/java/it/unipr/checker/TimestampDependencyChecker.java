@@ -37,8 +37,7 @@ public class TimestampDependencyChecker implements
 
 		EVMCFG cfg = ((EVMCFG) graph);
 
-		if (node instanceof Jump || node instanceof Return || node instanceof Jumpi || node instanceof Sstore
-				|| node instanceof Sha3)
+		if (inspects(node))
 			for (AnalyzedCFG<SimpleAbstractState<MonolithicHeap, TaintAbstractDomain,
 					TypeEnvironment<InferredTypes>>> result : tool.getResultOf(cfg)) {
 				AnalysisState<SimpleAbstractState<MonolithicHeap, TaintAbstractDomain,
@@ -51,28 +50,50 @@ public class TimestampDependencyChecker implements
 				}
 
 				// Retrieve the symbolic stack from the analysis result
-				TaintAbstractDomain taintedStack = analysisResult.getState().getValueState();
-
-				// If the stack is bottom, the jump is definitely
-				// unreachable
-				if (taintedStack.isBottom())
-					// Nothing to do
-					continue;
-				else {
-					if (node instanceof Sha3 || node instanceof Sstore || node instanceof Jumpi
-							|| node instanceof Return) {
-						if (checkTaintTwoPops(taintedStack))
-							raiseWarning(node, tool, cfg);
-					} else if (node instanceof Jump) {
-						if (checkTaintOnePop(taintedStack))
-							raiseWarning(node, tool, cfg);
-					}
-				}
+				check(tool, cfg, node, analysisResult.getState().getValueState());
 			}
 
 		return true;
 	}
 
+	/**
+	 * Yields whether this checker inspects the given node.
+	 *
+	 * @param node the node
+	 *
+	 * @return {@code true} if the node is a sink of timestamp-dependent
+	 *             values, {@code false} otherwise
+	 */
+	static boolean inspects(Statement node) {
+		return node instanceof Jump || node instanceof Return || node instanceof Jumpi || node instanceof Sstore
+				|| node instanceof Sha3;
+	}
+
+	/**
+	 * Checks the given sink statement, given the taint stack before it.
+	 *
+	 * @param tool         the tool collecting the warnings
+	 * @param cfg          the CFG containing the statement
+	 * @param node         the sink statement
+	 * @param taintedStack the taint stack before the statement
+	 */
+	void check(CheckToolWithAnalysisResults<?> tool, EVMCFG cfg, Statement node, TaintAbstractDomain taintedStack) {
+		// If the stack is bottom, the jump is definitely
+		// unreachable
+		if (taintedStack.isBottom())
+			// Nothing to do
+			return;
+
+		if (node instanceof Sha3 || node instanceof Sstore || node instanceof Jumpi
+				|| node instanceof Return) {
+			if (checkTaintTwoPops(taintedStack))
+				raiseWarning(node, tool, cfg);
+		} else if (node instanceof Jump) {
+			if (checkTaintOnePop(taintedStack))
+				raiseWarning(node, tool, cfg);
+		}
+	}
+
 	// 2 pop()
 	private boolean checkTaintTwoPops(TaintAbstractDomain taintedStack) {
 		TaintElement firstStackElement = taintedStack.getFirstElement();
@@ -95,9 +116,7 @@ public class TimestampDependencyChecker implements
 		return false;
 	}
 
-	private void raiseWarning(Statement sink, CheckToolWithAnalysisResults<
-			SimpleAbstractState<MonolithicHeap, TaintAbstractDomain, TypeEnvironment<InferredTypes>>> tool,
-			EVMCFG cfg) {
+	private void raiseWarning(Statement sink, CheckToolWithAnalysisResults<?> tool, EVMCFG cfg) {
 		ProgramCounterLocation sinkLoc = (ProgramCounterLocation) sink.getLocation();
 
 		log.debug("Timestamp attack at {} at line no. {}", sinkLoc.getPc(),
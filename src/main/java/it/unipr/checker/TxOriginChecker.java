@@ -46,38 +46,57 @@ public class TxOriginChecker implements
 				}
 
 				// Retrieve the symbolic stack from the analysis result
-				TaintAbstractDomain stack = analysisResult.getState().getValueState();
-
-				// If the stack is bottom, the node is definitely
-				// unreachable
-				if (stack.isBottom())
-					// Nothing to do
-					continue;
-				else {
-					TaintElement firstElem = stack.getFirstElement();
-					TaintElement secondElem = stack.getSecondElement();
-					if (firstElem.isBottom() || secondElem.isBottom())
-						// Nothing to do
-						continue;
-					else {
-						// Checks if either first or second element in the
-						// stack is tainted
-						if (firstElem.isTaint() || secondElem.isTaint()) {
-							ProgramCounterLocation jumploc = (ProgramCounterLocation) node.getLocation();
-
-							log.debug("Tx. Origin attack at {} at line no. {}", jumploc.getPc(),
-									jumploc.getSourceCodeLine());
-
-							String warn = "TxOrigin attack at "
-									+ ((ProgramCounterLocation) node.getLocation()).getSourceCodeLine();
-							tool.warn(warn);
-							MyCache.getInstance().addTxOriginWarning(cfg.hashCode(), warn);
-						}
-					}
-				}
+				check(tool, cfg, node, analysisResult.getState().getValueState());
 			}
 		}
 
 		return true;
 	}
+
+	/**
+	 * Yields whether this checker inspects the given node.
+	 *
+	 * @param node the node
+	 *
+	 * @return {@code true} if the node is a JUMPI, {@code false} otherwise
+	 */
+	static boolean inspects(Statement node) {
+		return node instanceof Jumpi;
+	}
+
+	/**
+	 * Checks the given JUMPI statement, given the taint stack before it.
+	 *
+	 * @param tool  the tool collecting the warnings
+	 * @param cfg   the CFG containing the statement
+	 * @param node  the JUMPI statement
+	 * @param stack the taint stack before the statement
+	 */
+	void check(CheckToolWithAnalysisResults<?> tool, EVMCFG cfg, Statement node, TaintAbstractDomain stack) {
+		// If the stack is bottom, the node is definitely
+		// unreachable
+		if (stack.isBottom())
+			// Nothing to do
+			return;
+
+		TaintElement firstElem = stack.getFirstElement();
+		TaintElement secondElem = stack.getSecondElement();
+		if (firstElem.isBottom() || secondElem.isBottom())
+			// Nothing to do
+			return;
+
+		// Checks if either first or second element in the
+		// stack is tainted
+		if (firstElem.isTaint() || secondElem.isTaint()) {
+			ProgramCounterLocation jumploc = (ProgramCounterLocation) node.getLocation();
+
+			log.debug("Tx. Origin attack at {} at line no. {}", jumploc.getPc(),
+					jumploc.getSourceCodeLine());
+
+			String warn = "TxOrigin attack at "
+					+ ((ProgramCounterLocation) node.getLocation()).getSourceCodeLine();
+			tool.warn(warn);
+			MyCache.getInstance().addTxOriginWarning(cfg.hashCode(), warn);
+		}
+	}
 }
\ No newline at end of file
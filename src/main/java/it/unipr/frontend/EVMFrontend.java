@@ -1,6 +1,9 @@
 package it.unipr.frontend;
 
 import io.github.cdimascio.dotenv.Dotenv;
+import it.unipr.cfg.EVMCFG;
+import it.unipr.cfg.EVMCFGSnapshot;
+import it.unipr.cfg.Opcode;
 import it.unipr.evm.antlr.EVMBLexer;
 import it.unipr.evm.antlr.EVMBParser;
 import it.unipr.evm.antlr.EVMBParser.ProgramContext;
@@ -19,6 +22,10 @@ import java.io.Writer;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 
@@ -30,6 +37,8 @@ import org.antlr.v4.runtime.CommonTokenStream;
  * ETHERSCAN_API_KEY.
  */
 public class EVMFrontend {
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
 	/**
 	 * Verifies the syntactic correctness of the smart contract bytecode stored
 	 * in {@code filePath} and returns its {@code ProgramContext}.
@@ -85,7 +94,9 @@ public class EVMFrontend {
 	 * This method reads the bytecode, identifies opcodes and their associated
 	 * push data, and writes the results to the specified output file. If the
 	 * bytecode string is null or empty, the method logs an error message and
-	 * returns false, indicating that the output file will not be created.
+	 * returns false, indicating that the output file will not be created. The
+	 * metadata and the unreachable data at the end of the bytecode, found by
+	 * {@link #codeLength(byte[])}, are not written.
 	 * </p>
 	 *
 	 * @param bytecode the bytecode string to be processed, must not be null or
@@ -106,17 +117,29 @@ public class EVMFrontend {
 			return false;
 		}
 
+		bytecode = bytecode.trim();
+
+		// The metadata and the unreachable data are not decoded
+		int end = bytecode.length();
+		try {
+			byte[] code = hexToBytes(bytecode);
+			end -= 2 * (code.length - codeLength(code));
+		} catch (IllegalArgumentException e) {
+			// not a valid hexadecimal string: invalid digits are decoded as
+			// unknown opcodes
+		}
+
 		BufferedWriter writer = new BufferedWriter(new FileWriter(output));
 
-		for (int i = 2; i < bytecode.length(); i += 2) {
+		for (int i = 2; i < end; i += 2) {
 			String opcode = bytecode.substring(i, i + 2);
 			int t = pushTest(opcode);
 
 			if (t != 0) {
 				String push;
 				int offset = (i + 2 + 2 * t);
-				if (offset > bytecode.length())
-					push = bytecode.substring(i + 2);
+				if (offset > end)
+					push = bytecode.substring(i + 2, end);
 				else
 					push = bytecode.substring(i + 2, (i + 2 + 2 * t));
 
@@ -186,6 +209,249 @@ public class EVMFrontend {
 		return program;
 	}
 
+	/**
+	 * Takes the smart contract bytecode, as an hexadecimal string, and
+	 * generates its control flow graph which is then returned as a LiSA
+	 * {@code Program}. Differently from
+	 * {@link #generateCfgFromFile(String)}, the bytecode is decoded directly,
+	 * without writing and parsing its mnemonic representation.
+	 * 
+	 * @param bytecode the hexadecimal bytecode, optionally prefixed by
+	 *                     {@code 0x}
+	 * @param name     the name of the generated control flow graph
+	 * 
+	 * @return a LiSA {@code Program} representing the generated control flow
+	 *             graph
+	 * 
+	 * @throws IllegalArgumentException if the bytecode is not a valid
+	 *                                      hexadecimal string or it is empty
+	 */
+	public static Program generateCfgFromBytecode(String bytecode, String name) {
+		return generateCfgFromBytecode(hexToBytes(bytecode), name);
+	}
+
+	/**
+	 * Takes the raw smart contract bytecode and generates its control flow
+	 * graph which is then returned as a LiSA {@code Program}. The metadata
+	 * and the unreachable data at the end of the bytecode, found by
+	 * {@link #codeLength(byte[])}, are not part of the control flow graph.
+	 * 
+	 * @param bytecode the raw bytecode
+	 * @param name     the name of the generated control flow graph
+	 * 
+	 * @return a LiSA {@code Program} representing the generated control flow
+	 *             graph
+	 * 
+	 * @throws IllegalArgumentException if the bytecode is empty
+	 */
+	public static Program generateCfgFromBytecode(byte[] bytecode, String name) {
+		return generateCfgFromBytecode(bytecode, name, false);
+	}
+
+	/**
+	 * Takes the raw smart contract bytecode and generates its control flow
+	 * graph, as {@link #generateCfgFromBytecode(byte[], String)}. If
+	 * {@code lazy} is set, the control flow graph is materialized on demand,
+	 * starting from the entrypoint and from the JUMPDESTs the analysis solves
+	 * the jumps to (see {@link EVMCFGGenerator#visitBytecodeLazily(byte[], int)}).
+	 * 
+	 * @param bytecode the raw bytecode
+	 * @param name     the name of the generated control flow graph
+	 * @param lazy     whether the control flow graph is materialized on
+	 *                     demand
+	 * 
+	 * @return a LiSA {@code Program} representing the generated control flow
+	 *             graph
+	 * 
+	 * @throws IllegalArgumentException if the bytecode is empty
+	 */
+	public static Program generateCfgFromBytecode(byte[] bytecode, String name, boolean lazy) {
+		Program program = new Program(new EVMLiSAFeatures(), new EVMLiSATypeSystem());
+		EVMCFGGenerator cfggenerator = new EVMCFGGenerator(name, program);
+
+		int length = codeLength(bytecode);
+		CFG cfg = lazy ? cfggenerator.visitBytecodeLazily(bytecode, length)
+				: cfggenerator.visitBytecode(bytecode, length);
+		program.addCodeMember(cfg);
+
+		return program;
+	}
+
+	/**
+	 * Loads the control flow graph stored in the snapshot {@code filePath},
+	 * written by {@link EVMCFGSnapshot#write(EVMCFG, java.io.OutputStream)},
+	 * and returns it as a LiSA {@code Program}. The jumps resolved before
+	 * taking the snapshot are already linked to their destinations.
+	 * 
+	 * @param filePath the path of the snapshot
+	 * 
+	 * @return a LiSA {@code Program} representing the loaded control flow
+	 *             graph
+	 * 
+	 * @throws IOException if the snapshot cannot be read or it is not valid
+	 */
+	public static Program generateCfgFromSnapshot(Path filePath) throws IOException {
+		Program program = new Program(new EVMLiSAFeatures(), new EVMLiSATypeSystem());
+
+		try (InputStream in = Files.newInputStream(filePath)) {
+			program.addCodeMember(EVMCFGSnapshot.read(in, program));
+		}
+
+		return program;
+	}
+
+	/**
+	 * Yields the length of the code of the given runtime bytecode, i.e., the
+	 * bytecode without the trailing bytes that can never be executed:
+	 * <ul>
+	 * <li>the CBOR-encoded metadata appended by Solidity, whose length is
+	 * stored in the last two bytes of the bytecode;</li>
+	 * <li>the data following the last instruction that halts or jumps, if
+	 * there is no JUMPDEST after it, since it can be reached neither by falling
+	 * through nor by jumping (e.g., the constants embedded by the
+	 * compiler).</li>
+	 * </ul>
+	 * 
+	 * @param bytecode the raw bytecode
+	 * 
+	 * @return the number of bytes of code, from the start of the bytecode
+	 */
+	public static int codeLength(byte[] bytecode) {
+		int end = bytecode.length - metadataLength(bytecode);
+
+		int codeEnd = end;
+		for (int pc = 0; pc < end;) {
+			Opcode opcode = Opcode.of(bytecode[pc] & 0xff);
+			int next = pc + 1 + (opcode != null ? opcode.getImmediateLength() : 0);
+
+			if (opcode == Opcode.JUMPDEST)
+				codeEnd = end;
+			else if (opcode == null || (opcode.isTerminator() && opcode != Opcode.JUMPI))
+				// unknown opcodes halt as INVALID
+				codeEnd = Math.min(next, end);
+
+			pc = next;
+		}
+
+		return codeEnd;
+	}
+
+	/**
+	 * Yields the number of bytes of the Solidity metadata at the end of the
+	 * given bytecode, including its two-byte length, or 0 if the bytecode does
+	 * not end with metadata. The metadata is recognized by its length, by the
+	 * halting opcode (STOP or INVALID) before it and by its encoding as a
+	 * CBOR map whose first key is a text string (e.g., {@code "ipfs"}).
+	 */
+	private static int metadataLength(byte[] bytecode) {
+		if (bytecode.length < 4)
+			return 0;
+
+		int length = ((bytecode[bytecode.length - 2] & 0xff) << 8) | (bytecode[bytecode.length - 1] & 0xff);
+		int start = bytecode.length - 2 - length;
+		if (length < 2 || start < 2)
+			return 0;
+
+		int halt = bytecode[start - 1] & 0xff;
+		int map = bytecode[start] & 0xff;
+		int key = bytecode[start + 1] & 0xff;
+		if ((halt != 0x00 && halt != 0xfe) || map < 0xa1 || map > 0xb7 || key < 0x60 || key > 0x77)
+			return 0;
+
+		return length + 2;
+	}
+
+	/**
+	 * Converts an hexadecimal bytecode to the bytes it represents.
+	 * 
+	 * @param bytecode the hexadecimal bytecode, optionally prefixed by
+	 *                     {@code 0x}
+	 * 
+	 * @return the bytes of the bytecode
+	 * 
+	 * @throws IllegalArgumentException if the bytecode is not a valid
+	 *                                      hexadecimal string
+	 */
+	public static byte[] hexToBytes(String bytecode) {
+		String hex = bytecode.trim();
+		if (hex.startsWith("0x") || hex.startsWith("0X"))
+			hex = hex.substring(2);
+
+		if (hex.length() % 2 != 0)
+			throw new IllegalArgumentException("Odd number of hexadecimal digits in the bytecode");
+
+		byte[] result = new byte[hex.length() / 2];
+		for (int i = 0; i < result.length; i++) {
+			int high = Character.digit(hex.charAt(2 * i), 16);
+			int low = Character.digit(hex.charAt(2 * i + 1), 16);
+			if (high < 0 || low < 0)
+				throw new IllegalArgumentException("Invalid hexadecimal digit in the bytecode at " + 2 * i);
+			result[i] = (byte) ((high << 4) | low);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Converts the given bytes to their hexadecimal string, in lowercase and
+	 * with no prefix.
+	 *
+	 * @param bytes the bytes
+	 *
+	 * @return the hexadecimal string
+	 */
+	public static String toHex(byte[] bytes) {
+		char[] hex = new char[2 * bytes.length];
+		toHex(bytes, 0, bytes.length, hex, 0);
+		return new String(hex);
+	}
+
+	/**
+	 * Yields the hexadecimal literal, prefixed by {@code 0x}, of the bytes of
+	 * {@code bytes} from {@code from} (inclusive) to {@code to} (exclusive).
+	 *
+	 * @param bytes the bytes
+	 * @param from  the first byte, inclusive
+	 * @param to    the last byte, exclusive
+	 *
+	 * @return the hexadecimal literal
+	 */
+	public static String toHexLiteral(byte[] bytes, int from, int to) {
+		char[] hex = new char[2 + 2 * (to - from)];
+		hex[0] = '0';
+		hex[1] = 'x';
+		toHex(bytes, from, to, hex, 2);
+		return new String(hex);
+	}
+
+	private static void toHex(byte[] bytes, int from, int to, char[] hex, int offset) {
+		for (int i = from, j = offset; i < to; i++) {
+			hex[j++] = HEX_DIGITS[(bytes[i] >> 4) & 0xf];
+			hex[j++] = HEX_DIGITS[bytes[i] & 0xf];
+		}
+	}
+
+	/**
+	 * Yields the SHA-256 hash of the concatenation of the given bytes.
+	 *
+	 * @param chunks the bytes to hash
+	 *
+	 * @return the hash
+	 */
+	public static byte[] sha256(byte[]... chunks) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+
+		for (byte[] chunk : chunks)
+			digest.update(chunk);
+		return digest.digest();
+	}
+
 	/**
 	 * Helper method that maps the EVM opcodes to their corresponding
 	 * instruction.
@@ -196,438 +462,30 @@ public class EVMFrontend {
 	 * @throws IOException
 	 */
 	private static boolean addOpcode(String opcode, Writer writer) throws IOException {
-		switch (opcode) {
-		case "00":
-			writer.write("STOP\n");
-			break;
-		case "01":
-			writer.write("ADD\n");
-			break;
-		case "02":
-			writer.write("MUL\n");
-			break;
-		case "03":
-			writer.write("SUB\n");
-			break;
-		case "04":
-			writer.write("DIV\n");
-			break;
-		case "05":
-			writer.write("SDIV\n");
-			break;
-		case "06":
-			writer.write("MOD\n");
-			break;
-		case "07":
-			writer.write("SMOD\n");
-			break;
-		case "08":
-			writer.write("ADDMOD\n");
-			break;
-		case "09":
-			writer.write("MULMOD\n");
-			break;
-		case "0a":
-			writer.write("EXP\n");
-			break;
-		case "0b":
-			writer.write("SIGNEXTEND\n");
-			break;
-		case "10":
-			writer.write("LT\n");
-			break;
-		case "11":
-			writer.write("GT\n");
-			break;
-		case "12":
-			writer.write("SLT\n");
-			break;
-		case "13":
-			writer.write("SGT\n");
-			break;
-		case "14":
-			writer.write("EQ\n");
-			break;
-		case "15":
-			writer.write("ISZERO\n");
-			break;
-		case "16":
-			writer.write("AND\n");
-			break;
-		case "17":
-			writer.write("OR\n");
-			break;
-		case "18":
-			writer.write("XOR\n");
-			break;
-		case "19":
-			writer.write("NOT\n");
-			break;
-		case "1a":
-			writer.write("BYTE\n");
-			break;
-		case "1b":
-			writer.write("SHL\n");
-			break;
-		case "1c":
-			writer.write("SHR\n");
-			break;
-		case "1d":
-			writer.write("SAR\n");
-			break;
-		case "20":
-			writer.write("SHA3\n");
-			break;
-		case "30":
-			writer.write("ADDRESS\n");
-			break;
-		case "31":
-			writer.write("BALANCE\n");
-			break;
-		case "32":
-			writer.write("ORIGIN\n");
-			break;
-		case "33":
-			writer.write("CALLER\n");
-			break;
-		case "34":
-			writer.write("CALLVALUE\n");
-			break;
-		case "35":
-			writer.write("CALLDATALOAD\n");
-			break;
-		case "36":
-			writer.write("CALLDATASIZE\n");
-			break;
-		case "37":
-			writer.write("CALLDATACOPY\n");
-			break;
-		case "38":
-			writer.write("CODESIZE\n");
-			break;
-		case "39":
-			writer.write("CODECOPY\n");
-			break;
-		case "3a":
-			writer.write("GASPRICE\n");
-			break;
-		case "3b":
-			writer.write("EXTCODESIZE\n");
-			break;
-		case "3c":
-			writer.write("EXTCODECOPY\n");
-			break;
-		case "3d":
-			writer.write("RETURNDATASIZE\n");
-			break;
-		case "3e":
-			writer.write("RETURNDATACOPY\n");
-			break;
-		case "3f":
-			writer.write("EXTCODEHASH\n");
-			break;
-		case "40":
-			writer.write("BLOCKHASH\n");
-			break;
-		case "41":
-			writer.write("COINBASE\n");
-			break;
-		case "42":
-			writer.write("TIMESTAMP\n");
-			break;
-		case "43":
-			writer.write("NUMBER\n");
-			break;
-		case "44":
-			writer.write("DIFFICULTY\n");
-			break;
-		case "45":
-			writer.write("GASLIMIT\n");
-			break;
-		case "46":
-			writer.write("CHAINID\n");
-			break;
-		case "47":
-			writer.write("SELFBALANCE\n");
-			break;
-		case "48":
-			writer.write("BASEFEE\n");
-			break;
-		case "49":
-			writer.write("BLOBHASH\n");
-			break;
-		case "4a":
-			writer.write("BLOBBASEFEE\n");
-			break;
-		case "4f":
-			writer.write("INVALID\n");
-			break;
-		case "50":
-			writer.write("POP\n");
-			break;
-		case "5c":
-			writer.write("TLOAD\n");
-			break;
-		case "5d":
-			writer.write("TSTORE\n");
-			break;
-		case "51":
-			writer.write("MLOAD\n");
-			break;
-		case "52":
-			writer.write("MSTORE\n");
-			break;
-		case "53":
-			writer.write("MSTORE8\n");
-			break;
-		case "54":
-			writer.write("SLOAD\n");
-			break;
-		case "55":
-			writer.write("SSTORE\n");
-			break;
-		case "56":
-			writer.write("JUMP\n");
-			break;
-		case "57":
-			writer.write("JUMPI\n");
-			break;
-		case "58":
-			writer.write("PC\n");
-			break;
-		case "59":
-			writer.write("MSIZE\n");
-			break;
-		case "5a":
-			writer.write("GAS\n");
-			break;
-		case "5b":
-			writer.write("JUMPDEST\n");
-			break;
-		case "5e":
-			writer.write("MCOPY\n");
-			break;
-		case "5f":
-			writer.write("PUSH0\n");
-			break;
-		case "80":
-			writer.write("DUP1\n");
-			break;
-		case "81":
-			writer.write("DUP2\n");
-			break;
-		case "82":
-			writer.write("DUP3\n");
-			break;
-		case "83":
-			writer.write("DUP4\n");
-			break;
-		case "84":
-			writer.write("DUP5\n");
-			break;
-		case "85":
-			writer.write("DUP6\n");
-			break;
-		case "86":
-			writer.write("DUP7\n");
-			break;
-		case "87":
-			writer.write("DUP8\n");
-			break;
-		case "88":
-			writer.write("DUP9\n");
-			break;
-		case "89":
-			writer.write("DUP10\n");
-			break;
-		case "8a":
-			writer.write("DUP11\n");
-			break;
-		case "8b":
-			writer.write("DUP12\n");
-			break;
-		case "8c":
-			writer.write("DUP13\n");
-			break;
-		case "8d":
-			writer.write("DUP14\n");
-			break;
-		case "8e":
-			writer.write("DUP15\n");
-			break;
-		case "8f":
-			writer.write("DUP16\n");
-			break;
-		case "90":
-			writer.write("SWAP1\n");
-			break;
-		case "91":
-			writer.write("SWAP2\n");
-			break;
-		case "92":
-			writer.write("SWAP3\n");
-			break;
-		case "93":
-			writer.write("SWAP4\n");
-			break;
-		case "94":
-			writer.write("SWAP5\n");
-			break;
-		case "95":
-			writer.write("SWAP6\n");
-			break;
-		case "96":
-			writer.write("SWAP7\n");
-			break;
-		case "97":
-			writer.write("SWAP8\n");
-			break;
-		case "98":
-			writer.write("SWAP9\n");
-			break;
-		case "99":
-			writer.write("SWAP10\n");
-			break;
-		case "9a":
-			writer.write("SWAP11\n");
-			break;
-		case "9b":
-			writer.write("SWAP12\n");
-			break;
-		case "9c":
-			writer.write("SWAP13\n");
-			break;
-		case "9d":
-			writer.write("SWAP14\n");
-			break;
-		case "9e":
-			writer.write("SWAP15\n");
-			break;
-		case "9f":
-			writer.write("SWAP16\n");
-			break;
-		case "a0":
-			writer.write("LOG0\n");
-			break;
-		case "a1":
-			writer.write("LOG1\n");
-			break;
-		case "a2":
-			writer.write("LOG2\n");
-			break;
-		case "a3":
-			writer.write("LOG3\n");
-			break;
-		case "a4":
-			writer.write("LOG4\n");
-			break;
-		case "f0":
-			writer.write("CREATE\n");
-			break;
-		case "f1":
-			writer.write("CALL\n");
-			break;
-		case "f2":
-			writer.write("CALLCODE\n");
-			break;
-		case "f3":
-			writer.write("RETURN\n");
-			break;
-		case "f4":
-			writer.write("DELEGATECALL\n");
-			break;
-		case "f5":
-			writer.write("CREATE2\n");
-			break;
-		case "fa":
-			writer.write("STATICCALL\n");
-			break;
-		case "fd":
-			writer.write("REVERT\n");
-			break;
-		case "fe":
-			writer.write("INVALID\n");
-			break;
-		case "ff":
-			writer.write("SELFDESTRUCT\n");
-			break;
-		default:
+		Opcode op = Opcode.of(parseOpcode(opcode));
+		if (op != null)
+			writer.write(op.getMnemonic() + "\n");
+		else
 			writer.write("'" + opcode + "'" + "(Unknown Opcode)\n");
-			break;
-		}
 
 		return true;
 	}
 
 	private static int pushTest(String opcode) {
-		switch (opcode) {
-		case "60":
-			return 1;
-		case "61":
-			return 2;
-		case "62":
-			return 3;
-		case "63":
-			return 4;
-		case "64":
-			return 5;
-		case "65":
-			return 6;
-		case "66":
-			return 7;
-		case "67":
-			return 8;
-		case "68":
-			return 9;
-		case "69":
-			return 10;
-		case "6a":
-			return 11;
-		case "6b":
-			return 12;
-		case "6c":
-			return 13;
-		case "6d":
-			return 14;
-		case "6e":
-			return 15;
-		case "6f":
-			return 16;
-		case "70":
-			return 17;
-		case "71":
-			return 18;
-		case "72":
-			return 19;
-		case "73":
-			return 20;
-		case "74":
-			return 21;
-		case "75":
-			return 22;
-		case "76":
-			return 23;
-		case "77":
-			return 24;
-		case "78":
-			return 25;
-		case "79":
-			return 26;
-		case "7a":
-			return 27;
-		case "7b":
-			return 28;
-		case "7c":
-			return 29;
-		case "7d":
-			return 30;
-		case "7e":
-			return 31;
-		case "7f":
-			return 32;
-		default:
-			return 0;
-		}
+		Opcode op = Opcode.of(parseOpcode(opcode));
+		return op != null ? op.getImmediateLength() : 0;
+	}
+
+	/**
+	 * Yields the byte represented by the given pair of hexadecimal digits, or
+	 * -1 if they are not valid hexadecimal digits.
+	 */
+	private static int parseOpcode(String opcode) {
+		if (opcode.length() != 2)
+			return -1;
+		int high = Character.digit(opcode.charAt(0), 16);
+		int low = Character.digit(opcode.charAt(1), 16);
+		return high < 0 || low < 0 ? -1 : (high << 4) | low;
 	}
 
 	private static void addPush(String push, int n, Writer writer) throws IOException {
@@ -0,0 +1,364 @@
+package it.unipr.frontend;
+
+import it.unipr.cfg.Opcode;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A corpus of smart contracts packed in a single file, replacing the one
+ * directory per contract of the benchmarks. The file starts with an index
+ * mapping each address to the SHA-256 hash, the offset and the length of its
+ * raw runtime bytecode, followed by the concatenated bytecodes. Identical
+ * bytecodes are stored once. The bytecodes are read through a memory mapping
+ * of the file, hence opening a corpus only reads its index.
+ */
+public class PackedCorpus {
+	private static final Logger log = LogManager.getLogger(PackedCorpus.class);
+
+	/**
+	 * The magic number of the packed corpora, {@code "EVMP"}.
+	 */
+	private static final int MAGIC = 0x45564d50;
+
+	/**
+	 * The current version of the format.
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * The maximum size of a single mapping of the file.
+	 */
+	private static final long CHUNK_SIZE = 1L << 30;
+
+	/**
+	 * The position of each address in the index.
+	 */
+	private final Map<String, Integer> positions;
+
+	private final List<String> addresses;
+	private final byte[][] hashes;
+	private final long[] offsets;
+	private final int[] lengths;
+
+	/**
+	 * The mappings of the bytecodes, each of {@link #CHUNK_SIZE} bytes except
+	 * the last one.
+	 */
+	private final MappedByteBuffer[] chunks;
+
+	private PackedCorpus(List<String> addresses, byte[][] hashes, long[] offsets, int[] lengths,
+			MappedByteBuffer[] chunks) {
+		this.addresses = Collections.unmodifiableList(addresses);
+		this.hashes = hashes;
+		this.offsets = offsets;
+		this.lengths = lengths;
+		this.chunks = chunks;
+		this.positions = new HashMap<>();
+		for (int i = 0; i < addresses.size(); i++)
+			positions.put(addresses.get(i), i);
+	}
+
+	/**
+	 * Yields whether the given file is a packed corpus.
+	 *
+	 * @param file the file
+	 *
+	 * @return {@code true} if the file starts with the magic number of the
+	 *             packed corpora
+	 */
+	public static boolean isPackedCorpus(Path file) {
+		if (!Files.isRegularFile(file))
+			return false;
+		try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+			return in.readInt() == MAGIC;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Opens the given packed corpus, reading its index and mapping its
+	 * bytecodes in memory.
+	 *
+	 * @param file the packed corpus
+	 *
+	 * @return the corpus
+	 *
+	 * @throws IOException if an I/O error occurs, or the file is not a packed
+	 *                         corpus of a supported version
+	 */
+	public static PackedCorpus open(Path file) throws IOException {
+		List<String> addresses = new ArrayList<>();
+		byte[][] hashes;
+		long[] offsets;
+		int[] lengths;
+		long dataOffset;
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != MAGIC)
+				throw new IOException(file + " is not a packed corpus");
+			int version = in.readUnsignedShort();
+			if (version != VERSION)
+				throw new IOException("Unsupported packed corpus version: " + version);
+
+			int size = in.readInt();
+			dataOffset = in.readLong();
+			hashes = new byte[size][];
+			offsets = new long[size];
+			lengths = new int[size];
+			for (int i = 0; i < size; i++) {
+				addresses.add(in.readUTF());
+				hashes[i] = new byte[32];
+				in.readFully(hashes[i]);
+				offsets[i] = in.readLong();
+				lengths[i] = in.readInt();
+			}
+		}
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long dataSize = channel.size() - dataOffset;
+			MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((dataSize + CHUNK_SIZE - 1) / CHUNK_SIZE)];
+			for (int i = 0; i < chunks.length; i++) {
+				long position = i * CHUNK_SIZE;
+				chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, dataOffset + position,
+						Math.min(CHUNK_SIZE, dataSize - position));
+			}
+			return new PackedCorpus(addresses, hashes, offsets, lengths, chunks);
+		}
+	}
+
+	/**
+	 * Yields the addresses of the contracts of this corpus, in the order they
+	 * were packed.
+	 *
+	 * @return the addresses
+	 */
+	public List<String> getAddresses() {
+		return addresses;
+	}
+
+	/**
+	 * Yields the number of contracts of this corpus.
+	 *
+	 * @return the number of contracts
+	 */
+	public int size() {
+		return addresses.size();
+	}
+
+	/**
+	 * Yields the SHA-256 hash of the bytecode of the given contract.
+	 *
+	 * @param address the address of the contract
+	 *
+	 * @return the hash, or {@code null} if the contract is not in this corpus
+	 */
+	public byte[] getHash(String address) {
+		Integer position = positions.get(address);
+		return position == null ? null : hashes[position].clone();
+	}
+
+	/**
+	 * Yields the raw runtime bytecode of the given contract.
+	 *
+	 * @param address the address of the contract
+	 *
+	 * @return the bytecode, or {@code null} if the contract is not in this
+	 *             corpus
+	 */
+	public byte[] getBytecode(String address) {
+		Integer position = positions.get(address);
+		if (position == null)
+			return null;
+
+		byte[] bytecode = new byte[lengths[position]];
+		long offset = offsets[position];
+		int copied = 0;
+		while (copied < bytecode.length) {
+			// a bytecode can span two chunks
+			MappedByteBuffer chunk = chunks[(int) (offset / CHUNK_SIZE)];
+			int start = (int) (offset % CHUNK_SIZE);
+			int n = Math.min(bytecode.length - copied, chunk.limit() - start);
+			// absolute reads, since the buffers are shared among threads
+			for (int i = 0; i < n; i++)
+				bytecode[copied + i] = chunk.get(start + i);
+			copied += n;
+			offset += n;
+		}
+		return bytecode;
+	}
+
+	/**
+	 * Packs the bytecodes of the given contracts, stored in the layout used by
+	 * the benchmarks, in a single file. The bytecode of each address is read
+	 * from {@code <dir>/<address>/<address>.bytecode} (hexadecimal bytecode)
+	 * or from {@code <dir>/<address>/<address>.opcode} or
+	 * {@code <dir>/<address>/<address>.sol} (mnemonic bytecode), looking into
+	 * the given directories in order. Contracts whose bytecode is not found
+	 * are skipped.
+	 *
+	 * @param addresses   the addresses of the contracts
+	 * @param directories the directories holding the bytecodes
+	 * @param output      the packed corpus to write
+	 *
+	 * @return the number of packed contracts
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static int convert(List<String> addresses, List<Path> directories, Path output) throws IOException {
+		Map<String, byte[]> bytecodes = new LinkedHashMap<>();
+		for (String address : addresses) {
+			byte[] bytecode = null;
+			for (Path directory : directories) {
+				bytecode = readBytecode(directory.resolve(address), address);
+				if (bytecode != null)
+					break;
+			}
+
+			if (bytecode == null)
+				log.warn("Bytecode of {} not found, skipped.", address);
+			else
+				bytecodes.put(address, bytecode);
+		}
+
+		write(bytecodes, output);
+		return bytecodes.size();
+	}
+
+	/**
+	 * Writes the given bytecodes as a packed corpus.
+	 *
+	 * @param bytecodes the raw runtime bytecodes, by address
+	 * @param output    the packed corpus to write
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void write(Map<String, byte[]> bytecodes, Path output) throws IOException {
+		// the data is laid out first, so that the index can hold the offsets
+		Map<ByteBuffer, Long> offsetsByHash = new HashMap<>();
+		List<byte[]> data = new ArrayList<>();
+		long dataSize = 0;
+
+		List<byte[]> hashes = new ArrayList<>();
+		List<Long> offsets = new ArrayList<>();
+		for (byte[] bytecode : bytecodes.values()) {
+			byte[] hash = EVMFrontend.sha256(bytecode);
+			ByteBuffer key = ByteBuffer.wrap(hash);
+			Long offset = offsetsByHash.get(key);
+			if (offset == null) {
+				offset = dataSize;
+				offsetsByHash.put(key, offset);
+				data.add(bytecode);
+				dataSize += bytecode.length;
+			}
+			hashes.add(hash);
+			offsets.add(offset);
+		}
+
+		ByteArrayOutputStream index = new ByteArrayOutputStream();
+		DataOutputStream indexData = new DataOutputStream(index);
+		int i = 0;
+		for (Map.Entry<String, byte[]> entry : bytecodes.entrySet()) {
+			indexData.writeUTF(entry.getKey());
+			indexData.write(hashes.get(i));
+			indexData.writeLong(offsets.get(i));
+			indexData.writeInt(entry.getValue().length);
+			i++;
+		}
+		indexData.flush();
+
+		// magic, version, size and data offset
+		long dataOffset = 4 + 2 + 4 + 8 + index.size();
+
+		try (OutputStream file = Files.newOutputStream(output);
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+			out.writeInt(MAGIC);
+			out.writeShort(VERSION);
+			out.writeInt(bytecodes.size());
+			out.writeLong(dataOffset);
+			index.writeTo(out);
+			for (byte[] bytecode : data)
+				out.write(bytecode);
+		}
+	}
+
+	/**
+	 * Reads the bytecode of the given contract from its directory, or yields
+	 * {@code null} if it is not there.
+	 */
+	private static byte[] readBytecode(Path directory, String address) throws IOException {
+		Path hex = directory.resolve(address + ".bytecode");
+		if (Files.exists(hex))
+			try {
+				return EVMFrontend.hexToBytes(Files.readString(hex));
+			} catch (IllegalArgumentException e) {
+				log.warn("Invalid bytecode in {}: {}", hex, e.getMessage());
+				return null;
+			}
+
+		for (String extension : new String[] { ".opcode", ".sol" }) {
+			Path mnemonic = directory.resolve(address + extension);
+			if (Files.exists(mnemonic))
+				try {
+					return mnemonicToBytes(Files.readAllLines(mnemonic));
+				} catch (IllegalArgumentException e) {
+					log.warn("Invalid mnemonic bytecode in {}: {}", mnemonic, e.getMessage());
+					return null;
+				}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Encodes the mnemonic bytecode written by
+	 * {@link EVMFrontend#opcodesFromBytecode(String, String)} back to the raw
+	 * bytecode.
+	 *
+	 * @throws IllegalArgumentException if a line is not a mnemonic of an
+	 *                                      opcode
+	 */
+	private static byte[] mnemonicToBytes(List<String> lines) {
+		ByteArrayOutputStream bytecode = new ByteArrayOutputStream();
+		for (String line : lines) {
+			line = line.trim();
+			if (line.isEmpty())
+				continue;
+
+			// unknown opcodes are written as '<hex>'(Unknown Opcode)
+			if (line.startsWith("'")) {
+				bytecode.writeBytes(EVMFrontend.hexToBytes(line.substring(1, line.indexOf('\'', 1))));
+				continue;
+			}
+
+			String[] tokens = line.split(" ");
+			Opcode opcode = Opcode.of(tokens[0]);
+			if (opcode == null || opcode.getCode() < 0)
+				throw new IllegalArgumentException("No opcode for " + tokens[0]);
+
+			bytecode.write(opcode.getCode());
+			if (opcode.getImmediateLength() > 0 && tokens.length > 1)
+				bytecode.writeBytes(EVMFrontend.hexToBytes(tokens[1]));
+		}
+		return bytecode.toByteArray();
+	}
+}
@@ -0,0 +1,130 @@
+package it.unipr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import it.unipr.analysis.AnalysisContext;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the newline-delimited JSON protocol of the {@link AnalysisServer},
+ * served over in-memory streams.
+ */
+public class AnalysisServerTest {
+
+	/**
+	 * PUSH1 0x04, JUMP, STOP, JUMPDEST, STOP.
+	 */
+	private static final String BYTECODE = "0x600456005b00";
+
+	private AnalysisServer server;
+
+	@Before
+	public void startServer() {
+		server = new AnalysisServer(AnalysisContext.builder().build(), 2);
+	}
+
+	@After
+	public void stopServer() throws InterruptedException {
+		server.shutdown(1, TimeUnit.MINUTES);
+	}
+
+	/**
+	 * Serves the given requests, one per line, yielding the responses in the
+	 * order they are written.
+	 */
+	private List<JSONObject> serve(String... requests) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		server.serve(new ByteArrayInputStream(String.join("\n", requests).getBytes(StandardCharsets.UTF_8)), out);
+
+		String output = out.toString(StandardCharsets.UTF_8);
+		assertTrue("Unterminated response", output.isEmpty() || output.endsWith("\n"));
+
+		List<JSONObject> responses = new ArrayList<>();
+		for (String line : output.split("\n")) {
+			if (line.isEmpty())
+				continue;
+			JSONObject response = new JSONObject(line);
+			assertTrue("Response without id: " + line, response.has("id"));
+			responses.add(response);
+		}
+		return responses;
+	}
+
+	/**
+	 * Yields the given responses by the string representation of their
+	 * {@code id}, checking that each id is answered once.
+	 */
+	private static Map<String, JSONObject> byId(List<JSONObject> responses) {
+		Map<String, JSONObject> byId = new HashMap<>();
+		for (JSONObject response : responses)
+			assertNull("Two responses with the same id", byId.put(String.valueOf(response.get("id")), response));
+		return byId;
+	}
+
+	@Test
+	public void testOneResponsePerRequest() throws IOException {
+		Map<String, JSONObject> responses = byId(serve(
+				"{\"id\": 1, \"bytecode\": \"" + BYTECODE + "\"}",
+				"",
+				"{\"id\": \"two\", \"bytecode\": \"" + BYTECODE + "\", \"checkers\": [\"reentrancy\"]}",
+				"   ",
+				"{\"id\": 3, \"bytecode\": \"" + BYTECODE + "\", \"options\": {\"stack-size\": 16}}"));
+
+		assertEquals(3, responses.size());
+		for (String id : new String[] { "1", "two", "3" }) {
+			assertTrue("No response to " + id, responses.containsKey(id));
+			assertFalse("Request " + id + " failed", responses.get(id).has("error"));
+		}
+		assertEquals(1, responses.get("1").getInt("id"));
+		assertEquals("two", responses.get("two").getString("id"));
+	}
+
+	@Test
+	public void testErrors() throws IOException {
+		Map<String, JSONObject> responses = byId(serve(
+				"{\"id\": 1, \"bytecode\": \"" + BYTECODE + "\", \"checkers\": [\"reentrancy\", \"overflow\"]}",
+				"{\"id\": 2, \"bytecode\": \"" + BYTECODE + "\", \"options\": {\"stack-limit\": 16}}",
+				"{\"id\": 3}",
+				"{\"id\": 4, \"bytecode\": \"0x6g\"}",
+				"{\"id\": 5, \"bytecode\": \"" + BYTECODE + "\"}"));
+
+		assertEquals(5, responses.size());
+		assertEquals("Unknown checker: overflow", responses.get("1").getString("error"));
+		assertEquals("Unknown option: stack-limit", responses.get("2").getString("error"));
+		assertTrue(responses.get("3").has("error"));
+		assertTrue(responses.get("4").has("error"));
+		// a failed request does not affect the others
+		assertFalse(responses.get("5").has("error"));
+	}
+
+	@Test
+	public void testRequestWithoutId() throws IOException {
+		List<JSONObject> responses = serve(
+				"{\"bytecode\": \"" + BYTECODE + "\"}",
+				"not a request");
+
+		assertEquals(2, responses.size());
+		int errors = 0;
+		for (JSONObject response : responses) {
+			assertTrue(response.isNull("id"));
+			if (response.has("error"))
+				errors++;
+		}
+		assertEquals(1, errors);
+	}
+}
@@ -0,0 +1,135 @@
+package it.unipr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import it.unipr.analysis.AnalysisContext;
+import it.unipr.analysis.BudgetExceededException;
+import it.unipr.frontend.EVMFrontend;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.json.JSONObject;
+import org.junit.Test;
+
+/**
+ * Tests of the in-memory analysis of a smart contract by an {@link Analyzer},
+ * given its raw or hexadecimal bytecode.
+ */
+public class AnalyzerTest {
+
+	/**
+	 * PUSH1 0x04, JUMP, STOP, JUMPDEST, ORIGIN, CALLER, EQ, PUSH1 0x0c, JUMPI,
+	 * STOP, JUMPDEST, STOP: the JUMPI depends on tx.origin.
+	 */
+	private static final String BYTECODE = "0x600456005b323314600c57005b00";
+
+	/**
+	 * JUMPDEST, PUSH1 0x00, JUMP: an endless loop.
+	 */
+	private static final String LOOP = "0x5b600056";
+
+	private static final AnalysisContext CONTEXT = AnalysisContext.builder()
+			.reentrancyChecker(true)
+			.txOriginChecker(true)
+			.build();
+
+	@Test
+	public void testAnalyzeBytes() {
+		check(new Analyzer(CONTEXT).analyze(EVMFrontend.hexToBytes(BYTECODE)));
+	}
+
+	@Test
+	public void testAnalyzeHex() {
+		check(new Analyzer(CONTEXT).analyze(BYTECODE));
+		check(new Analyzer(CONTEXT).analyze(BYTECODE.substring(2)));
+	}
+
+	@Test
+	public void testAnalyzeBytesAndHexAlike() {
+		AnalysisResult bytes = new Analyzer(CONTEXT).analyze(EVMFrontend.hexToBytes(BYTECODE));
+		AnalysisResult hex = new Analyzer(CONTEXT).analyze(BYTECODE);
+
+		assertEquals(edges(bytes.getBasicBlocks()), edges(hex.getBasicBlocks()));
+		assertEquals(bytes.getStatistics().statisticsToJson().toString(),
+				hex.getStatistics().statisticsToJson().toString());
+		assertEquals(bytes.getTxOriginWarnings(), hex.getTxOriginWarnings());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidHex() {
+		new Analyzer(CONTEXT).analyze("0x600");
+	}
+
+	@Test
+	public void testIterationLimit() {
+		AnalysisContext context = AnalysisContext.builder().maxFixpointIterations(2).build();
+		JSONObject partial = exceed(context, LOOP, "more than 2 fixpoint iterations");
+		assertEquals(3, partial.getInt("opcodes"));
+		assertEquals(1, partial.getInt("jumps"));
+	}
+
+	@Test
+	public void testTimeout() {
+		// the body of the loop is repeated, so that its analysis takes way
+		// longer than the timeout
+		StringBuilder loop = new StringBuilder("0x5b");
+		for (int i = 0; i < 1000; i++)
+			// PUSH1 0x01, PUSH1 0x01, ADD, POP
+			loop.append("600160010150");
+		loop.append("600056");
+
+		AnalysisContext context = AnalysisContext.builder().timeoutPerContract(1).build();
+		JSONObject partial = exceed(context, loop.toString(), "timeout of 1 ms");
+		assertEquals(4003, partial.getInt("opcodes"));
+		assertEquals(1, partial.getInt("jumps"));
+	}
+
+	/**
+	 * Analyzes the given bytecode, checking that the analysis exceeds its
+	 * budget for the given reason, and yields the partial statistics carried
+	 * by the failure.
+	 */
+	private static JSONObject exceed(AnalysisContext context, String bytecode, String reason) {
+		try {
+			new Analyzer(context).analyze(bytecode);
+		} catch (BudgetExceededException e) {
+			assertTrue(e.getMessage(), e.getMessage().endsWith(reason));
+			assertNotNull(e.getPartialStatistics());
+			return e.getPartialStatistics().statisticsToJson();
+		}
+		fail("The analysis did not exceed its budget");
+		return null;
+	}
+
+	private static void check(AnalysisResult result) {
+		// the block of the JUMP reaches the block of the JUMPI, which branches
+		// on the two last blocks
+		assertEquals(Set.of("0 -> 4", "4 -> 11", "4 -> 12"), edges(result.getBasicBlocks()));
+
+		assertNotNull(result.getStatistics());
+		JSONObject statistics = result.getStatistics().statisticsToJson();
+		assertEquals(12, statistics.getInt("opcodes"));
+		assertEquals(2, statistics.getInt("jumps"));
+		assertEquals(2, statistics.getInt("precisely_resolved_jumps"));
+		assertEquals(0, statistics.getInt("definitely_unreachable_jumps"));
+		assertEquals(0, statistics.getInt("maybe_unreachable_jumps"));
+		assertEquals(0, statistics.getInt("unsound_jumps"));
+		assertEquals(0, statistics.getInt("maybe_unsound_jumps"));
+
+		assertEquals(0, result.getReentrancyWarnings());
+		assertEquals(1, result.getTxOriginWarnings());
+		// the checker is not enabled
+		assertEquals(0, result.getTimestampDependencyWarnings());
+		assertEquals(1, result.toJson().getInt("tx-origin-warning"));
+	}
+
+	private static Set<String> edges(List<Long[]> basicBlocks) {
+		Set<String> edges = new TreeSet<>();
+		for (Long[] edge : basicBlocks)
+			edges.add(edge[0] + " -> " + edge[1]);
+		return edges;
+	}
+}
@@ -0,0 +1,93 @@
+package it.unipr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of the reading of a {@link CheckpointJournal} when a benchmark is
+ * resumed.
+ */
+public class CheckpointJournalTest {
+
+	private static final List<String> CONTRACTS = List.of("0x01", "0x02", "0x03", "0x04");
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path journal(String... entries) throws IOException {
+		Path path = folder.getRoot().toPath()
+				.resolve(CheckpointJournal.PREFIX + "20260101" + CheckpointJournal.EXTENSION);
+		Files.writeString(path, String.join("", entries));
+		return path;
+	}
+
+	@Test
+	public void testMissingJournal() throws IOException {
+		CheckpointJournal journal = CheckpointJournal.open(folder.getRoot().toPath().resolve("missing.journal"));
+		assertEquals(0, journal.size());
+		assertEquals(CONTRACTS, journal.pending(CONTRACTS));
+	}
+
+	@Test
+	public void testResume() throws IOException {
+		CheckpointJournal journal = CheckpointJournal.open(journal(
+				CheckpointJournal.entry("0x01", "SUCCESS", "{}"),
+				CheckpointJournal.entry("0x03", "FAILURE", "java.lang.IllegalStateException")));
+
+		assertEquals(2, journal.size());
+		assertTrue(journal.isCompleted("0x01"));
+		assertFalse(journal.isCompleted("0x02"));
+		assertTrue(journal.isCompleted("0x03"));
+		assertEquals(List.of("0x02", "0x04"), journal.pending(CONTRACTS));
+	}
+
+	@Test
+	public void testTruncatedLastLine() throws IOException {
+		String truncated = CheckpointJournal.entry("0x02", "SUCCESS", "{}");
+		CheckpointJournal journal = CheckpointJournal.open(journal(
+				CheckpointJournal.entry("0x01", "SUCCESS", "{}"),
+				truncated.substring(0, truncated.length() - 10)));
+
+		assertEquals(1, journal.size());
+		assertFalse(journal.isCompleted("0x02"));
+		assertEquals(List.of("0x02", "0x03", "0x04"), journal.pending(CONTRACTS));
+
+		// truncated before the hash
+		journal = CheckpointJournal.open(journal(
+				CheckpointJournal.entry("0x01", "SUCCESS", "{}"),
+				"0x02 SUCC"));
+		assertEquals(1, journal.size());
+		assertEquals(List.of("0x02", "0x03", "0x04"), journal.pending(CONTRACTS));
+	}
+
+	@Test
+	public void testBlankLines() throws IOException {
+		CheckpointJournal journal = CheckpointJournal.open(journal(
+				"\n",
+				CheckpointJournal.entry("0x04", "SUCCESS", "{}"),
+				"\n"));
+		assertEquals(List.of("0x01", "0x02", "0x03"), journal.pending(CONTRACTS));
+	}
+
+	@Test
+	public void testFindLatest() throws IOException {
+		Path directory = folder.getRoot().toPath();
+		assertNull(CheckpointJournal.findLatest(directory, "-1"));
+
+		for (String postFix : new String[] { "20260101-1", "20260301-1", "20260201-1", "20260401-2" })
+			Files.createFile(directory.resolve(CheckpointJournal.PREFIX + postFix + CheckpointJournal.EXTENSION));
+		assertEquals("20260301-1", CheckpointJournal.findLatest(directory, "-1"));
+		assertEquals("20260401-2", CheckpointJournal.findLatest(directory, "-2"));
+		assertNull(CheckpointJournal.findLatest(directory.resolve("missing"), "-1"));
+	}
+}
@@ -0,0 +1,173 @@
+package it.unipr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of the {@link ResultsWriter}: the order of the lines, the journals
+ * written only after the results they record, and the lines enqueued while
+ * the writer is being closed.
+ */
+public class ResultsWriterTest {
+
+	private static final int PRODUCERS = 8;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Yields the complete lines of the given file.
+	 */
+	private static List<String> lines(Path file) throws IOException {
+		if (!Files.exists(file))
+			return Collections.emptyList();
+		String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+		List<String> lines = new ArrayList<>(Arrays.asList(text.split("\n", -1)));
+		// the last line is not complete yet, or empty
+		lines.remove(lines.size() - 1);
+		return lines;
+	}
+
+	@Test
+	public void testOrder() throws IOException {
+		Path csv = folder.getRoot().toPath().resolve("statistics.csv");
+		Path json = folder.getRoot().toPath().resolve("results.ndjson");
+
+		List<String> expected = new ArrayList<>();
+		try (ResultsWriter writer = new ResultsWriter()) {
+			// more lines than the capacity of the queue
+			for (int i = 0; i < 10000; i++) {
+				assertTrue(writer.writeJson(json.toString(), "{\"i\":" + i + "}"));
+				expected.add("{\"i\":" + i + "}");
+			}
+			writer.write(csv.toString(), "first\n");
+			writer.write(csv.toString(), "second\n");
+		}
+
+		assertEquals(expected, lines(json));
+		assertEquals(EVMLiSA.STATISTICS_HEADER + "first\nsecond\n",
+				new String(Files.readAllBytes(csv), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testOrderOfEachProducer() throws Exception {
+		Path json = folder.getRoot().toPath().resolve("results.ndjson");
+
+		try (ResultsWriter writer = new ResultsWriter()) {
+			List<Thread> producers = new ArrayList<>();
+			for (int p = 0; p < PRODUCERS; p++) {
+				int producer = p;
+				producers.add(new Thread(() -> {
+					for (int i = 0; i < 2000; i++)
+						writer.writeJson(json.toString(), producer + " " + i);
+				}));
+			}
+			for (Thread producer : producers)
+				producer.start();
+			for (Thread producer : producers)
+				producer.join();
+		}
+
+		int[] next = new int[PRODUCERS];
+		for (String line : lines(json)) {
+			String[] parts = line.split(" ");
+			int producer = Integer.parseInt(parts[0]);
+			assertEquals(next[producer]++, Integer.parseInt(parts[1]));
+		}
+		for (int p = 0; p < PRODUCERS; p++)
+			assertEquals(2000, next[p]);
+	}
+
+	@Test
+	public void testJournalAfterResults() throws Exception {
+		Path json = folder.getRoot().toPath().resolve("results.ndjson");
+		Path journal = folder.getRoot().toPath().resolve("journal");
+
+		AtomicBoolean done = new AtomicBoolean();
+		AtomicReference<String> violation = new AtomicReference<>();
+		Thread reader = new Thread(() -> {
+			try {
+				while (!done.get()) {
+					// the journal first: its entries must be in the results
+					// read afterwards
+					List<String> entries = lines(journal);
+					List<String> results = lines(json);
+					if (results.size() < entries.size())
+						violation.set(entries.size() + " journal entries, " + results.size() + " results");
+				}
+			} catch (IOException e) {
+				violation.set(e.toString());
+			}
+		});
+
+		// flushed every millisecond
+		try (ResultsWriter writer = new ResultsWriter(TimeUnit.MILLISECONDS.toNanos(1))) {
+			reader.start();
+			for (int i = 0; i < 20000; i++) {
+				writer.writeJson(json.toString(), "result " + i);
+				writer.writeJournal(journal.toString(), "entry " + i + "\n");
+			}
+		} finally {
+			done.set(true);
+			reader.join();
+		}
+
+		assertEquals(null, violation.get());
+		assertEquals(20000, lines(json).size());
+		assertEquals(20000, lines(journal).size());
+	}
+
+	@Test
+	public void testCloseDrainsEverything() throws Exception {
+		Path json = folder.getRoot().toPath().resolve("results.ndjson");
+		ResultsWriter writer = new ResultsWriter();
+
+		List<List<String>> accepted = new ArrayList<>();
+		List<Thread> producers = new ArrayList<>();
+		for (int p = 0; p < PRODUCERS; p++) {
+			List<String> lines = new ArrayList<>();
+			accepted.add(lines);
+			int producer = p;
+			producers.add(new Thread(() -> {
+				// until the writer is closed
+				for (int i = 0; writer.writeJson(json.toString(), producer + " " + i); i++)
+					lines.add(producer + " " + i);
+			}));
+		}
+		for (Thread producer : producers)
+			producer.start();
+
+		Thread.sleep(100);
+		writer.close();
+		for (Thread producer : producers)
+			producer.join();
+
+		List<String> written = lines(json);
+		List<String> expected = new ArrayList<>();
+		for (List<String> lines : accepted)
+			expected.addAll(lines);
+		assertFalse(expected.isEmpty());
+		Collections.sort(written);
+		Collections.sort(expected);
+		// each line accepted before closing is written, even if enqueued
+		// while closing
+		assertEquals(expected, written);
+		assertFalse(writer.writeJson(json.toString(), "late"));
+	}
+}
@@ -0,0 +1,136 @@
+package it.unipr.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import it.unive.lisa.analysis.SemanticException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Tests of {@link AbstractStack}: random sequences of stack operations, applied
+ * to stacks sharing their frames, are checked against a plain list of slots,
+ * from the deepest one to the top of the stack.
+ */
+public class AbstractStackTest {
+
+	private static final int LIMIT = 8;
+
+	private static final StackElement[] ELEMENTS = { StackElement.BOTTOM, StackElement.TOP,
+			StackElement.NOT_JUMPDEST_TOP, StackElement.ZERO, StackElement.ONE, new StackElement(2),
+			new StackElement(3) };
+
+	private static void push(List<StackElement> model, StackElement target) {
+		model.remove(0);
+		model.add(target);
+	}
+
+	private static StackElement pop(List<StackElement> model) {
+		StackElement filler = model.get(0).isTop() ? StackElement.TOP : StackElement.BOTTOM;
+		model.add(0, filler);
+		return model.remove(model.size() - 1);
+	}
+
+	private static void check(List<StackElement> model, AbstractStack stack) {
+		AbstractStack expected = new AbstractStack(new ArrayList<>(model));
+		assertEquals(model, stack.getStack());
+		assertEquals(model.hashCode(), stack.hashCode());
+		assertEquals(expected, stack);
+		assertEquals(stack, expected);
+		assertEquals(Collections.frequency(model, StackElement.BOTTOM), LIMIT - stack.size());
+		for (int x = 0; x <= LIMIT; x++)
+			assertEquals(model.subList(LIMIT - x, LIMIT).contains(StackElement.BOTTOM), stack.hasBottomUntil(x));
+	}
+
+	@Test
+	public void testOperations() {
+		Random random = new Random(42);
+		List<List<StackElement>> models = new ArrayList<>();
+		List<AbstractStack> stacks = new ArrayList<>();
+		models.add(new ArrayList<>(Collections.nCopies(LIMIT, StackElement.BOTTOM)));
+		stacks.add(new AbstractStack(LIMIT));
+
+		for (int step = 0; step < 20000; step++) {
+			int i = random.nextInt(stacks.size());
+			List<StackElement> model = new ArrayList<>(models.get(i));
+			AbstractStack stack = stacks.get(i).clone();
+
+			switch (random.nextInt(4)) {
+			case 0:
+				StackElement target = ELEMENTS[random.nextInt(ELEMENTS.length)];
+				push(model, target);
+				stack.push(target);
+				break;
+			case 1:
+				assertEquals(pop(model), stack.pop());
+				break;
+			case 2:
+				int x = 1 + random.nextInt(LIMIT);
+				push(model, model.get(LIMIT - x));
+				stack.dup(x);
+				break;
+			default:
+				int y = 1 + random.nextInt(LIMIT - 1);
+				Collections.swap(model, LIMIT - 1, LIMIT - 1 - y);
+				stack.swap(y);
+			}
+
+			check(model, stack);
+			// the stack the new one was derived from is unchanged
+			check(models.get(i), stacks.get(i));
+
+			if (stacks.size() < 16) {
+				models.add(model);
+				stacks.add(stack);
+			} else {
+				int j = random.nextInt(stacks.size());
+				models.set(j, model);
+				stacks.set(j, stack);
+			}
+		}
+	}
+
+	@Test
+	public void testLatticeOperations() throws SemanticException {
+		Random random = new Random(42);
+		List<StackElement> base = new ArrayList<>(Collections.nCopies(LIMIT, StackElement.BOTTOM));
+		AbstractStack shared = new AbstractStack(LIMIT);
+		for (int i = 0; i < 3 * LIMIT / 2; i++) {
+			StackElement target = ELEMENTS[random.nextInt(ELEMENTS.length)];
+			push(base, target);
+			shared.push(target);
+		}
+
+		for (int step = 0; step < 1000; step++) {
+			List<StackElement> firstModel = new ArrayList<>(base), secondModel = new ArrayList<>(base);
+			AbstractStack first = shared.clone(), second = shared.clone();
+			// the two stacks differ in the top slots only
+			for (int i = random.nextInt(LIMIT + 1); i > 0; i--) {
+				StackElement target = ELEMENTS[random.nextInt(ELEMENTS.length)];
+				push(firstModel, target);
+				first.push(target);
+			}
+			for (int i = random.nextInt(LIMIT + 1); i > 0; i--) {
+				StackElement target = ELEMENTS[random.nextInt(ELEMENTS.length)];
+				push(secondModel, target);
+				second.push(target);
+			}
+
+			List<StackElement> lub = new ArrayList<>(), glb = new ArrayList<>();
+			boolean lessOrEqual = true;
+			for (int i = 0; i < LIMIT; i++) {
+				lub.add(firstModel.get(i).lub(secondModel.get(i)));
+				glb.add(firstModel.get(i).glb(secondModel.get(i)));
+				lessOrEqual &= firstModel.get(i).lessOrEqual(secondModel.get(i));
+			}
+
+			check(lub, first.lubAux(second));
+			check(glb, first.glbAux(second));
+			assertEquals(lessOrEqual, first.lessOrEqualAux(second));
+			assertTrue(first.lessOrEqualAux(first.clone()));
+		}
+	}
+}
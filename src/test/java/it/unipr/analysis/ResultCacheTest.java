@@ -0,0 +1,107 @@
+package it.unipr.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of the keys of the {@link ResultCache} and of the persistence of its
+ * results.
+ */
+public class ResultCacheTest {
+
+	private static final byte[] BYTECODE = { 0x60, (byte) 0x80, 0x60, 0x40, 0x52, 0x00 };
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testKeyDependsOnBytecode() {
+		AnalysisContext context = AnalysisContext.builder().build();
+		String key = ResultCache.key(BYTECODE, context);
+
+		assertEquals(64, key.length());
+		assertEquals(key, ResultCache.key(BYTECODE.clone(), context));
+		assertNotEquals(key, ResultCache.key(new byte[] { 0x60, (byte) 0x80, 0x60, 0x40, 0x52, (byte) 0xfe }, context));
+		assertNotEquals(key, ResultCache.key(new byte[0], context));
+	}
+
+	@Test
+	public void testKeyDependsOnEachOption() {
+		AnalysisContext context = AnalysisContext.builder().build();
+		String key = ResultCache.key(BYTECODE, context);
+
+		assertNotEquals(key, ResultCache.key(BYTECODE, context.toBuilder().stackLimit(64).build()));
+		assertNotEquals(key, ResultCache.key(BYTECODE, context.toBuilder().stackSetSize(16).build()));
+		assertNotEquals(key,
+				ResultCache.key(BYTECODE, context.toBuilder().linkUnsoundJumpsToAllJumpdest(true).build()));
+		assertNotEquals(key, ResultCache.key(BYTECODE, context.toBuilder().reentrancyChecker(true).build()));
+		assertNotEquals(key, ResultCache.key(BYTECODE, context.toBuilder().txOriginChecker(true).build()));
+		assertNotEquals(key,
+				ResultCache.key(BYTECODE, context.toBuilder().timestampDependencyChecker(true).build()));
+		assertNotEquals(key, ResultCache.key(BYTECODE, context.toBuilder().lazyCfg(true).build()));
+	}
+
+	@Test
+	public void testKeyDoesNotDependOnAddress() {
+		AnalysisContext context = AnalysisContext.builder().build();
+		assertEquals(ResultCache.key(BYTECODE, context.withContractAddress("0x01")),
+				ResultCache.key(BYTECODE, context.withContractAddress("0x02")));
+	}
+
+	@Test
+	public void testStorageLiveIsNotCacheable() {
+		AnalysisContext context = AnalysisContext.builder().build();
+		assertTrue(ResultCache.isCacheable(context));
+		assertFalse(ResultCache.isCacheable(context.toBuilder().useStorageLive(true).build()));
+	}
+
+	@Test
+	public void testInMemory() throws IOException {
+		String key = ResultCache.key(BYTECODE, AnalysisContext.builder().build());
+		ResultCache cache = new ResultCache();
+		assertNull(cache.get(key));
+
+		cache.put(key, new JSONObject().put("re-entrancy-warning", 2));
+		assertEquals(1, cache.size());
+		assertEquals(2, cache.get(key).getInt("re-entrancy-warning"));
+
+		// nothing survives a cache in memory only
+		assertNull(new ResultCache().get(key));
+	}
+
+	@Test
+	public void testPersisted() throws IOException {
+		Path directory = folder.getRoot().toPath().resolve("cache");
+		String key = ResultCache.key(BYTECODE, AnalysisContext.builder().build());
+
+		new ResultCache(directory).put(key, new JSONObject().put("re-entrancy-warning", 2));
+		assertTrue(Files.exists(directory.resolve(key + ".json")));
+
+		ResultCache cache = new ResultCache(directory);
+		assertEquals(0, cache.size());
+		assertEquals(2, cache.get(key).getInt("re-entrancy-warning"));
+		assertEquals(1, cache.size());
+		assertNull(cache.get(ResultCache.key(new byte[0], AnalysisContext.builder().build())));
+	}
+
+	@Test
+	public void testCorruptedFileIsAMiss() throws IOException {
+		Path directory = folder.getRoot().toPath().resolve("cache");
+		String key = ResultCache.key(BYTECODE, AnalysisContext.builder().build());
+
+		ResultCache cache = new ResultCache(directory);
+		Files.writeString(directory.resolve(key + ".json"), "{\"re-entrancy-warning\": ");
+		assertNull(cache.get(key));
+	}
+}
@@ -0,0 +1,78 @@
+package it.unipr.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Tests of the EXP transfer function ({@link StackElement#exp}): the concrete
+ * results are checked against {@link BigInteger#modPow}, and the abstract
+ * operands against the early cutoffs of the transfer function.
+ */
+public class StackElementTest {
+
+	private static final BigInteger MODULUS = BigInteger.ONE.shiftLeft(256);
+
+	private static final BigInteger MAX = MODULUS.subtract(BigInteger.ONE);
+
+	private static void check(BigInteger base, BigInteger exponent) {
+		StackElement result = new StackElement(base).exp(new StackElement(exponent));
+		assertEquals(base + " ** " + exponent, base.modPow(exponent, MODULUS), result.getNumber().toBigInteger());
+	}
+
+	@Test
+	public void testPathologicalExponents() {
+		for (BigInteger base : new BigInteger[] { BigInteger.ZERO, BigInteger.ONE, BigInteger.TWO, MAX }) {
+			check(base, BigInteger.ZERO);
+			check(base, MAX);
+			check(base, BigInteger.ONE.shiftLeft(255));
+			check(base, BigInteger.valueOf(256));
+		}
+	}
+
+	@Test
+	public void testSolidityPowersOfTen() {
+		for (int k = 0; k <= 77; k++)
+			check(BigInteger.TEN, BigInteger.valueOf(k));
+	}
+
+	@Test
+	public void testRandomOperands() {
+		Random random = new Random(42);
+		for (int i = 0; i < 1000; i++)
+			check(new BigInteger(256, random), new BigInteger(256, random));
+	}
+
+	@Test
+	public void testAbstractOperands() {
+		StackElement two = new StackElement(2);
+
+		// bottom is absorbing
+		for (StackElement operand : new StackElement[] { StackElement.ZERO, StackElement.ONE, two,
+				StackElement.TOP, StackElement.NOT_JUMPDEST_TOP, StackElement.BOTTOM }) {
+			assertTrue(StackElement.BOTTOM.exp(operand).isBottom());
+			assertTrue(operand.exp(StackElement.BOTTOM).isBottom());
+		}
+
+		// x ** 0 and 1 ** x are 1, whatever x is
+		for (StackElement operand : new StackElement[] { StackElement.ZERO, StackElement.ONE, two,
+				StackElement.TOP, StackElement.NOT_JUMPDEST_TOP }) {
+			assertEquals(StackElement.ONE, operand.exp(StackElement.ZERO));
+			assertEquals(StackElement.ONE, StackElement.ONE.exp(operand));
+		}
+
+		assertTrue(StackElement.TOP.exp(two).isTop());
+		assertTrue(two.exp(StackElement.TOP).isTop());
+		assertTrue(StackElement.ZERO.exp(StackElement.TOP).isTop());
+		assertTrue(StackElement.TOP.exp(StackElement.NOT_JUMPDEST_TOP).isTop());
+		assertTrue(StackElement.NOT_JUMPDEST_TOP.exp(two).isTopNotJumpdest());
+		assertTrue(two.exp(StackElement.NOT_JUMPDEST_TOP).isTopNotJumpdest());
+
+		assertEquals(StackElement.ZERO, StackElement.ZERO.exp(two));
+		assertEquals(StackElement.ZERO, StackElement.ZERO.exp(StackElement.ONE));
+		assertEquals(two, two.exp(StackElement.ONE));
+	}
+}
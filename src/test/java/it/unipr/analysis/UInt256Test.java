@@ -0,0 +1,301 @@
+package it.unipr.analysis;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Tests of {@link UInt256}: each operation is checked against
+ * {@link BigInteger} modulo 2^256, on edge operands (limb boundaries, the
+ * smallest signed word, division by zero, shifts of at least 256 bits) and on
+ * seeded random ones.
+ */
+public class UInt256Test {
+
+	private static final BigInteger MODULUS = BigInteger.ONE.shiftLeft(256);
+
+	private static final BigInteger MAX = MODULUS.subtract(BigInteger.ONE);
+
+	private static final BigInteger MIN_SIGNED = BigInteger.ONE.shiftLeft(255);
+
+	private static final List<BigInteger> EDGES = List.of(
+			BigInteger.ZERO,
+			BigInteger.ONE,
+			BigInteger.TWO,
+			BigInteger.valueOf(3),
+			BigInteger.valueOf(255),
+			BigInteger.valueOf(256),
+			BigInteger.valueOf(Long.MAX_VALUE),
+			BigInteger.ONE.shiftLeft(63),
+			BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE),
+			BigInteger.ONE.shiftLeft(64),
+			BigInteger.ONE.shiftLeft(128).subtract(BigInteger.ONE),
+			BigInteger.ONE.shiftLeft(192),
+			MIN_SIGNED.subtract(BigInteger.ONE),
+			MIN_SIGNED,
+			MAX.subtract(BigInteger.ONE),
+			MAX);
+
+	private static final List<BigInteger> SHIFTS = List.of(
+			BigInteger.ZERO,
+			BigInteger.ONE,
+			BigInteger.valueOf(8),
+			BigInteger.valueOf(63),
+			BigInteger.valueOf(64),
+			BigInteger.valueOf(65),
+			BigInteger.valueOf(128),
+			BigInteger.valueOf(255),
+			BigInteger.valueOf(256),
+			BigInteger.valueOf(257),
+			BigInteger.valueOf(Integer.MAX_VALUE),
+			BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE),
+			BigInteger.ONE.shiftLeft(64).add(BigInteger.ONE),
+			MAX);
+
+	/**
+	 * The edge operands followed by random ones of random bit length, so that
+	 * both the single-limb fast paths and the multi-limb ones are exercised.
+	 */
+	private static List<BigInteger> operands() {
+		List<BigInteger> operands = new ArrayList<>(EDGES);
+		Random random = new Random(42);
+		for (int i = 0; i < 48; i++)
+			operands.add(new BigInteger(random.nextInt(257), random));
+		return operands;
+	}
+
+	private static UInt256 word(BigInteger value) {
+		return UInt256.valueOf(value);
+	}
+
+	private static BigInteger signed(BigInteger value) {
+		return value.testBit(255) ? value.subtract(MODULUS) : value;
+	}
+
+	private static void check(String operation, BigInteger expected, UInt256 actual) {
+		assertEquals(operation, expected.mod(MODULUS), actual.toBigInteger());
+	}
+
+	@Test
+	public void testConversions() {
+		for (BigInteger a : operands()) {
+			UInt256 w = word(a);
+			check("valueOf " + a, a, w);
+			check("valueOf(-" + a + ")", a.negate(), word(a.negate()));
+			check("fromHex " + a, a, UInt256.fromHex("0x" + a.toString(16)));
+			check("fromBytes " + a, a, UInt256.fromBytes(w.toByteArray()));
+			assertEquals("toString " + a, a.toString(), w.toString());
+			assertEquals("toHexString " + a, a.toString(16), w.toHexString());
+			assertEquals("bitLength " + a, a.bitLength(), w.bitLength());
+
+			byte[] expected = new byte[UInt256.BYTES];
+			byte[] magnitude = a.toByteArray();
+			int length = Math.min(magnitude.length, UInt256.BYTES);
+			System.arraycopy(magnitude, magnitude.length - length, expected, UInt256.BYTES - length, length);
+			assertArrayEquals("toByteArray " + a, expected, w.toByteArray());
+
+			for (int bit = 0; bit < UInt256.BITS; bit += 7)
+				assertEquals("testBit " + a + " " + bit, a.testBit(bit), w.testBit(bit));
+		}
+
+		check("valueOf(2^256 + 1)", BigInteger.ONE, word(MODULUS.add(BigInteger.ONE)));
+		check("fromHex odd length", BigInteger.valueOf(0xabc), UInt256.fromHex("abc"));
+	}
+
+	@Test
+	public void testAdditiveCarryChains() {
+		List<BigInteger> operands = operands();
+		for (BigInteger a : operands) {
+			check("negate " + a, a.negate(), word(a).negate());
+			check("not " + a, MAX.subtract(a), word(a).not());
+			for (BigInteger b : operands) {
+				check(a + " + " + b, a.add(b), word(a).add(word(b)));
+				check(a + " - " + b, a.subtract(b), word(a).subtract(word(b)));
+			}
+		}
+
+		// a carry propagating through every limb
+		check("max + 1", BigInteger.ZERO, word(MAX).add(UInt256.ONE));
+		check("2^192 - 1 + 1", BigInteger.ONE.shiftLeft(192),
+				word(BigInteger.ONE.shiftLeft(192).subtract(BigInteger.ONE)).add(UInt256.ONE));
+		check("0 - 1", MAX, UInt256.ZERO.subtract(UInt256.ONE));
+	}
+
+	@Test
+	public void testMultiplication() {
+		List<BigInteger> operands = operands();
+		for (BigInteger a : operands)
+			for (BigInteger b : operands)
+				check(a + " * " + b, a.multiply(b), word(a).multiply(word(b)));
+
+		// the high halves of the limb products, with the sign bit set in both
+		// limbs and in one of them only
+		BigInteger limb = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+		for (BigInteger a : List.of(limb, BigInteger.ONE.shiftLeft(63), BigInteger.valueOf(Long.MAX_VALUE)))
+			for (BigInteger b : List.of(limb, BigInteger.ONE.shiftLeft(63), BigInteger.valueOf(3)))
+				check(a + " * " + b, a.multiply(b), word(a).multiply(word(b)));
+	}
+
+	@Test
+	public void testDivision() {
+		List<BigInteger> operands = operands();
+		for (BigInteger a : operands)
+			for (BigInteger b : operands) {
+				BigInteger quotient = b.signum() == 0 ? BigInteger.ZERO : a.divide(b);
+				BigInteger remainder = b.signum() == 0 ? BigInteger.ZERO : a.mod(b);
+				check(a + " / " + b, quotient, word(a).divide(word(b)));
+				check(a + " % " + b, remainder, word(a).mod(word(b)));
+			}
+	}
+
+	@Test
+	public void testSignedDivision() {
+		List<BigInteger> operands = operands();
+		for (BigInteger a : operands)
+			for (BigInteger b : operands) {
+				BigInteger sa = signed(a), sb = signed(b);
+				// BigInteger truncates towards zero and yields the remainder
+				// with the sign of the dividend, as SDIV and SMOD
+				BigInteger quotient = sb.signum() == 0 ? BigInteger.ZERO : sa.divide(sb);
+				BigInteger remainder = sb.signum() == 0 ? BigInteger.ZERO : sa.remainder(sb);
+				check(sa + " sdiv " + sb, quotient, word(a).sdiv(word(b)));
+				check(sa + " smod " + sb, remainder, word(a).smod(word(b)));
+			}
+
+		// -2^255 / -1 overflows back to -2^255
+		check("MIN sdiv -1", MIN_SIGNED, word(MIN_SIGNED).sdiv(UInt256.MAX_VALUE));
+		check("MIN smod -1", BigInteger.ZERO, word(MIN_SIGNED).smod(UInt256.MAX_VALUE));
+		check("-2 sdiv -1", BigInteger.TWO, word(MAX.subtract(BigInteger.ONE)).sdiv(UInt256.MAX_VALUE));
+		check("-8 smod -3", BigInteger.valueOf(-2), word(BigInteger.valueOf(-8)).smod(word(BigInteger.valueOf(-3))));
+		check("8 smod -3", BigInteger.TWO, word(BigInteger.valueOf(8)).smod(word(BigInteger.valueOf(-3))));
+		check("-1 sdiv 0", BigInteger.ZERO, UInt256.MAX_VALUE.sdiv(UInt256.ZERO));
+	}
+
+	@Test
+	public void testModularArithmetic() {
+		List<BigInteger> operands = EDGES;
+		for (BigInteger a : operands)
+			for (BigInteger b : operands)
+				for (BigInteger n : operands) {
+					BigInteger addmod = n.signum() == 0 ? BigInteger.ZERO : a.add(b).mod(n);
+					BigInteger mulmod = n.signum() == 0 ? BigInteger.ZERO : a.multiply(b).mod(n);
+					check("addmod " + a + " " + b + " " + n, addmod, word(a).addmod(word(b), word(n)));
+					check("mulmod " + a + " " + b + " " + n, mulmod, word(a).mulmod(word(b), word(n)));
+				}
+	}
+
+	@Test
+	public void testExponentiation() {
+		List<BigInteger> operands = operands();
+		for (BigInteger a : operands)
+			for (BigInteger b : operands)
+				check(a + " ** " + b, a.modPow(b, MODULUS), word(a).pow(word(b)));
+	}
+
+	@Test
+	public void testSignextend() {
+		List<BigInteger> indexes = new ArrayList<>();
+		for (int k = 0; k <= 33; k++)
+			indexes.add(BigInteger.valueOf(k));
+		indexes.add(BigInteger.ONE.shiftLeft(64));
+		indexes.add(MAX);
+
+		for (BigInteger a : operands())
+			for (BigInteger k : indexes) {
+				BigInteger expected;
+				if (k.compareTo(BigInteger.valueOf(31)) >= 0)
+					expected = a;
+				else {
+					int bits = 8 * k.intValue() + 8;
+					BigInteger low = a.mod(BigInteger.ONE.shiftLeft(bits));
+					expected = low.testBit(bits - 1) ? low.subtract(BigInteger.ONE.shiftLeft(bits)) : low;
+				}
+				check("signextend " + k + " " + a, expected, word(a).signextend(word(k)));
+			}
+
+		check("signextend 0 0x80", MAX.subtract(BigInteger.valueOf(0x7f)),
+				word(BigInteger.valueOf(0x80)).signextend(UInt256.ZERO));
+		check("signextend 0 0x17f", BigInteger.valueOf(0x7f),
+				word(BigInteger.valueOf(0x17f)).signextend(UInt256.ZERO));
+	}
+
+	@Test
+	public void testByteAt() {
+		List<BigInteger> indexes = new ArrayList<>();
+		for (int i = 0; i <= 33; i++)
+			indexes.add(BigInteger.valueOf(i));
+		indexes.add(BigInteger.ONE.shiftLeft(64));
+		indexes.add(MAX);
+
+		for (BigInteger a : operands())
+			for (BigInteger i : indexes) {
+				BigInteger expected = i.compareTo(BigInteger.valueOf(32)) >= 0 ? BigInteger.ZERO
+						: a.shiftRight(8 * (31 - i.intValue())).and(BigInteger.valueOf(0xff));
+				check("byte " + i + " " + a, expected, word(a).byteAt(word(i)));
+			}
+
+		check("byte 31 0xff00", BigInteger.ZERO, word(BigInteger.valueOf(0xff00)).byteAt(word(BigInteger.valueOf(31))));
+		check("byte 30 0xff00", BigInteger.valueOf(0xff),
+				word(BigInteger.valueOf(0xff00)).byteAt(word(BigInteger.valueOf(30))));
+		check("byte 0 max", BigInteger.valueOf(0xff), UInt256.MAX_VALUE.byteAt(UInt256.ZERO));
+	}
+
+	@Test
+	public void testShifts() {
+		BigInteger bits = BigInteger.valueOf(UInt256.BITS);
+		for (BigInteger value : operands())
+			for (BigInteger shift : SHIFTS) {
+				boolean overflow = shift.compareTo(bits) >= 0;
+				int n = overflow ? UInt256.BITS : shift.intValue();
+
+				BigInteger shl = overflow ? BigInteger.ZERO : value.shiftLeft(n);
+				BigInteger shr = overflow ? BigInteger.ZERO : value.shiftRight(n);
+				// BigInteger shifts negative numbers arithmetically
+				BigInteger sar = signed(value).shiftRight(n);
+
+				check("shl " + shift + " " + value, shl, word(shift).shl(word(value)));
+				check("shr " + shift + " " + value, shr, word(shift).shr(word(value)));
+				check("sar " + shift + " " + value, sar, word(shift).sar(word(value)));
+				if (!overflow) {
+					check("shl(int) " + n + " " + value, shl, word(value).shl(n));
+					check("shr(int) " + n + " " + value, shr, word(value).shr(n));
+					check("sar(int) " + n + " " + value, sar, word(value).sar(n));
+				}
+			}
+
+		check("sar 256 MIN", MAX, UInt256.valueOf(256).sar(word(MIN_SIGNED)));
+		check("sar 255 MIN", MAX, UInt256.valueOf(255).sar(word(MIN_SIGNED)));
+		check("sar 256 MIN - 1", BigInteger.ZERO, UInt256.valueOf(256).sar(word(MIN_SIGNED.subtract(BigInteger.ONE))));
+	}
+
+	@Test
+	public void testBitwise() {
+		List<BigInteger> operands = operands();
+		for (BigInteger a : operands)
+			for (BigInteger b : operands) {
+				check(a + " & " + b, a.and(b), word(a).and(word(b)));
+				check(a + " | " + b, a.or(b), word(a).or(word(b)));
+				check(a + " ^ " + b, a.xor(b), word(a).xor(word(b)));
+			}
+	}
+
+	@Test
+	public void testComparisons() {
+		List<BigInteger> operands = operands();
+		for (BigInteger a : operands)
+			for (BigInteger b : operands) {
+				assertEquals("compareTo " + a + " " + b, Integer.signum(a.compareTo(b)),
+						Integer.signum(word(a).compareTo(word(b))));
+				assertEquals("signedCompareTo " + a + " " + b, Integer.signum(signed(a).compareTo(signed(b))),
+						Integer.signum(word(a).signedCompareTo(word(b))));
+				assertEquals("equals " + a + " " + b, a.equals(b), word(a).equals(word(b)));
+				if (a.equals(b))
+					assertEquals("hashCode " + a, word(a).hashCode(), word(b).hashCode());
+			}
+	}
+}
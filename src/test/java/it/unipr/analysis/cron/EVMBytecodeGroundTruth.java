@@ -1,8 +1,7 @@
 package it.unipr.analysis.cron;
 
 import it.unipr.EVMLiSA;
-import it.unipr.analysis.AbstractStack;
-import it.unipr.analysis.AbstractStackSet;
+import it.unipr.analysis.AnalysisContext;
 import it.unipr.analysis.EVMAbstractState;
 import it.unipr.analysis.MyCache;
 import it.unipr.analysis.MyLogger;
@@ -43,6 +42,11 @@ import org.junit.Test;
 public class EVMBytecodeGroundTruth {
 	private static final Logger log = LogManager.getLogger(EVMBytecodeGroundTruth.class);
 
+	private static final AnalysisContext CONTEXT = AnalysisContext.builder()
+			.stackLimit(32)
+			.stackSetSize(8)
+			.build();
+
 	@Test
 	public void testGroundTruth() throws Exception {
 		String GROUND_TRUTH_FILE_PATH = Paths
@@ -58,8 +62,6 @@ public class EVMBytecodeGroundTruth {
 				.get("benchmark", "50-ground-truth.txt")
 				.toString();
 
-		AbstractStack.setStackLimit(32);
-		AbstractStackSet.setStackSetSize(8);
 		boolean changed = false;
 		long smartContractListTime = System.currentTimeMillis();
 
@@ -174,12 +176,13 @@ public class EVMBytecodeGroundTruth {
 
 		LiSAConfiguration conf = new LiSAConfiguration();
 		conf.serializeInputs = false;
-		conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(), new EVMAbstractState(CONTRACT_ADDR),
+		conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(),
+				new EVMAbstractState(CONTEXT.withContractAddress(CONTRACT_ADDR)),
 				new TypeEnvironment<>(new InferredTypes()));
 		conf.jsonOutput = false;
 		conf.workdir = BYTECODE_DIR;
 		conf.interproceduralAnalysis = new ModularWorstCaseAnalysis<>();
-		JumpSolver checker = new JumpSolver();
+		JumpSolver checker = new JumpSolver(CONTEXT);
 		conf.semanticChecks.add(checker);
 		conf.callGraph = new RTACallGraph();
 		conf.serializeResults = false;
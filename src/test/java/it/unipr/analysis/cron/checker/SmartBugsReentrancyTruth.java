@@ -1,7 +1,6 @@
 package it.unipr.analysis.cron.checker;
 
-import it.unipr.analysis.AbstractStack;
-import it.unipr.analysis.AbstractStackSet;
+import it.unipr.analysis.AnalysisContext;
 import it.unipr.analysis.EVMAbstractState;
 import it.unipr.analysis.MyCache;
 import it.unipr.checker.JumpSolver;
@@ -34,14 +33,16 @@ import org.junit.Ignore;
 public class SmartBugsReentrancyTruth {
 	private static final Logger log = LogManager.getLogger(SmartBugsReentrancyTruth.class);
 
+	private static final AnalysisContext CONTEXT = AnalysisContext.builder()
+			.stackLimit(64)
+			.stackSetSize(16)
+			.linkUnsoundJumpsToAllJumpdest(true)
+			.build();
+
 	private ConcurrentMap<Integer, Integer> _results = new ConcurrentHashMap<>();
 
 	@Ignore
 	public void testSmartBugsReentrancyTruth() throws Exception {
-		AbstractStack.setStackLimit(64);
-		AbstractStackSet.setStackSetSize(16);
-		JumpSolver.setLinkUnsoundJumpsToAllJumpdest();
-
 		Path smartbugsBytecodesDirPath = Paths
 				.get("evm-testcases", "ground-truth", "test-reentrancy-smartbugs-truth", "bytecode");
 		String SMARTBUGS_BYTECODES_DIR = smartbugsBytecodesDirPath.toString();
@@ -65,12 +66,12 @@ public class SmartBugsReentrancyTruth {
 
 					LiSAConfiguration conf = new LiSAConfiguration();
 					conf.serializeInputs = false;
-					conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(), new EVMAbstractState(null),
-							new TypeEnvironment<>(new InferredTypes()));
+					conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(),
+							new EVMAbstractState(CONTEXT), new TypeEnvironment<>(new InferredTypes()));
 					conf.jsonOutput = false;
 					conf.workdir = SMARTBUGS_BYTECODES_DIR;
 					conf.interproceduralAnalysis = new ModularWorstCaseAnalysis<>();
-					JumpSolver checker = new JumpSolver();
+					JumpSolver checker = new JumpSolver(CONTEXT);
 					conf.semanticChecks.add(checker);
 					conf.callGraph = new RTACallGraph();
 					conf.serializeResults = false;
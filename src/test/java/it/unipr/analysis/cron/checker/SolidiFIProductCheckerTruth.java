@@ -0,0 +1,230 @@
+package it.unipr.analysis.cron.checker;
+
+import it.unipr.Analyzer;
+import it.unipr.analysis.AnalysisContext;
+import it.unipr.analysis.EVMAbstractState;
+import it.unipr.analysis.MyCache;
+import it.unipr.analysis.taint.TimestampDependencyAbstractDomain;
+import it.unipr.checker.JumpSolver;
+import it.unipr.checker.TimestampDependencyChecker;
+import it.unipr.frontend.EVMFrontend;
+import it.unive.lisa.LiSA;
+import it.unive.lisa.analysis.SimpleAbstractState;
+import it.unive.lisa.analysis.heap.MonolithicHeap;
+import it.unive.lisa.analysis.nonrelational.value.TypeEnvironment;
+import it.unive.lisa.analysis.types.InferredTypes;
+import it.unive.lisa.conf.LiSAConfiguration;
+import it.unive.lisa.interprocedural.ModularWorstCaseAnalysis;
+import it.unive.lisa.interprocedural.callgraph.RTACallGraph;
+import it.unive.lisa.program.Program;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+import org.junit.Test;
+
+/**
+ * Ground truth of the checkers run as by the command line interface, that is,
+ * all enabled at once by an {@link Analyzer} over the
+ * {@link it.unipr.analysis.ProductAbstractDomain}, on the SolidiFI contracts.
+ * <p>
+ * Differently from {@link SolidiFIReentrancyTruth} and
+ * {@link SolidiFITxOriginTruth}, which run each checker alone with its own
+ * domain, the product is bottom wherever its EVM component is: the checkers
+ * do not warn on the statements that the EVM analysis proves unreachable.
+ * Hence, the warnings of each contract are at most those of the single
+ * checkers, and the difference is made of false positives only: as in the
+ * single checkers, no false negative is allowed. SolidiFI injects no
+ * timestamp dependency, hence the timestamp-dependency warnings of the
+ * product are checked to be at most those of the single checker, on each
+ * contract.
+ */
+public class SolidiFIProductCheckerTruth {
+	private static final Logger log = LogManager.getLogger(SolidiFIProductCheckerTruth.class);
+
+	private static final AnalysisContext CONTEXT = AnalysisContext.builder()
+			.reentrancyChecker(true)
+			.txOriginChecker(true)
+			.timestampDependencyChecker(true)
+			.build();
+
+	@Test
+	public void testSolidiFIProductCheckerTruth() throws Exception {
+		Path solidifi = Paths.get("evm-testcases", "ground-truth", "solidifi");
+		Map<Integer, JSONObject> reentrancyBuggy = analyze(solidifi.resolve("reentrancy-truth").resolve("bytecode"));
+		Map<Integer, JSONObject> txOriginBuggy = analyze(solidifi.resolve("tx-origin-truth").resolve("bytecode"));
+		Map<Integer, JSONObject> vanilla = analyze(solidifi.resolve("vanilla").resolve("bytecode"));
+
+		boolean soundness = checkSoundness("re-entrancy-warning", reentrancyBuggy, vanilla,
+				SolidiFIReentrancyTruth.getSolidifiMap());
+		soundness &= checkSoundness("tx-origin-warning", txOriginBuggy, vanilla,
+				SolidiFITxOriginTruth.getSolidifiMap());
+		soundness &= checkAtMostSingleChecker("timestamp-dependency-warning", reentrancyBuggy,
+				analyzeTimestampDependency(solidifi.resolve("reentrancy-truth").resolve("bytecode")));
+		soundness &= checkAtMostSingleChecker("timestamp-dependency-warning", txOriginBuggy,
+				analyzeTimestampDependency(solidifi.resolve("tx-origin-truth").resolve("bytecode")));
+		soundness &= checkAtMostSingleChecker("timestamp-dependency-warning", vanilla,
+				analyzeTimestampDependency(solidifi.resolve("vanilla").resolve("bytecode")));
+		assert soundness;
+	}
+
+	/**
+	 * Runs the jump solver and then all the checkers on each contract of the
+	 * given directory, yielding the JSON results by contract.
+	 */
+	private static Map<Integer, JSONObject> analyze(Path directory) throws InterruptedException {
+		ConcurrentMap<Integer, JSONObject> results = new ConcurrentHashMap<>();
+		int cores = Runtime.getRuntime().availableProcessors() / 4 * 3;
+		ExecutorService executor = Executors.newFixedThreadPool(cores > 0 ? cores : 1);
+
+		List<String> bytecodes = SolidiFITxOriginTruth.getFileNamesInDirectory(directory.toString());
+		for (String bytecodeFileName : bytecodes) {
+			executor.submit(() -> {
+				try {
+					JSONObject json = new Analyzer(CONTEXT).analyzeMnemonic(directory.resolve(bytecodeFileName))
+							.toJson();
+					results.put(Integer.parseInt(bytecodeFileName.split("\\.")[0]), json);
+				} catch (Exception e) {
+					log.error("Error processing bytecode {}: {}", bytecodeFileName, e.getMessage(), e);
+				}
+			});
+		}
+
+		executor.shutdown();
+		if (!executor.awaitTermination(1, TimeUnit.HOURS)) {
+			log.error("Timeout reached while waiting for thread pool to terminate.");
+			executor.shutdownNow();
+		}
+		return results;
+	}
+
+	/**
+	 * Runs the jump solver and then the timestamp-dependency checker alone,
+	 * with its own domain, on each contract of the given directory, yielding
+	 * the number of warnings by contract.
+	 */
+	private static Map<Integer, Integer> analyzeTimestampDependency(Path directory) throws InterruptedException {
+		ConcurrentMap<Integer, Integer> results = new ConcurrentHashMap<>();
+		int cores = Runtime.getRuntime().availableProcessors() / 4 * 3;
+		ExecutorService executor = Executors.newFixedThreadPool(cores > 0 ? cores : 1);
+
+		List<String> bytecodes = SolidiFITxOriginTruth.getFileNamesInDirectory(directory.toString());
+		for (String bytecodeFileName : bytecodes) {
+			executor.submit(() -> {
+				try {
+					Program program = EVMFrontend.generateCfgFromFile(directory.resolve(bytecodeFileName).toString());
+
+					LiSAConfiguration conf = new LiSAConfiguration();
+					conf.serializeInputs = false;
+					conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(),
+							new EVMAbstractState(CONTEXT), new TypeEnvironment<>(new InferredTypes()));
+					conf.jsonOutput = false;
+					conf.workdir = directory.toString();
+					conf.interproceduralAnalysis = new ModularWorstCaseAnalysis<>();
+					JumpSolver checker = new JumpSolver(CONTEXT);
+					conf.semanticChecks.add(checker);
+					conf.callGraph = new RTACallGraph();
+					conf.serializeResults = false;
+					conf.optimize = false;
+
+					LiSA lisa = new LiSA(conf);
+					lisa.run(program);
+
+					conf.semanticChecks.clear();
+					conf.semanticChecks.add(new TimestampDependencyChecker());
+					conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(),
+							new TimestampDependencyAbstractDomain(CONTEXT.getStackLimit()),
+							new TypeEnvironment<>(new InferredTypes()));
+					lisa.run(program);
+
+					results.put(Integer.parseInt(bytecodeFileName.split("\\.")[0]), MyCache.getInstance()
+							.getTimestampDependencyWarnings(checker.getComputedCFG().hashCode()));
+				} catch (Exception e) {
+					log.error("Error processing bytecode {}: {}", bytecodeFileName, e.getMessage(), e);
+				}
+			});
+		}
+
+		executor.shutdown();
+		if (!executor.awaitTermination(1, TimeUnit.HOURS)) {
+			log.error("Timeout reached while waiting for thread pool to terminate.");
+			executor.shutdownNow();
+		}
+		return results;
+	}
+
+	/**
+	 * Compares the warnings of the buggy contracts, net of those of the
+	 * vanilla ones, with the bugs injected by SolidiFI, yielding whether no
+	 * injected bug is missed.
+	 */
+	private static boolean checkSoundness(String warning, Map<Integer, JSONObject> buggy,
+			Map<Integer, JSONObject> vanilla, Map<Integer, Integer> solidifi) {
+		boolean soundness = true;
+		int falsePositives = 0;
+		int skipped = 0;
+		for (Integer key : buggy.keySet()) {
+			if (!vanilla.containsKey(key)) {
+				// the analysis of the vanilla contract failed, and it is logged
+				log.error("No vanilla result for {} on {}.sol, skipped", warning, key);
+				skipped++;
+				continue;
+			}
+
+			int value = buggy.get(key).getInt(warning) - vanilla.get(key).getInt(warning);
+			int valueSolidifi = solidifi.get(key);
+
+			if (value == valueSolidifi)
+				continue;
+			else if (value < valueSolidifi) {
+				log.error("Unsound {} on {}.sol, {} false negative", warning, key, valueSolidifi - value);
+				soundness = false;
+			} else {
+				log.warn("{} false positive {} on {}.sol", value - valueSolidifi, warning, key);
+				falsePositives += value - valueSolidifi;
+			}
+		}
+
+		log.info("{}: {} contracts, {} skipped, {} false positives", warning, buggy.size(), skipped,
+				falsePositives);
+		return soundness;
+	}
+
+	/**
+	 * Compares the warnings of the product on each contract with those of the
+	 * single checker, yielding whether the product never warns more.
+	 */
+	private static boolean checkAtMostSingleChecker(String warning, Map<Integer, JSONObject> product,
+			Map<Integer, Integer> single) {
+		boolean soundness = true;
+		int skipped = 0, dropped = 0;
+		for (Integer key : product.keySet()) {
+			if (!single.containsKey(key)) {
+				// the analysis with the single checker failed, and it is logged
+				log.error("No single checker result for {} on {}.sol, skipped", warning, key);
+				skipped++;
+				continue;
+			}
+
+			int value = product.get(key).getInt(warning);
+			int valueSingle = single.get(key);
+			if (value > valueSingle) {
+				log.error("{} {} more than the single checker on {}.sol", value - valueSingle, warning, key);
+				soundness = false;
+			} else
+				dropped += valueSingle - value;
+		}
+
+		log.info("{}: {} contracts, {} skipped, {} warnings dropped by the product", warning, product.size(),
+				skipped, dropped);
+		return soundness;
+	}
+}
@@ -1,5 +1,6 @@
 package it.unipr.analysis.cron.checker;
 
+import it.unipr.analysis.AnalysisContext;
 import it.unipr.analysis.EVMAbstractState;
 import it.unipr.analysis.MyCache;
 import it.unipr.checker.JumpSolver;
@@ -20,6 +21,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
@@ -32,6 +34,8 @@ import org.junit.Test;
 public class SolidiFIReentrancyTruth {
 	private static final Logger log = LogManager.getLogger(SolidiFIReentrancyTruth.class);
 
+	private static final AnalysisContext CONTEXT = AnalysisContext.builder().build();
+
 	private ConcurrentMap<Integer, Integer> _resultsBuggy = new ConcurrentHashMap<>();
 	private ConcurrentMap<Integer, Integer> _resultsVanilla = new ConcurrentHashMap<>();
 	private ConcurrentMap<Integer, Integer> _solidifi = new ConcurrentHashMap<>();
@@ -61,12 +65,12 @@ public class SolidiFIReentrancyTruth {
 
 					LiSAConfiguration conf = new LiSAConfiguration();
 					conf.serializeInputs = false;
-					conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(), new EVMAbstractState(null),
-							new TypeEnvironment<>(new InferredTypes()));
+					conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(),
+							new EVMAbstractState(CONTEXT), new TypeEnvironment<>(new InferredTypes()));
 					conf.jsonOutput = false;
 					conf.workdir = SOLIDIFI_BUGGY_BYTECODES_DIR;
 					conf.interproceduralAnalysis = new ModularWorstCaseAnalysis<>();
-					JumpSolver checker = new JumpSolver();
+					JumpSolver checker = new JumpSolver(CONTEXT);
 					conf.semanticChecks.add(checker);
 					conf.callGraph = new RTACallGraph();
 					conf.serializeResults = false;
@@ -108,12 +112,12 @@ public class SolidiFIReentrancyTruth {
 
 					LiSAConfiguration conf = new LiSAConfiguration();
 					conf.serializeInputs = false;
-					conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(), new EVMAbstractState(null),
-							new TypeEnvironment<>(new InferredTypes()));
+					conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(),
+							new EVMAbstractState(CONTEXT), new TypeEnvironment<>(new InferredTypes()));
 					conf.jsonOutput = false;
 					conf.workdir = SOLIDIFI_VANILLA_BYTECODES_DIR;
 					conf.interproceduralAnalysis = new ModularWorstCaseAnalysis<>();
-					JumpSolver checker = new JumpSolver();
+					JumpSolver checker = new JumpSolver(CONTEXT);
 					conf.semanticChecks.add(checker);
 					conf.callGraph = new RTACallGraph();
 					conf.serializeResults = false;
@@ -184,6 +188,17 @@ public class SolidiFIReentrancyTruth {
 		return fileNames;
 	}
 
+	/**
+	 * Yields the number of bugs injected by SolidiFI in each contract.
+	 *
+	 * @return the number of injected bugs, by contract
+	 */
+	public static Map<Integer, Integer> getSolidifiMap() {
+		SolidiFIReentrancyTruth truth = new SolidiFIReentrancyTruth();
+		truth.setSolidifiMap();
+		return truth._solidifi;
+	}
+
 	private void setSolidifiMap() {
 		_solidifi.put(1, 18);
 		_solidifi.put(2, 20);
@@ -1,5 +1,6 @@
 package it.unipr.analysis.cron.checker;
 
+import it.unipr.analysis.AnalysisContext;
 import it.unipr.analysis.EVMAbstractState;
 import it.unipr.analysis.MyCache;
 import it.unipr.analysis.taint.TxOriginAbstractDomain;
@@ -21,6 +22,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
@@ -33,6 +35,8 @@ import org.junit.Test;
 public class SolidiFITxOriginTruth {
 	private static final Logger log = LogManager.getLogger(SolidiFITxOriginTruth.class);
 
+	private static final AnalysisContext CONTEXT = AnalysisContext.builder().build();
+
 	private ConcurrentMap<Integer, Integer> _resultsBuggy = new ConcurrentHashMap<>();
 	private ConcurrentMap<Integer, Integer> _resultsVanilla = new ConcurrentHashMap<>();
 	private ConcurrentMap<Integer, Integer> _solidifi = new ConcurrentHashMap<>();
@@ -62,12 +66,12 @@ public class SolidiFITxOriginTruth {
 
 					LiSAConfiguration conf = new LiSAConfiguration();
 					conf.serializeInputs = false;
-					conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(), new EVMAbstractState(null),
-							new TypeEnvironment<>(new InferredTypes()));
+					conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(),
+							new EVMAbstractState(CONTEXT), new TypeEnvironment<>(new InferredTypes()));
 					conf.jsonOutput = false;
 					conf.workdir = SOLIDIFI_BUGGY_BYTECODES_DIR;
 					conf.interproceduralAnalysis = new ModularWorstCaseAnalysis<>();
-					JumpSolver checker = new JumpSolver();
+					JumpSolver checker = new JumpSolver(CONTEXT);
 					conf.semanticChecks.add(checker);
 					conf.callGraph = new RTACallGraph();
 					conf.serializeResults = false;
@@ -111,12 +115,12 @@ public class SolidiFITxOriginTruth {
 
 					LiSAConfiguration conf = new LiSAConfiguration();
 					conf.serializeInputs = false;
-					conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(), new EVMAbstractState(null),
-							new TypeEnvironment<>(new InferredTypes()));
+					conf.abstractState = new SimpleAbstractState<>(new MonolithicHeap(),
+							new EVMAbstractState(CONTEXT), new TypeEnvironment<>(new InferredTypes()));
 					conf.jsonOutput = false;
 					conf.workdir = SOLIDIFI_VANILLA_BYTECODES_DIR;
 					conf.interproceduralAnalysis = new ModularWorstCaseAnalysis<>();
-					JumpSolver checker = new JumpSolver();
+					JumpSolver checker = new JumpSolver(CONTEXT);
 					conf.semanticChecks.add(checker);
 					conf.callGraph = new RTACallGraph();
 					conf.serializeResults = false;
@@ -186,6 +190,17 @@ public class SolidiFITxOriginTruth {
 		return fileNames;
 	}
 
+	/**
+	 * Yields the number of bugs injected by SolidiFI in each contract.
+	 *
+	 * @return the number of injected bugs, by contract
+	 */
+	public static Map<Integer, Integer> getSolidifiMap() {
+		SolidiFITxOriginTruth truth = new SolidiFITxOriginTruth();
+		truth.setSolidifiMap();
+		return truth._solidifi;
+	}
+
 	private void setSolidifiMap() {
 		_solidifi.put(1, 18);
 		_solidifi.put(2, 20);
@@ -1,5 +1,6 @@
 package it.unipr.analysis.cron.semantics;
 
+import it.unipr.analysis.AnalysisContext;
 import it.unipr.analysis.EVMAbstractState;
 import it.unipr.analysis.cron.CronConfiguration;
 import it.unipr.analysis.cron.EVMBytecodeAnalysisExecutor;
@@ -25,6 +26,10 @@ public class EVMAbstractSemanticsTest extends EVMBytecodeAnalysisExecutor {
 
 	private static final String FAKE_ADDRESS = "0x000000000000000";
 
+	private static final AnalysisContext CONTEXT = AnalysisContext.builder()
+			.build()
+			.withContractAddress(FAKE_ADDRESS);
+
 	/**
 	 * Helper method to create a {@link CronConfiguration} object for the test
 	 * cases.
@@ -53,11 +58,11 @@ public class EVMAbstractSemanticsTest extends EVMBytecodeAnalysisExecutor {
 			conf.analysisGraphs = GraphType.DOT;
 		}
 		conf.abstractState = new SimpleAbstractState<MonolithicHeap, EVMAbstractState, TypeEnvironment<InferredTypes>>(
-				new MonolithicHeap(), new EVMAbstractState(FAKE_ADDRESS),
+				new MonolithicHeap(), new EVMAbstractState(CONTEXT),
 				new TypeEnvironment<>(new InferredTypes()));
 		conf.callGraph = new RTACallGraph();
 		conf.interproceduralAnalysis = new ModularWorstCaseAnalysis<>();
-		conf.semanticChecks.add(new JumpSolver());
+		conf.semanticChecks.add(new JumpSolver(CONTEXT));
 		conf.useWideningPoints = false;
 		return conf;
 	}
@@ -0,0 +1,194 @@
+package it.unipr.cfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import it.unipr.cfg.push.Push;
+import it.unipr.frontend.EVMFrontend;
+import it.unipr.frontend.EVMLiSAFeatures;
+import it.unipr.frontend.EVMLiSATypeSystem;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.cfg.edge.Edge;
+import it.unive.lisa.program.cfg.edge.SequentialEdge;
+import it.unive.lisa.program.cfg.statement.Statement;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests that an {@link EVMCFG} is restored exactly from its
+ * {@link EVMCFGSnapshot}, and that invalid snapshots are rejected.
+ */
+public class EVMCFGSnapshotTest {
+
+	/**
+	 * A JUMPI whose destination is pushed right before it, and a JUMP whose
+	 * destination is not, with pushes of an odd number of hexadecimal digits.
+	 */
+	private static final List<String> MNEMONIC = List.of(
+			"PUSH1 0x1",
+			"PUSH1 0x02",
+			"EQ",
+			"PUSH1 0xc",
+			"JUMPI",
+			"PUSH1 0xe",
+			"DUP1",
+			"JUMP",
+			"JUMPDEST",
+			"STOP",
+			"JUMPDEST",
+			"PUSH2 0x104",
+			"STOP");
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Yields the CFG of {@link #MNEMONIC} with its jumps resolved: the
+	 * pushed JUMPI by the frontend, the JUMP as the analysis would do.
+	 */
+	private EVMCFG resolvedCfg() throws IOException {
+		Path file = folder.getRoot().toPath().resolve("contract.sol");
+		Files.write(file, MNEMONIC);
+		EVMCFG cfg = (EVMCFG) EVMFrontend.generateCfgFromFile(file.toString()).getAllCFGs().iterator().next();
+		cfg.addEdge(new SequentialEdge(cfg.getStatementAt(11), cfg.getStatementAt(14)));
+		return cfg;
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		EVMCFG cfg = resolvedCfg();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		EVMCFGSnapshot.write(cfg, out);
+		EVMCFG read = EVMCFGSnapshot.read(new ByteArrayInputStream(out.toByteArray()),
+				new Program(new EVMLiSAFeatures(), new EVMLiSATypeSystem()));
+
+		assertSameCfg(cfg, read);
+		assertTrue(edges(read).contains("7 -> 12 TrueEdge"));
+		assertTrue(edges(read).contains("11 -> 14 SequentialEdge"));
+		assertEquals("0x104", value(read.getStatementAt(15)));
+	}
+
+	@Test
+	public void testRoundTripThroughFile() throws IOException {
+		EVMCFG cfg = resolvedCfg();
+		Path snapshot = folder.getRoot().toPath().resolve("contract.evmcfg");
+		try (OutputStream out = Files.newOutputStream(snapshot)) {
+			EVMCFGSnapshot.write(cfg, out);
+		}
+
+		Program program = EVMFrontend.generateCfgFromSnapshot(snapshot);
+		assertEquals(1, program.getAllCFGs().size());
+		assertSameCfg(cfg, (EVMCFG) program.getAllCFGs().iterator().next());
+	}
+
+	@Test
+	public void testBadMagic() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		EVMCFGSnapshot.write(resolvedCfg(), out);
+		byte[] snapshot = out.toByteArray();
+		snapshot[3] = 'P';
+
+		try {
+			read(snapshot);
+			fail("Snapshot with a bad magic number read");
+		} catch (IOException e) {
+			assertEquals("Not an EVMCFG snapshot", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testBadVersion() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		EVMCFGSnapshot.write(resolvedCfg(), out);
+		byte[] snapshot = out.toByteArray();
+		// the version follows the four bytes of the magic number
+		snapshot[4] = 0;
+		snapshot[5] = (byte) (EVMCFGSnapshot.VERSION + 1);
+
+		try {
+			read(snapshot);
+			fail("Snapshot of an unsupported version read");
+		} catch (IOException e) {
+			assertEquals("Unsupported EVMCFG snapshot version: " + (EVMCFGSnapshot.VERSION + 1), e.getMessage());
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testEmpty() throws IOException {
+		read(new byte[0]);
+	}
+
+	private static EVMCFG read(byte[] snapshot) throws IOException {
+		return EVMCFGSnapshot.read(new ByteArrayInputStream(snapshot),
+				new Program(new EVMLiSAFeatures(), new EVMLiSATypeSystem()));
+	}
+
+	private static void assertSameCfg(EVMCFG expected, EVMCFG actual) {
+		assertEquals(expected.getDescriptor().getName(), actual.getDescriptor().getName());
+		assertEquals(nodes(expected), nodes(actual));
+		assertEquals(edges(expected), edges(actual));
+		assertEquals(pcs(expected.getEntrypoints()), pcs(actual.getEntrypoints()));
+		assertEquals(pcs(expected.getAllJumpdest()), pcs(actual.getAllJumpdest()));
+		assertEquals(pcs(expected.getAllJumps()), pcs(actual.getAllJumps()));
+		assertEquals(pcs(expected.getAllPushedJumps()), pcs(actual.getAllPushedJumps()));
+	}
+
+	private static int pc(Statement node) {
+		return ((ProgramCounterLocation) node.getLocation()).getPc();
+	}
+
+	/**
+	 * Yields the literal pushed by the given statement, as written in the
+	 * bytecode.
+	 */
+	private static String value(Statement push) {
+		return ((HexDecimalLiteral) ((Push) push).getSubExpression()).getValue().toLowerCase();
+	}
+
+	/**
+	 * Yields the program counter, the line, the opcode and the pushed literal,
+	 * if any, of each node of the given CFG that corresponds to an opcode.
+	 */
+	private static List<String> nodes(EVMCFG cfg) {
+		List<String> nodes = new ArrayList<>();
+		for (Statement node : cfg.getNodes()) {
+			if (Opcode.of(node) == null)
+				continue;
+			String description = pc(node) + " " + ((ProgramCounterLocation) node.getLocation()).getSourceCodeLine()
+					+ " " + Opcode.of(node);
+			if (node instanceof Push)
+				description += " " + value(node);
+			nodes.add(description);
+		}
+		nodes.sort(null);
+		return nodes;
+	}
+
+	private static TreeSet<String> edges(EVMCFG cfg) {
+		TreeSet<String> edges = new TreeSet<>();
+		for (Edge edge : cfg.getEdges())
+			if (Opcode.of(edge.getSource()) != null && Opcode.of(edge.getDestination()) != null)
+				edges.add(pc(edge.getSource()) + " -> " + pc(edge.getDestination()) + " "
+						+ edge.getClass().getSimpleName());
+		return edges;
+	}
+
+	private static TreeSet<Integer> pcs(Collection<Statement> nodes) {
+		TreeSet<Integer> pcs = new TreeSet<>();
+		for (Statement node : nodes)
+			pcs.add(pc(node));
+		return pcs;
+	}
+}
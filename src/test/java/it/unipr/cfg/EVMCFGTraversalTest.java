@@ -0,0 +1,236 @@
+package it.unipr.cfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import it.unipr.Analyzer;
+import it.unipr.analysis.AnalysisContext;
+import it.unive.lisa.program.cfg.edge.Edge;
+import it.unive.lisa.program.cfg.statement.Ret;
+import it.unive.lisa.program.cfg.statement.Statement;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+/**
+ * Tests that the traversals of an {@link EVMCFG} on its successors by program
+ * counter (basic blocks, reachability and furthest SSTOREs) yield the same
+ * results of the same traversals on the adjacency of LiSA, on the CFGs of the
+ * SolidiFI contracts with their jumps solved.
+ */
+public class EVMCFGTraversalTest {
+
+	/**
+	 * The number of pairs of statements whose reachability is checked in
+	 * each CFG.
+	 */
+	private static final int PAIRS = 200;
+
+	@Test
+	public void testSolidiFITraversals() throws IOException {
+		Path solidifi = Paths.get("evm-testcases", "ground-truth", "solidifi");
+		List<Path> files = new ArrayList<>();
+		for (String directory : new String[] { "reentrancy-truth", "tx-origin-truth", "vanilla" })
+			try (Stream<Path> paths = Files.list(solidifi.resolve(directory).resolve("bytecode"))) {
+				paths.filter(path -> path.toString().endsWith(".bytecode")).sorted().forEach(files::add);
+			}
+
+		Analyzer analyzer = new Analyzer(AnalysisContext.builder().build());
+		Random random = new Random(42);
+		for (Path file : files) {
+			EVMCFG cfg = analyzer.analyzeMnemonic(file).getCFG();
+			Statement entrypoint = cfg.getEntrypoints().iterator().next();
+
+			assertEquals(file + ": basic blocks", adjacencyBasicBlocks(cfg), basicBlocks(cfg.basicBlocksToJson()));
+
+			List<Statement> starts = sorted(cfg.getAllJumps());
+			starts.add(entrypoint);
+			List<Statement> targets = sorted(cfg.getAllSstore());
+			targets.addAll(sorted(cfg.getAllJumpdest()));
+			targets.addAll(starts);
+			for (int i = 0; i < PAIRS; i++) {
+				Statement start = starts.get(random.nextInt(starts.size()));
+				Statement target = targets.get(random.nextInt(targets.size()));
+				assertEquals(file + ": " + start + " reaches " + target,
+						adjacencyReachable(cfg, start, target, false), cfg.reachableFrom(start, target));
+				assertEquals(file + ": " + start + " reaches sequentially " + target,
+						adjacencyReachable(cfg, start, target, true), cfg.reachableFromSequentially(start, target));
+			}
+
+			for (Statement start : starts)
+				assertEquals(file + ": furthest SSTOREs from " + start, adjacencyFurthestSstores(cfg, start),
+						cfg.getFurthestSstores(start));
+		}
+		assertTrue("No CFG traversed", !files.isEmpty());
+	}
+
+	private static int pc(Statement statement) {
+		return ((ProgramCounterLocation) statement.getLocation()).getPc();
+	}
+
+	private static List<Statement> sorted(Collection<Statement> statements) {
+		return statements.stream().sorted((s1, s2) -> Integer.compare(pc(s1), pc(s2))).collect(Collectors.toList());
+	}
+
+	/**
+	 * Yields the basic blocks in the given JSON, each as its id, the program
+	 * counters of its instructions and its targets.
+	 */
+	private static Set<String> basicBlocks(JSONArray json) {
+		Set<String> result = new TreeSet<>();
+		for (int i = 0; i < json.length(); i++) {
+			JSONObject block = json.getJSONObject(i);
+			List<Integer> pcs = new ArrayList<>();
+			JSONArray instructions = block.getJSONArray("instructions");
+			for (int j = 0; j < instructions.length(); j++)
+				pcs.add(instructions.getJSONObject(j).getInt("pc"));
+			Set<Integer> targets = new TreeSet<>();
+			JSONArray edges = block.getJSONArray("outgoing_edges");
+			for (int j = 0; j < edges.length(); j++)
+				targets.add(edges.getJSONObject(j).getInt("target"));
+			result.add(block.getInt("id") + " " + pcs + " -> " + targets);
+		}
+		return result;
+	}
+
+	/**
+	 * Yields the basic blocks of the given CFG, built on the adjacency of
+	 * LiSA, in the same form of {@link #basicBlocks(JSONArray)}.
+	 */
+	private static Set<String> adjacencyBasicBlocks(EVMCFG cfg) {
+		Set<Statement> visited = new HashSet<>();
+		Deque<Statement> stack = new ArrayDeque<>();
+		stack.push(cfg.getEntrypoints().iterator().next());
+		List<List<Statement>> blocks = new ArrayList<>();
+		List<Set<Integer>> blockTargets = new ArrayList<>();
+
+		while (!stack.isEmpty()) {
+			Statement current = stack.pop();
+			if (visited.contains(current))
+				continue;
+
+			Statement blockEnd = current;
+			List<Statement> statements = new ArrayList<>();
+			while (true) {
+				statements.add(blockEnd);
+				Collection<Edge> outgoingEdges = cfg.getOutgoingEdges(blockEnd);
+				if (outgoingEdges.isEmpty() || blockEnd instanceof Ret)
+					break;
+
+				Opcode opcode = Opcode.of(blockEnd);
+				if (opcode != null && opcode.isTerminator())
+					break;
+
+				Statement next = outgoingEdges.iterator().next().getDestination();
+				if (visited.contains(next))
+					break;
+				visited.add(next);
+				if (next instanceof Ret)
+					break;
+				blockEnd = next;
+			}
+
+			for (Edge edge : cfg.getOutgoingEdges(blockEnd))
+				stack.push(edge.getDestination());
+			if (blockEnd instanceof Ret)
+				continue;
+
+			Set<Integer> targets = new TreeSet<>();
+			for (Edge edge : cfg.getOutgoingEdges(blockEnd))
+				if (pc(edge.getDestination()) != pc(current) && !(edge.getDestination() instanceof Ret))
+					targets.add(pc(edge.getDestination()));
+
+			// split on the JUMPDESTs
+			List<Statement> block = new ArrayList<>();
+			for (Statement statement : statements) {
+				if (!block.isEmpty() && statement instanceof Jumpdest) {
+					blocks.add(block);
+					blockTargets.add(new TreeSet<>(Set.of(pc(statement))));
+					block = new ArrayList<>();
+				}
+				block.add(statement);
+			}
+			blocks.add(block);
+			blockTargets.add(targets);
+		}
+
+		Set<Integer> ids = new HashSet<>();
+		for (List<Statement> block : blocks)
+			if (block.size() > 1 || !(block.get(0) instanceof Jumpdest))
+				ids.add(pc(block.get(0)));
+
+		Set<String> result = new TreeSet<>();
+		for (int i = 0; i < blocks.size(); i++) {
+			List<Statement> block = blocks.get(i);
+			if (!ids.contains(pc(block.get(0))) || (block.size() == 1 && block.get(0) instanceof Jumpdest))
+				continue;
+			List<Integer> pcs = block.stream().map(EVMCFGTraversalTest::pc).collect(Collectors.toList());
+			// only the edges to the blocks kept are serialized
+			Set<Integer> targets = new TreeSet<>(blockTargets.get(i));
+			targets.retainAll(ids);
+			result.add(pcs.get(0) + " " + pcs + " -> " + targets);
+		}
+		return result;
+	}
+
+	/**
+	 * Yields whether the given target is reachable from the given start on the
+	 * adjacency of LiSA, possibly ignoring the edges leaving the jumps.
+	 */
+	private static boolean adjacencyReachable(EVMCFG cfg, Statement start, Statement target, boolean skipJumps) {
+		Set<Statement> visited = new HashSet<>();
+		Deque<Statement> stack = new ArrayDeque<>();
+		stack.push(start);
+
+		while (!stack.isEmpty()) {
+			Statement current = stack.pop();
+			if (current.equals(target))
+				return true;
+			if (visited.add(current))
+				for (Edge edge : cfg.getOutgoingEdges(current)) {
+					if (skipJumps && (edge.getSource() instanceof Jumpi || edge.getSource() instanceof Jump))
+						continue;
+					if (!visited.contains(edge.getDestination()))
+						stack.push(edge.getDestination());
+				}
+		}
+		return false;
+	}
+
+	/**
+	 * Yields the SSTOREs reachable from the given start on the adjacency of
+	 * LiSA.
+	 */
+	private static Set<Statement> adjacencyFurthestSstores(EVMCFG cfg, Statement start) {
+		Set<Statement> visited = new HashSet<>();
+		Deque<Statement> queue = new ArrayDeque<>();
+		Set<Statement> result = new HashSet<>();
+		queue.add(start);
+		visited.add(start);
+
+		while (!queue.isEmpty()) {
+			Statement current = queue.poll();
+			if (current instanceof Sstore)
+				result.add(current);
+			for (Edge edge : cfg.getOutgoingEdges(current))
+				if (visited.add(edge.getDestination()))
+					queue.add(edge.getDestination());
+		}
+		return result;
+	}
+}
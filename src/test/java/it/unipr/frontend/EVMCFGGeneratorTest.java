@@ -0,0 +1,156 @@
+package it.unipr.frontend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import it.unipr.cfg.Opcode;
+import it.unipr.cfg.ProgramCounterLocation;
+import it.unipr.cfg.push.Push;
+import it.unive.lisa.program.Program;
+import it.unive.lisa.program.cfg.CFG;
+import it.unive.lisa.program.cfg.edge.Edge;
+import it.unive.lisa.program.cfg.statement.Statement;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests that the CFG decoded from the raw bytecode by
+ * {@link EVMCFGGenerator#visitBytecode(byte[])} is the same built from its
+ * mnemonic bytecode by {@link EVMFrontend#generateCfgFromFile(String)}, on the
+ * test cases and on the SolidiFI contracts.
+ */
+public class EVMCFGGeneratorTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testTestCasesDecodedBothWays() throws IOException {
+		List<Path> files;
+		try (Stream<Path> paths = Files.walk(Paths.get("evm-testcases"))) {
+			files = paths.filter(path -> path.toString().endsWith(".sol")).collect(Collectors.toList());
+		}
+		checkDecodedBothWays(files);
+	}
+
+	@Test
+	public void testSolidiFIDecodedBothWays() throws IOException {
+		Path solidifi = Paths.get("evm-testcases", "ground-truth", "solidifi");
+		List<Path> files = new ArrayList<>();
+		for (String directory : new String[] { "reentrancy-truth", "tx-origin-truth", "vanilla" })
+			try (Stream<Path> paths = Files.list(solidifi.resolve(directory).resolve("bytecode"))) {
+				paths.filter(path -> path.toString().endsWith(".bytecode")).forEach(files::add);
+			}
+		checkDecodedBothWays(files);
+	}
+
+	private void checkDecodedBothWays(List<Path> mnemonics) throws IOException {
+		int checked = 0;
+		for (Path mnemonic : mnemonics) {
+			List<String> lines = Files.readAllLines(mnemonic);
+			// mnemonics without an opcode and hand-written pushes shorter than
+			// their opcode cannot be encoded back to the same bytecode
+			if (!isCanonical(lines))
+				continue;
+
+			byte[] bytecode = toBytecode(mnemonic, folder);
+			CFG parsed = single(EVMFrontend.generateCfgFromFile(mnemonic.toString()));
+			CFG decoded = new EVMCFGGenerator(mnemonic.toString(),
+					new Program(new EVMLiSAFeatures(), new EVMLiSATypeSystem())).visitBytecode(bytecode);
+
+			assertEquals(mnemonic + ": nodes", nodes(parsed), nodes(decoded));
+			assertEquals(mnemonic + ": edges", edges(parsed), edges(decoded));
+			assertEquals(mnemonic + ": entrypoints", entrypoints(parsed), entrypoints(decoded));
+			checked++;
+		}
+		assertTrue("No bytecode decoded", checked > 0);
+	}
+
+	/**
+	 * Yields whether each mnemonic of the given mnemonic bytecode has an
+	 * opcode, and each push but the last instruction carries all its bytes.
+	 */
+	static boolean isCanonical(List<String> lines) {
+		List<String> instructions = lines.stream().map(String::trim).filter(line -> !line.isEmpty())
+				.collect(Collectors.toList());
+		for (int i = 0; i < instructions.size(); i++) {
+			String[] tokens = instructions.get(i).split(" ");
+			Opcode opcode = Opcode.of(tokens[0]);
+			if (opcode == null)
+				// an unknown opcode
+				continue;
+			if (opcode.getCode() < 0)
+				return false;
+			if (i < instructions.size() - 1 && opcode.getImmediateLength() > 0
+					&& (tokens.length < 2 || tokens[1].length() != 2 + 2 * opcode.getImmediateLength()))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Encodes the given mnemonic bytecode back to the raw bytecode, packing it
+	 * as a benchmark contract in the given folder.
+	 */
+	static byte[] toBytecode(Path mnemonic, TemporaryFolder folder) throws IOException {
+		String address = "contract";
+		Path directory = folder.newFolder();
+		Files.createDirectory(directory.resolve(address));
+		Files.copy(mnemonic, directory.resolve(address).resolve(address + ".opcode"));
+
+		Path corpus = directory.resolve("corpus.bin");
+		assertEquals(mnemonic + ": not encoded", 1,
+				PackedCorpus.convert(List.of(address), List.of(directory), corpus));
+		return PackedCorpus.open(corpus).getBytecode(address);
+	}
+
+	private static CFG single(Program program) {
+		assertEquals(1, program.getAllCFGs().size());
+		return program.getAllCFGs().iterator().next();
+	}
+
+	private static int pc(Statement node) {
+		return ((ProgramCounterLocation) node.getLocation()).getPc();
+	}
+
+	/**
+	 * Yields the opcode and the pushed value, if any, of each node of the
+	 * given CFG, by program counter.
+	 */
+	private static List<String> nodes(CFG cfg) {
+		List<String> nodes = new ArrayList<>();
+		for (Statement node : cfg.getNodes()) {
+			String description = pc(node) + " " + Opcode.of(node);
+			if (node instanceof Push)
+				description += " " + ((Push) node).getInt();
+			nodes.add(description);
+		}
+		nodes.sort(null);
+		return nodes;
+	}
+
+	private static TreeSet<String> edges(CFG cfg) {
+		TreeSet<String> edges = new TreeSet<>();
+		for (Edge edge : cfg.getEdges())
+			edges.add(pc(edge.getSource()) + " -> " + pc(edge.getDestination()) + " "
+					+ edge.getClass().getSimpleName());
+		return edges;
+	}
+
+	private static TreeSet<Integer> entrypoints(CFG cfg) {
+		TreeSet<Integer> entrypoints = new TreeSet<>();
+		for (Statement entrypoint : cfg.getEntrypoints())
+			entrypoints.add(pc(entrypoint));
+		return entrypoints;
+	}
+}
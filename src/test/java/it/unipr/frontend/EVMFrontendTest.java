@@ -0,0 +1,80 @@
+package it.unipr.frontend;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link EVMFrontend#codeLength(byte[])}, i.e., of the trailing bytes
+ * of a runtime bytecode that are not decoded.
+ */
+public class EVMFrontendTest {
+
+	/**
+	 * PUSH1 0x80, PUSH1 0x40, MSTORE, STOP.
+	 */
+	private static final String CODE = "608060405200";
+
+	/**
+	 * The CBOR map {"solc": 0x000819}, 10 bytes long.
+	 */
+	private static final String METADATA = "a164736f6c6343000819";
+
+	private static int codeLength(String bytecode) {
+		return EVMFrontend.codeLength(EVMFrontend.hexToBytes(bytecode));
+	}
+
+	@Test
+	public void testCborTrailer() {
+		assertEquals(6, codeLength(CODE + METADATA + "000a"));
+		// the JUMPDESTs in the metadata are not decoded
+		assertEquals(6, codeLength(CODE + "a1645b5b5b5b43000819" + "000a"));
+		// INVALID before the metadata
+		assertEquals(6, codeLength("6080604052fe" + METADATA + "000a"));
+	}
+
+	@Test
+	public void testNotCborTrailer() {
+		// no halting opcode before the trailer: it is decoded as code (LOG1,
+		// PUSH5, STOP, ADDMOD, NOT, STOP, EXP) up to its last STOP
+		assertEquals(17, codeLength("608060405201" + METADATA + "000a"));
+		// not a map
+		assertEquals(17, codeLength(CODE + "8164736f6c6343000819" + "000a"));
+		// a length longer than the bytecode
+		assertEquals(6, codeLength(CODE + "0102"));
+	}
+
+	@Test
+	public void testDataAfterStop() {
+		// ADD, MUL and SUB after STOP cannot be reached
+		assertEquals(3, codeLength("600100010203"));
+		// nor the data after RETURN
+		assertEquals(5, codeLength("60006000f3" + "01025f5f"));
+	}
+
+	@Test
+	public void testJumpdestAfterStop() {
+		// the code after a JUMPDEST can be reached by jumping
+		assertEquals(6, codeLength("6001005b6002"));
+		// up to the next halting opcode
+		assertEquals(7, codeLength("6001005b600200" + "0102"));
+	}
+
+	@Test
+	public void testTrailingJumpi() {
+		// the false branch of JUMPI falls through to the next opcode
+		assertEquals(6, codeLength("600160005701"));
+		// while JUMP does not
+		assertEquals(5, codeLength("600160005601"));
+	}
+
+	@Test
+	public void testTruncatedFinalPush() {
+		// PUSH2 with a single byte of data
+		assertEquals(4, codeLength("600161ff"));
+		// a truncated push after STOP cannot be reached
+		assertEquals(1, codeLength("0061ff"));
+		// the data of a push is not decoded: its 0x00 is not a STOP
+		assertEquals(3, codeLength("610001"));
+	}
+}
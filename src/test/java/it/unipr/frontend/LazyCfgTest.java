@@ -0,0 +1,176 @@
+package it.unipr.frontend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import it.unipr.AnalysisResult;
+import it.unipr.Analyzer;
+import it.unipr.analysis.AnalysisContext;
+import it.unipr.cfg.EVMCFG;
+import it.unipr.cfg.ProgramCounterLocation;
+import it.unive.lisa.program.cfg.edge.Edge;
+import it.unive.lisa.program.cfg.statement.Statement;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests that the analysis of a CFG materialized on demand (see
+ * {@link EVMCFG#materializeLazily(byte[], int)}) solves the same jumps and
+ * yields the same edges of the analysis of the CFG of the whole bytecode, on
+ * the code reachable from program counter 0, on the test cases and on the
+ * SolidiFI contracts.
+ */
+public class LazyCfgTest {
+
+	/**
+	 * PUSH1 0x05, DUP1, POP, JUMP, JUMPDEST, STOP: the JUMP is not a pushed
+	 * jump, hence its JUMPDEST is materialized only once the JUMP is solved.
+	 */
+	private static final String DEFERRED_JUMPDEST = "0x60058050565b00";
+
+	private static final AnalysisContext EAGER = AnalysisContext.builder().build();
+
+	private static final AnalysisContext LAZY = AnalysisContext.builder().lazyCfg(true).build();
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testDeferredJumpdest() {
+		for (AnalysisContext context : new AnalysisContext[] { EAGER, LAZY }) {
+			AnalysisResult result = new Analyzer(context).analyze(DEFERRED_JUMPDEST);
+
+			Set<String> edges = new TreeSet<>();
+			for (Long[] edge : result.getBasicBlocks())
+				edges.add(edge[0] + " -> " + edge[1]);
+			assertEquals(Set.of("0 -> 5"), edges);
+
+			JSONObject statistics = result.getStatistics().statisticsToJson();
+			assertEquals(6, statistics.getInt("opcodes"));
+			assertEquals(1, statistics.getInt("jumps"));
+			assertEquals(1, statistics.getInt("precisely_resolved_jumps"));
+			assertEquals(0, statistics.getInt("definitely_unreachable_jumps"));
+			assertEquals(0, statistics.getInt("maybe_unreachable_jumps"));
+			assertEquals(0, statistics.getInt("unsound_jumps"));
+			assertEquals(0, statistics.getInt("maybe_unsound_jumps"));
+		}
+	}
+
+	@Test
+	public void testTestCasesLazilyAndEagerly() throws IOException {
+		List<Path> files;
+		try (Stream<Path> paths = Files.walk(Paths.get("evm-testcases"))) {
+			files = paths.filter(path -> path.toString().endsWith(".sol")).sorted().collect(Collectors.toList());
+		}
+		checkLazilyAndEagerly(files);
+	}
+
+	@Test
+	public void testSolidiFILazilyAndEagerly() throws IOException {
+		Path solidifi = Paths.get("evm-testcases", "ground-truth", "solidifi");
+		List<Path> files = new ArrayList<>();
+		for (String directory : new String[] { "reentrancy-truth", "tx-origin-truth", "vanilla" })
+			try (Stream<Path> paths = Files.list(solidifi.resolve(directory).resolve("bytecode"))) {
+				paths.filter(path -> path.toString().endsWith(".bytecode")).sorted().forEach(files::add);
+			}
+		checkLazilyAndEagerly(files);
+	}
+
+	private void checkLazilyAndEagerly(List<Path> mnemonics) throws IOException {
+		int checked = 0;
+		for (Path mnemonic : mnemonics) {
+			if (!EVMCFGGeneratorTest.isCanonical(Files.readAllLines(mnemonic)))
+				continue;
+
+			byte[] bytecode = EVMCFGGeneratorTest.toBytecode(mnemonic, folder);
+			AnalysisResult eager = new Analyzer(EAGER).analyze(bytecode);
+			AnalysisResult lazy = new Analyzer(LAZY).analyze(bytecode);
+			EVMCFG eagerCfg = eager.getCFG(), lazyCfg = lazy.getCFG();
+
+			Set<Statement> eagerReachable = reachable(eagerCfg), lazyReachable = reachable(lazyCfg);
+			// each materialized jump is reachable, even the ones following the
+			// JUMPDESTs materialized once solved
+			for (Statement jump : lazyCfg.getAllJumps())
+				assertTrue(mnemonic + ": " + jump + " not reachable", lazyReachable.contains(jump));
+			// the solved jumps link the same destinations
+			assertEquals(mnemonic + ": reachable edges", edges(eagerCfg, eagerReachable),
+					edges(lazyCfg, lazyReachable));
+
+			// the jumps in the code not reachable from program counter 0 are
+			// not materialized: the other ones are classified alike
+			int deadPushed = 0, deadNotPushed = 0;
+			for (Statement jump : eagerCfg.getAllJumps())
+				if (!eagerReachable.contains(jump)) {
+					if (eagerCfg.isPushedJump(jump))
+						deadPushed++;
+					else
+						deadNotPushed++;
+				}
+
+			JSONObject eagerStatistics = eager.getStatistics().statisticsToJson();
+			JSONObject lazyStatistics = lazy.getStatistics().statisticsToJson();
+			assertEquals(mnemonic + ": jumps", eagerStatistics.getInt("jumps") - deadPushed - deadNotPushed,
+					lazyStatistics.getInt("jumps"));
+			assertEquals(mnemonic + ": resolved jumps",
+					eagerStatistics.getInt("precisely_resolved_jumps") - deadPushed,
+					lazyStatistics.getInt("precisely_resolved_jumps"));
+			assertEquals(mnemonic + ": unreachable jumps",
+					eagerStatistics.getInt("definitely_unreachable_jumps")
+							+ eagerStatistics.getInt("maybe_unreachable_jumps") - deadNotPushed,
+					lazyStatistics.getInt("definitely_unreachable_jumps"));
+			assertEquals(mnemonic + ": maybe unreachable jumps", 0, lazyStatistics.getInt("maybe_unreachable_jumps"));
+			assertEquals(mnemonic + ": unsound jumps", eagerStatistics.getInt("unsound_jumps"),
+					lazyStatistics.getInt("unsound_jumps"));
+			assertEquals(mnemonic + ": maybe unsound jumps", eagerStatistics.getInt("maybe_unsound_jumps"),
+					lazyStatistics.getInt("maybe_unsound_jumps"));
+			checked++;
+		}
+		assertTrue("No bytecode analyzed", checked > 0);
+	}
+
+	private static int pc(Statement node) {
+		return ((ProgramCounterLocation) node.getLocation()).getPc();
+	}
+
+	/**
+	 * Yields the nodes of the given CFG reachable from its entrypoint.
+	 */
+	private static Set<Statement> reachable(EVMCFG cfg) {
+		Set<Statement> visited = new HashSet<>();
+		Deque<Statement> stack = new ArrayDeque<>(cfg.getEntrypoints());
+		while (!stack.isEmpty()) {
+			Statement current = stack.pop();
+			if (visited.add(current))
+				for (Edge edge : cfg.getOutgoingEdges(current))
+					stack.push(edge.getDestination());
+		}
+		return visited;
+	}
+
+	/**
+	 * Yields the edges leaving the given nodes of the given CFG.
+	 */
+	private static TreeSet<String> edges(EVMCFG cfg, Set<Statement> nodes) {
+		TreeSet<String> edges = new TreeSet<>();
+		for (Statement node : nodes)
+			for (Edge edge : cfg.getOutgoingEdges(node))
+				edges.add(pc(edge.getSource()) + " -> " + pc(edge.getDestination()) + " "
+						+ edge.getClass().getSimpleName());
+		return edges;
+	}
+}
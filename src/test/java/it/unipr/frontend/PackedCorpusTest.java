@@ -0,0 +1,146 @@
+package it.unipr.frontend;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of the writing, reading and conversion of a {@link PackedCorpus}.
+ */
+public class PackedCorpusTest {
+
+	private static final byte[] FIRST = EVMFrontend.hexToBytes("6080604052348015600f57600080fd5b00");
+	private static final byte[] SECOND = EVMFrontend.hexToBytes("60016002015b00");
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testRoundTrip() throws IOException, NoSuchAlgorithmException {
+		Map<String, byte[]> bytecodes = new LinkedHashMap<>();
+		bytecodes.put("0x02", SECOND);
+		bytecodes.put("0x01", FIRST);
+		Path file = folder.getRoot().toPath().resolve("corpus.bin");
+		PackedCorpus.write(bytecodes, file);
+
+		assertTrue(PackedCorpus.isPackedCorpus(file));
+		PackedCorpus corpus = PackedCorpus.open(file);
+		assertEquals(2, corpus.size());
+		assertEquals(List.of("0x02", "0x01"), corpus.getAddresses());
+		assertArrayEquals(FIRST, corpus.getBytecode("0x01"));
+		assertArrayEquals(SECOND, corpus.getBytecode("0x02"));
+		assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(FIRST), corpus.getHash("0x01"));
+		assertNull(corpus.getBytecode("0x03"));
+		assertNull(corpus.getHash("0x03"));
+	}
+
+	@Test
+	public void testDuplicatesAreStoredOnce() throws IOException {
+		Map<String, byte[]> duplicates = new LinkedHashMap<>();
+		duplicates.put("0x01", FIRST);
+		duplicates.put("0x02", SECOND);
+		duplicates.put("0x03", FIRST.clone());
+		Path duplicatesFile = folder.getRoot().toPath().resolve("duplicates.bin");
+		PackedCorpus.write(duplicates, duplicatesFile);
+
+		// the same index, with a different bytecode of the same length
+		byte[] other = FIRST.clone();
+		other[other.length - 1] = (byte) 0xfe;
+		Map<String, byte[]> distinct = new LinkedHashMap<>(duplicates);
+		distinct.put("0x03", other);
+		Path distinctFile = folder.getRoot().toPath().resolve("distinct.bin");
+		PackedCorpus.write(distinct, distinctFile);
+
+		assertEquals(Files.size(distinctFile) - FIRST.length, Files.size(duplicatesFile));
+
+		PackedCorpus corpus = PackedCorpus.open(duplicatesFile);
+		assertEquals(3, corpus.size());
+		assertArrayEquals(FIRST, corpus.getBytecode("0x01"));
+		assertArrayEquals(SECOND, corpus.getBytecode("0x02"));
+		assertArrayEquals(FIRST, corpus.getBytecode("0x03"));
+		assertArrayEquals(corpus.getHash("0x01"), corpus.getHash("0x03"));
+	}
+
+	@Test
+	public void testEmptyBytecode() throws IOException {
+		Map<String, byte[]> bytecodes = new LinkedHashMap<>();
+		bytecodes.put("0x00", new byte[0]);
+		Path file = folder.getRoot().toPath().resolve("empty.bin");
+		PackedCorpus.write(bytecodes, file);
+
+		PackedCorpus corpus = PackedCorpus.open(file);
+		assertEquals(1, corpus.size());
+		assertArrayEquals(new byte[0], corpus.getBytecode("0x00"));
+
+		bytecodes.put("0x01", FIRST);
+		PackedCorpus.write(bytecodes, file);
+		corpus = PackedCorpus.open(file);
+		assertArrayEquals(new byte[0], corpus.getBytecode("0x00"));
+		assertArrayEquals(FIRST, corpus.getBytecode("0x01"));
+	}
+
+	@Test
+	public void testNotAPackedCorpus() throws IOException {
+		Path file = folder.newFile("corpus.bin").toPath();
+		Files.writeString(file, "0x6080604052");
+		assertFalse(PackedCorpus.isPackedCorpus(file));
+		try {
+			PackedCorpus.open(file);
+			fail("A bytecode opened as a packed corpus");
+		} catch (IOException e) {
+			// expected
+		}
+
+		// a future version
+		PackedCorpus.write(Map.of("0x01", FIRST), file);
+		byte[] content = Files.readAllBytes(file);
+		content[5] = (byte) (PackedCorpus.VERSION + 1);
+		Files.write(file, content);
+		assertTrue(PackedCorpus.isPackedCorpus(file));
+		try {
+			PackedCorpus.open(file);
+			fail("A packed corpus of an unsupported version opened");
+		} catch (IOException e) {
+			assertEquals("Unsupported packed corpus version: " + (PackedCorpus.VERSION + 1), e.getMessage());
+		}
+	}
+
+	@Test
+	public void testConvert() throws IOException {
+		Path directory = folder.newFolder("bytecode").toPath();
+		Files.createDirectory(directory.resolve("0x01"));
+		Files.writeString(directory.resolve("0x01").resolve("0x01.bytecode"), "0x60016002015b00\n");
+		Files.createDirectory(directory.resolve("0x02"));
+		Files.write(directory.resolve("0x02").resolve("0x02.opcode"), List.of(
+				"PUSH1 0x80",
+				"PUSH1 0x40",
+				"MSTORE",
+				"'0c'(Unknown Opcode)",
+				"",
+				"PUSH2 0x0102",
+				"STOP"));
+
+		Path file = folder.getRoot().toPath().resolve("corpus.bin");
+		assertEquals(2, PackedCorpus.convert(List.of("0x01", "0x02", "0x03"), List.of(directory), file));
+
+		PackedCorpus corpus = PackedCorpus.open(file);
+		assertEquals(List.of("0x01", "0x02"), corpus.getAddresses());
+		assertArrayEquals(SECOND, corpus.getBytecode("0x01"));
+		assertArrayEquals(EVMFrontend.hexToBytes("60806040520c61010200"), corpus.getBytecode("0x02"));
+	}
+}